@@ -0,0 +1,372 @@
+/* ArrayGarden.java
+ * Struct-of-arrays garden backend for very large gardens (100k+ plots).
+ * Plot state lives in parallel primitive arrays indexed by plot number
+ * instead of gardenPlot/Flower objects, so a night is a linear sweep with
+ * no pointer chasing or string comparisons.
+ *
+ * Semantics match gardenPlot exactly (PlotRules' steps run over the
+ * columns, same random draw order), so the same seed gives the same garden
+ * either way; GardenChecks verifies this.
+ */
+
+import java.util.Arrays;
+import java.util.List;
+
+public class ArrayGarden {
+    private static final int EMPTY = -1;
+
+    private int size;
+
+    // Per-plot columns
+    private byte[] stage;          // PlotRules stage code, EMPTY when unoccupied
+    private double[] durability;
+    private int[] daysPlanted;
+    private short[] species;       // FlowerRegistry species id (-1 = not in registry)
+    private byte[] dryDays;
+    private byte[] soil;           // PlotRules soil code
+    private boolean[] watered;
+    private boolean[] weeded;
+    private boolean[] fertilized;
+    private boolean[] flowerPot;
+
+    // Per-species lookups resolved once
+    private final int[] difficultyById;
+    private final GrowthCurve[] curveById;
+    private final boolean[] potFriendlyById;
+
+    // Counters from the last advanceDay
+    private int lastGrew;
+    private int lastMutated;
+    private int lastWithered;
+    private int lastSoilUpgrades;
+
+    /**
+     * Creates an empty garden
+     * @param initialCapacity Expected number of plots
+     */
+    public ArrayGarden(int initialCapacity) {
+        int capacity = Math.max(4, initialCapacity);
+        this.stage = new byte[capacity];
+        this.durability = new double[capacity];
+        this.daysPlanted = new int[capacity];
+        this.species = new short[capacity];
+        this.dryDays = new byte[capacity];
+        this.soil = new byte[capacity];
+        this.watered = new boolean[capacity];
+        this.weeded = new boolean[capacity];
+        this.fertilized = new boolean[capacity];
+        this.flowerPot = new boolean[capacity];
+
+        int speciesCount = FlowerRegistry.getSpeciesCount();
+        this.difficultyById = new int[speciesCount];
+        this.potFriendlyById = new boolean[speciesCount];
+        this.curveById = new GrowthCurve[speciesCount];
+        for (int id = 0; id < speciesCount; id++) {
+            int difficulty = FlowerRegistry.getDifficulty(id);
+            String nameLower = FlowerRegistry.getSpeciesName(id).toLowerCase();
+            difficultyById[id] = difficulty;
+            curveById[id] = FlowerRegistry.getGrowthCurve(id);
+            potFriendlyById[id] = difficulty < 4 && !nameLower.contains("bush") && !nameLower.contains("tree");
+        }
+    }
+
+    /**
+     * Copies an object-backed garden into arrays (flowers not in the registry
+     * use GrowthCurve.DEFAULT, like gardenPlot does)
+     */
+    public static ArrayGarden copyOf(List<gardenPlot> plots) {
+        ArrayGarden garden = new ArrayGarden(plots.size());
+        for (gardenPlot plot : plots) {
+            int i = garden.addPlot(plot.isFlowerPot());
+            garden.soil[i] = (byte) plot.getSoil().getCode();
+            garden.watered[i] = plot.isWatered();
+            garden.weeded[i] = plot.isWeeded();
+            garden.fertilized[i] = plot.isFertilized();
+            garden.dryDays[i] = (byte) plot.getConsecutiveDaysWithoutWater();
+            if (plot.isOccupied()) {
+                Flower flower = plot.getPlantedFlower();
+                garden.stage[i] = (byte) flower.getStage().getCode();
+                garden.species[i] = (short) FlowerRegistry.getSpeciesId(flower.getName());
+                garden.daysPlanted[i] = flower.getDaysPlanted();
+                garden.durability[i] = flower.getDurability();
+            }
+        }
+        return garden;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Adds an empty plot (regular plots start on Average soil, pots on Good)
+     * @return The new plot index
+     */
+    public int addPlot(boolean isFlowerPot) {
+        if (size == stage.length) {
+            grow();
+        }
+        int i = size++;
+        stage[i] = EMPTY;
+        species[i] = -1;
+        soil[i] = (byte) (isFlowerPot ? PlotRules.SOIL_GOOD : PlotRules.SOIL_AVERAGE);
+        weeded[i] = true;
+        flowerPot[i] = isFlowerPot;
+        return i;
+    }
+
+    private void grow() {
+        int capacity = stage.length * 2;
+        stage = Arrays.copyOf(stage, capacity);
+        durability = Arrays.copyOf(durability, capacity);
+        daysPlanted = Arrays.copyOf(daysPlanted, capacity);
+        species = Arrays.copyOf(species, capacity);
+        dryDays = Arrays.copyOf(dryDays, capacity);
+        soil = Arrays.copyOf(soil, capacity);
+        watered = Arrays.copyOf(watered, capacity);
+        weeded = Arrays.copyOf(weeded, capacity);
+        fertilized = Arrays.copyOf(fertilized, capacity);
+        flowerPot = Arrays.copyOf(flowerPot, capacity);
+    }
+
+    /**
+     * Plants a fresh seed (same checks as gardenPlot.plantFlower)
+     * @return true if planted
+     */
+    public boolean plant(int plot, int speciesId) {
+        if (isOccupied(plot) || speciesId < 0 || speciesId >= difficultyById.length) {
+            return false;
+        }
+        int difficulty = difficultyById[speciesId];
+        if (!PlotRules.isSoilSufficient(difficulty, soil[plot])) {
+            return false;
+        }
+        if (flowerPot[plot] && !potFriendlyById[speciesId]) {
+            return false;
+        }
+        stage[plot] = PlotRules.STAGE_SEED;
+        species[plot] = (short) speciesId;
+        daysPlanted[plot] = 1;
+        durability[plot] = FlowerRegistry.getBaseDurability(speciesId);
+        dryDays[plot] = 0;
+        return true;
+    }
+
+    /**
+     * Empties a plot (same effect as gardenPlot.harvestFlower)
+     * @return The harvested stage code, or -1 if the plot was empty
+     */
+    public int harvest(int plot) {
+        if (!isOccupied(plot)) {
+            return EMPTY;
+        }
+        int harvested = stage[plot];
+        stage[plot] = EMPTY;
+        species[plot] = -1;
+        watered[plot] = false;
+        dryDays[plot] = 0;
+        return harvested;
+    }
+
+    public boolean water(int plot) {
+        if (!isOccupied(plot) || watered[plot]) {
+            return false;
+        }
+        watered[plot] = true;
+        return true;
+    }
+
+    public boolean weed(int plot) {
+        if (flowerPot[plot] || weeded[plot]) {
+            return false;
+        }
+        weeded[plot] = true;
+        return true;
+    }
+
+    public boolean fertilize(int plot) {
+        if (fertilized[plot]) {
+            return false;
+        }
+        fertilized[plot] = true;
+        return true;
+    }
+
+    public boolean isOccupied(int plot) {
+        return stage[plot] != EMPTY;
+    }
+
+    /**
+     * @return The PlotRules stage code, or -1 if empty
+     */
+    public int getStage(int plot) {
+        return stage[plot];
+    }
+
+    public int getSpeciesId(int plot) {
+        return species[plot];
+    }
+
+    public double getDurability(int plot) {
+        return durability[plot];
+    }
+
+    public int getDaysPlanted(int plot) {
+        return daysPlanted[plot];
+    }
+
+    public int getSoil(int plot) {
+        return soil[plot];
+    }
+
+    public int getConsecutiveDaysWithoutWater(int plot) {
+        return dryDays[plot];
+    }
+
+    public boolean isWatered(int plot) {
+        return watered[plot];
+    }
+
+    public boolean isWeeded(int plot) {
+        return weeded[plot];
+    }
+
+    public boolean isFertilized(int plot) {
+        return fertilized[plot];
+    }
+
+    public boolean isFlowerPot(int plot) {
+        return flowerPot[plot];
+    }
+
+    /**
+     * Advances every plot by one night, in plot order. This is PlotRules.advance
+     * run straight over the columns, with the same checks and the same random
+     * draws in the same order; GardenChecks holds the two to the same garden.
+     * @param mulcherActive Whether the mulcher slows weed growth
+     * @param growLight Whether the grow light is installed
+     * @param random Random source
+     */
+    public void advanceDay(boolean mulcherActive, boolean growLight, GameRandom random) {
+        final byte[] stage = this.stage;
+        final double[] durability = this.durability;
+        final int[] daysPlanted = this.daysPlanted;
+        final short[] species = this.species;
+        final byte[] dryDays = this.dryDays;
+        final byte[] soil = this.soil;
+        final boolean[] watered = this.watered;
+        final boolean[] weeded = this.weeded;
+        final boolean[] fertilized = this.fertilized;
+        final boolean[] flowerPot = this.flowerPot;
+        final double weedChance = PlotRules.weedChance(mulcherActive);
+
+        int grew = 0;
+        int mutated = 0;
+        int withered = 0;
+        int soilUpgrades = 0;
+
+        for (int i = 0; i < size; i++) {
+            int stageBefore = stage[i];
+            boolean pot = flowerPot[i];
+            if (stageBefore == EMPTY) {
+                watered[i] = false;
+                if (!pot) {
+                    weeded[i] = random.nextDouble() > weedChance;
+                }
+                continue;
+            }
+
+            int st = stageBefore;
+            int days = daysPlanted[i] + 1;
+            double dur = durability[i];
+            boolean fert = fertilized[i];
+            int soilCode = soil[i];
+
+            // Watering, then weeding penalty (PlotRules.advance)
+            if (watered[i]) {
+                dryDays[i] = 0;
+            } else {
+                int dry = dryDays[i] + 1;
+                if (dry >= 7) {
+                    dur = 0;
+                    dry = 0;
+                } else {
+                    dur -= (pot ? 2.0 : 1.0) * (dry >= 4 ? dry - 2 : 1.0);
+                }
+                dryDays[i] = (byte) dry;
+            }
+            if (!pot && !weeded[i]) {
+                dur -= 0.3;
+            }
+            if (dur <= 0 && st != PlotRules.STAGE_SEED) {
+                st = PlotRules.STAGE_WITHERED;
+            }
+
+            if (st == PlotRules.STAGE_WITHERED) {
+                dur = 0;
+            } else {
+                int id = species[i];
+                GrowthCurve curve = id >= 0 ? curveById[id] : GrowthCurve.DEFAULT;
+                boolean shouldGrow = random.nextDouble()
+                        < curve.getGrowthChance(GrowthCurve.careState(watered[i], weeded[i], fert, pot));
+                int effectiveDays = growLight ? days * 2 : days;
+                if (shouldGrow && effectiveDays >= curve.getDaysToAdvance(st)) {
+                    if (st != PlotRules.STAGE_MATURED) {
+                        st++;
+                    } else if (random.nextDouble() < curve.getMutationChance(fert, soilCode)) {
+                        st = PlotRules.STAGE_MUTATED;
+                    } else if (random.nextDouble() < curve.getWitherChance(soilCode)) {
+                        st = PlotRules.STAGE_WITHERED;
+                        dur = 0;
+                    }
+                }
+            }
+
+            // Daily reset
+            watered[i] = false;
+            weeded[i] = pot || random.nextDouble() > weedChance;
+            if (fert && random.nextDouble() > 0.5) {
+                fert = false;
+                fertilized[i] = false;
+            }
+            if (fert && random.nextDouble() < 0.0075 && soilCode < PlotRules.SOIL_MAGIC) {
+                soil[i] = (byte) (soilCode + 1);
+                soilUpgrades++;
+            }
+
+            daysPlanted[i] = days;
+            durability[i] = dur;
+            if (st != stageBefore) {
+                stage[i] = (byte) st;
+                if (st == PlotRules.STAGE_MUTATED) {
+                    mutated++;
+                } else if (st == PlotRules.STAGE_WITHERED) {
+                    withered++;
+                } else {
+                    grew++;
+                }
+            }
+        }
+
+        lastGrew = grew;
+        lastMutated = mutated;
+        lastWithered = withered;
+        lastSoilUpgrades = soilUpgrades;
+    }
+
+    public int getLastGrew() {
+        return lastGrew;
+    }
+
+    public int getLastMutated() {
+        return lastMutated;
+    }
+
+    public int getLastWithered() {
+        return lastWithered;
+    }
+
+    public int getLastSoilUpgrades() {
+        return lastSoilUpgrades;
+    }
+}
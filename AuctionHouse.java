@@ -5,7 +5,6 @@
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
 
 public class AuctionHouse {
     private Bouquet currentBouquet;
@@ -16,8 +15,6 @@ public class AuctionHouse {
     private boolean hasCollectedEarnings;
     private boolean recognitionBonusApplied; // NEW: Track if 1.2x bonus applied
     
-    private static final Random random = new Random();
-    
     public AuctionHouse() {
         this.currentBouquet = null;
         this.auctionStartDay = -1;
@@ -109,7 +106,7 @@ public class AuctionHouse {
                    "   Bid increased from " + (int)oldBid + " to " + (int)currentBid + " credits.";
         }
         
-        MultiplierRule chosen = availableMultipliers.get(random.nextInt(availableMultipliers.size()));
+        MultiplierRule chosen = availableMultipliers.get(player.getRandom().nextInt(availableMultipliers.size()));
         appliedMultipliers.add(chosen.name);
         
         double oldBid = currentBid;
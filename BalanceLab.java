@@ -0,0 +1,300 @@
+/* BalanceLab.java
+ * Monte Carlo balance lab for plant lifecycles.
+ * Simulates independent lifecycles of every species, on every soil quality,
+ * under every CarePolicy, using the same PlotRules as the game.
+ *
+ * Each (species, soil, policy) cell gets its own GameRandom split from the
+ * sweep seed, so results are identical no matter how many cores run them.
+ *
+ * Harvest rule: the gardener picks the plant the morning it first reaches
+ * Matured, so profit is the matured value minus the seed cost and NRG is
+ * counted up to that night. A plant that withers first is priced as withered
+ * with all the NRG spent on it. The lifecycle keeps running after the harvest
+ * point only to measure how often a matured plant left in the ground would
+ * mutate or wither; that end state is never priced.
+ *
+ * Usage: java BalanceLab [--trials N] [--seed S] [--out results.csv]
+ */
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class BalanceLab {
+    /** Lifecycles that have not matured after this many nights are harvested as they are */
+    public static final int MAX_DAYS = 200;
+    private static final int PLANTING_NRG = 2;
+
+    /**
+     * Everything the lab needs to know about one species, resolved once
+     */
+    private static class Species {
+        final String name;
+        final int difficulty;
+        final GrowthCurve curve;
+        final double durability;
+        final double seedCost;
+        final double[] stageValue = new double[PlotRules.STAGE_NAMES.length];
+
+        Species(String name) {
+            this.name = name;
+            this.difficulty = FlowerRegistry.getFlowerDifficulty(name);
+            this.curve = FlowerRegistry.getGrowthCurve(FlowerRegistry.getSpeciesId(name));
+            Flower seed = FlowerRegistry.createSeed(name);
+            this.durability = seed.getDurability();
+            this.seedCost = seed.getCost();
+            for (int i = 0; i < stageValue.length; i++) {
+                stageValue[i] = FlowerRegistry.getFlowerValue(name, GrowthStage.fromCode(i));
+            }
+        }
+    }
+
+    /**
+     * Aggregated results for one (species, soil, policy) cell
+     */
+    public static class CellResult {
+        public final String species;
+        public final int difficulty;
+        public final String soil;
+        public final CarePolicy policy;
+        public final boolean plantable;
+        int trials;
+        int matured;
+        int mutated;
+        int withered;
+        long creditsTimesHundred;
+        long nrgSpent;
+        final int[] daysToMature = new int[MAX_DAYS + 1];
+
+        CellResult(Species species, int soil, CarePolicy policy, boolean plantable) {
+            this.species = species.name;
+            this.difficulty = species.difficulty;
+            this.soil = PlotRules.SOIL_NAMES[soil];
+            this.policy = policy;
+            this.plantable = plantable;
+        }
+
+        public int getTrials() {
+            return trials;
+        }
+
+        public double getMatureRate() {
+            return trials == 0 ? 0 : (double) matured / trials;
+        }
+
+        /**
+         * Share of lifecycles that mutated when left in the ground past maturity
+         */
+        public double getMutationRate() {
+            return trials == 0 ? 0 : (double) mutated / trials;
+        }
+
+        public double getWitherRate() {
+            return trials == 0 ? 0 : (double) withered / trials;
+        }
+
+        /**
+         * Expected profit (harvest value - seed cost) per NRG spent up to the harvest
+         */
+        public double getCreditsPerNRG() {
+            return nrgSpent == 0 ? 0 : (creditsTimesHundred / 100.0) / nrgSpent;
+        }
+
+        public double getMeanDaysToMature() {
+            if (matured == 0) {
+                return -1;
+            }
+            long total = 0;
+            for (int d = 0; d < daysToMature.length; d++) {
+                total += (long) d * daysToMature[d];
+            }
+            return (double) total / matured;
+        }
+
+        /**
+         * Days-to-mature percentile among lifecycles that matured
+         * @param p Fraction in (0, 1], e.g. 0.9
+         * @return Day count, or -1 if nothing matured
+         */
+        public int getDaysToMaturePercentile(double p) {
+            if (matured == 0) {
+                return -1;
+            }
+            long target = (long) Math.ceil(p * matured);
+            long seen = 0;
+            for (int d = 0; d < daysToMature.length; d++) {
+                seen += daysToMature[d];
+                if (seen >= target) {
+                    return d;
+                }
+            }
+            return MAX_DAYS;
+        }
+
+        String toCsv() {
+            return String.format("%s,%d,%s,%s,%d,%.4f,%.2f,%d,%d,%d,%.4f,%.4f,%.3f",
+                    species, difficulty, soil, policy.name(), trials, getMatureRate(),
+                    getMeanDaysToMature(), getDaysToMaturePercentile(0.1),
+                    getDaysToMaturePercentile(0.5), getDaysToMaturePercentile(0.9),
+                    getMutationRate(), getWitherRate(), getCreditsPerNRG());
+        }
+    }
+
+    private static class Cell {
+        final Species species;
+        final int soil;
+        final CarePolicy policy;
+        final GameRandom random;
+
+        Cell(Species species, int soil, CarePolicy policy, GameRandom random) {
+            this.species = species;
+            this.soil = soil;
+            this.policy = policy;
+            this.random = random;
+        }
+    }
+
+    /**
+     * Runs the full sweep across all cores
+     * @param trialsPerCell Lifecycles per (species, soil, policy)
+     * @param seed Sweep seed
+     * @return One result per cell, in species/soil/policy order
+     */
+    public static List<CellResult> runSweep(int trialsPerCell, long seed) {
+        FlowerRegistry.loadFlowerData();
+        List<String> names = FlowerRegistry.getAllFlowerNames();
+        Collections.sort(names);
+
+        // Splitting happens in a fixed order before going parallel
+        GameRandom root = new GameRandom(seed);
+        List<Cell> cells = new ArrayList<>();
+        for (String name : names) {
+            Species species = new Species(name);
+            for (int soil = PlotRules.SOIL_BAD; soil <= PlotRules.SOIL_MAGIC; soil++) {
+                for (CarePolicy policy : CarePolicy.values()) {
+                    cells.add(new Cell(species, soil, policy, root.split()));
+                }
+            }
+        }
+
+        List<CellResult> results = new ArrayList<>(cells.size());
+        cells.parallelStream()
+                .map(cell -> simulateCell(cell, trialsPerCell))
+                .forEachOrdered(results::add);
+        return results;
+    }
+
+    private static CellResult simulateCell(Cell cell, int trials) {
+        Species species = cell.species;
+        boolean plantable = PlotRules.isSoilSufficient(species.difficulty, cell.soil);
+        CellResult result = new CellResult(species, cell.soil, cell.policy, plantable);
+        if (!plantable) {
+            return result;
+        }
+
+        PlotState s = new PlotState();
+        boolean growLight = cell.policy.isGreenhouse();
+        GameRandom random = cell.random;
+
+        for (int t = 0; t < trials; t++) {
+            // Fresh regular plot with a newly planted seed
+            s.watered = false;
+            s.weeded = true;
+            s.fertilized = false;
+            s.flowerPot = false;
+            s.soil = cell.soil;
+            s.plant(species.curve, species.durability);
+
+            long nrg = PLANTING_NRG;
+            int maturedOn = -1;
+            int day = 1;
+            for (; day <= MAX_DAYS; day++) {
+                // Past the harvest point the plot is only watched, not tended for profit
+                int spent = cell.policy.tend(s, day);
+                if (maturedOn < 0) {
+                    nrg += spent;
+                }
+                PlotRules.advance(s, false, growLight, random);
+
+                if (maturedOn < 0 && s.stage == PlotRules.STAGE_MATURED) {
+                    maturedOn = day;
+                }
+                if (s.stage == PlotRules.STAGE_WITHERED || s.stage == PlotRules.STAGE_MUTATED) {
+                    break;
+                }
+            }
+
+            result.trials++;
+            if (maturedOn >= 0) {
+                result.matured++;
+                result.daysToMature[maturedOn]++;
+            }
+            if (s.stage == PlotRules.STAGE_MUTATED) {
+                result.mutated++;
+            } else if (s.stage == PlotRules.STAGE_WITHERED) {
+                result.withered++;
+            }
+            int harvested = maturedOn >= 0 ? PlotRules.STAGE_MATURED : s.stage;
+            double profit = species.stageValue[harvested] - species.seedCost;
+            result.creditsTimesHundred += Math.round(profit * 100);
+            result.nrgSpent += nrg;
+        }
+        return result;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int trials = 2000;
+        long seed = 20240618L;
+        String out = null;
+        for (int i = 0; i < args.length; i++) {
+            if (i + 1 >= args.length) {
+                usage("Missing value for " + args[i]);
+            }
+            try {
+                switch (args[i]) {
+                    case "--trials": trials = Integer.parseInt(args[++i]); break;
+                    case "--seed": seed = Long.parseLong(args[++i]); break;
+                    case "--out": out = args[++i]; break;
+                    default: usage("Unknown option " + args[i]);
+                }
+            } catch (NumberFormatException e) {
+                usage("Not a number for " + args[i - 1] + ": " + args[i]);
+            }
+        }
+        if (trials <= 0) {
+            usage("--trials must be positive");
+        }
+
+        long start = System.nanoTime();
+        List<CellResult> results = runSweep(trials, seed);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        long lifecycles = 0;
+        try (PrintWriter writer = (out == null)
+                ? new PrintWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))
+                : new PrintWriter(new OutputStreamWriter(new FileOutputStream(out), StandardCharsets.UTF_8))) {
+            writer.println("species,difficulty,soil,policy,trials,matureRate,meanDaysToMature,"
+                    + "p10DaysToMature,p50DaysToMature,p90DaysToMature,mutationRate,witherRate,creditsPerNRG");
+            for (CellResult result : results) {
+                lifecycles += result.trials;
+                if (result.plantable) {
+                    writer.println(result.toCsv());
+                }
+            }
+            writer.flush();
+            System.err.println("Simulated " + lifecycles + " lifecycles (" + results.size() + " cells) in "
+                    + elapsedMs + " ms on " + Runtime.getRuntime().availableProcessors() + " cores.");
+        }
+    }
+
+    private static void usage(String problem) {
+        System.err.println(problem);
+        System.err.println("Usage: java BalanceLab [--trials N] [--seed S] [--out results.csv]");
+        System.exit(2);
+    }
+}
@@ -0,0 +1,547 @@
+/* BinarySave.java
+ * Versioned binary save snapshot with a flower name table and fixed-width plot records
+ */
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Binary encoding of the text save. Sections are stored in file order and are
+ * length-prefixed; GARDEN_PLOTS becomes an array of fixed-width records whose
+ * flower names point into a shared string table, every other section keeps its
+ * lines verbatim. The text format stays the reference: encoding is lossless,
+ * and any plot line that would not re-render byte-for-byte keeps its section
+ * in line form instead.
+ *
+ * Layout (big-endian):
+ * <pre>
+ * magic "SFSB", u16 version, u16 reserved
+ * i32 name count, names as (u16 length, UTF-8)
+ * i32 section count, then per section:
+ *   u8 kind, name as (u16 length, UTF-8), i32 payload length, payload
+ *   LINES payload: i32 count, lines as (i32 length, UTF-8)
+ *   PLOTS payload: i32 PlotCount, i32 record count, records of RECORD_BYTES
+ * </pre>
+ *
+ * Usage: java BinarySave &lt;save.txt&gt; [save.sav]   (a binary input converts back to text)
+ */
+public class BinarySave {
+    public static final String SUFFIX = ".sav";
+    public static final String FORMAT_PROPERTY = "sunflower.save.format";
+
+    private static final byte[] MAGIC = {'S', 'F', 'S', 'B'};
+    private static final short VERSION = 1;
+
+    private static final byte KIND_LINES = 1;
+    private static final byte KIND_PLOTS = 2;
+
+    private static final String PLOT_SECTION = "GARDEN_PLOTS";
+
+    // index, flags, soil, dry days, name id, stage, days planted, durability, cost, NRG
+    static final int RECORD_BYTES = 4 + 1 + 1 + 4 + 4 + 1 + 4 + 8 + 8 + 4;
+
+    private static final int WATERED = 1;
+    private static final int WEEDED = 2;
+    private static final int FERTILIZED = 4;
+    private static final int FLOWER_POT = 8;
+    private static final int HAS_FLOWER = 16;
+    private static final int HAS_NRG = 32;
+
+    /**
+     * A decoded snapshot: the non-plot sections as text plus ready-built plots
+     */
+    public static class Decoded {
+        private final String text;
+        private final List<gardenPlot> plots;
+
+        Decoded(String text, List<gardenPlot> plots) {
+            this.text = text;
+            this.plots = plots;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        /**
+         * @return The garden, or null when the save kept its plots as text lines
+         */
+        public List<gardenPlot> getPlots() {
+            return plots;
+        }
+    }
+
+    /**
+     * Whether new snapshots should be written in binary (-Dsunflower.save.format=binary)
+     */
+    public static boolean isSelected() {
+        return "binary".equalsIgnoreCase(System.getProperty(FORMAT_PROPERTY, "text"));
+    }
+
+    /**
+     * Checks the magic bytes at the start of a file
+     */
+    public static boolean isBinary(File file) {
+        if (!file.exists() || file.length() < MAGIC.length) {
+            return false;
+        }
+        byte[] head = new byte[MAGIC.length];
+        try (InputStream in = new FileInputStream(file)) {
+            if (in.read(head) != head.length) {
+                return false;
+            }
+        } catch (IOException e) {
+            return false;
+        }
+        return Arrays.equals(head, MAGIC);
+    }
+
+    /**
+     * Checks the magic bytes at the start of a save held in memory
+     */
+    public static boolean isBinary(byte[] bytes) {
+        return bytes.length >= MAGIC.length
+                && Arrays.equals(Arrays.copyOf(bytes, MAGIC.length), MAGIC);
+    }
+
+    // ---------------------------------------------------------------- encode
+
+    /**
+     * Encodes save text; decoding the result yields exactly the same text
+     */
+    public static byte[] encode(String saveText) throws IOException {
+        List<String> sectionNames = new ArrayList<>();
+        List<List<String>> sectionLines = new ArrayList<>();
+        String current = null;
+        List<String> lines = null;
+
+        for (String line : splitLines(saveText)) {
+            String trimmed = line.trim();
+            if (trimmed.startsWith("[") && trimmed.endsWith("]") && trimmed.equals(line)) {
+                current = trimmed.substring(1, trimmed.length() - 1);
+                lines = new ArrayList<>();
+                sectionNames.add(current);
+                sectionLines.add(lines);
+                continue;
+            }
+            if (lines == null) {
+                // Text before any header is kept as a nameless section
+                current = "";
+                lines = new ArrayList<>();
+                sectionNames.add(current);
+                sectionLines.add(lines);
+            }
+            lines.add(line);
+        }
+
+        Map<String, Integer> nameIds = new LinkedHashMap<>();
+        ByteArrayOutputStream body = new ByteArrayOutputStream(saveText.length() / 2 + 64);
+        DataOutputStream out = new DataOutputStream(body);
+        out.writeInt(sectionNames.size());
+        for (int i = 0; i < sectionNames.size(); i++) {
+            String name = sectionNames.get(i);
+            byte[] payload = null;
+            if (name.equals(PLOT_SECTION)) {
+                payload = encodePlots(sectionLines.get(i), nameIds);
+            }
+            if (payload != null) {
+                out.writeByte(KIND_PLOTS);
+            } else {
+                payload = encodeLines(sectionLines.get(i));
+                out.writeByte(KIND_LINES);
+            }
+            writeShortString(out, name);
+            out.writeInt(payload.length);
+            out.write(payload);
+        }
+        out.flush();
+
+        ByteArrayOutputStream file = new ByteArrayOutputStream(body.size() + nameIds.size() * 16 + 16);
+        DataOutputStream header = new DataOutputStream(file);
+        header.write(MAGIC);
+        header.writeShort(VERSION);
+        header.writeShort(0);
+        header.writeInt(nameIds.size());
+        for (String name : nameIds.keySet()) {
+            writeShortString(header, name);
+        }
+        header.flush();
+        body.writeTo(file);
+        return file.toByteArray();
+    }
+
+    private static byte[] encodeLines(List<String> lines) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(lines.size());
+        for (String line : lines) {
+            byte[] utf8 = line.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(utf8.length);
+            out.write(utf8);
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    // Returns null if the section is not in the canonical shape saveGame writes
+    private static byte[] encodePlots(List<String> lines, Map<String, Integer> nameIds) {
+        if (lines.isEmpty() || !lines.get(0).startsWith("PlotCount=")) {
+            return null;
+        }
+        int plotCount;
+        try {
+            plotCount = Integer.parseInt(lines.get(0).substring(10));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        if (!lines.get(0).equals("PlotCount=" + plotCount)) {
+            return null;
+        }
+
+        Map<String, Integer> candidateIds = new LinkedHashMap<>(nameIds);
+        List<String> names = new ArrayList<>(nameIds.keySet());
+        ByteBuffer records = ByteBuffer.allocate(lines.size() * RECORD_BYTES);
+        int recordCount = 0;
+        StringBuilder rendered = new StringBuilder();
+        int i = 1;
+        while (i < lines.size()) {
+            String plotLine = lines.get(i++);
+            String flowerLine = null;
+            if (i < lines.size() && lines.get(i).startsWith("PlotFlower=")) {
+                flowerLine = lines.get(i++);
+            }
+            if (!encodeRecord(plotLine, flowerLine, candidateIds, names, records)) {
+                return null;
+            }
+
+            // Only keep the record form if it reproduces the original lines
+            rendered.setLength(0);
+            renderRecord(records, records.position() - RECORD_BYTES, names, rendered);
+            String expected = plotLine + "\n" + (flowerLine != null ? flowerLine + "\n" : "");
+            if (!expected.contentEquals(rendered)) {
+                return null;
+            }
+            recordCount++;
+        }
+
+        nameIds.clear();
+        nameIds.putAll(candidateIds);
+        ByteBuffer payload = ByteBuffer.allocate(8 + recordCount * RECORD_BYTES);
+        payload.putInt(plotCount);
+        payload.putInt(recordCount);
+        payload.put(records.array(), 0, recordCount * RECORD_BYTES);
+        return payload.array();
+    }
+
+    private static boolean encodeRecord(String plotLine, String flowerLine,
+            Map<String, Integer> nameIds, List<String> names, ByteBuffer out) {
+        if (!plotLine.startsWith("Plot=")) {
+            return false;
+        }
+        String[] plot = plotLine.substring(5).split(",", -1);
+        if (plot.length != 7) {
+            return false;
+        }
+        try {
+            int flags = 0;
+            if (Boolean.parseBoolean(plot[1])) flags |= WATERED;
+            if (Boolean.parseBoolean(plot[2])) flags |= WEEDED;
+            if (Boolean.parseBoolean(plot[3])) flags |= FERTILIZED;
+            if (Boolean.parseBoolean(plot[5])) flags |= FLOWER_POT;
+
+            int nameId = -1;
+            int stage = 0;
+            int daysPlanted = 0;
+            double durability = 0;
+            double cost = 0;
+            int nrg = 0;
+            if (flowerLine != null) {
+                String[] flower = flowerLine.substring(11).split(",", -1);
+                if (flower.length != 6 && flower.length != 7) {
+                    return false;
+                }
+                if (!flower[0].equals(plot[0])) {
+                    return false;
+                }
+                GrowthStage growthStage = GrowthStage.fromName(flower[2]);
+                if (growthStage == null) {
+                    return false;
+                }
+                flags |= HAS_FLOWER;
+                Integer id = nameIds.get(flower[1]);
+                if (id == null) {
+                    id = names.size();
+                    nameIds.put(flower[1], id);
+                    names.add(flower[1]);
+                }
+                nameId = id;
+                stage = growthStage.getCode();
+                daysPlanted = Integer.parseInt(flower[3]);
+                durability = Double.parseDouble(flower[4]);
+                cost = Double.parseDouble(flower[5]);
+                if (flower.length == 7) {
+                    flags |= HAS_NRG;
+                    nrg = Integer.parseInt(flower[6]);
+                }
+            }
+
+            out.putInt(Integer.parseInt(plot[0]));
+            out.put((byte) flags);
+            out.put((byte) SoilQuality.fromName(plot[4]).getCode());
+            out.putInt(Integer.parseInt(plot[6]));
+            out.putInt(nameId);
+            out.put((byte) stage);
+            out.putInt(daysPlanted);
+            out.putDouble(durability);
+            out.putDouble(cost);
+            out.putInt(nrg);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    // ---------------------------------------------------------------- decode
+
+    /**
+     * Memory-maps a binary snapshot and builds its plots directly
+     */
+    public static Decoded load(File file) throws IOException {
+        return decode(map(file), true);
+    }
+
+    /**
+     * Decodes a binary snapshot that is already in memory
+     */
+    public static Decoded load(ByteBuffer buffer) throws IOException {
+        return decode(buffer, true);
+    }
+
+    /**
+     * Converts a binary snapshot back to the text save format
+     */
+    public static String toText(File file) throws IOException {
+        return decode(map(file), false).getText();
+    }
+
+    public static String toText(ByteBuffer buffer) throws IOException {
+        return decode(buffer, false).getText();
+    }
+
+    private static ByteBuffer map(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return buffer;
+        }
+    }
+
+    private static Decoded decode(ByteBuffer in, boolean buildPlots) throws IOException {
+        try {
+            byte[] magic = new byte[MAGIC.length];
+            in.get(magic);
+            if (!Arrays.equals(magic, MAGIC)) {
+                throw new IOException("Not a binary save");
+            }
+            int version = in.getShort();
+            if (version != VERSION) {
+                throw new IOException("Unsupported binary save version " + version);
+            }
+            in.getShort();
+
+            int nameCount = in.getInt();
+            List<String> names = new ArrayList<>(nameCount);
+            for (int i = 0; i < nameCount; i++) {
+                names.add(readShortString(in));
+            }
+
+            StringBuilder text = new StringBuilder();
+            List<gardenPlot> plots = null;
+            int sections = in.getInt();
+            for (int s = 0; s < sections; s++) {
+                byte kind = in.get();
+                String name = readShortString(in);
+                int length = in.getInt();
+                int end = in.position() + length;
+                if (!name.isEmpty()) {
+                    text.append('[').append(name).append("]\n");
+                }
+
+                if (kind == KIND_LINES) {
+                    int count = in.getInt();
+                    for (int i = 0; i < count; i++) {
+                        byte[] utf8 = new byte[in.getInt()];
+                        in.get(utf8);
+                        text.append(new String(utf8, StandardCharsets.UTF_8)).append('\n');
+                    }
+                } else if (kind == KIND_PLOTS) {
+                    int plotCount = in.getInt();
+                    int recordCount = in.getInt();
+                    text.append("PlotCount=").append(plotCount).append('\n');
+                    if (buildPlots) {
+                        plots = buildPlots(in, names, plotCount, recordCount);
+                    } else {
+                        for (int i = 0; i < recordCount; i++) {
+                            renderRecord(in, in.position() + i * RECORD_BYTES, names, text);
+                        }
+                    }
+                } else {
+                    throw new IOException("Unknown section kind " + kind);
+                }
+                in.position(end);
+            }
+            return new Decoded(text.toString(), plots);
+        } catch (java.nio.BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IOException("Truncated binary save", e);
+        }
+    }
+
+    // Mirrors the text loader: indices without a record become empty plots,
+    // and a section with no records leaves the player's default garden alone
+    private static List<gardenPlot> buildPlots(ByteBuffer in, List<String> names, int plotCount, int recordCount) {
+        if (recordCount == 0) {
+            return null;
+        }
+        gardenPlot[] byIndex = new gardenPlot[Math.max(plotCount, 0)];
+        int base = in.position();
+        for (int r = 0; r < recordCount; r++) {
+            int at = base + r * RECORD_BYTES;
+            int index = in.getInt(at);
+            if (index < 0 || index >= byIndex.length) {
+                continue;
+            }
+            int flags = in.get(at + 4);
+            gardenPlot plot = new gardenPlot((flags & FLOWER_POT) != 0);
+            plot.setSoil(SoilQuality.fromCode(in.get(at + 5)));
+            plot.setWatered((flags & WATERED) != 0);
+            plot.setWeeded((flags & WEEDED) != 0);
+            plot.setFertilized((flags & FERTILIZED) != 0);
+            plot.setConsecutiveDaysWithoutWater(in.getInt(at + 6));
+            if ((flags & HAS_FLOWER) != 0) {
+                int nrg = (flags & HAS_NRG) != 0 ? in.getInt(at + 35) : 1;
+                plot.forcePlantFlower(new FlowerInstance(
+                        names.get(in.getInt(at + 10)),
+                        GrowthStage.fromCode(in.get(at + 14)).getDisplayName(),
+                        in.getInt(at + 15),
+                        in.getDouble(at + 19),
+                        nrg,
+                        in.getDouble(at + 27)));
+            }
+            byIndex[index] = plot;
+        }
+
+        List<gardenPlot> plots = new ArrayList<>(byIndex.length);
+        for (gardenPlot plot : byIndex) {
+            plots.add(plot != null ? plot : new gardenPlot());
+        }
+        return plots;
+    }
+
+    // Writes the Plot= / PlotFlower= lines exactly as Journal.saveGame does
+    private static void renderRecord(ByteBuffer in, int at, List<String> names, StringBuilder out) {
+        int index = in.getInt(at);
+        int flags = in.get(at + 4);
+        out.append("Plot=").append(index)
+                .append(',').append((flags & WATERED) != 0)
+                .append(',').append((flags & WEEDED) != 0)
+                .append(',').append((flags & FERTILIZED) != 0)
+                .append(',').append(SoilQuality.fromCode(in.get(at + 5)))
+                .append(',').append((flags & FLOWER_POT) != 0)
+                .append(',').append(in.getInt(at + 6))
+                .append('\n');
+        if ((flags & HAS_FLOWER) != 0) {
+            out.append("PlotFlower=").append(index)
+                    .append(',').append(names.get(in.getInt(at + 10)))
+                    .append(',').append(GrowthStage.fromCode(in.get(at + 14)).getDisplayName())
+                    .append(',').append(in.getInt(at + 15))
+                    .append(',').append(in.getDouble(at + 19))
+                    .append(',').append(in.getDouble(at + 27));
+            if ((flags & HAS_NRG) != 0) {
+                out.append(',').append(in.getInt(at + 35));
+            }
+            out.append('\n');
+        }
+    }
+
+    // ---------------------------------------------------------------- helpers
+
+    private static List<String> splitLines(String text) {
+        List<String> lines = new ArrayList<>();
+        int start = 0;
+        while (start < text.length()) {
+            int end = text.indexOf('\n', start);
+            if (end < 0) {
+                end = text.length();
+            }
+            lines.add(text.substring(start, end));
+            start = end + 1;
+        }
+        return lines;
+    }
+
+    private static void writeShortString(DataOutputStream out, String value) throws IOException {
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        if (utf8.length > 0xFFFF) {
+            throw new IOException("Name too long for binary save: " + value.substring(0, 32) + "...");
+        }
+        out.writeShort(utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readShortString(ByteBuffer in) {
+        byte[] utf8 = new byte[in.getShort() & 0xFFFF];
+        in.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private static String readFile(File file) throws IOException {
+        try (InputStream in = SaveCompression.open(file)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Converts between the text and binary save formats
+     */
+    public static void main(String[] args) {
+        if (args.length < 1 || args.length > 2) {
+            System.out.println("Usage: java BinarySave <save.txt|save.sav> [output]");
+            return;
+        }
+        File input = new File(args[0]);
+        try {
+            if (isBinary(input)) {
+                String text = toText(input);
+                File output = new File(args.length > 1 ? args[1] : replaceSuffix(args[0], ".txt"));
+                try (Writer out = new OutputStreamWriter(new FileOutputStream(output), StandardCharsets.UTF_8)) {
+                    out.write(text);
+                }
+                System.out.println("Wrote text save " + output + " (" + output.length() + " bytes)");
+            } else {
+                String text = readFile(input);
+                byte[] encoded = encode(text);
+                File output = new File(args.length > 1 ? args[1] : replaceSuffix(args[0], SUFFIX));
+                try (OutputStream out = new FileOutputStream(output)) {
+                    out.write(encoded);
+                }
+                // Check the round trip before reporting success
+                String roundTrip = toText(output);
+                String expected = text.endsWith("\n") || text.isEmpty() ? text : text + "\n";
+                System.out.println("Wrote binary save " + output + " (" + encoded.length + " bytes, text was "
+                        + input.length() + ")" + (roundTrip.equals(expected) ? "" : " [round trip differs!]"));
+            }
+        } catch (IOException e) {
+            System.out.println("[X] Conversion failed: " + e.getMessage());
+        }
+    }
+
+    private static String replaceSuffix(String path, String suffix) {
+        int dot = path.lastIndexOf('.');
+        int slash = Math.max(path.lastIndexOf('/'), path.lastIndexOf(File.separatorChar));
+        return (dot > slash ? path.substring(0, dot) : path) + suffix;
+    }
+}
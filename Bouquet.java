@@ -36,11 +36,8 @@ public class Bouquet {
     private double calculateBaseValue() {
         double total = 0;
         for (Flower flower : flowers) {
-            String stage = flower.getGrowthStage();
-            String name = flower.getName();
-            
             // Get value from registry
-            double value = FlowerRegistry.getFlowerValue(name, stage);
+            double value = FlowerRegistry.getFlowerValue(flower.getName(), flower.getStage());
             total += value;
         }
         return total;
@@ -76,8 +73,7 @@ public class Bouquet {
         
         // Check that all flowers are Bloomed or higher
         for (Flower flower : flowers) {
-            String stage = flower.getGrowthStage();
-            if (stage.equals("Seed") || stage.equals("Seedling")) {
+            if (!flower.getStage().isBouquetReady()) {
                 return false;
             }
         }
@@ -138,18 +138,15 @@ public class BuildingActions {
 	                currentOption++;
 	            }
 
-	
-            if (!player.hasAnyMantleOwned()) {
-            if (!player.hasCraftedMantle()) {
-                if (buildChoice.equals(String.valueOf(currentOption))) {
-                    buildMantle(player, scanner);
-                    currentOption++;
-                    continue;
-                }
-                currentOption++;
-            }
-
-            if (player.hasHeatLamp()) {
+	            if (!player.hasAnyMantleOwned()) {
+	                if (buildChoice.equals(String.valueOf(currentOption))) {
+	                    buildMantle(player, scanner);
+	                    currentOption++;
+	                    continue;
+	                }
+	                currentOption++;
+	            }
+
 	            if (player.hasHeatLamp()) {
 	                if (buildChoice.equals(String.valueOf(currentOption))) {
 	                    useHeatLamp(player, scanner);
@@ -217,8 +214,7 @@ public class BuildingActions {
 	    System.out.println("🏡 Greenhouse Status:");
 	    System.out.println("  • Greenhouses built: " + player.getGreenhouseCount());
 	    System.out.println("  • Weather protection capacity: " + player.getGreenhouseProtectionCapacity() + " plants");
-    System.out.println("  • Mantle: " + (player.hasPlacedMantle() ? "Placed in garden" : (player.hasMantleInInventory() ? "Crafted (in backpack)" : "Not built")));
-    System.out.println("  • Mantle: " + (player.hasPlacedMantle() ? "Placed in garden" : (player.hasCraftedMantle() ? "Crafted (in backpack)" : "Not built")));
+	    System.out.println("  • Mantle: " + (player.hasPlacedMantle() ? "Placed in garden" : (player.hasMantleInInventory() ? "Crafted (in backpack)" : "Not built")));
 	
 	    System.out.println();
 
@@ -289,11 +285,10 @@ public class BuildingActions {
 	            System.out.println(optionNum + ": Install Buzzsaw (1750 credits, 22 NRG)");
 	            optionNum++;
 	        }
-        if (!player.hasAnyMantleOwned()) {
-        if (!player.hasCraftedMantle()) {
-            System.out.println(optionNum + ": Build Mantle (4883 credits, 62 NRG)");
-            optionNum++;
-        }
+	        if (!player.hasAnyMantleOwned()) {
+	            System.out.println(optionNum + ": Build Mantle (4883 credits, 62 NRG)");
+	            optionNum++;
+	        }
 	        if (player.hasHeatLamp()) {
 	            System.out.println(optionNum + ": Use Heat Lamp (instantly wither one planted flower)");
 	            optionNum++;
@@ -895,6 +890,3 @@ public class BuildingActions {
 	}
 
 }
-}
-}
-}
@@ -0,0 +1,111 @@
+/* CarePolicy.java
+ * Scripted ways of tending a plot, used by batch simulations and fast-forward.
+ * Each policy says what the gardener does every morning before bed.
+ */
+
+public enum CarePolicy {
+    ALWAYS_WATER("Always water", 1, true, false, false),
+    WATER_EVERY_OTHER_DAY("Water every other day", 2, true, false, false),
+    NEVER_WEED("Never weed", 1, false, false, false),
+    FERTILIZED("Fertilized", 1, true, true, false),
+    GREENHOUSE("Greenhouse", 1, true, false, true);
+
+    private final String displayName;
+    private final int waterInterval;
+    private final boolean weeds;
+    private final boolean fertilizes;
+    private final boolean greenhouse;
+
+    CarePolicy(String displayName, int waterInterval, boolean weeds, boolean fertilizes, boolean greenhouse) {
+        this.displayName = displayName;
+        this.waterInterval = waterInterval;
+        this.weeds = weeds;
+        this.fertilizes = fertilizes;
+        this.greenhouse = greenhouse;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Whether the plot gets watered on the given day
+     */
+    public boolean watersOn(int day) {
+        return day % waterInterval == 0;
+    }
+
+    public boolean weeds() {
+        return weeds;
+    }
+
+    public boolean fertilizes() {
+        return fertilizes;
+    }
+
+    /**
+     * Greenhouse plots are watered by drip irrigation (no NRG, once a greenhouse is built)
+     * and sit under the grow light
+     */
+    public boolean isGreenhouse() {
+        return greenhouse;
+    }
+
+    /**
+     * Tends one real garden plot for the day (used by fast-forward). Every
+     * manual action costs the player 1 NRG and stops once they have none left;
+     * fertilizing also uses up one composted flower. Drip irrigation only
+     * waters for free once the player owns a greenhouse.
+     * @return NRG spent
+     */
+    public int tend(Player1 player, gardenPlot plot, int day) {
+        int nrgSpent = 0;
+        if (!plot.isOccupied()) {
+            return 0;
+        }
+        if (greenhouse && player.getGreenhouseCount() > 0) {
+            plot.setWatered(true);
+            plot.setConsecutiveDaysWithoutWater(0);
+        } else if (player.getNRG() > 0 && watersOn(day) && plot.waterPlot()) {
+            nrgSpent++;
+            player.setNRG(player.getNRG() - 1);
+        }
+        if (weeds && player.getNRG() > 0 && plot.weedPlot()) {
+            nrgSpent++;
+            player.setNRG(player.getNRG() - 1);
+        }
+        if (fertilizes && player.getNRG() > 0 && player.getCompostWitheredCount() > 0 && plot.fertilizePlot()) {
+            nrgSpent++;
+            player.setNRG(player.getNRG() - 1);
+            player.setCompostWitheredCount(player.getCompostWitheredCount() - 1);
+        }
+        return nrgSpent;
+    }
+
+    /**
+     * Tends one plot for the day
+     * @return NRG spent (1 per manual action that changed something)
+     */
+    public int tend(PlotState s, int day) {
+        int nrgSpent = 0;
+        if (!s.occupied) {
+            return 0;
+        }
+        if (greenhouse) {
+            s.watered = true;
+            s.dryDays = 0;
+        } else if (watersOn(day) && !s.watered) {
+            s.watered = true;
+            nrgSpent++;
+        }
+        if (weeds && !s.flowerPot && !s.weeded) {
+            s.weeded = true;
+            nrgSpent++;
+        }
+        if (fertilizes && !s.fertilized) {
+            s.fertilized = true;
+            nrgSpent++;
+        }
+        return nrgSpent;
+    }
+}
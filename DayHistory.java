@@ -0,0 +1,715 @@
+/* DayHistory.java
+ * Per-day reverse deltas of the garden, so a player can rewind to an earlier day
+ */
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Remembers the state at the start of every day of the session as a chain of
+ * reverse deltas. Only the newest day is kept in full. Each older day is
+ * stored as the difference that turns the day after it back into it:
+ * <ul>
+ *   <li>credits, NRG and the day number</li>
+ *   <li>for each plot that changed, the old values of just the fields that
+ *       changed (flags, soil, dry days, flower, stage, days planted,
+ *       durability, cost/NRG)</li>
+ *   <li>inventory items added and removed, with their positions</li>
+ * </ul>
+ * A growing plot usually costs about fifteen bytes a day. Recording a day
+ * compares the garden with the newest day field by field and builds records
+ * only for the plots that changed. Rewinding applies the deltas to the newest
+ * day in place and rewrites only the plots they name, plus any plot changed
+ * since the newest day was recorded; the inventory is rebuilt only when a
+ * delta or play since then touched it. Both still make one allocation-free
+ * comparison pass over the garden. Once the deltas outgrow the memory budget
+ * (-Dsunflower.history.budget, in bytes) the oldest days are forgotten.
+ *
+ * The history is not saved: it covers the days played since the save was
+ * loaded. The session random source is not rewound, so replayed nights can
+ * turn out differently. GardenEngine.fastForward records only the day a batch
+ * ends on, and benchmarks turn recording off.
+ */
+public class DayHistory {
+    public static final String BUDGET_PROPERTY = "sunflower.history.budget";
+    private static final long DEFAULT_BUDGET_BYTES = 512 * 1024;
+
+    // How far ahead the inventory diff looks to line the two days up again
+    private static final int RESYNC_WINDOW = 16;
+
+    // Rough per-object overheads for the budget
+    private static final int DELTA_OVERHEAD_BYTES = 64;
+    private static final int STRING_OVERHEAD_BYTES = 40;
+
+    private final long budgetBytes;
+    private State newest;
+    // Oldest first; each delta turns the day after it back into its own day
+    private final ArrayDeque<Delta> deltas = new ArrayDeque<>();
+    private long deltaBytes;
+
+    public DayHistory() {
+        this(Long.getLong(BUDGET_PROPERTY, DEFAULT_BUDGET_BYTES));
+    }
+
+    public DayHistory(long budgetBytes) {
+        this.budgetBytes = Math.max(0, budgetBytes);
+    }
+
+    /**
+     * Records the player's current state as their current day. Recording the
+     * same day again replaces that day.
+     */
+    public void record(Player1 player) {
+        if (newest == null) {
+            newest = State.capture(player);
+            return;
+        }
+        Delta delta = newest.update(player, newest.day != player.getDay());
+        if (delta != null) {
+            deltas.addLast(delta);
+            deltaBytes += delta.bytes();
+            while (deltaBytes > budgetBytes && !deltas.isEmpty()) {
+                deltaBytes -= deltas.removeFirst().bytes();
+            }
+        }
+    }
+
+    public boolean isEmpty() {
+        return newest == null;
+    }
+
+    /**
+     * @return The earliest day that can be restored, or -1 with no history
+     */
+    public int getOldestDay() {
+        if (newest == null) {
+            return -1;
+        }
+        return deltas.isEmpty() ? newest.day : deltas.getFirst().day;
+    }
+
+    public int getNewestDay() {
+        return newest == null ? -1 : newest.day;
+    }
+
+    /**
+     * Bytes held by the deltas (the newest day's full state is not counted)
+     */
+    public long getMemoryBytes() {
+        return deltaBytes;
+    }
+
+    public int getRecordedDays() {
+        return newest == null ? 0 : deltas.size() + 1;
+    }
+
+    /**
+     * Puts the player back to the start of the given day. Days after it are
+     * dropped from the history.
+     * @return false if that day is not in the history
+     */
+    public boolean rewind(Player1 player, int day) {
+        if (newest == null || day < getOldestDay() || day > newest.day) {
+            return false;
+        }
+        // What the player changed since the newest day was recorded
+        BitSet touched = newest.changedPlots(player);
+        boolean inventoryTouched = !newest.inventory.equals(State.inventoryCodes(player));
+        while (newest.day > day && !deltas.isEmpty()) {
+            Delta delta = deltas.removeLast();
+            deltaBytes -= delta.bytes();
+            inventoryTouched |= delta.applyTo(newest, touched);
+        }
+        newest.restore(player, touched, inventoryTouched);
+        return true;
+    }
+
+    // ---------------------------------------------------------------- state
+
+    private static final class State {
+        int day;
+        int credits;
+        int nrg;
+        PlotRecord[] plots;
+        List<String> inventory;
+
+        static State capture(Player1 player) {
+            State state = new State();
+            state.day = player.getDay();
+            state.credits = player.getCredits();
+            state.nrg = player.getNRG();
+            List<gardenPlot> garden = player.getGardenPlots();
+            state.plots = new PlotRecord[garden.size()];
+            for (int i = 0; i < state.plots.length; i++) {
+                state.plots[i] = PlotRecord.of(garden.get(i));
+            }
+            state.inventory = inventoryCodes(player);
+            return state;
+        }
+
+        static List<String> inventoryCodes(Player1 player) {
+            List<String> codes = new ArrayList<>();
+            for (Object item : player.getInventory()) {
+                String code = ItemCodes.encode(item);
+                if (code != null) {
+                    codes.add(code);
+                }
+            }
+            return codes;
+        }
+
+        /**
+         * Moves this state on to the player's current one, replacing only the
+         * plot records that changed
+         * @param keepDelta Whether to return the delta back to the old state
+         * @return The delta, or null when not kept
+         */
+        Delta update(Player1 player, boolean keepDelta) {
+            ByteArrayOutputStream out = keepDelta ? new ByteArrayOutputStream() : null;
+            Delta delta = keepDelta ? new Delta(this) : null;
+
+            List<gardenPlot> garden = player.getGardenPlots();
+            PlotRecord[] older = plots;
+            if (garden.size() != older.length) {
+                plots = Arrays.copyOf(older, garden.size());
+            }
+            for (int i = 0; i < plots.length; i++) {
+                PlotRecord before = i < older.length ? older[i] : null;
+                gardenPlot plot = garden.get(i);
+                if (before == null || !before.matches(plot)) {
+                    PlotRecord after = PlotRecord.of(plot);
+                    plots[i] = after;
+                    if (out != null && before != null) {
+                        writeVarInt(out, i);
+                        before.writeChanges(after, out);
+                    }
+                }
+            }
+            // Plots that are gone are written in full
+            for (int i = plots.length; out != null && i < older.length; i++) {
+                writeVarInt(out, i);
+                older[i].writeChanges(null, out);
+            }
+
+            List<String> current = inventoryCodes(player);
+            if (delta != null) {
+                delta.setPlots(out.toByteArray());
+                delta.setInventory(inventory, current);
+            }
+            day = player.getDay();
+            credits = player.getCredits();
+            nrg = player.getNRG();
+            inventory = current;
+            return delta;
+        }
+
+        /**
+         * Indexes of the plots that no longer match this state
+         */
+        BitSet changedPlots(Player1 player) {
+            BitSet changed = new BitSet();
+            List<gardenPlot> garden = player.getGardenPlots();
+            for (int i = 0; i < Math.min(plots.length, garden.size()); i++) {
+                if (!plots[i].matches(garden.get(i))) {
+                    changed.set(i);
+                }
+            }
+            return changed;
+        }
+
+        /**
+         * Writes this state back to the player. Only the plots in `touched`
+         * and any the garden has to regrow are rewritten.
+         */
+        void restore(Player1 player, BitSet touched, boolean inventoryTouched) {
+            player.setDay(day);
+            player.setCredits(credits);
+            player.setNRG(nrg);
+
+            List<gardenPlot> garden = player.getGardenPlots();
+            while (garden.size() > plots.length) {
+                garden.remove(garden.size() - 1);
+            }
+            if (garden.size() < plots.length) {
+                touched.set(garden.size(), plots.length);
+            }
+            while (garden.size() < plots.length) {
+                garden.add(new gardenPlot());
+            }
+            for (int i = touched.nextSetBit(0); i >= 0 && i < plots.length; i = touched.nextSetBit(i + 1)) {
+                gardenPlot plot = garden.get(i);
+                if (!plots[i].matches(plot)) {
+                    plots[i].restore(plot);
+                }
+            }
+            if (inventoryTouched) {
+                restoreInventory(player);
+            }
+        }
+
+        // Rebuilds the inventory in the recorded order, reusing the objects
+        // that are still there; untracked item types stay at the end
+        private void restoreInventory(Player1 player) {
+            Map<String, ArrayDeque<Object>> current = new HashMap<>();
+            List<Object> untracked = new ArrayList<>();
+            for (Object item : player.getInventory()) {
+                String code = ItemCodes.encode(item);
+                if (code == null) {
+                    untracked.add(item);
+                } else {
+                    current.computeIfAbsent(code, k -> new ArrayDeque<>()).add(item);
+                }
+            }
+            List<Object> items = player.getInventory();
+            items.clear();
+            for (String code : inventory) {
+                ArrayDeque<Object> same = current.get(code);
+                Object item = same != null && !same.isEmpty() ? same.poll() : ItemCodes.decode(code);
+                if (item != null) {
+                    items.add(item);
+                }
+            }
+            items.addAll(untracked);
+        }
+    }
+
+    // ---------------------------------------------------------------- deltas
+
+    private static final class Delta {
+        // The older day's values
+        final int day;
+        final int credits;
+        final int nrg;
+        final int plotCount;
+        // Changed plots: index, field mask, then the older value of each masked field
+        byte[] plots;
+        // Inventory hunks in the newer day's positions: replace hunkReplaced[k]
+        // items at hunkAt[k] with hunkItems[k]
+        int[] hunkAt;
+        int[] hunkReplaced;
+        String[][] hunkItems;
+
+        Delta(State older) {
+            this.day = older.day;
+            this.credits = older.credits;
+            this.nrg = older.nrg;
+            this.plotCount = older.plots.length;
+        }
+
+        void setPlots(byte[] plots) {
+            this.plots = plots;
+        }
+
+        void setInventory(List<String> before, List<String> after) {
+            // Items are appended or taken a few at a time, so walk both lists
+            // and resynchronise after each difference within a small window
+            List<int[]> hunks = new ArrayList<>();
+            List<String[]> items = new ArrayList<>();
+            int i = 0;
+            int j = 0;
+            while (i < before.size() || j < after.size()) {
+                if (i < before.size() && j < after.size() && before.get(i).equals(after.get(j))) {
+                    i++;
+                    j++;
+                    continue;
+                }
+                int skipBefore = before.size() - i;
+                int skipAfter = after.size() - j;
+                search:
+                for (int total = 1; total <= RESYNC_WINDOW; total++) {
+                    for (int di = 0; di <= total; di++) {
+                        int dj = total - di;
+                        if (i + di < before.size() && j + dj < after.size()
+                                && before.get(i + di).equals(after.get(j + dj))) {
+                            skipBefore = di;
+                            skipAfter = dj;
+                            break search;
+                        }
+                    }
+                }
+                hunks.add(new int[] {j, skipAfter});
+                items.add(before.subList(i, i + skipBefore).toArray(new String[0]));
+                i += skipBefore;
+                j += skipAfter;
+            }
+            hunkAt = new int[hunks.size()];
+            hunkReplaced = new int[hunks.size()];
+            for (int k = 0; k < hunkAt.length; k++) {
+                hunkAt[k] = hunks.get(k)[0];
+                hunkReplaced[k] = hunks.get(k)[1];
+            }
+            hunkItems = items.toArray(new String[0][]);
+        }
+
+        /**
+         * Turns the state back into this delta's day in place, marking the
+         * plots it rewrites in `touched`
+         * @return Whether the inventory changed
+         */
+        boolean applyTo(State state, BitSet touched) {
+            state.day = day;
+            state.credits = credits;
+            state.nrg = nrg;
+            PlotRecord[] newer = state.plots;
+            if (plotCount != newer.length) {
+                state.plots = Arrays.copyOf(newer, plotCount);
+            }
+            int[] at = {0};
+            while (at[0] < plots.length) {
+                int index = readVarInt(plots, at);
+                PlotRecord base = index < newer.length ? newer[index] : PlotRecord.EMPTY;
+                state.plots[index] = base.readChanges(plots, at);
+                touched.set(index);
+            }
+            // Back to front so earlier positions stay valid
+            for (int k = hunkAt.length - 1; k >= 0; k--) {
+                List<String> replaced = state.inventory.subList(hunkAt[k], hunkAt[k] + hunkReplaced[k]);
+                replaced.clear();
+                replaced.addAll(Arrays.asList(hunkItems[k]));
+            }
+            return hunkAt.length > 0;
+        }
+
+        long bytes() {
+            long total = DELTA_OVERHEAD_BYTES + plots.length;
+            total += 8L * hunkAt.length;
+            for (String[] hunk : hunkItems) {
+                for (String code : hunk) {
+                    total += STRING_OVERHEAD_BYTES + code.length();
+                }
+            }
+            return total;
+        }
+    }
+
+    // ---------------------------------------------------------------- plots
+
+    private static final class PlotRecord {
+        static final int WATERED = 1;
+        static final int WEEDED = 2;
+        static final int FERTILIZED = 4;
+        static final int FLOWER_POT = 8;
+        static final int HAS_FLOWER = 16;
+
+        // Field mask bits
+        static final int F_FLAGS = 1;
+        static final int F_SOIL = 2;
+        static final int F_DRY_DAYS = 4;
+        static final int F_NAME = 8;
+        static final int F_STAGE = 16;
+        static final int F_DAYS_PLANTED = 32;
+        static final int F_DURABILITY = 64;
+        static final int F_COST = 128;
+
+        static final PlotRecord EMPTY = new PlotRecord(0, 0, 0, null, 0, 0, 0, 0, 0);
+
+        final int flags;
+        final int soil;
+        final int dryDays;
+        final String name;
+        final int stage;
+        final int daysPlanted;
+        final double durability;
+        final double cost;
+        final int nrgRestored;
+
+        PlotRecord(int flags, int soil, int dryDays, String name, int stage,
+                int daysPlanted, double durability, double cost, int nrgRestored) {
+            boolean flower = (flags & HAS_FLOWER) != 0;
+            this.flags = flags;
+            this.soil = soil;
+            this.dryDays = dryDays;
+            this.name = flower ? name : null;
+            this.stage = flower ? stage : 0;
+            this.daysPlanted = flower ? daysPlanted : 0;
+            this.durability = flower ? durability : 0;
+            this.cost = flower ? cost : 0;
+            this.nrgRestored = flower ? nrgRestored : 0;
+        }
+
+        static PlotRecord of(gardenPlot plot) {
+            int flags = (plot.isWatered() ? WATERED : 0)
+                    | (plot.isWeeded() ? WEEDED : 0)
+                    | (plot.isFertilized() ? FERTILIZED : 0)
+                    | (plot.isFlowerPot() ? FLOWER_POT : 0);
+            Flower flower = plot.getPlantedFlower();
+            if (flower == null) {
+                return new PlotRecord(flags, plot.getSoil().getCode(), plot.getConsecutiveDaysWithoutWater(),
+                        null, 0, 0, 0, 0, 0);
+            }
+            int nrg = flower instanceof FlowerInstance ? ((FlowerInstance) flower).getNRGRestored() : 1;
+            return new PlotRecord(flags | HAS_FLOWER, plot.getSoil().getCode(),
+                    plot.getConsecutiveDaysWithoutWater(), flower.getName(), flower.getStage().getCode(),
+                    flower.getDaysPlanted(), flower.getDurability(), flower.getCost(), nrg);
+        }
+
+        /**
+         * Whether the plot still holds exactly this record, without building one
+         */
+        boolean matches(gardenPlot plot) {
+            Flower flower = plot.getPlantedFlower();
+            int plotFlags = (plot.isWatered() ? WATERED : 0)
+                    | (plot.isWeeded() ? WEEDED : 0)
+                    | (plot.isFertilized() ? FERTILIZED : 0)
+                    | (plot.isFlowerPot() ? FLOWER_POT : 0)
+                    | (flower != null ? HAS_FLOWER : 0);
+            if (plotFlags != flags || plot.getSoil().getCode() != soil
+                    || plot.getConsecutiveDaysWithoutWater() != dryDays) {
+                return false;
+            }
+            if (flower == null) {
+                return true;
+            }
+            int nrg = flower instanceof FlowerInstance ? ((FlowerInstance) flower).getNRGRestored() : 1;
+            return flower.getStage().getCode() == stage && flower.getDaysPlanted() == daysPlanted
+                    && Double.compare(flower.getDurability(), durability) == 0
+                    && Double.compare(flower.getCost(), cost) == 0 && nrg == nrgRestored
+                    && flower.getName().equals(name);
+        }
+
+        boolean hasFlower() {
+            return (flags & HAS_FLOWER) != 0;
+        }
+
+        void restore(gardenPlot plot) {
+            if (hasFlower()) {
+                Flower flower = plot.getPlantedFlower();
+                if (flower == null || !flower.getName().equals(name)) {
+                    flower = new FlowerInstance(name, GrowthStage.fromCode(stage).getDisplayName(),
+                            daysPlanted, durability, nrgRestored, cost);
+                    plot.forcePlantFlower(flower);
+                }
+                // Durability first: setting it can wither the flower
+                flower.setDurability(durability);
+                flower.setStage(GrowthStage.fromCode(stage));
+                flower.setDaysPlanted(daysPlanted);
+                flower.setCost(cost);
+                if (flower instanceof FlowerInstance) {
+                    ((FlowerInstance) flower).setNRGRestored(nrgRestored);
+                }
+            } else if (plot.isOccupied()) {
+                plot.forcePlantFlower(null);
+            }
+            plot.setFlowerPot((flags & FLOWER_POT) != 0);
+            plot.setWatered((flags & WATERED) != 0);
+            plot.setWeeded((flags & WEEDED) != 0);
+            plot.setFertilized((flags & FERTILIZED) != 0);
+            plot.setSoil(SoilQuality.fromCode(soil));
+            plot.setConsecutiveDaysWithoutWater(dryDays);
+        }
+
+        // Writes this record's values for the fields that differ from `other`
+        // (all of them when other is null)
+        void writeChanges(PlotRecord other, ByteArrayOutputStream out) {
+            PlotRecord base = other != null ? other : EMPTY;
+            boolean flower = hasFlower();
+            int mask = (flags != base.flags || other == null ? F_FLAGS : 0)
+                    | (soil != base.soil || other == null ? F_SOIL : 0)
+                    | (dryDays != base.dryDays || other == null ? F_DRY_DAYS : 0);
+            if (flower) {
+                boolean fresh = !base.hasFlower();
+                mask |= (fresh || !name.equals(base.name) ? F_NAME : 0)
+                        | (fresh || stage != base.stage ? F_STAGE : 0)
+                        | (fresh || daysPlanted != base.daysPlanted ? F_DAYS_PLANTED : 0)
+                        | (fresh || Double.compare(durability, base.durability) != 0 ? F_DURABILITY : 0)
+                        | (fresh || Double.compare(cost, base.cost) != 0
+                                || nrgRestored != base.nrgRestored ? F_COST : 0);
+            }
+            out.write(mask);
+            if ((mask & F_FLAGS) != 0) out.write(flags);
+            if ((mask & F_SOIL) != 0) out.write(soil);
+            if ((mask & F_DRY_DAYS) != 0) writeVarInt(out, dryDays);
+            if ((mask & F_NAME) != 0) writeString(out, name);
+            if ((mask & F_STAGE) != 0) out.write(stage);
+            if ((mask & F_DAYS_PLANTED) != 0) writeVarInt(out, daysPlanted);
+            if ((mask & F_DURABILITY) != 0) writeLong(out, Double.doubleToRawLongBits(durability));
+            if ((mask & F_COST) != 0) {
+                writeLong(out, Double.doubleToRawLongBits(cost));
+                writeVarInt(out, nrgRestored);
+            }
+        }
+
+        // Reverse of writeChanges, starting from this (newer) record
+        PlotRecord readChanges(byte[] in, int[] at) {
+            int mask = in[at[0]++] & 0xFF;
+            int newFlags = (mask & F_FLAGS) != 0 ? in[at[0]++] & 0xFF : flags;
+            int newSoil = (mask & F_SOIL) != 0 ? in[at[0]++] & 0xFF : soil;
+            int newDryDays = (mask & F_DRY_DAYS) != 0 ? readVarInt(in, at) : dryDays;
+            String newName = (mask & F_NAME) != 0 ? readString(in, at) : name;
+            int newStage = (mask & F_STAGE) != 0 ? in[at[0]++] & 0xFF : stage;
+            int newDaysPlanted = (mask & F_DAYS_PLANTED) != 0 ? readVarInt(in, at) : daysPlanted;
+            double newDurability = (mask & F_DURABILITY) != 0
+                    ? Double.longBitsToDouble(readLong(in, at)) : durability;
+            double newCost = cost;
+            int newNrg = nrgRestored;
+            if ((mask & F_COST) != 0) {
+                newCost = Double.longBitsToDouble(readLong(in, at));
+                newNrg = readVarInt(in, at);
+            }
+            return new PlotRecord(newFlags, newSoil, newDryDays, newName, newStage,
+                    newDaysPlanted, newDurability, newCost, newNrg);
+        }
+
+        String toCode() {
+            return flags + "," + soil + "," + dryDays + "," + (name == null ? "" : name) + "," + stage
+                    + "," + daysPlanted + "," + durability + "," + cost + "," + nrgRestored;
+        }
+
+        static PlotRecord fromCode(String code) {
+            String[] f = code.split(",", -1);
+            return new PlotRecord(Integer.parseInt(f[0]), Integer.parseInt(f[1]), Integer.parseInt(f[2]),
+                    f[3], Integer.parseInt(f[4]), Integer.parseInt(f[5]), Double.parseDouble(f[6]),
+                    Double.parseDouble(f[7]), Integer.parseInt(f[8]));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof PlotRecord)) {
+                return false;
+            }
+            PlotRecord r = (PlotRecord) o;
+            return flags == r.flags && soil == r.soil && dryDays == r.dryDays
+                    && Objects.equals(name, r.name) && stage == r.stage && daysPlanted == r.daysPlanted
+                    && Double.compare(durability, r.durability) == 0 && Double.compare(cost, r.cost) == 0
+                    && nrgRestored == r.nrgRestored;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(flags, soil, dryDays, name, stage, daysPlanted, durability);
+        }
+    }
+
+    // ---------------------------------------------------------------- inventory
+
+    /**
+     * Value codes for inventory items, so a rewound inventory gets fresh
+     * objects rather than ones the game has since changed
+     */
+    private static final class ItemCodes {
+        private static final char SEPARATOR = '\u001f';
+        private static final String FLOWER_SEPARATOR = "\u001e";
+
+        /**
+         * @return The item's code, or null for item types the history does not track
+         */
+        static String encode(Object item) {
+            if (item instanceof Flower) {
+                return "F" + flowerCode((Flower) item);
+            }
+            if (item instanceof gardenPlot) {
+                return "P" + PlotRecord.of((gardenPlot) item).toCode();
+            }
+            if (item instanceof Bouquet) {
+                Bouquet bouquet = (Bouquet) item;
+                StringBuilder code = new StringBuilder("B");
+                code.append(bouquet.getCustomName() == null ? "" : bouquet.getCustomName())
+                        .append(SEPARATOR).append(bouquet.getDayCreated()).append(SEPARATOR);
+                List<Flower> flowers = bouquet.getFlowers();
+                for (int i = 0; i < flowers.size(); i++) {
+                    code.append(i == 0 ? "" : FLOWER_SEPARATOR).append(flowerCode(flowers.get(i)));
+                }
+                return code.toString();
+            }
+            if (item instanceof Mantle) {
+                return "M";
+            }
+            return null;
+        }
+
+        static Object decode(String code) {
+            String body = code.substring(1);
+            switch (code.charAt(0)) {
+                case 'F':
+                    return flower(body);
+                case 'P': {
+                    PlotRecord record = PlotRecord.fromCode(body);
+                    gardenPlot pot = new gardenPlot((record.flags & PlotRecord.FLOWER_POT) != 0);
+                    record.restore(pot);
+                    return pot;
+                }
+                case 'B': {
+                    String[] parts = body.split(String.valueOf(SEPARATOR), 3);
+                    List<Flower> flowers = new ArrayList<>();
+                    if (!parts[2].isEmpty()) {
+                        for (String flower : parts[2].split(FLOWER_SEPARATOR)) {
+                            flowers.add(flower(flower));
+                        }
+                    }
+                    return new Bouquet(flowers, parts[0].isEmpty() ? null : parts[0], Integer.parseInt(parts[1]));
+                }
+                case 'M':
+                    return new Mantle();
+                default:
+                    return null;
+            }
+        }
+
+        private static String flowerCode(Flower flower) {
+            int nrg = flower instanceof FlowerInstance ? ((FlowerInstance) flower).getNRGRestored() : 1;
+            return flower.getName() + SEPARATOR + flower.getStage().getCode() + SEPARATOR
+                    + flower.getDaysPlanted() + SEPARATOR + flower.getDurability() + SEPARATOR
+                    + flower.getCost() + SEPARATOR + nrg;
+        }
+
+        private static Flower flower(String code) {
+            String[] f = code.split(String.valueOf(SEPARATOR), -1);
+            FlowerInstance flower = new FlowerInstance(f[0], GrowthStage.fromCode(Integer.parseInt(f[1])).getDisplayName(),
+                    Integer.parseInt(f[2]), Double.parseDouble(f[3]), Integer.parseInt(f[5]), Double.parseDouble(f[4]));
+            // The constructor may have withered it on zero durability; keep the recorded stage
+            flower.setStage(GrowthStage.fromCode(Integer.parseInt(f[1])));
+            return flower;
+        }
+    }
+
+    // ---------------------------------------------------------------- encoding
+
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        int zigzag = (value << 1) ^ (value >> 31);
+        while ((zigzag & ~0x7F) != 0) {
+            out.write((zigzag & 0x7F) | 0x80);
+            zigzag >>>= 7;
+        }
+        out.write(zigzag);
+    }
+
+    private static int readVarInt(byte[] in, int[] at) {
+        int zigzag = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = in[at[0]++] & 0xFF;
+            zigzag |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+
+    private static void writeLong(ByteArrayOutputStream out, long value) {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            out.write((int) (value >>> shift));
+        }
+    }
+
+    private static long readLong(byte[] in, int[] at) {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (in[at[0]++] & 0xFF);
+        }
+        return value;
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String value) {
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, utf8.length);
+        out.write(utf8, 0, utf8.length);
+    }
+
+    private static String readString(byte[] in, int[] at) {
+        int length = readVarInt(in, at);
+        String value = new String(in, at[0], length, StandardCharsets.UTF_8);
+        at[0] += length;
+        return value;
+    }
+}
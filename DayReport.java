@@ -0,0 +1,165 @@
+/* DayReport.java
+ * Structured result of one simulated night, produced by GardenEngine.
+ * Holds everything a client needs to describe the night (weather, dreams,
+ * garden changes) so the engine itself never has to print anything.
+ * The garden counters are tallied from the night's events as they are published.
+ */
+
+import java.util.Collections;
+import java.util.List;
+
+public class DayReport {
+    private int day;
+    private boolean weatherOccurred;
+    private WeatherSystem.Weather weather;
+    private String weatherDescription;
+    private String weatherSummary;
+
+    private String dreamContent;
+    private String dreamFilename;
+    private String hintFilename;
+    private boolean showedHint;
+
+    private int plantsGrew;
+    private int plantsMutated;
+    private int plantsWithered;
+    private int soilUpgrades;
+    private boolean needsWater;
+    private boolean needsWeeding;
+    private NightEvents events;
+
+    /**
+     * The day that begins after this night
+     */
+    public int getDay() {
+        return day;
+    }
+
+    void setDay(int day) {
+        this.day = day;
+    }
+
+    public boolean didWeatherOccur() {
+        return weatherOccurred;
+    }
+
+    /**
+     * Gets the weather rolled tonight, or null if no weather occurred
+     */
+    public WeatherSystem.Weather getWeather() {
+        return weather;
+    }
+
+    void setWeather(boolean occurred, WeatherSystem.Weather weather, String description, String summary) {
+        this.weatherOccurred = occurred;
+        this.weather = occurred ? weather : null;
+        this.weatherDescription = description;
+        this.weatherSummary = summary;
+    }
+
+    public String getWeatherDescription() {
+        return weatherDescription;
+    }
+
+    public String getWeatherSummary() {
+        return weatherSummary;
+    }
+
+    /**
+     * Gets the dream or hint text shown tonight, or null if the player slept soundly
+     */
+    public String getDreamContent() {
+        return dreamContent;
+    }
+
+    public String getDreamFilename() {
+        return dreamFilename;
+    }
+
+    public String getHintFilename() {
+        return hintFilename;
+    }
+
+    public boolean showedHint() {
+        return showedHint;
+    }
+
+    void setDream(String content, String dreamFilename, String hintFilename, boolean showedHint) {
+        this.dreamContent = content;
+        this.dreamFilename = dreamFilename;
+        this.hintFilename = hintFilename;
+        this.showedHint = showedHint;
+    }
+
+    public boolean hadDream() {
+        return dreamContent != null;
+    }
+
+    public int getPlantsGrew() {
+        return plantsGrew;
+    }
+
+    public int getPlantsMutated() {
+        return plantsMutated;
+    }
+
+    public int getPlantsWithered() {
+        return plantsWithered;
+    }
+
+    public int getSoilUpgrades() {
+        return soilUpgrades;
+    }
+
+    /**
+     * Everything that happened in the garden overnight, in order
+     */
+    public List<NightEvent> getEvents() {
+        return events != null ? events.getEvents() : Collections.emptyList();
+    }
+
+    /**
+     * Events of one type, e.g. getEvents(NightEvent.PlotWithered.class)
+     */
+    public <T extends NightEvent> List<T> getEvents(Class<T> type) {
+        return events != null ? events.getEvents(type) : Collections.emptyList();
+    }
+
+    void setEvents(NightEvents events) {
+        this.events = events;
+        events.subscribe(this::count);
+    }
+
+    private void count(NightEvent event) {
+        if (event instanceof NightEvent.Grew) {
+            plantsGrew += ((NightEvent.Grew) event).getCount();
+        } else if (event instanceof NightEvent.Mutated) {
+            plantsMutated += ((NightEvent.Mutated) event).getCount();
+        } else if (event instanceof NightEvent.Withered) {
+            plantsWithered += ((NightEvent.Withered) event).getCount();
+        } else if (event instanceof NightEvent.SoilUpgraded) {
+            soilUpgrades++;
+        }
+    }
+
+    public boolean needsWater() {
+        return needsWater;
+    }
+
+    public boolean needsWeeding() {
+        return needsWeeding;
+    }
+
+    void setGardenNeeds(boolean needsWater, boolean needsWeeding) {
+        this.needsWater = needsWater;
+        this.needsWeeding = needsWeeding;
+    }
+
+    @Override
+    public String toString() {
+        return "Day " + day + ": grew=" + plantsGrew + ", mutated=" + plantsMutated +
+                ", withered=" + plantsWithered + ", soil=" + soilUpgrades +
+                (weatherOccurred ? ", weather=" + weather : "") +
+                (dreamContent != null ? (showedHint ? ", hint" : ", dream") : "");
+    }
+}
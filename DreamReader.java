@@ -12,7 +12,6 @@ public class DreamReader {
     private static List<String> dreamFiles = new ArrayList<>();
     private static Map<String, String> dreamCache = new HashMap<>();
     private static boolean isLoaded = false;
-    private static Random random = new Random();
     
     /**
      * Loads all dream file names from the dream.txt directory
@@ -96,9 +95,10 @@ public class DreamReader {
     /**
      * Gets a random dream text
      * @param chanceOfDream Percentage chance (0-100) that a dream occurs
+     * @param random Session random source
      * @return Dream text if dream occurs, null if no dream or no files available
      */
-    public static String getRandomDream(int chanceOfDream) {
+    public static String getRandomDream(int chanceOfDream, GameRandom random) {
         if (!isLoaded) {
             loadDreamFiles();
         }
@@ -119,10 +119,11 @@ public class DreamReader {
     
     /**
      * Convenience method with default 50% dream chance
+     * @param random Session random source
      * @return Dream text or null
      */
-    public static String getRandomDream() {
-        return getRandomDream(50);
+    public static String getRandomDream(GameRandom random) {
+        return getRandomDream(50, random);
     }
     
     /**
@@ -136,6 +137,17 @@ public class DreamReader {
         return !dreamFiles.isEmpty();
     }
     
+    /**
+     * Gets the dream file names found at startup
+     * @return Unmodifiable list of dream file names
+     */
+    public static List<String> getDreamFiles() {
+        if (!isLoaded) {
+            loadDreamFiles();
+        }
+        return Collections.unmodifiableList(dreamFiles);
+    }
+    
     /**
      * Gets the number of available dream files
      * @return Number of dream files
@@ -0,0 +1,410 @@
+/* EngineChecks.java
+ * Reproducibility checks for the headless GardenEngine: a seeded session
+ * must replay night for night, whatever else is running next to it; the
+ * fused night must match the separate per-plot passes it replaced; parallel
+ * nights must not depend on the pool size; and a rewind must bring back
+ * exactly the day it names.
+ *
+ * Usage: java EngineChecks [--nights N] [--seed S]
+ * Exits with status 1 if any check fails.
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+public class EngineChecks {
+    private static final int PLOTS = 40;
+
+    public static void main(String[] args) throws Exception {
+        int nights = 1_500;
+        long seed = 5L;
+        for (int i = 0; i < args.length; i++) {
+            if (i + 1 >= args.length) {
+                usage("Missing value for " + args[i]);
+            }
+            switch (args[i]) {
+                case "--nights": nights = Integer.parseInt(args[++i]); break;
+                case "--seed": seed = Long.parseLong(args[++i]); break;
+                default: usage("Unknown option " + args[i]);
+            }
+        }
+
+        FlowerRegistry.loadFlowerData();
+        int failed = 0;
+        failed += report("seeded sessions are isolated", checkIsolation(nights, seed));
+        failed += report("fused night matches the separate plot passes", checkSeparatePasses(nights, seed));
+        failed += report("parallel nights match for any pool size", checkPoolSizes(Math.min(nights, 60), seed));
+        failed += report("rewind restores the recorded day", checkRewind(Math.min(nights, 300), seed));
+        if (failed > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Same-seed sessions on several threads, next to sessions with other
+     * seeds, must each see exactly the nights a lone session sees
+     */
+    public static String checkIsolation(int nights, long seed) throws Exception {
+        List<String> expected = runSession(seed, nights);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<List<String>>> same = new ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                long other = seed + 1 + i;
+                same.add(pool.submit(() -> runSession(seed, nights)));
+                pool.submit(() -> runSession(other, nights));
+            }
+            for (int i = 0; i < same.size(); i++) {
+                String difference = firstDifference(expected, same.get(i).get());
+                if (difference != null) {
+                    return "session " + i + ": " + difference;
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+        return null;
+    }
+
+    /**
+     * One garden runs through GardenEngine (one NightPass per night), its
+     * twin through the passes the night used to make: every plot grows via
+     * gardenPlot.advanceDay, then drip irrigation waters the plots under the
+     * greenhouses, then the weather lands. Both start from the same seed and
+     * get the same care, with the mulcher, grow light and greenhouses on.
+     */
+    public static String checkSeparatePasses(int nights, long seed) {
+        Player1 fused = newGarden("fused", seed, PLOTS);
+        Player1 separate = newGarden("separate", seed, PLOTS);
+        GardenEngine engine = newEngine(fused);
+        GameRandom fusedCare = new GameRandom(seed ^ 0x5EEDL);
+        GameRandom separateCare = new GameRandom(seed ^ 0x5EEDL);
+
+        for (int night = 0; night < nights; night++) {
+            tend(fused, fusedCare, night);
+            tend(separate, separateCare, night);
+            DayReport report = engine.advanceDay();
+            int[] counts = new int[4];
+            WeatherSystem.Weather weather = advanceSeparately(separate, counts);
+
+            if (report.getWeather() != weather) {
+                return "night " + (night + 1) + ": weather " + report.getWeather() + " vs " + weather;
+            }
+            if (report.getPlantsGrew() != counts[0] || report.getPlantsMutated() != counts[1]
+                    || report.getPlantsWithered() != counts[2] || report.getSoilUpgrades() != counts[3]) {
+                return "night " + (night + 1) + ": counters " + report.getPlantsGrew() + "/" + report.getPlantsMutated()
+                        + "/" + report.getPlantsWithered() + "/" + report.getSoilUpgrades() + " vs "
+                        + counts[0] + "/" + counts[1] + "/" + counts[2] + "/" + counts[3];
+            }
+            String difference = compareDays(snapshot(fused), snapshot(separate));
+            if (difference != null) {
+                return "night " + (night + 1) + ": " + difference;
+            }
+        }
+        if (fused.getRandom().nextLong() != separate.getRandom().nextLong()) {
+            return "random streams drifted apart";
+        }
+        return null;
+    }
+
+    // The night as separate passes over the garden
+    // @param counts Receives grew, mutated, withered and soil upgrades
+    private static WeatherSystem.Weather advanceSeparately(Player1 player, int[] counts) {
+        GameRandom random = player.getRandom();
+        WeatherSystem.Weather weather = WeatherSystem.rollWeather(random);
+        player.setDay(player.getDay() + 1);
+        player.setNRG(10);
+        player.decrementMulcherDays();
+
+        List<gardenPlot> plots = player.getGardenPlots();
+        for (gardenPlot plot : plots) {
+            GrowthStage before = plot.isOccupied() ? plot.getPlantedFlower().getStage() : null;
+            SoilQuality soilBefore = plot.getSoil();
+            plot.advanceDay(player, random);
+            GrowthStage after = plot.isOccupied() ? plot.getPlantedFlower().getStage() : null;
+            if (plot.getSoil() != soilBefore) {
+                counts[3]++;
+            }
+            if (before != null && after != null && before != after) {
+                counts[after == GrowthStage.MUTATED ? 1 : after == GrowthStage.WITHERED ? 2 : 0]++;
+            }
+        }
+
+        boolean[] covered = new boolean[plots.size()];
+        int occupied = 0;
+        for (int i = 0; i < plots.size(); i++) {
+            gardenPlot plot = plots.get(i);
+            if (plot.isOccupied() && ++occupied <= player.getGreenhouseProtectionCapacity()) {
+                covered[i] = true;
+                if (player.hasDripIrrigationLines()) {
+                    plot.setWatered(true);
+                    plot.setConsecutiveDaysWithoutWater(0);
+                }
+            }
+        }
+
+        if (weather != null && weather != WeatherSystem.Weather.CLEAR) {
+            WeatherSystem.WeatherPass pass = new WeatherSystem.WeatherPass(player, weather);
+            for (int i = 0; i < plots.size(); i++) {
+                pass.applyToPlot(plots.get(i), covered[i]);
+            }
+            pass.finish(NightEvents.journaledFor(player));
+        }
+        return weather;
+    }
+
+    /**
+     * Parallel nights give every plot its own random stream, so a garden
+     * spanning several chunks must come out the same on one worker as on four
+     */
+    public static String checkPoolSizes(int nights, long seed) {
+        int plots = NightPass.CHUNK_SIZE * 2 + 300;
+        Player1 single = newGarden("single", seed, plots);
+        Player1 several = newGarden("several", seed, plots);
+        // Greenhouse cover ends inside the second chunk
+        single.setGreenhouseCount(60);
+        several.setGreenhouseCount(60);
+        ForkJoinPool one = new ForkJoinPool(1);
+        ForkJoinPool four = new ForkJoinPool(4);
+        try {
+            single.setNightPool(one);
+            several.setNightPool(four);
+            GardenEngine singleEngine = newEngine(single);
+            GardenEngine severalEngine = newEngine(several);
+            GameRandom singleCare = new GameRandom(seed ^ 0x5EEDL);
+            GameRandom severalCare = new GameRandom(seed ^ 0x5EEDL);
+            for (int night = 0; night < nights; night++) {
+                tend(single, singleCare, night);
+                tend(several, severalCare, night);
+                String expected = describe(singleEngine.advanceDay(), single);
+                String actual = describe(severalEngine.advanceDay(), several);
+                if (!expected.equals(actual)) {
+                    return "night " + (night + 1) + " differs";
+                }
+            }
+        } finally {
+            one.shutdown();
+            four.shutdown();
+        }
+        return null;
+    }
+
+    /**
+     * Plays on with the history recording every night, remembers each day as
+     * it started, then rewinds to the newest day (after unrecorded care), to
+     * the day before, and to a day far back, playing on in between
+     */
+    public static String checkRewind(int nights, long seed) {
+        Player1 player = newGarden("rewind", seed, PLOTS);
+        GardenEngine engine = new GardenEngine(player);
+        engine.setDreamsEnabled(false);
+        GameRandom care = new GameRandom(seed ^ 0x5EEDL);
+        List<String> days = new ArrayList<>();
+        int firstDay = player.getDay();
+        player.getDayHistory().record(player);
+        days.add(snapshot(player));
+
+        for (int round = 0; round < 3; round++) {
+            for (int night = 0; night < nights / 3; night++) {
+                tend(player, care, night);
+                engine.advanceDay();
+                int day = player.getDay();
+                while (days.size() <= day - firstDay) {
+                    days.add(null);
+                }
+                days.set(day - firstDay, snapshot(player));
+            }
+            DayHistory history = player.getDayHistory();
+            int newest = history.getNewestDay();
+            int[] targets = {newest, newest - 1, Math.max(history.getOldestDay(), newest - nights / 4)};
+            for (int target : targets) {
+                // Unrecorded care since the newest day must be undone as well
+                tend(player, care, target);
+                if (!history.rewind(player, target)) {
+                    return "day " + target + " was not in the history (" + history.getOldestDay() + "-" + newest + ")";
+                }
+                String difference = compareDays(days.get(target - firstDay), snapshot(player));
+                if (difference != null) {
+                    return "rewind to day " + target + ": " + difference;
+                }
+            }
+            // Play on from the restored day; later days are recorded afresh
+            days.subList(player.getDay() - firstDay + 1, days.size()).clear();
+        }
+        return null;
+    }
+
+    /**
+     * Runs a fresh seeded session, tending every plot each morning
+     * @return One line per night: the report and the garden it left
+     */
+    static List<String> runSession(long seed, int nights) {
+        Player1 player = newGarden("check" + seed, seed, PLOTS);
+        GardenEngine engine = newEngine(player);
+
+        List<String> nightsSeen = new ArrayList<>(nights);
+        GameRandom care = new GameRandom(seed ^ 0x5EEDL);
+        for (int night = 0; night < nights; night++) {
+            tend(player, care, night);
+            nightsSeen.add(describe(engine.advanceDay(), player));
+        }
+        return nightsSeen;
+    }
+
+    /**
+     * A seeded garden with the upgrades the nightly pass treats specially
+     */
+    static Player1 newGarden(String name, long seed, int plots) {
+        Player1 player = new Player1(name);
+        player.setRandom(new GameRandom(seed));
+        for (int i = 0; i < plots; i++) {
+            player.addGardenPlot();
+        }
+        player.setHasMulcher(true);
+        player.setHasGrowLight(true);
+        player.setHasDripIrrigationLines(true);
+        player.setGreenhouseCount(1);
+        return player;
+    }
+
+    private static GardenEngine newEngine(Player1 player) {
+        GardenEngine engine = new GardenEngine(player);
+        engine.setDreamsEnabled(false);
+        engine.setHistoryEnabled(false);
+        return engine;
+    }
+
+    /**
+     * One morning of care drawn from its own random stream: finished plants
+     * are harvested into the inventory, empty plots planted, and most plots
+     * watered and weeded; every ninth morning the mulcher is started
+     */
+    static void tend(Player1 player, GameRandom care, int morning) {
+        int species = FlowerRegistry.getSpeciesCount();
+        for (gardenPlot plot : player.getGardenPlots()) {
+            if (plot.isOccupied()) {
+                GrowthStage stage = plot.getPlantedFlower().getStage();
+                if (stage == GrowthStage.WITHERED || stage == GrowthStage.MUTATED || stage == GrowthStage.MATURED) {
+                    Flower harvested = plot.harvestFlower();
+                    if (stage != GrowthStage.WITHERED && player.getInventory().size() < 30) {
+                        player.addToInventory(harvested);
+                    }
+                }
+            } else {
+                plot.plantFlower(FlowerRegistry.createSeed(FlowerRegistry.getSpeciesName(care.nextInt(species))));
+            }
+            if (care.nextInt(4) != 0) {
+                plot.waterPlot();
+            }
+            if (care.nextInt(3) != 0) {
+                plot.weedPlot();
+            }
+            if (care.nextInt(10) == 0) {
+                plot.fertilizePlot();
+            }
+        }
+        if (morning % 9 == 0) {
+            player.activateMulcherEffect();
+        }
+        player.setCredits(player.getCredits() + care.nextInt(5));
+    }
+
+    static String describe(DayReport report, Player1 player) {
+        StringBuilder line = new StringBuilder(256);
+        line.append(report.getDay()).append(' ').append(report.getWeather())
+                .append(' ').append(report.getWeatherDescription())
+                .append(' ').append(report.getPlantsGrew()).append('/').append(report.getPlantsMutated())
+                .append('/').append(report.getPlantsWithered()).append('/').append(report.getSoilUpgrades());
+        for (NightEvent event : report.getEvents()) {
+            line.append(" | ").append(event.getJournalText());
+        }
+        line.append(" # ");
+        for (gardenPlot plot : player.getGardenPlots()) {
+            line.append(plot.getSoil().getCode());
+            if (plot.isOccupied()) {
+                Flower flower = plot.getPlantedFlower();
+                line.append(flower.getStage().getCode()).append(':').append(flower.getDurability());
+            }
+            line.append(',');
+        }
+        return line.toString();
+    }
+
+    /**
+     * Everything a day is made of (what DayHistory keeps), one line per part
+     */
+    static String snapshot(Player1 player) {
+        StringBuilder out = new StringBuilder(4096);
+        out.append("day ").append(player.getDay()).append(", credits ").append(player.getCredits())
+                .append(", NRG ").append(player.getNRG()).append('\n');
+        List<gardenPlot> plots = player.getGardenPlots();
+        for (int i = 0; i < plots.size(); i++) {
+            gardenPlot plot = plots.get(i);
+            out.append("plot ").append(i).append(": ").append(plot.isWatered()).append(' ').append(plot.isWeeded())
+                    .append(' ').append(plot.isFertilized()).append(' ').append(plot.isFlowerPot())
+                    .append(' ').append(plot.getSoil()).append(' ').append(plot.getConsecutiveDaysWithoutWater());
+            if (plot.isOccupied()) {
+                out.append(' ');
+                appendFlower(out, plot.getPlantedFlower());
+            }
+            out.append('\n');
+        }
+        for (Object item : player.getInventory()) {
+            out.append("item ");
+            if (item instanceof Flower) {
+                appendFlower(out, (Flower) item);
+            } else {
+                out.append(item.getClass().getSimpleName());
+            }
+            out.append('\n');
+        }
+        return out.toString();
+    }
+
+    private static void appendFlower(StringBuilder out, Flower flower) {
+        out.append(flower.getName()).append(' ').append(flower.getStage()).append(' ').append(flower.getDaysPlanted())
+                .append(' ').append(flower.getDurability()).append(' ').append(flower.getCost());
+        if (flower instanceof FlowerInstance) {
+            out.append(' ').append(((FlowerInstance) flower).getNRGRestored());
+        }
+    }
+
+    // First differing line of two snapshots
+    private static String compareDays(String expected, String actual) {
+        if (expected.equals(actual)) {
+            return null;
+        }
+        String[] want = expected.split("\n");
+        String[] got = actual.split("\n");
+        for (int i = 0; i < Math.min(want.length, got.length); i++) {
+            if (!want[i].equals(got[i])) {
+                return "expected " + want[i] + ", got " + got[i];
+            }
+        }
+        return want.length + " lines expected, got " + got.length;
+    }
+
+    static String firstDifference(List<String> expected, List<String> actual) {
+        for (int i = 0; i < Math.min(expected.size(), actual.size()); i++) {
+            if (!expected.get(i).equals(actual.get(i))) {
+                return "night " + (i + 1) + " differs:\n  expected " + expected.get(i) + "\n  actual   " + actual.get(i);
+            }
+        }
+        return expected.size() == actual.size() ? null : "ran " + actual.size() + " of " + expected.size() + " nights";
+    }
+
+    private static int report(String name, String failure) {
+        System.out.println((failure == null ? "[ok] " : "[X] ") + name + (failure == null ? "" : ": " + failure));
+        return failure == null ? 0 : 1;
+    }
+
+    private static void usage(String problem) {
+        System.out.println(problem);
+        System.out.println("Usage: java EngineChecks [--nights N] [--seed S]");
+        System.exit(2);
+    }
+}
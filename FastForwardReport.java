@@ -0,0 +1,128 @@
+/* FastForwardReport.java
+ * Aggregated result of GardenEngine.fastForward: totals over every night
+ * of the batch instead of one DayReport per night.
+ */
+
+import java.util.EnumMap;
+import java.util.Map;
+
+public class FastForwardReport {
+    private final CarePolicy policy;
+    private final int startDay;
+    private int endDay;
+    private int nights;
+
+    private int plantsGrew;
+    private int plantsMutated;
+    private int plantsWithered;
+    private int soilUpgrades;
+    private int nrgSpent;
+    private final Map<WeatherSystem.Weather, Integer> weatherCounts = new EnumMap<>(WeatherSystem.Weather.class);
+    private long elapsedNanos;
+
+    FastForwardReport(CarePolicy policy, int startDay) {
+        this.policy = policy;
+        this.startDay = startDay;
+        this.endDay = startDay;
+    }
+
+    /**
+     * Folds one night into the totals
+     */
+    void addNight(DayReport night, int nrgSpentTending) {
+        nights++;
+        endDay = night.getDay();
+        plantsGrew += night.getPlantsGrew();
+        plantsMutated += night.getPlantsMutated();
+        plantsWithered += night.getPlantsWithered();
+        soilUpgrades += night.getSoilUpgrades();
+        nrgSpent += nrgSpentTending;
+        if (night.didWeatherOccur() && night.getWeather() != WeatherSystem.Weather.CLEAR) {
+            weatherCounts.merge(night.getWeather(), 1, Integer::sum);
+        }
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public CarePolicy getPolicy() {
+        return policy;
+    }
+
+    public int getStartDay() {
+        return startDay;
+    }
+
+    /**
+     * The day that begins after the last simulated night
+     */
+    public int getEndDay() {
+        return endDay;
+    }
+
+    public int getNights() {
+        return nights;
+    }
+
+    public int getPlantsGrew() {
+        return plantsGrew;
+    }
+
+    public int getPlantsMutated() {
+        return plantsMutated;
+    }
+
+    public int getPlantsWithered() {
+        return plantsWithered;
+    }
+
+    public int getSoilUpgrades() {
+        return soilUpgrades;
+    }
+
+    /**
+     * NRG the care policy spent tending over the batch
+     */
+    public int getNrgSpent() {
+        return nrgSpent;
+    }
+
+    /**
+     * Nights per weather type (CLEAR and calm nights are not counted)
+     */
+    public Map<WeatherSystem.Weather, Integer> getWeatherCounts() {
+        return weatherCounts;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * One-line summary suitable for the journal
+     */
+    public String getSummary() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Fast-forwarded ").append(nights).append(nights == 1 ? " day" : " days")
+          .append(" (").append(policy.getDisplayName()).append("): ")
+          .append(plantsGrew).append(" grew, ")
+          .append(plantsMutated).append(" mutated, ")
+          .append(plantsWithered).append(" withered, ")
+          .append(soilUpgrades).append(" soil upgrades");
+        if (!weatherCounts.isEmpty()) {
+            sb.append("; weather:");
+            for (Map.Entry<WeatherSystem.Weather, Integer> entry : weatherCounts.entrySet()) {
+                sb.append(' ').append(entry.getKey().name().toLowerCase().replace('_', ' '))
+                  .append(" x").append(entry.getValue());
+            }
+        }
+        sb.append('.');
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "Days " + startDay + "-" + endDay + ": " + getSummary();
+    }
+}
@@ -0,0 +1,84 @@
+/* FileSaveBackend.java
+ * The default save layout: saves/<name>.txt or .sav and its log
+ */
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * One snapshot per player (text or binary), with SaveLog appending changes
+ * next to it.
+ */
+public class FileSaveBackend implements SaveBackend {
+    private final File directory;
+
+    public FileSaveBackend(File directory) {
+        this.directory = directory;
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    @Override
+    public void write(String name, String saveText) throws IOException {
+        SaveLog.forSave(directory, name).commit(saveText);
+    }
+
+    @Override
+    public void write(String name, SaveChunks save) throws IOException {
+        SaveLog.forSave(directory, name).commit(save);
+    }
+
+    @Override
+    public Player1 read(String name) throws IOException {
+        if (!exists(name)) {
+            return null;
+        }
+        // Binary snapshots with no pending log records skip text parsing for plots
+        BinarySave.Decoded decoded = SaveLog.readBinary(directory, name);
+        if (decoded != null) {
+            return SaveParser.parse(new StringReader(decoded.getText()), decoded.getPlots());
+        }
+        try (Reader reader = SaveLog.openReader(directory, name)) {
+            return SaveParser.parse(reader, null);
+        }
+    }
+
+    @Override
+    public Reader openText(String name) throws IOException {
+        return exists(name) ? SaveLog.openReader(directory, name) : null;
+    }
+
+    @Override
+    public void release(String name) {
+        SaveLog.release(directory, name);
+    }
+
+    @Override
+    public boolean exists(String name) {
+        return SaveLog.snapshotExists(directory, name);
+    }
+
+    @Override
+    public void delete(String name) {
+        SaveLog.discard(directory, name);
+    }
+
+    @Override
+    public List<String> list() {
+        Set<String> names = new TreeSet<>();
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                String fileName = file.getName();
+                if (fileName.endsWith(SaveLog.SNAPSHOT_SUFFIX)) {
+                    names.add(fileName.substring(0, fileName.length() - SaveLog.SNAPSHOT_SUFFIX.length()));
+                } else if (fileName.endsWith(BinarySave.SUFFIX)) {
+                    names.add(fileName.substring(0, fileName.length() - BinarySave.SUFFIX.length()));
+                }
+            }
+        }
+        return new ArrayList<>(names);
+    }
+}
@@ -6,6 +6,7 @@
  * 
  * UPDATES:
  * - Added auto-wither when durability reaches 0
+ * - Growth stage is stored as a GrowthStage; the String accessors remain for display and saves
  */
 
 
@@ -18,8 +19,8 @@
 public abstract class Flower {
 	/**Every flower gets a name*/
 	private String name = "";
-	/**The growthStage of the Flower, starting with "Seed"*/
-	private String growthStage = "";
+	/**The growthStage of the Flower, starting with SEED*/
+	private GrowthStage stage = GrowthStage.SEED;
 	/**The daysPlanted of this particular Flower*/
 	private int daysPlanted;
 	/**The durability of this particular Flower, decrements until 0 and then destroys this Flower*/
@@ -58,18 +59,37 @@ public abstract class Flower {
 	}
 
 
-	/**Returns the growthStage of this particular Flower
-	 * @return the growthStage when called
+	/**Returns the display name of this Flower's growthStage
+	 * @return the growthStage when called, e.g. "Bloomed"
 	 */
 	public String getGrowthStage() {
-		return growthStage;
+		return stage.getDisplayName();
 	}
 	
-	/**Sets growthStage at certain intervals.
+	/**Sets growthStage from its display name (as stored in save files).
 	 * @param growthStage the growthStage to set
+	 * @throws IllegalArgumentException if the name is not a growth stage
 	 */
 	public void setGrowthStage(String growthStage) {
-		this.growthStage = growthStage;
+		GrowthStage parsed = GrowthStage.fromName(growthStage);
+		if (parsed == null) {
+			throw new IllegalArgumentException("Unknown growth stage: " + growthStage);
+		}
+		this.stage = parsed;
+	}
+	
+	/**Returns the growthStage of this particular Flower
+	 * @return the growthStage when called
+	 */
+	public GrowthStage getStage() {
+		return stage;
+	}
+	
+	/**Sets growthStage at certain intervals.
+	 * @param stage the growthStage to set
+	 */
+	public void setStage(GrowthStage stage) {
+		this.stage = stage;
 	}
 	/**Returns the daysPlanted of this particular Flower
 	 * @return the daysPlanted when checked in garden plot
@@ -98,8 +118,8 @@ public abstract class Flower {
 		// If durability reaches 0 or below, immediately wither the plant
 		// Seeds cannot wither (they're not planted yet)
 		// Already-withered plants don't need to wither again
-		if (this.durability <= 0 && !this.growthStage.equals("Withered") && !this.growthStage.equals("Seed")) {
-			this.growthStage = "Withered";
+		if (this.durability <= 0 && this.stage != GrowthStage.WITHERED && this.stage != GrowthStage.SEED) {
+			this.stage = GrowthStage.WITHERED;
 		}
 	}
 	
@@ -67,29 +67,8 @@ public class FlowerInstance extends Flower {
 		String name = getName();
 		String stage = getGrowthStage();
 		
-		// Choose emoji based on growth stage for visual feedback
-		String emoji = "🌻"; // Default sunflower emoji
-		
-		switch (stage) {
-			case "Seed":
-				emoji = "🌱"; // Seedling emoji for seeds
-				break;
-			case "Seedling":
-				emoji = "🌿"; // Young plant emoji
-				break;
-			case "Bloomed":
-				emoji = "🌸"; // Blossom emoji
-				break;
-			case "Matured":
-				emoji = "🌻"; // Full sunflower emoji
-				break;
-			case "Withered":
-				emoji = "🥀"; // Wilted flower emoji
-				break;
-			case "Mutated":
-				emoji = "✨"; // Sparkle emoji for mutations
-				break;
-		}
+		// Emoji comes from the growth stage for visual feedback
+		String emoji = getStage().getEmoji();
 		
 		// Return the formatted string with name and stage
 		return emoji + " " + name + " (" + stage + ")";
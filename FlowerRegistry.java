@@ -5,6 +5,7 @@
  * - createSeed() now properly creates different flower types based on species
  * - Added detailed comments explaining the factory pattern
  * - ADDED: getRandomShopSelection for dynamic shop menu with difficulty weighting
+ * - ADDED: each species' CSV growth columns are compiled into a GrowthCurve at load time
  */
 
 import java.io.*;
@@ -13,12 +14,14 @@ import java.util.*;
 public class FlowerRegistry {
     private static final String FLOWER_DATA_FILE = "flowers.csv";
     private static Map<String, FlowerData> flowerDatabase = new HashMap<>();
+    private static List<FlowerData> speciesById = new ArrayList<>();
     private static boolean isLoaded = false;
     
     /**
      * Internal class to store flower statistics from CSV
      */
     private static class FlowerData {
+        int id;
         String name;
         String species;
         int difficulty;
@@ -35,6 +38,8 @@ public class FlowerRegistry {
         int daysToMatured;
         int daysToWithered;
         double mutationChance;
+        double[] stageValue; // indexed by GrowthStage code
+        GrowthCurve curve;
         
         FlowerData(String[] csvData) {
             this.name = csvData[0];
@@ -53,6 +58,11 @@ public class FlowerRegistry {
             this.daysToMatured = Integer.parseInt(csvData[13]);
             this.daysToWithered = Integer.parseInt(csvData[14]);
             this.mutationChance = Double.parseDouble(csvData[15]);
+            this.stageValue = new double[] {
+                seedCost, seedlingValue, bloomedValue, maturedValue, witheredValue, mutatedValue
+            };
+            this.curve = new GrowthCurve(difficulty, daysToSeedling, daysToBloomed,
+                daysToMatured, daysToWithered, mutationChance);
         }
     }
     
@@ -79,6 +89,13 @@ public class FlowerRegistry {
                 String[] data = line.split(",");
                 if (data.length >= 16) {
                     FlowerData flowerData = new FlowerData(data);
+                    if (!flowerDatabase.containsKey(flowerData.name)) {
+                        flowerData.id = speciesById.size();
+                        speciesById.add(flowerData);
+                    } else {
+                        flowerData.id = flowerDatabase.get(flowerData.name).id;
+                        speciesById.set(flowerData.id, flowerData);
+                    }
                     flowerDatabase.put(flowerData.name, flowerData);
                 }
             }
@@ -147,31 +164,23 @@ public class FlowerRegistry {
      * @return The value for that stage, or 0 if not found
      */
     public static double getFlowerValue(String flowerName, String growthStage) {
+        GrowthStage stage = GrowthStage.fromName(growthStage);
+        return (stage != null) ? getFlowerValue(flowerName, stage) : 0;
+    }
+    
+    /**
+     * Gets the value of a flower based on its growth stage
+     * @param flowerName The name of the flower
+     * @param stage The current growth stage
+     * @return The value for that stage, or 0 if not found
+     */
+    public static double getFlowerValue(String flowerName, GrowthStage stage) {
         if (!isLoaded) {
             loadFlowerData();
         }
         
         FlowerData data = flowerDatabase.get(flowerName);
-        if (data == null) {
-            return 0;
-        }
-        
-        switch (growthStage) {
-            case "Seed":
-                return data.seedCost;
-            case "Seedling":
-                return data.seedlingValue;
-            case "Bloomed":
-                return data.bloomedValue;
-            case "Matured":
-                return data.maturedValue;
-            case "Withered":
-                return data.witheredValue;
-            case "Mutated":
-                return data.mutatedValue;
-            default:
-                return 0;
-        }
+        return (data != null) ? data.stageValue[stage.getCode()] : 0;
     }
     
     /**
@@ -210,16 +219,16 @@ public class FlowerRegistry {
      * Gets a random flower from a difficulty tier
      * @param minDifficulty Minimum difficulty (inclusive)
      * @param maxDifficulty Maximum difficulty (inclusive)
+     * @param random Session random source
      * @return Random flower name from that tier, or null if none found
      */
-    public static String getRandomFlowerByDifficulty(int minDifficulty, int maxDifficulty) {
+    public static String getRandomFlowerByDifficulty(int minDifficulty, int maxDifficulty, GameRandom random) {
         List<String> flowers = getFlowersByDifficulty(minDifficulty, maxDifficulty);
         if (flowers.isEmpty()) {
             return null;
         }
         
-        Random rand = new Random();
-        return flowers.get(rand.nextInt(flowers.size()));
+        return flowers.get(random.nextInt(flowers.size()));
     }
     
     /**
@@ -236,6 +245,74 @@ public class FlowerRegistry {
         return (data != null) ? data.difficulty : -1;
     }
     
+    /**
+     * Gets the compact species id (CSV row order) used by array-backed gardens
+     * @param flowerName The name of the flower
+     * @return The species id, or -1 if not found
+     */
+    public static int getSpeciesId(String flowerName) {
+        if (!isLoaded) {
+            loadFlowerData();
+        }
+        
+        FlowerData data = flowerDatabase.get(flowerName);
+        return (data != null) ? data.id : -1;
+    }
+    
+    /**
+     * Gets the number of species ids handed out
+     */
+    public static int getSpeciesCount() {
+        if (!isLoaded) {
+            loadFlowerData();
+        }
+        return speciesById.size();
+    }
+    
+    /**
+     * Gets the flower name for a species id
+     * @return The name, or null if the id is unknown
+     */
+    public static String getSpeciesName(int speciesId) {
+        if (speciesId < 0 || speciesId >= getSpeciesCount()) {
+            return null;
+        }
+        return speciesById.get(speciesId).name;
+    }
+    
+    /**
+     * Gets flower difficulty by species id
+     * @return The difficulty rating (1-5), or -1 if not found
+     */
+    public static int getDifficulty(int speciesId) {
+        if (speciesId < 0 || speciesId >= getSpeciesCount()) {
+            return -1;
+        }
+        return speciesById.get(speciesId).difficulty;
+    }
+    
+    /**
+     * Gets the base (seed) durability by species id
+     * @return The durability, or 0 if not found
+     */
+    public static double getBaseDurability(int speciesId) {
+        if (speciesId < 0 || speciesId >= getSpeciesCount()) {
+            return 0;
+        }
+        return speciesById.get(speciesId).baseDurability;
+    }
+    
+    /**
+     * Gets the compiled growth rules by species id
+     * @return The species' curve, or GrowthCurve.DEFAULT if not found
+     */
+    public static GrowthCurve getGrowthCurve(int speciesId) {
+        if (speciesId < 0 || speciesId >= getSpeciesCount()) {
+            return GrowthCurve.DEFAULT;
+        }
+        return speciesById.get(speciesId).curve;
+    }
+    
     /**
      * Checks if a flower exists in the database
      * @param flowerName The name to check
@@ -286,16 +363,16 @@ public class FlowerRegistry {
      * Flowers with lower difficulty have a higher chance of being selected.
      * * @param count The number of unique flowers to select (e.g., 4 or 5).
      * @param maxDifficulty The maximum difficulty to include in the selection pool (e.g., 5 to include all).
+     * @param rand Session random source.
      * @return A list of unique flower names for the shop.
      */
-    public static List<String> getRandomShopSelection(int count, int maxDifficulty) {
+    public static List<String> getRandomShopSelection(int count, int maxDifficulty, GameRandom rand) {
         if (!isLoaded) {
             loadFlowerData();
         }
         
         // 1. Create a weighted pool of all flowers up to maxDifficulty
         List<String> weightedPool = new ArrayList<>();
-        Random rand = new Random();
 
         // Check if the database is empty before proceeding
         if (flowerDatabase.isEmpty()) {
@@ -0,0 +1,115 @@
+/* GameRandom.java
+ * Per-session random number source for the whole simulation.
+ * Backed by SplittableRandom so a run can be replayed from its seed, and so
+ * independent gardens on different threads never contend on Math.random().
+ *
+ * NOTE: Not thread-safe. Each session (Player1) owns one instance; use split()
+ * to hand an independent stream to another thread.
+ */
+
+import java.util.SplittableRandom;
+
+public class GameRandom {
+    private static final ThreadLocal<GameRandom> THREAD_FALLBACK =
+            ThreadLocal.withInitial(GameRandom::new);
+
+    private final long seed;
+    private final SplittableRandom random;
+
+    /**
+     * Creates an unseeded generator (seed chosen from system entropy)
+     */
+    public GameRandom() {
+        this(new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Creates a generator that replays the same sequence for the same seed
+     * @param seed The session seed
+     */
+    public GameRandom(long seed) {
+        this.seed = seed;
+        this.random = new SplittableRandom(seed);
+    }
+
+    private GameRandom(long seed, SplittableRandom random) {
+        this.seed = seed;
+        this.random = random;
+    }
+
+    /**
+     * Gets the seed this generator was created with
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @return a uniformly distributed value in [0.0, 1.0)
+     */
+    public double nextDouble() {
+        return random.nextDouble();
+    }
+
+    /**
+     * @param bound exclusive upper bound, must be positive
+     * @return a uniformly distributed value in [0, bound)
+     */
+    public int nextInt(int bound) {
+        return random.nextInt(bound);
+    }
+
+    public boolean nextBoolean() {
+        return random.nextBoolean();
+    }
+
+    public long nextLong() {
+        return random.nextLong();
+    }
+
+    /**
+     * Returns true with the given probability
+     * @param probability Chance of success (0.0-1.0)
+     */
+    public boolean chance(double probability) {
+        return random.nextDouble() < probability;
+    }
+
+    /**
+     * Splits off an independent generator, e.g. for a worker thread.
+     * Splitting advances this generator, so it stays reproducible.
+     */
+    public GameRandom split() {
+        SplittableRandom child = random.split();
+        return new GameRandom(seed, child);
+    }
+
+    /**
+     * Creates the generator for one plot on one night of a session.
+     * It depends only on (seed, day, plotIndex), so a plot rolls the same
+     * numbers no matter which thread advances it or in what order.
+     * @param seed The session seed
+     * @param day The night being simulated
+     * @param plotIndex Index of the plot in the garden
+     */
+    public static GameRandom forPlot(long seed, int day, int plotIndex) {
+        long key = mix64(seed + 0x9E3779B97F4A7C15L * day);
+        key = mix64(key + 0x9E3779B97F4A7C15L * (plotIndex + 1L));
+        return new GameRandom(key);
+    }
+
+    // Stafford variant 13 finalizer (the one SplittableRandom uses)
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Gets a per-thread generator for code paths that have no session
+     * (e.g. a plot advanced without a player). Never shared across threads.
+     */
+    public static GameRandom current() {
+        return THREAD_FALLBACK.get();
+    }
+}
@@ -0,0 +1,157 @@
+/* GardenBenchmark.java
+ * Compares the object-backed garden (List of gardenPlot) with ArrayGarden
+ * on the same seeded workload and reports nanoseconds per plot per night.
+ * Also checks that both backends end the run in the same state.
+ *
+ * Usage: java GardenBenchmark [--nights N] [--seed S] [--sizes 10000,100000,1000000]
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class GardenBenchmark {
+    private static final int WARMUP_ROUNDS = 2;
+
+    public static void main(String[] args) {
+        int nights = 30;
+        long seed = 42L;
+        int[] sizes = {10_000, 100_000, 1_000_000};
+        for (int i = 0; i < args.length - 1; i++) {
+            switch (args[i]) {
+                case "--nights": nights = Integer.parseInt(args[++i]); break;
+                case "--seed": seed = Long.parseLong(args[++i]); break;
+                case "--sizes": sizes = parseSizes(args[++i]); break;
+                default: break;
+            }
+        }
+
+        int[] speciesPool = plantableSpecies();
+        System.out.println("Species in rotation: " + speciesPool.length + ", nights per run: " + nights);
+        System.out.printf("%10s %16s %16s %8s %s%n", "plots", "objects ns/plot", "arrays ns/plot", "speedup", "state");
+
+        for (int size : sizes) {
+            for (int round = 0; round < WARMUP_ROUNDS; round++) {
+                runObjects(size, Math.min(nights, 5), seed, speciesPool);
+                runArrays(size, Math.min(nights, 5), seed, speciesPool);
+            }
+            long start = System.nanoTime();
+            List<gardenPlot> plots = runObjects(size, nights, seed, speciesPool);
+            double objectNs = (System.nanoTime() - start) / ((double) size * nights);
+
+            start = System.nanoTime();
+            ArrayGarden garden = runArrays(size, nights, seed, speciesPool);
+            double arrayNs = (System.nanoTime() - start) / ((double) size * nights);
+
+            String state = sameState(plots, garden) ? "identical" : "MISMATCH";
+            System.out.printf("%10d %16.1f %16.1f %7.2fx %s%n", size, objectNs, arrayNs, objectNs / arrayNs, state);
+        }
+    }
+
+    /**
+     * Species that grow on Average soil (difficulty 3 and below), so every
+     * regular plot accepts them
+     */
+    private static int[] plantableSpecies() {
+        List<Integer> ids = new ArrayList<>();
+        for (int id = 0; id < FlowerRegistry.getSpeciesCount(); id++) {
+            if (PlotRules.isSoilSufficient(FlowerRegistry.getDifficulty(id), PlotRules.SOIL_AVERAGE)) {
+                ids.add(id);
+            }
+        }
+        int[] pool = new int[ids.size()];
+        for (int i = 0; i < pool.length; i++) {
+            pool[i] = ids.get(i);
+        }
+        return pool;
+    }
+
+    /**
+     * Workload: every plot planted, watered nightly, weeded every other night,
+     * and replanted as soon as its flower withers or mutates
+     */
+    private static List<gardenPlot> runObjects(int size, int nights, long seed, int[] pool) {
+        GameRandom random = new GameRandom(seed);
+        List<gardenPlot> plots = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            gardenPlot plot = new gardenPlot();
+            plot.plantFlower(FlowerRegistry.createSeed(FlowerRegistry.getSpeciesName(pool[i % pool.length])));
+            plots.add(plot);
+        }
+        for (int night = 0; night < nights; night++) {
+            for (int i = 0; i < size; i++) {
+                gardenPlot plot = plots.get(i);
+                if (plot.isOccupied()) {
+                    GrowthStage stage = plot.getPlantedFlower().getStage();
+                    if (stage == GrowthStage.WITHERED || stage == GrowthStage.MUTATED) {
+                        plot.harvestFlower();
+                        plot.plantFlower(FlowerRegistry.createSeed(FlowerRegistry.getSpeciesName(pool[(i + night) % pool.length])));
+                    }
+                }
+                plot.waterPlot();
+                if (night % 2 == 0) {
+                    plot.weedPlot();
+                }
+            }
+            for (gardenPlot plot : plots) {
+                plot.advanceDay(null, random);
+            }
+        }
+        return plots;
+    }
+
+    private static ArrayGarden runArrays(int size, int nights, long seed, int[] pool) {
+        GameRandom random = new GameRandom(seed);
+        ArrayGarden garden = new ArrayGarden(size);
+        for (int i = 0; i < size; i++) {
+            garden.plant(garden.addPlot(false), pool[i % pool.length]);
+        }
+        for (int night = 0; night < nights; night++) {
+            for (int i = 0; i < size; i++) {
+                int stage = garden.getStage(i);
+                if (stage == PlotRules.STAGE_WITHERED || stage == PlotRules.STAGE_MUTATED) {
+                    garden.harvest(i);
+                    garden.plant(i, pool[(i + night) % pool.length]);
+                }
+                garden.water(i);
+                if (night % 2 == 0) {
+                    garden.weed(i);
+                }
+            }
+            garden.advanceDay(false, false, random);
+        }
+        return garden;
+    }
+
+    private static boolean sameState(List<gardenPlot> plots, ArrayGarden garden) {
+        if (plots.size() != garden.size()) {
+            return false;
+        }
+        for (int i = 0; i < plots.size(); i++) {
+            gardenPlot plot = plots.get(i);
+            if (plot.isOccupied() != garden.isOccupied(i)
+                    || plot.isWatered() != garden.isWatered(i)
+                    || plot.isWeeded() != garden.isWeeded(i)
+                    || plot.getSoil().getCode() != garden.getSoil(i)) {
+                return false;
+            }
+            if (plot.isOccupied()) {
+                Flower flower = plot.getPlantedFlower();
+                if (flower.getStage().getCode() != garden.getStage(i)
+                        || flower.getDaysPlanted() != garden.getDaysPlanted(i)
+                        || Double.compare(flower.getDurability(), garden.getDurability(i)) != 0) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static int[] parseSizes(String list) {
+        String[] parts = list.split(",");
+        int[] sizes = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            sizes[i] = Integer.parseInt(parts[i].trim());
+        }
+        return sizes;
+    }
+}
@@ -203,26 +203,12 @@ public class GardenCheckActions {
      * @return true if upgraded, false if already at max
      */
     private static boolean upgradePlotSoil(gardenPlot plot) {
-        String currentSoil = plot.getSoilQuality();
-
-        switch (currentSoil) {
-        case "Bad":
-            plot.setSoilQuality("Average");
-            return true;
-        case "Average":
-            plot.setSoilQuality("Good");
-            return true;
-        case "Good":
-            plot.setSoilQuality("Great");
-            return true;
-        case "Great":
-            plot.setSoilQuality("Magic");
-            return true;
-        case "Magic":
+        SoilQuality currentSoil = plot.getSoil();
+        if (currentSoil == SoilQuality.MAGIC) {
             return false; // Already at max
-        default:
-            return false;
         }
+        plot.setSoil(currentSoil.next());
+        return true;
     }
     
     /**
@@ -0,0 +1,157 @@
+/* GardenChecks.java
+ * Equivalence check between the object garden (gardenPlot + PlotRules) and
+ * ArrayGarden's column kernel. Both gardens get the same seeded care (pots,
+ * drought, skipped weeding, fertilizer, mulcher and grow light nights) and
+ * must end every night in the same state.
+ *
+ * Usage: java GardenChecks [--plots N] [--nights N] [--seed S]
+ * Exits with status 1 on the first mismatch.
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class GardenChecks {
+
+    public static void main(String[] args) {
+        int plots = 5_000;
+        int nights = 120;
+        long seed = 11L;
+        for (int i = 0; i < args.length; i++) {
+            if (i + 1 >= args.length) {
+                usage("Missing value for " + args[i]);
+            }
+            switch (args[i]) {
+                case "--plots": plots = Integer.parseInt(args[++i]); break;
+                case "--nights": nights = Integer.parseInt(args[++i]); break;
+                case "--seed": seed = Long.parseLong(args[++i]); break;
+                default: usage("Unknown option " + args[i]);
+            }
+        }
+
+        FlowerRegistry.loadFlowerData();
+        String failure = checkArrayGarden(plots, nights, seed);
+        if (failure != null) {
+            System.out.println("[X] " + failure);
+            System.exit(1);
+        }
+        System.out.println("ArrayGarden matches gardenPlot: " + plots + " plots, " + nights + " nights");
+    }
+
+    /**
+     * Runs both backends side by side
+     * @return null if they agree, otherwise the first difference
+     */
+    public static String checkArrayGarden(int size, int nights, long seed) {
+        GameRandom care = new GameRandom(seed);
+        GameRandom objectRandom = new GameRandom(seed + 1);
+        GameRandom arrayRandom = new GameRandom(seed + 1);
+        int species = FlowerRegistry.getSpeciesCount();
+
+        List<gardenPlot> plots = new ArrayList<>(size);
+        ArrayGarden garden = new ArrayGarden(16);
+        for (int i = 0; i < size; i++) {
+            boolean pot = i % 7 == 0;
+            plots.add(new gardenPlot(pot));
+            garden.addPlot(pot);
+        }
+
+        for (int night = 0; night < nights; night++) {
+            for (int i = 0; i < size; i++) {
+                gardenPlot plot = plots.get(i);
+                int roll = care.nextInt(100);
+                boolean same;
+                if (roll < 6 && plot.isOccupied()) {
+                    same = plot.harvestFlower() != null && garden.harvest(i) >= 0;
+                } else if (roll < 20 && !plot.isOccupied()) {
+                    int id = care.nextInt(species);
+                    same = plot.plantFlower(FlowerRegistry.createSeed(FlowerRegistry.getSpeciesName(id)))
+                            == garden.plant(i, id);
+                } else {
+                    // Some plots go dry for a week, some never get weeded
+                    same = (roll % 9 == 0 || plot.waterPlot() == garden.water(i))
+                            && (roll % 4 != 0 || plot.weedPlot() == garden.weed(i))
+                            && (roll % 10 != 0 || plot.fertilizePlot() == garden.fertilize(i));
+                }
+                if (!same) {
+                    return "night " + night + " plot " + i + ": care action differed";
+                }
+            }
+
+            boolean mulcher = night % 5 == 1;
+            boolean growLight = night % 3 == 2;
+            PlotState scratch = new PlotState();
+            int grew = 0;
+            int mutated = 0;
+            int withered = 0;
+            int soilUpgrades = 0;
+            for (gardenPlot plot : plots) {
+                GrowthStage before = plot.isOccupied() ? plot.getPlantedFlower().getStage() : null;
+                SoilQuality soilBefore = plot.getSoil();
+                plot.advanceDay(mulcher, growLight, objectRandom, scratch);
+                GrowthStage after = plot.isOccupied() ? plot.getPlantedFlower().getStage() : null;
+                if (plot.getSoil() != soilBefore) {
+                    soilUpgrades++;
+                }
+                if (before != null && before != after) {
+                    if (after == GrowthStage.MUTATED) {
+                        mutated++;
+                    } else if (after == GrowthStage.WITHERED) {
+                        withered++;
+                    } else {
+                        grew++;
+                    }
+                }
+            }
+            garden.advanceDay(mulcher, growLight, arrayRandom);
+
+            if (grew != garden.getLastGrew() || mutated != garden.getLastMutated()
+                    || withered != garden.getLastWithered() || soilUpgrades != garden.getLastSoilUpgrades()) {
+                return "night " + night + ": counters differ";
+            }
+            for (int i = 0; i < size; i++) {
+                String difference = compare(plots.get(i), garden, i);
+                if (difference != null) {
+                    return "night " + night + " plot " + i + ": " + difference;
+                }
+            }
+        }
+        if (objectRandom.nextLong() != arrayRandom.nextLong()) {
+            return "random streams drifted apart";
+        }
+        return null;
+    }
+
+    private static String compare(gardenPlot plot, ArrayGarden garden, int i) {
+        if (plot.isOccupied() != garden.isOccupied(i)) {
+            return "occupied";
+        }
+        if (plot.isWatered() != garden.isWatered(i) || plot.isWeeded() != garden.isWeeded(i)
+                || plot.isFertilized() != garden.isFertilized(i)) {
+            return "care flags";
+        }
+        if (plot.getSoil().getCode() != garden.getSoil(i)) {
+            return "soil";
+        }
+        if (plot.getConsecutiveDaysWithoutWater() != garden.getConsecutiveDaysWithoutWater(i)) {
+            return "dry days";
+        }
+        if (plot.isOccupied()) {
+            Flower flower = plot.getPlantedFlower();
+            if (flower.getStage().getCode() != garden.getStage(i)) {
+                return "stage " + flower.getStage() + " vs " + garden.getStage(i);
+            }
+            if (flower.getDaysPlanted() != garden.getDaysPlanted(i)
+                    || Double.compare(flower.getDurability(), garden.getDurability(i)) != 0) {
+                return "days planted or durability";
+            }
+        }
+        return null;
+    }
+
+    private static void usage(String problem) {
+        System.out.println(problem);
+        System.out.println("Usage: java GardenChecks [--plots N] [--nights N] [--seed S]");
+        System.exit(2);
+    }
+}
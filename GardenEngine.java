@@ -0,0 +1,228 @@
+/* GardenEngine.java
+ * Console-free simulation engine for advancing the garden one night at a time.
+ * The engine never prints and never touches the save file; it returns a DayReport
+ * that clients (the interactive menu, tools, tests) can render or inspect.
+ * Unless turned off, every night ends by recording the new day in the player's
+ * DayHistory. Tonight's weather is rolled from the player's GameRandom and
+ * handed straight to the garden and the report, so engines on different
+ * threads never share a night. Restocking the shop is left to the game loop.
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class GardenEngine {
+    private final Player1 player;
+    private boolean dreamsEnabled;
+    private boolean historyEnabled;
+
+    /**
+     * Creates an engine bound to one player's world
+     * @param player The player whose garden is simulated
+     */
+    public GardenEngine(Player1 player) {
+        this.player = player;
+        this.dreamsEnabled = true;
+        this.historyEnabled = true;
+    }
+
+    public Player1 getPlayer() {
+        return player;
+    }
+
+    /**
+     * Enables or disables dreams and hints. Headless runs usually turn them off
+     * since they only add flavour text.
+     */
+    public void setDreamsEnabled(boolean dreamsEnabled) {
+        this.dreamsEnabled = dreamsEnabled;
+    }
+
+    public boolean isDreamsEnabled() {
+        return dreamsEnabled;
+    }
+
+    /**
+     * Enables or disables recording each day in the player's DayHistory.
+     * Benchmarks turn it off so they time the night alone.
+     */
+    public void setHistoryEnabled(boolean historyEnabled) {
+        this.historyEnabled = historyEnabled;
+    }
+
+    /**
+     * Simulates one night: weather, dreams/hints, plant growth and daily resets
+     * @return A report describing what happened overnight
+     */
+    public DayReport advanceDay() {
+        DayReport report = new DayReport();
+        GameRandom random = player.getRandom();
+
+        // The first night of a session also records the day it started from
+        DayHistory history = historyEnabled ? player.getDayHistory() : null;
+        if (history != null && history.isEmpty()) {
+            history.record(player);
+        }
+
+        // WEATHER SYSTEM CHECK - Independent 25% chance; tonight's weather stays with this night
+        WeatherSystem.Weather weather = WeatherSystem.rollWeather(random);
+        boolean weatherOccurred = weather != null;
+
+        if (dreamsEnabled) {
+            rollDream(report, weatherOccurred);
+        }
+
+        // Journal the night before the garden changes (matches console order)
+        if (report.hadDream()) {
+            if (report.showedHint()) {
+                Journal.addJournalEntry(player, "Had a dream with helpful advice.");
+            } else if (report.getDreamFilename() != null) {
+                player.unlockDream(report.getDreamFilename());
+                Journal.addJournalEntry(player, "Had a vivid dream tonight.");
+            }
+        } else if (!weatherOccurred) {
+            Journal.addJournalEntry(player, "Slept soundly through the night.");
+        }
+
+        // Advance day: plants grow, irrigation runs and weather lands in one garden pass
+        player.advanceDay(report, weather);
+        List<NightEvent.FairyBlessing> blessings = report.getEvents(NightEvent.FairyBlessing.class);
+        String fairyDetails = blessings.isEmpty() ? "" : blessings.get(0).getDetails();
+        report.setWeather(weatherOccurred, weather,
+                WeatherSystem.getWeatherDescription(weather, fairyDetails), WeatherSystem.getWeatherSummary(weather));
+
+        report.setDay(player.getDay());
+        if (history != null) {
+            history.record(player);
+        }
+        return report;
+    }
+
+    /**
+     * Advances several nights in one batch. Each morning the care policy tends
+     * the plots until the player's NRG runs out; dreams and per-night journal
+     * entries are skipped, and a single summary entry is journaled at the end.
+     * The DayHistory records only the day the batch ends on, so a rewind steps
+     * back over the whole batch. Like advanceDay this never saves, so callers
+     * save once afterwards.
+     * @param days Number of nights to simulate
+     * @param policy How every plot is tended before each night
+     * @return Totals over the whole batch
+     */
+    public FastForwardReport fastForward(int days, CarePolicy policy) {
+        if (days < 0) {
+            throw new IllegalArgumentException("days must not be negative: " + days);
+        }
+
+        FastForwardReport summary = new FastForwardReport(policy, player.getDay());
+        long start = System.nanoTime();
+        boolean wasDreamsEnabled = dreamsEnabled;
+        boolean wasHistoryEnabled = historyEnabled;
+        boolean wasJournalPaused = player.isJournalPaused();
+        DayHistory history = historyEnabled ? player.getDayHistory() : null;
+        if (history != null && history.isEmpty()) {
+            history.record(player);
+        }
+        dreamsEnabled = false;
+        historyEnabled = false;
+        player.setJournalPaused(true);
+        try {
+            for (int night = 0; night < days; night++) {
+                int nrgSpent = 0;
+                // Drip irrigation keeps going after the gardener is worn out
+                boolean dripIrrigation = policy.isGreenhouse() && player.getGreenhouseCount() > 0;
+                for (gardenPlot plot : player.getGardenPlots()) {
+                    if (player.getNRG() <= 0 && !dripIrrigation) {
+                        break;
+                    }
+                    nrgSpent += policy.tend(player, plot, player.getDay());
+                }
+                summary.addNight(advanceDay(), nrgSpent);
+            }
+        } finally {
+            dreamsEnabled = wasDreamsEnabled;
+            historyEnabled = wasHistoryEnabled;
+            player.setJournalPaused(wasJournalPaused);
+        }
+        // The whole batch is one step in the history
+        if (history != null) {
+            history.record(player);
+        }
+        summary.setElapsedNanos(System.nanoTime() - start);
+
+        Journal.addJournalEntry(player, summary.getSummary());
+        return summary;
+    }
+
+    /**
+     * Picks tonight's dream or hint, if any. Uses the file lists cached by
+     * DreamReader/HintReader so no directory is scanned per night.
+     */
+    private void rollDream(DayReport report, boolean weatherOccurred) {
+        GameRandom random = player.getRandom();
+        String dreamContent = null;
+        String dreamFilename = null;
+        String hintFilename = null;
+        boolean showedHint = false;
+
+        // Special hint for day 30+ if player hasn't built extra plot
+        if (!weatherOccurred && player.getDay() >= 30 && !player.hasBuiltExtraPlot() && HintReader.hasHints()) {
+            if (random.chance(0.5)) {
+                dreamContent = HintReader.getSpecificHint("build_expansion.txt");
+                if (dreamContent == null) {
+                    String[] hintData = HintReader.getRandomHintWithFilename(random);
+                    if (hintData != null) {
+                        dreamContent = hintData[1];
+                    }
+                }
+                showedHint = true;
+            }
+        }
+
+        if (dreamContent == null) {
+            List<String> unviewedDreams = new ArrayList<>();
+            for (String dreamFile : DreamReader.getDreamFiles()) {
+                if (!player.hasDreamUnlocked(dreamFile)) {
+                    unviewedDreams.add(dreamFile);
+                }
+            }
+
+            List<String> unviewedHints = new ArrayList<>();
+            for (String hintFile : HintReader.getHintFiles()) {
+                if (!player.hasHintUnlocked(hintFile)) {
+                    unviewedHints.add(hintFile);
+                }
+            }
+
+            // 25% chance of dream/hint if any are available
+            if ((!unviewedDreams.isEmpty() || !unviewedHints.isEmpty()) && random.chance(0.25)) {
+                boolean tryHint = false;
+
+                // Day 20+: 50/50 between hints and dreams
+                if (player.getDay() >= 20 && !unviewedHints.isEmpty() && !unviewedDreams.isEmpty()) {
+                    tryHint = random.chance(0.5);
+                } else if (unviewedDreams.isEmpty() && !unviewedHints.isEmpty()) {
+                    tryHint = true; // Only hints left
+                }
+
+                if (tryHint) {
+                    String selectedHintFile = unviewedHints.get(random.nextInt(unviewedHints.size()));
+                    dreamContent = HintReader.readHintFile(selectedHintFile);
+                    if (dreamContent != null) {
+                        player.unlockHint(selectedHintFile);
+                        hintFilename = selectedHintFile;
+                        showedHint = true;
+                    }
+                } else if (!unviewedDreams.isEmpty()) {
+                    String selectedDreamFile = unviewedDreams.get(random.nextInt(unviewedDreams.size()));
+                    dreamContent = DreamReader.readDreamFile(selectedDreamFile);
+                    if (dreamContent != null) {
+                        dreamFilename = selectedDreamFile;
+                    }
+                }
+            }
+        }
+
+        report.setDream(dreamContent, dreamFilename, hintFilename, showedHint);
+    }
+}
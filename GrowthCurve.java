@@ -0,0 +1,114 @@
+/* GrowthCurve.java
+ * One species' growth rules compiled into lookup tables.
+ * FlowerRegistry builds one per species from flowers.csv at load time, so
+ * the nightly step indexes arrays instead of recomputing formulas:
+ * - days needed to leave each stage
+ * - growth chance for each combination of care (water/weeds/fertilizer/pot)
+ * - mutation and natural wither odds for each soil quality
+ */
+
+import java.util.Arrays;
+
+public class GrowthCurve {
+    // Care state bits for growthChance
+    public static final int CARE_WATERED = 1;
+    public static final int CARE_WEEDED = 2;
+    public static final int CARE_FERTILIZED = 4;
+    public static final int CARE_FLOWER_POT = 8;
+    private static final int CARE_STATES = 16;
+
+    private static final int SOIL_COUNT = SoilQuality.values().length;
+
+    /** Used for flowers that are not in the registry (the original hardcoded rules) */
+    public static final GrowthCurve DEFAULT = new GrowthCurve(3, 3, 7, 12, 20, 0.05 + 3 * 0.02);
+
+    private final int difficulty;
+    // Effective days planted needed to leave a stage (indexed by stage code)
+    private final int[] daysToAdvance;
+    // Growth roll threshold (indexed by care state bits)
+    private final double[] growthChance;
+    // Mutation roll threshold for a matured plant (indexed by fertilized * SOIL_COUNT + soil)
+    private final double[] mutationChance;
+    // Natural wither threshold after a failed mutation (indexed by soil)
+    private final double[] witherChance;
+
+    /**
+     * Compiles a species' curve
+     * @param difficulty Species difficulty (1-5)
+     * @param daysToSeedling Days before a seed can sprout
+     * @param daysToBloomed Days before a seedling can bloom
+     * @param daysToMatured Days before a bloom can mature
+     * @param daysToWithered Days before a matured plant starts rolling to mutate or wither
+     * @param baseMutationChance Mutation chance on Average soil without fertilizer
+     */
+    public GrowthCurve(int difficulty, int daysToSeedling, int daysToBloomed, int daysToMatured,
+                       int daysToWithered, double baseMutationChance) {
+        this.difficulty = difficulty;
+
+        this.daysToAdvance = new int[PlotRules.STAGE_NAMES.length];
+        Arrays.fill(daysToAdvance, Integer.MAX_VALUE);
+        daysToAdvance[PlotRules.STAGE_SEED] = daysToSeedling;
+        daysToAdvance[PlotRules.STAGE_SEEDLING] = daysToBloomed;
+        daysToAdvance[PlotRules.STAGE_BLOOMED] = daysToMatured;
+        daysToAdvance[PlotRules.STAGE_MATURED] = daysToWithered;
+
+        this.growthChance = new double[CARE_STATES];
+        for (int care = 0; care < CARE_STATES; care++) {
+            double chance = 0.95 - (difficulty * 0.10);
+            if ((care & CARE_WATERED) != 0) {
+                chance += 0.30;
+            } else {
+                chance = 0;
+            }
+            if ((care & CARE_FLOWER_POT) == 0) {
+                chance += (care & CARE_WEEDED) != 0 ? 0.15 : -0.10;
+            }
+            if ((care & CARE_FERTILIZED) != 0) {
+                chance += 0.20;
+            }
+            growthChance[care] = Math.max(0.0, Math.min(0.99, chance));
+        }
+
+        this.mutationChance = new double[2 * SOIL_COUNT];
+        this.witherChance = new double[SOIL_COUNT];
+        for (SoilQuality soil : SoilQuality.values()) {
+            int code = soil.getCode();
+            mutationChance[code] = baseMutationChance * soil.getMutationMultiplier();
+            mutationChance[SOIL_COUNT + code] = baseMutationChance * 2 * soil.getMutationMultiplier();
+            witherChance[code] = soil.getWitherProbability();
+        }
+    }
+
+    /**
+     * Packs a plot's care into the index used by getGrowthChance
+     */
+    public static int careState(boolean watered, boolean weeded, boolean fertilized, boolean flowerPot) {
+        return (watered ? CARE_WATERED : 0)
+            | (weeded ? CARE_WEEDED : 0)
+            | (fertilized ? CARE_FERTILIZED : 0)
+            | (flowerPot ? CARE_FLOWER_POT : 0);
+    }
+
+    public int getDifficulty() {
+        return difficulty;
+    }
+
+    /**
+     * @return Effective days planted needed to leave the stage (MAX_VALUE for end stages)
+     */
+    public int getDaysToAdvance(int stage) {
+        return daysToAdvance[stage];
+    }
+
+    public double getGrowthChance(int careState) {
+        return growthChance[careState];
+    }
+
+    public double getMutationChance(boolean fertilized, int soil) {
+        return mutationChance[fertilized ? SOIL_COUNT + soil : soil];
+    }
+
+    public double getWitherChance(int soil) {
+        return witherChance[soil];
+    }
+}
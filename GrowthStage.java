@@ -0,0 +1,71 @@
+/* GrowthStage.java
+ * The growth stages a flower passes through.
+ * This is the internal representation; the display name is only used
+ * for save files and printing. Codes match the PlotRules stage constants.
+ */
+
+public enum GrowthStage {
+    SEED("Seed", "🌱"),
+    SEEDLING("Seedling", "🌿"),
+    BLOOMED("Bloomed", "🌸"),
+    MATURED("Matured", "🌻"),
+    WITHERED("Withered", "🥀"),
+    MUTATED("Mutated", "✨");
+
+    private static final GrowthStage[] BY_CODE = values();
+
+    private final String displayName;
+    private final String emoji;
+
+    GrowthStage(String displayName, String emoji) {
+        this.displayName = displayName;
+        this.emoji = emoji;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public String getEmoji() {
+        return emoji;
+    }
+
+    /**
+     * @return The PlotRules stage code for this stage
+     */
+    public int getCode() {
+        return ordinal();
+    }
+
+    /**
+     * Whether a flower at this stage can go into a bouquet (Bloomed or later)
+     */
+    public boolean isBouquetReady() {
+        return this != SEED && this != SEEDLING;
+    }
+
+    public static GrowthStage fromCode(int code) {
+        return BY_CODE[code];
+    }
+
+    /**
+     * Parses a display name as written in save files
+     * @return The stage, or null if the name is not a growth stage
+     */
+    public static GrowthStage fromName(String name) {
+        switch (name) {
+            case "Seed": return SEED;
+            case "Seedling": return SEEDLING;
+            case "Bloomed": return BLOOMED;
+            case "Matured": return MATURED;
+            case "Withered": return WITHERED;
+            case "Mutated": return MUTATED;
+            default: return null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
@@ -10,7 +10,6 @@ public class HintReader {
     private static List<String> hintFiles = new ArrayList<>();
     private static Map<String, String> hintCache = new HashMap<>();
     private static boolean isLoaded = false;
-    private static Random random = new Random();
     
     /**
      * Loads all hint file names from the hints.txt directory
@@ -75,8 +74,9 @@ public class HintReader {
     
     /**
      * Gets a random hint text and returns the filename for tracking
+     * @param random Session random source
      */
-    public static String[] getRandomHintWithFilename() {
+    public static String[] getRandomHintWithFilename(GameRandom random) {
         if (!isLoaded) {
             loadHintFiles();
         }
@@ -135,6 +135,16 @@ public class HintReader {
         return !hintFiles.isEmpty();
     }
     
+    /**
+     * Gets the hint file names found at startup
+     */
+    public static List<String> getHintFiles() {
+        if (!isLoaded) {
+            loadHintFiles();
+        }
+        return Collections.unmodifiableList(hintFiles);
+    }
+    
     /**
      * Gets the number of available hint files
      */
@@ -10,15 +10,16 @@ import java.util.Scanner;
 import java.util.Map;
 
 public class JournalActions {
+	private static final int SEARCH_RESULTS = 10;
 
 	public static Player1 handleJournal(Player1 player, Scanner scanner) {
 		boolean inJournal = true;
 		int currentPage = 0;
 
-		int totalPages = Journal.getTotalJournalPages(player.getName());
+		int totalPages = Journal.getTotalJournalPages(player);
 
 		while (inJournal) {
-			totalPages = Journal.getTotalJournalPages(player.getName()); 
+			totalPages = Journal.getTotalJournalPages(player); 
 
 			System.out.println("\n📖 Journal Menu 📖");
 			System.out.println("1. View Journal Entries");
@@ -28,6 +29,8 @@ public class JournalActions {
 			System.out.println("5. Save Game / Exit");
 			System.out.println("6. Return to Main Menu");
 			System.out.println("7. Reset Game (New Game+)");
+			System.out.println("8. Rewind to an Earlier Day");
+			System.out.println("9. Search Journal, Dreams and Tips");
 			System.out.print("\nEnter choice: ");
 
 
@@ -42,7 +45,7 @@ public class JournalActions {
 				case 2:
 					handleAddNewEntry(player, scanner);
 					currentPage = 0;
-					totalPages = Journal.getTotalJournalPages(player.getName()); 
+					totalPages = Journal.getTotalJournalPages(player); 
 					break;
 				case 3:
 					handleViewDreamJournal(player, scanner); 
@@ -53,6 +56,7 @@ public class JournalActions {
 				case 5:
 					handleSaveGame(player); 
 					inJournal = false;
+					Journal.flushSaves();
 					System.exit(0);
 					break;
 				case 6:
@@ -64,11 +68,20 @@ public class JournalActions {
 					if (newPlayer != null) {
 						player = newPlayer; 
 						currentPage = 0;
-						totalPages = Journal.getTotalJournalPages(player.getName());
+						totalPages = Journal.getTotalJournalPages(player);
 					}
 					break;
+				case 8:
+					if (handleRewind(player, scanner)) {
+						currentPage = 0;
+						totalPages = Journal.getTotalJournalPages(player);
+					}
+					break;
+				case 9:
+					handleSearch(player, scanner);
+					break;
 				default:
-					System.out.println("Invalid choice. Please enter a number between 1 and 7.");
+					System.out.println("Invalid choice. Please enter a number between 1 and 9.");
 					break;
 				}
 			}
@@ -83,7 +96,7 @@ public class JournalActions {
 	private static void handleViewJournal(Player1 player, Scanner scanner, int currentPage, int totalPages) {
 		boolean viewing = true;
 
-		totalPages = Journal.getTotalJournalPages(player.getName());
+		totalPages = Journal.getTotalJournalPages(player);
 		if (totalPages == 0) {
 			System.out.println("\nYour journal is empty.");
 			return;
@@ -94,23 +107,9 @@ public class JournalActions {
 		}
 
 		while (viewing) {
-			// Use player object entries for immediate display
-			List<String> allEntries = player.getJournalEntries();
-			
-			// Calculate pagination
-			final int ENTRIES_PER_PAGE = 5;
-			totalPages = (int) Math.ceil((double) allEntries.size() / ENTRIES_PER_PAGE);
-			if (totalPages == 0) totalPages = 1;
-			
-			// Get entries for current page (newest first)
-			int startIdx = Math.max(0, allEntries.size() - ((currentPage + 1) * ENTRIES_PER_PAGE));
-			int endIdx = allEntries.size() - (currentPage * ENTRIES_PER_PAGE);
-			endIdx = Math.min(endIdx, allEntries.size());
-			
-			List<String> entries = new ArrayList<>();
-			for (int i = endIdx - 1; i >= startIdx; i--) {
-				entries.add(allEntries.get(i));
-			}
+			// Page straight from the player in memory (newest first)
+			totalPages = Math.max(1, Journal.getTotalJournalPages(player));
+			List<String> entries = Journal.getJournalEntries(player, currentPage);
 
 			System.out.println("\n=== Journal Entries (Page " + (currentPage + 1) + " of " + totalPages + ") ===");
 			System.out.println("(Showing newest entries first)");
@@ -149,7 +148,7 @@ public class JournalActions {
 				System.out.println("Invalid command.");
 				break;
 			}
-			totalPages = Journal.getTotalJournalPages(player.getName());
+			totalPages = Journal.getTotalJournalPages(player);
 		}
 	}
 
@@ -163,12 +162,12 @@ public class JournalActions {
 			return;
 		}
 
-		boolean success = Journal.addJournalEntry(player, newEntry);
-
-		if (success) {
+		if (!Journal.addJournalEntry(player, newEntry)) {
+			System.out.println("❌ Failed to add entry.");
+		} else if (Journal.saveGame(player) && Journal.flushSaves()) {
 			System.out.println("✅ New entry added and game saved successfully.");
 		} else {
-			System.out.println("❌ Failed to add entry or save game.");
+			System.out.println("❌ New entry added, but the game could not be saved.");
 		}
 	}
 
@@ -310,9 +309,69 @@ public class JournalActions {
 		}
 	}
 
+	/**
+	 * Searches the journal, dreams and tips; dreams and tips in the results
+	 * can be opened by number
+	 */
+	private static void handleSearch(Player1 player, Scanner scanner) {
+		System.out.println("\n🔍 Search Journal, Dreams and Tips 🔍");
+		System.out.println("Type words to find, optionally with a day range (e.g. \"withered lavender\" or \"day 40..60 earthquake\").");
+
+		while (true) {
+			System.out.print("\nSearch (blank to go back): ");
+			String query = scanner.nextLine().trim();
+			if (query.isEmpty()) {
+				return;
+			}
+
+			long start = System.nanoTime();
+			List<JournalSearch.Hit> hits = player.getJournalSearch().search(query, SEARCH_RESULTS);
+			long micros = (System.nanoTime() - start) / 1000;
+
+			if (hits.isEmpty()) {
+				System.out.println("No matches.");
+				continue;
+			}
+			System.out.println("\n--- " + hits.size() + (hits.size() == 1 ? " match" : " matches") + " (" + micros + " µs) ---");
+			for (int i = 0; i < hits.size(); i++) {
+				JournalSearch.Hit hit = hits.get(i);
+				switch (hit.getKind()) {
+				case DREAM:
+					System.out.println((i + 1) + ". ⭐ " + hit.getName() + ": " + hit.getSnippet());
+					break;
+				case TIP:
+					System.out.println((i + 1) + ". 💡 " + hit.getName() + ": " + hit.getSnippet());
+					break;
+				default:
+					System.out.println((i + 1) + ". " + hit.getSnippet());
+					break;
+				}
+			}
+
+			System.out.print("\nEnter a number to open a dream or tip, or press Enter to search again: ");
+			String choice = scanner.nextLine().trim();
+			if (choice.isEmpty()) {
+				continue;
+			}
+			try {
+				JournalSearch.Hit hit = hits.get(Integer.parseInt(choice) - 1);
+				if (hit.getKind() == JournalSearch.Kind.DREAM) {
+					displayDreamContent(hit.getName());
+				} else if (hit.getKind() == JournalSearch.Kind.TIP) {
+					displayTipContent(hit.getName());
+				} else {
+					System.out.println(hit.getSnippet());
+				}
+			} catch (NumberFormatException | IndexOutOfBoundsException e) {
+				System.out.println("Invalid choice.");
+			}
+		}
+	}
+
 	private static void handleSaveGame(Player1 player) {
 		System.out.println("\n💾 Saving Game...");
-		boolean success = Journal.saveGame(player);
+		// Wait for the write so success means it is on disk
+		boolean success = Journal.saveGame(player) && Journal.flushSaves();
 		if (success) {
 			System.out.println("✅ Adventure saved successfully!");
 		} else {
@@ -320,6 +379,55 @@ public class JournalActions {
 		}
 	}
 
+	/**
+	 * Rewinds the garden, inventory, credits and NRG to the start of an earlier
+	 * day played this session
+	 */
+	private static boolean handleRewind(Player1 player, Scanner scanner) {
+		DayHistory history = player.getDayHistory();
+		if (history.isEmpty()) {
+			System.out.println("\nNo days to rewind to yet. Days are remembered from the first night after loading.");
+			return false;
+		}
+		int oldest = history.getOldestDay();
+		int newest = history.getNewestDay();
+
+		System.out.println("\n⏪ You can rewind to the start of any day from " + oldest + " to " + newest + ".");
+		System.out.print("Rewind to day (0 to cancel): ");
+		if (!scanner.hasNextInt()) {
+			scanner.nextLine();
+			System.out.println("Invalid input. Returning to Journal Menu.");
+			return false;
+		}
+		int day = scanner.nextInt();
+		scanner.nextLine();
+		if (day == 0) {
+			System.out.println("\nOperation cancelled. Returning to Journal Menu.");
+			return false;
+		}
+		if (day < oldest || day > newest) {
+			System.out.println("Day " + day + " is not in the history.");
+			return false;
+		}
+
+		System.out.print("Your garden, inventory, credits and NRG will go back to day " + day
+				+ ". Continue? (yes/no): ");
+		String confirm = scanner.next().toLowerCase();
+		scanner.nextLine();
+		if (!confirm.equals("yes")) {
+			System.out.println("\nOperation cancelled. Returning to Journal Menu.");
+			return false;
+		}
+
+		int fromDay = player.getDay();
+		history.rewind(player, day);
+		Journal.addJournalEntry(player, "Rewound time from day " + fromDay + " to day " + day + ".");
+		Journal.saveGame(player);
+		System.out.println("\n⏪ It is day " + player.getDay() + " again. You have " + player.getNRG()
+				+ " NRG and " + player.getCredits() + " credits.");
+		return true;
+	}
+
 	private static Player1 handleResetGame(Player1 player, Scanner scanner) {
 		System.out.println("\n⚠️ WARNING: This will reset your game while keeping your name! ⚠️");
 		System.out.println("All progress, inventory items, and stats will be reset to default values.");
@@ -331,6 +439,7 @@ public class JournalActions {
 		if (confirmReset.equals("yes")) {
 			String nameToKeep = player.getName();
 			Player1 newPlayer = new Player1(nameToKeep);
+			newPlayer.setRandom(player.getRandom());
 
 			FlowerInstance starterSeed = new FlowerInstance(
 					"Mammoth Sunflower", "Seed", 0, 10, 1, 5);
@@ -0,0 +1,268 @@
+/* JournalArchive.java
+ * Append-only compressed segments holding the journal entries that left the save
+ */
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.zip.CRC32;
+
+/**
+ * Older journal history, kept in the save directory as {@code <name>.jarc}
+ * whichever SaveBackend holds the save itself (a SaveStore too):
+ * <pre>
+ * header    magic "SFJA", i32 version
+ * segment   i32 index of its first entry, i32 entry count, i32 first day,
+ *           i32 last day, i32 data length, data, i32 CRC32 of the data
+ * </pre>
+ * The data is the segment's entries as "day,date,message" lines, deflated by
+ * SaveCompression (without the save dictionary). Entries are numbered from
+ * the oldest one ever archived, so the save only has to remember how many it
+ * has handed over (ArchivedEntries=).
+ *
+ * Opening the archive reads just the segment headers; a page of history
+ * inflates only the segment it falls in, and the last segment read is kept
+ * so paging through it does not inflate it again. A segment appended again
+ * with the same first entry (the save that should have followed it never
+ * landed) replaces the copy already there instead of repeating it.
+ */
+public class JournalArchive {
+    public static final String SUFFIX = ".jarc";
+    /** Entries per segment; also the most the save holds beyond the journal ring */
+    public static final int SEGMENT_ENTRIES = 50;
+
+    private static final byte[] MAGIC = {'S', 'F', 'J', 'A'};
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 4 + 4;
+    // first entry, entry count, first day, last day, data length
+    private static final int SEGMENT_HEADER_BYTES = 5 * 4;
+    private static final int CRC_BYTES = 4;
+
+    private static final Map<String, JournalArchive> OPEN_ARCHIVES = new HashMap<>();
+
+    private final File file;
+
+    // Segment directory, read from the headers on first use
+    private boolean scanned;
+    private int segments;
+    private long[] offsets = new long[8];
+    private int[] firstEntries = new int[8];
+    private int[] counts = new int[8];
+    private long length;
+
+    private int cachedSegment = -1;
+    private List<JournalEntry> cachedEntries;
+
+    private JournalArchive(File file) {
+        this.file = file;
+    }
+
+    public static synchronized JournalArchive forSave(File directory, String name) {
+        String key = new File(directory, name).getPath();
+        JournalArchive archive = OPEN_ARCHIVES.get(key);
+        if (archive == null) {
+            archive = new JournalArchive(new File(directory, name + SUFFIX));
+            OPEN_ARCHIVES.put(key, archive);
+        }
+        return archive;
+    }
+
+    public static synchronized void discard(File directory, String name) {
+        OPEN_ARCHIVES.remove(new File(directory, name).getPath());
+        new File(directory, name + SUFFIX).delete();
+    }
+
+    public static synchronized void release(File directory, String name) {
+        OPEN_ARCHIVES.remove(new File(directory, name).getPath());
+    }
+
+    /**
+     * Number of entries archived, one past the last entry index
+     */
+    public synchronized int getEntryCount() throws IOException {
+        scan();
+        return segments == 0 ? 0 : firstEntries[segments - 1] + counts[segments - 1];
+    }
+
+    /**
+     * Writes entries as one segment starting at entry index `firstEntry`.
+     * Segments already there from that index on are dropped first.
+     */
+    public synchronized void append(int firstEntry, List<JournalEntry> entries) throws IOException {
+        scan();
+        int keep = segments;
+        while (keep > 0 && firstEntries[keep - 1] >= firstEntry) {
+            keep--;
+        }
+        if (keep < segments) {
+            truncate(keep);
+        }
+        // A kept segment reaching past firstEntry already holds the first few
+        int skip = segments == 0 ? 0 : Math.max(0, firstEntries[segments - 1] + counts[segments - 1] - firstEntry);
+        if (skip >= entries.size()) {
+            return;
+        }
+        entries = entries.subList(skip, entries.size());
+
+        StringBuilder text = new StringBuilder(entries.size() * 80);
+        for (JournalEntry entry : entries) {
+            text.append(entry.getDay()).append(',').append(entry.getDate()).append(',')
+                    .append(entry.getMessage()).append('\n');
+        }
+        byte[] data = SaveCompression.compress(text.toString().getBytes(StandardCharsets.UTF_8),
+                SaveCompression.getLevel(), false);
+        CRC32 crc = new CRC32();
+        crc.update(data);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(SEGMENT_HEADER_BYTES + data.length + CRC_BYTES);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(firstEntry + skip);
+        out.writeInt(entries.size());
+        out.writeInt(entries.get(0).getDay());
+        out.writeInt(entries.get(entries.size() - 1).getDay());
+        out.writeInt(data.length);
+        out.write(data);
+        out.writeInt((int) crc.getValue());
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            if (length == 0) {
+                raf.setLength(0);
+                raf.write(MAGIC);
+                raf.writeInt(VERSION);
+                length = HEADER_BYTES;
+            }
+            raf.seek(length);
+            raf.write(bytes.toByteArray());
+            // Anything past the last whole segment was a torn write
+            raf.setLength(length + bytes.size());
+        }
+        addSegment(length, firstEntry + skip, entries.size());
+        length += bytes.size();
+    }
+
+    /**
+     * Entries from index `from` up to `to`, oldest first. Entries in no
+     * segment (the archive file was lost) are left out.
+     */
+    public synchronized List<JournalEntry> read(int from, int to) throws IOException {
+        scan();
+        List<JournalEntry> entries = new ArrayList<>(Math.max(0, to - from));
+        for (int s = 0; s < segments && from < to; s++) {
+            int first = firstEntries[s];
+            if (first + counts[s] <= from) {
+                continue;
+            }
+            if (first >= to) {
+                break;
+            }
+            List<JournalEntry> segment = segment(s);
+            for (int i = Math.max(from, first); i < Math.min(to, first + segment.size()); i++) {
+                entries.add(segment.get(i - first));
+            }
+        }
+        return entries;
+    }
+
+    private List<JournalEntry> segment(int s) throws IOException {
+        if (s == cachedSegment) {
+            return cachedEntries;
+        }
+        byte[] data;
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            raf.seek(offsets[s] + SEGMENT_HEADER_BYTES - 4);
+            data = new byte[raf.readInt()];
+            raf.readFully(data);
+            CRC32 crc = new CRC32();
+            crc.update(data);
+            if (raf.readInt() != (int) crc.getValue()) {
+                throw new IOException("Journal archive segment " + s + " is damaged");
+            }
+        }
+        String text = new String(SaveCompression.decompress(data), StandardCharsets.UTF_8);
+        List<JournalEntry> entries = new ArrayList<>(counts[s]);
+        int start = 0;
+        int newline;
+        while ((newline = text.indexOf('\n', start)) >= 0) {
+            int c1 = text.indexOf(',', start);
+            int c2 = c1 < 0 ? -1 : text.indexOf(',', c1 + 1);
+            if (c2 < 0 || c2 > newline) {
+                throw new IOException("Journal archive segment " + s + " has a malformed entry");
+            }
+            entries.add(JournalEntry.fromSave(Integer.parseInt(text.substring(start, c1)),
+                    text.substring(c1 + 1, c2), text.substring(c2 + 1, newline)));
+            start = newline + 1;
+        }
+        cachedSegment = s;
+        cachedEntries = entries;
+        return entries;
+    }
+
+    // Reads the segment headers; a segment cut short by a crash is dropped
+    private void scan() throws IOException {
+        if (scanned) {
+            return;
+        }
+        scanned = true;
+        segments = 0;
+        length = 0;
+        if (!file.exists()) {
+            return;
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            long fileLength = raf.length();
+            if (fileLength < HEADER_BYTES) {
+                return;
+            }
+            byte[] magic = new byte[MAGIC.length];
+            raf.readFully(magic);
+            if (!Arrays.equals(magic, MAGIC)) {
+                throw new IOException("Not a journal archive: " + file);
+            }
+            int version = raf.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported journal archive version " + version);
+            }
+            long offset = HEADER_BYTES;
+            while (offset + SEGMENT_HEADER_BYTES <= fileLength) {
+                raf.seek(offset);
+                int first = raf.readInt();
+                int count = raf.readInt();
+                raf.readInt();
+                raf.readInt();
+                int dataLength = raf.readInt();
+                long end = offset + SEGMENT_HEADER_BYTES + dataLength + CRC_BYTES;
+                if (count <= 0 || dataLength < 0 || end > fileLength) {
+                    break;
+                }
+                addSegment(offset, first, count);
+                offset = end;
+            }
+            length = offset;
+        }
+    }
+
+    private void addSegment(long offset, int firstEntry, int count) {
+        if (segments == offsets.length) {
+            offsets = Arrays.copyOf(offsets, segments * 2);
+            firstEntries = Arrays.copyOf(firstEntries, segments * 2);
+            counts = Arrays.copyOf(counts, segments * 2);
+        }
+        offsets[segments] = offset;
+        firstEntries[segments] = firstEntry;
+        counts[segments] = count;
+        segments++;
+    }
+
+    private void truncate(int keep) throws IOException {
+        long end = keep < segments ? offsets[keep] : length;
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(end);
+        }
+        segments = keep;
+        length = end;
+        if (cachedSegment >= keep) {
+            cachedSegment = -1;
+            cachedEntries = null;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+/* JournalChecks.java
+ * Checks for the journal ring: it must behave like the bounded list it
+ * replaced under any mix of edits, and the cap on repeated weed warnings
+ * must hold whether or not the saved journal has been parsed yet.
+ *
+ * Usage: java JournalChecks [--ops N] [--seed S]
+ * Exits with status 1 if any check fails.
+ */
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+public class JournalChecks {
+    private static final String WEED = "Some weeds appeared in the garden.";
+
+    public static void main(String[] args) throws Exception {
+        int ops = 20_000;
+        long seed = 9L;
+        for (int i = 0; i < args.length; i++) {
+            if (i + 1 >= args.length) {
+                usage("Missing value for " + args[i]);
+            }
+            switch (args[i]) {
+                case "--ops": ops = Integer.parseInt(args[++i]); break;
+                case "--seed": seed = Long.parseLong(args[++i]); break;
+                default: usage("Unknown option " + args[i]);
+            }
+        }
+
+        FlowerRegistry.loadFlowerData();
+        int failed = 0;
+        failed += report("ring matches a bounded list", checkRingAgainstList(ops, seed));
+        failed += report("weed warnings stop after three in a row", checkWeedCap(Math.min(ops, 2_000), seed));
+        if (failed > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Random appends, inserts, removals, replacements and clears on a small
+     * ring and on an ArrayList that drops its oldest entry past the same
+     * capacity. Contents, the entries pushed out and the trailing phrase
+     * count must agree after every step.
+     */
+    public static String checkRingAgainstList(int ops, long seed) {
+        int capacity = 7;
+        JournalRing ring = new JournalRing(capacity);
+        List<String> list = new ArrayList<>();
+        List<String> dropped = new ArrayList<>();
+        List<String> expectedDropped = new ArrayList<>();
+        ring.setListener(new JournalRing.Listener() {
+            @Override
+            public void entryAdded(JournalEntry entry) {
+            }
+
+            @Override
+            public void entryDropped(JournalEntry entry) {
+                dropped.add(entry.toString());
+            }
+
+            @Override
+            public void journalChanged() {
+            }
+        });
+
+        GameRandom random = new GameRandom(seed);
+        for (int op = 0; op < ops; op++) {
+            String entry = random.nextInt(5) < 2 ? WEED : "note " + op;
+            int roll = random.nextInt(100);
+            String name;
+            if (roll < 70 || list.isEmpty()) {
+                name = "add";
+                ring.add(entry);
+                list.add(entry);
+            } else if (roll < 80) {
+                name = "insert";
+                int index = random.nextInt(list.size() + 1);
+                ring.add(index, entry);
+                list.add(index, entry);
+            } else if (roll < 90) {
+                name = "remove";
+                int index = random.nextInt(list.size());
+                ring.remove(index);
+                list.remove(index);
+            } else if (roll < 99) {
+                name = "set";
+                int index = random.nextInt(list.size());
+                ring.set(index, entry);
+                list.set(index, entry);
+            } else {
+                name = "clear";
+                ring.clear();
+                list.clear();
+            }
+            if (list.size() > capacity) {
+                expectedDropped.add(list.remove(0));
+            }
+
+            if (!ring.equals(list)) {
+                return "op " + op + " (" + name + "): ring " + ring + ", list " + list;
+            }
+            if (!dropped.equals(expectedDropped)) {
+                return "op " + op + " (" + name + "): pushed out " + dropped + ", expected " + expectedDropped;
+            }
+            // Ask about another phrase now and then so the count is rebuilt too
+            String phrase = random.nextInt(20) == 0 ? "note" : WEED;
+            if (ring.countTrailing(phrase) != trailing(list, phrase)) {
+                return "op " + op + " (" + name + "): trailing \"" + phrase + "\" " + ring.countTrailing(phrase)
+                        + ", expected " + trailing(list, phrase);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Journals a stream of weed warnings and other entries, first on a player
+     * built in memory and then on one loaded from its save with the journal
+     * still unparsed. A weed warning is kept only while fewer than three end
+     * the journal.
+     */
+    public static String checkWeedCap(int entries, long seed) throws Exception {
+        GameRandom random = new GameRandom(seed);
+        List<String> expected = new ArrayList<>();
+        Player1 player = new Player1("weeds");
+        String failure = journalStream(player, entries, random, expected);
+        if (failure != null) {
+            return "in memory: " + failure;
+        }
+
+        Player1 loaded = SaveParser.parse(new StringReader(Journal.renderSave(player)), null);
+        // Counting a run that reaches back into the saved journal has to parse
+        // it, so start with an entry that keeps the count among the new ones
+        Journal.addJournalEntry(loaded, "back again");
+        expected.add("back again");
+        if (!loaded.isSectionPending(Player1.LazySection.JOURNAL)) {
+            return "the loaded journal was parsed straight away";
+        }
+        failure = journalStream(loaded, entries, random, expected);
+        return failure == null ? null : "after loading: " + failure;
+    }
+
+    private static String journalStream(Player1 player, int entries, GameRandom random, List<String> expected) {
+        for (int i = 0; i < entries; i++) {
+            player.setDay(player.getDay() + (random.nextInt(3) == 0 ? 1 : 0));
+            String entry = random.nextInt(3) == 0 ? "note " + i : WEED;
+            int run = trailing(expected, WEED);
+            if (player.countTrailingJournal(WEED) != run) {
+                return "entry " + i + ": counted " + player.countTrailingJournal(WEED) + " trailing warnings, expected " + run;
+            }
+            boolean kept = Journal.addJournalEntry(player, entry);
+            if (kept != (!entry.equals(WEED) || run < 3)) {
+                return "entry " + i + ": " + (kept ? "kept" : "dropped") + " \"" + entry + "\" after " + run + " warnings";
+            }
+            if (kept) {
+                expected.add(entry);
+            }
+        }
+
+        List<String> messages = new ArrayList<>();
+        for (JournalEntry entry : player.getJournalSpill()) {
+            messages.add(entry.getMessage());
+        }
+        JournalRing ring = player.getJournalEntries();
+        for (int i = 0; i < ring.size(); i++) {
+            messages.add(ring.getEntry(i).getMessage());
+        }
+        if (ring.size() != Math.min(ring.getCapacity(), expected.size())) {
+            return "ring holds " + ring.size() + " of " + expected.size() + " entries";
+        }
+        List<String> tail = expected.subList(expected.size() - messages.size(), expected.size());
+        return messages.equals(tail) ? null : "journal ends " + messages + ", expected " + tail;
+    }
+
+    private static int trailing(List<String> entries, String phrase) {
+        int run = 0;
+        for (int i = entries.size() - 1; i >= 0 && entries.get(i).contains(phrase); i--) {
+            run++;
+        }
+        return run;
+    }
+
+    private static int report(String name, String failure) {
+        System.out.println((failure == null ? "[ok] " : "[X] ") + name + (failure == null ? "" : ": " + failure));
+        return failure == null ? 0 : 1;
+    }
+
+    private static void usage(String problem) {
+        System.out.println(problem);
+        System.out.println("Usage: java JournalChecks [--ops N] [--seed S]");
+        System.exit(2);
+    }
+}
@@ -0,0 +1,132 @@
+/* JournalEntry.java
+ * One journal entry: the game day, when it was written, and its message
+ */
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Entries are kept as these small records and only turned into
+ * "Day X (yyyy-MM-dd HH:mm:ss): message" when shown. The save writes the
+ * fields directly, so nothing is formatted and re-parsed on each save.
+ *
+ * Messages logged straight through Player1 during a night have no time;
+ * they show as the bare message and are not saved, as before. They still
+ * carry the day they were logged on so a day search can find them.
+ */
+public final class JournalEntry {
+    /** Shared by display and the save format; DateTimeFormatter is thread-safe */
+    public static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static final long UNDATED = Long.MIN_VALUE;
+
+    private final int day;
+    private final long epochSecond;
+    private final String message;
+    // The saved date text, kept only when it could not be read back as a date
+    private final String savedDate;
+
+    private JournalEntry(int day, long epochSecond, String message, String savedDate) {
+        this.day = day;
+        this.epochSecond = epochSecond;
+        this.message = message;
+        this.savedDate = savedDate;
+    }
+
+    /**
+     * An entry written now, on the given game day
+     */
+    public static JournalEntry now(int day, String message) {
+        return new JournalEntry(day, System.currentTimeMillis() / 1000, message, null);
+    }
+
+    /**
+     * A bare message with no day or time, shown as it is
+     */
+    public static JournalEntry undated(String message) {
+        return undated(0, message);
+    }
+
+    /**
+     * A bare message logged on the given day; shown without the day
+     */
+    public static JournalEntry undated(int day, String message) {
+        return new JournalEntry(day, UNDATED, message, null);
+    }
+
+    /**
+     * Rebuilds an entry from the fields of a saved Entry line
+     */
+    public static JournalEntry fromSave(int day, String date, String message) {
+        try {
+            long epochSecond = LocalDateTime.parse(date, DATE_FORMAT)
+                    .atZone(ZoneId.systemDefault()).toEpochSecond();
+            return new JournalEntry(day, epochSecond, message, null);
+        } catch (DateTimeParseException e) {
+            return new JournalEntry(day, 0, message, date);
+        }
+    }
+
+    /**
+     * Reads back an entry in its display form; anything not shaped like
+     * "Day X (date): message" becomes an undated message
+     */
+    public static JournalEntry parse(String text) {
+        if (text.startsWith("Day ")) {
+            int dayEnd = text.indexOf(" (");
+            int dateEnd = text.indexOf("): ");
+            if (dayEnd > 4 && dateEnd > dayEnd) {
+                try {
+                    int day = Integer.parseInt(text.substring(4, dayEnd));
+                    return fromSave(day, text.substring(dayEnd + 2, dateEnd), text.substring(dateEnd + 3));
+                } catch (NumberFormatException e) {
+                    // Not a day number; keep the text as it is
+                }
+            }
+        }
+        return undated(text);
+    }
+
+    public int getDay() {
+        return day;
+    }
+
+    public long getEpochSecond() {
+        return epochSecond;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Whether the entry has a day and time; only dated entries are saved
+     */
+    public boolean isDated() {
+        return epochSecond != UNDATED;
+    }
+
+    /**
+     * The time written, as yyyy-MM-dd HH:mm:ss in the local time zone
+     */
+    public String getDate() {
+        if (savedDate != null) {
+            return savedDate;
+        }
+        return DATE_FORMAT.format(LocalDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), ZoneId.systemDefault()));
+    }
+
+    /**
+     * The entry as shown in the journal
+     */
+    @Override
+    public String toString() {
+        if (!isDated()) {
+            return message;
+        }
+        return "Day " + day + " (" + getDate() + "): " + message;
+    }
+}
@@ -0,0 +1,277 @@
+/* JournalExport.java
+ * Streams players' journals, archived history included, to CSV or JSON Lines.
+ * Each save is read line by line through the backend and each archive one
+ * segment at a time, and every entry is written out as soon as it is read, so
+ * memory stays flat however many saves or entries there are. Nothing goes
+ * through Journal.loadGame or builds a Player1.
+ *
+ * Records, oldest entry first for each player:
+ *   player, seq (0-based position in the player's history), source (archive
+ *   or save), day, date, message
+ *
+ * Uses the backend selected by the usual -Dsunflower.* properties; archives
+ * are read from the save directory.
+ *
+ * Usage: java JournalExport [--format csv|jsonl] [--out FILE] [name ...]
+ *        (no names exports every save)
+ */
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+public class JournalExport {
+
+    public enum Format { CSV, JSONL }
+
+    private static final String JOURNAL_HEADER = "[JOURNAL_ENTRIES]";
+    private static final String ARCHIVED_KEY = "ArchivedEntries=";
+    private static final String ENTRY_KEY = "Entry=";
+
+    private final Writer out;
+    private final Format format;
+    private final File archiveDirectory;
+    private final StringBuilder record = new StringBuilder(256);
+    private boolean wroteHeader;
+    private long entriesWritten;
+
+    /**
+     * @param out Where records go; buffered by the caller or here, never closed
+     * @param archiveDirectory Where the players' JournalArchive files live
+     */
+    public JournalExport(Writer out, Format format, File archiveDirectory) {
+        this.out = out instanceof BufferedWriter ? out : new BufferedWriter(out, 64 * 1024);
+        this.format = format;
+        this.archiveDirectory = archiveDirectory;
+    }
+
+    public long getEntriesWritten() {
+        return entriesWritten;
+    }
+
+    /**
+     * Writes one player's history: the archived entries the save accounts
+     * for, then the entries still in the save
+     * @return The number of entries written, or -1 if there is no such save
+     */
+    public int exportPlayer(SaveBackend backend, String name) throws IOException {
+        if (format == Format.CSV && !wroteHeader) {
+            out.write("player,seq,source,day,date,message\n");
+            wroteHeader = true;
+        }
+        int seq = 0;
+        int archived = -1;
+        boolean archiveWritten = false;
+        try (Reader reader = backend.openText(name)) {
+            if (reader == null) {
+                return -1;
+            }
+            BufferedReader lines = new BufferedReader(reader, 16 * 1024);
+            boolean inJournal = false;
+            String line;
+            while ((line = lines.readLine()) != null) {
+                line = line.trim();
+                if (line.startsWith("[")) {
+                    inJournal = line.equals(JOURNAL_HEADER);
+                    // Archived entries are older than anything in the save
+                    if (inJournal && !archiveWritten) {
+                        seq = exportArchive(name, archived, seq);
+                        archiveWritten = true;
+                    }
+                } else if (inJournal) {
+                    if (line.startsWith(ENTRY_KEY)) {
+                        seq = savedEntry(name, line, seq);
+                    }
+                } else if (archived < 0 && line.startsWith(ARCHIVED_KEY)) {
+                    try {
+                        archived = Integer.parseInt(line.substring(ARCHIVED_KEY.length()));
+                    } catch (NumberFormatException e) {
+                        // Fall back to whatever the archive holds
+                    }
+                }
+            }
+            if (!archiveWritten) {
+                seq = exportArchive(name, archived, seq);
+            }
+        }
+        out.flush();
+        return seq;
+    }
+
+    // Only the entries the save has handed over (ArchivedEntries, none when
+    // the line is missing); see SaveBackend.getArchivedEntryCount
+    private int exportArchive(String name, int archived, int seq) throws IOException {
+        JournalArchive archive = JournalArchive.forSave(archiveDirectory, name);
+        int count = Math.max(0, archived);
+        for (int from = 0; from < count; from += JournalArchive.SEGMENT_ENTRIES) {
+            for (JournalEntry entry : archive.read(from, Math.min(count, from + JournalArchive.SEGMENT_ENTRIES))) {
+                write(name, seq++, "archive", entry.getDay(), entry.getDate(), entry.getMessage());
+            }
+        }
+        return seq;
+    }
+
+    // Entry=day,date,message; the date is passed through as saved
+    private int savedEntry(String name, String line, int seq) throws IOException {
+        int c1 = line.indexOf(',', ENTRY_KEY.length());
+        int c2 = c1 < 0 ? -1 : line.indexOf(',', c1 + 1);
+        if (c2 < 0) {
+            return seq;
+        }
+        int day;
+        try {
+            day = Integer.parseInt(line.substring(ENTRY_KEY.length(), c1));
+        } catch (NumberFormatException e) {
+            return seq;
+        }
+        write(name, seq, "save", day, line.substring(c1 + 1, c2), line.substring(c2 + 1));
+        return seq + 1;
+    }
+
+    private void write(String player, int seq, String source, int day, String date, String message)
+            throws IOException {
+        record.setLength(0);
+        if (format == Format.CSV) {
+            csv(player).append(',').append(seq).append(',').append(source).append(',').append(day).append(',');
+            csv(date).append(',');
+            csv(message).append('\n');
+        } else {
+            record.append("{\"player\":");
+            json(player).append(",\"seq\":").append(seq)
+                    .append(",\"source\":\"").append(source)
+                    .append("\",\"day\":").append(day)
+                    .append(",\"date\":");
+            json(date).append(",\"message\":");
+            json(message).append("}\n");
+        }
+        out.append(record);
+        entriesWritten++;
+    }
+
+    // Quoted only when it has to be (RFC 4180)
+    private StringBuilder csv(String value) {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            return record.append(value);
+        }
+        record.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                record.append('"');
+            }
+            record.append(c);
+        }
+        return record.append('"');
+    }
+
+    private StringBuilder json(String value) {
+        record.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': record.append("\\\""); break;
+                case '\\': record.append("\\\\"); break;
+                case '\n': record.append("\\n"); break;
+                case '\r': record.append("\\r"); break;
+                case '\t': record.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        record.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        record.append(c);
+                    }
+            }
+        }
+        return record.append('"');
+    }
+
+    public static void main(String[] args) throws Exception {
+        Format format = Format.CSV;
+        String outPath = null;
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--format":
+                    if (i + 1 < args.length) {
+                        String value = args[++i];
+                        if (value.equalsIgnoreCase("csv")) {
+                            format = Format.CSV;
+                        } else if (value.equalsIgnoreCase("jsonl") || value.equalsIgnoreCase("json")) {
+                            format = Format.JSONL;
+                        } else {
+                            System.err.println("Unknown format " + value + "; use csv or jsonl");
+                            return;
+                        }
+                    }
+                    break;
+                case "--out":
+                    if (i + 1 < args.length) outPath = args[++i];
+                    break;
+                default:
+                    if (args[i].startsWith("--")) {
+                        System.err.println("Usage: java JournalExport [--format csv|jsonl] [--out FILE] [name ...]");
+                        return;
+                    }
+                    names.add(args[i]);
+                    break;
+            }
+        }
+
+        // Records own stdout; anything else the game prints on the way (such
+        // as the flower registry announcing itself) goes to stderr
+        PrintStream stdout = System.out;
+        if (outPath == null) {
+            System.setOut(System.err);
+        }
+
+        SaveBackend backend = Journal.getBackend();
+        if (names.isEmpty()) {
+            names = backend.list();
+        }
+
+        long start = System.nanoTime();
+        int exported = 0;
+        int missing = 0;
+        int failed = 0;
+        Writer writer = new BufferedWriter(outPath == null
+                ? new OutputStreamWriter(stdout, StandardCharsets.UTF_8)
+                : new OutputStreamWriter(new FileOutputStream(outPath), StandardCharsets.UTF_8), 64 * 1024);
+        JournalExport export = new JournalExport(writer, format, Journal.getSaveDirectory());
+        try {
+            for (String name : names) {
+                try {
+                    if (export.exportPlayer(backend, name) < 0) {
+                        missing++;
+                        System.err.println(name + ": no save");
+                    } else {
+                        exported++;
+                    }
+                } catch (IOException | RuntimeException e) {
+                    failed++;
+                    System.err.println(name + ": [X] " + e.getMessage());
+                } finally {
+                    // Keep memory flat across thousands of saves
+                    backend.release(name);
+                    JournalArchive.release(Journal.getSaveDirectory(), name);
+                }
+            }
+        } finally {
+            writer.flush();
+            if (outPath != null) {
+                writer.close();
+            }
+        }
+
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        // Status goes to stderr so it never mixes with records on stdout
+        System.err.println("Exported " + export.getEntriesWritten() + " entries from " + exported + " saves in "
+                + elapsedMs + " ms" + (missing > 0 ? ", " + missing + " missing" : "")
+                + (failed > 0 ? ", " + failed + " failed" : ""));
+    }
+}
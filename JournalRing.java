@@ -0,0 +1,221 @@
+/* JournalRing.java
+ * Fixed-capacity circular buffer behind a player's journal
+ */
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * Holds the newest entries up to a fixed capacity, oldest first, like the
+ * ArrayList it replaces. Appending to a full ring overwrites the oldest entry
+ * in place, so the nightly journal writes cost the same no matter how long
+ * the journal is.
+ *
+ * Entries are stored as JournalEntry records; as a List the ring shows each
+ * one in its display form, formatted when it is read.
+ *
+ * The ring also keeps a running count of how many entries at its end contain
+ * a given phrase (the journal caps repeated weed warnings this way). The count
+ * is built once on first use and then updated by each append.
+ *
+ * A listener (the journal search index) is told about each append and each
+ * entry pushed out; any other change to the ring is reported as a whole.
+ */
+public class JournalRing extends AbstractList<String> implements RandomAccess {
+
+    /**
+     * Follows changes to the ring
+     */
+    public interface Listener {
+        void entryAdded(JournalEntry entry);
+
+        /** The oldest entry was overwritten by an append to a full ring */
+        void entryDropped(JournalEntry entry);
+
+        /** Entries were set, inserted or removed other than by appending */
+        void journalChanged();
+    }
+
+    private final JournalEntry[] entries;
+    private int head;
+    private int size;
+
+    // Phrase whose trailing run is being counted, and that run; -1 = recount
+    private String trackedPhrase;
+    private int trailingRun = -1;
+
+    private Listener listener;
+
+    public JournalRing(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Journal capacity must be positive: " + capacity);
+        }
+        this.entries = new JournalEntry[capacity];
+    }
+
+    /**
+     * A ring holding the last `capacity` of the given entries, each in its
+     * display form
+     */
+    public JournalRing(int capacity, Collection<String> initial) {
+        this(capacity);
+        for (String entry : initial) {
+            add(entry);
+        }
+    }
+
+    public int getCapacity() {
+        return entries.length;
+    }
+
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * The entry in its display form
+     */
+    @Override
+    public String get(int index) {
+        return entries[slot(index)].toString();
+    }
+
+    public JournalEntry getEntry(int index) {
+        return entries[slot(index)];
+    }
+
+    @Override
+    public String set(int index, String entry) {
+        int slot = slot(index);
+        JournalEntry previous = entries[slot];
+        entries[slot] = JournalEntry.parse(entry);
+        trailingRun = -1;
+        changed();
+        return previous.toString();
+    }
+
+    @Override
+    public boolean add(String entry) {
+        return addEntry(JournalEntry.parse(entry));
+    }
+
+    /**
+     * Appends an entry, dropping the oldest one if the ring is full
+     */
+    public boolean addEntry(JournalEntry entry) {
+        int tail = head + size;
+        if (tail >= entries.length) {
+            tail -= entries.length;
+        }
+        JournalEntry dropped = size == entries.length ? entries[tail] : null;
+        entries[tail] = entry;
+        if (size < entries.length) {
+            size++;
+        } else if (++head == entries.length) {
+            head = 0;
+        }
+        modCount++;
+
+        if (trailingRun >= 0) {
+            trailingRun = entry.getMessage().contains(trackedPhrase) ? Math.min(trailingRun + 1, size) : 0;
+        }
+        if (listener != null) {
+            if (dropped != null) {
+                listener.entryDropped(dropped);
+            }
+            listener.entryAdded(entry);
+        }
+        return true;
+    }
+
+    /**
+     * Only appending is constant time; inserting elsewhere shifts entries
+     */
+    @Override
+    public void add(int index, String entry) {
+        if (index == size) {
+            add(entry);
+            return;
+        }
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index " + index + ", size " + size);
+        }
+        JournalEntry last = getEntry(size - 1);
+        for (int i = size - 1; i > index; i--) {
+            entries[slot(i)] = getEntry(i - 1);
+        }
+        entries[slot(index)] = JournalEntry.parse(entry);
+        trailingRun = -1;
+        addEntry(last);
+        changed();
+    }
+
+    @Override
+    public String remove(int index) {
+        String removed = get(index);
+        if (index == 0) {
+            entries[head] = null;
+            if (++head == entries.length) {
+                head = 0;
+            }
+        } else {
+            for (int i = index; i < size - 1; i++) {
+                entries[slot(i)] = getEntry(i + 1);
+            }
+            entries[slot(size - 1)] = null;
+        }
+        size--;
+        modCount++;
+        trailingRun = -1;
+        changed();
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            entries[slot(i)] = null;
+        }
+        head = 0;
+        size = 0;
+        modCount++;
+        trailingRun = -1;
+        changed();
+    }
+
+    /**
+     * How many of the newest entries in a row contain this phrase. Constant
+     * time while the same phrase keeps being asked about.
+     */
+    public int countTrailing(String phrase) {
+        if (trailingRun < 0 || !phrase.equals(trackedPhrase)) {
+            trackedPhrase = phrase;
+            int run = 0;
+            for (int i = size - 1; i >= 0 && getEntry(i).getMessage().contains(phrase); i--) {
+                run++;
+            }
+            trailingRun = run;
+        }
+        return trailingRun;
+    }
+
+    private void changed() {
+        if (listener != null) {
+            listener.journalChanged();
+        }
+    }
+
+    private int slot(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + ", size " + size);
+        }
+        int slot = head + index;
+        return slot >= entries.length ? slot - entries.length : slot;
+    }
+}
@@ -0,0 +1,470 @@
+/* JournalSearch.java
+ * Full-text search over a player's journal, unlocked dreams and unlocked tips
+ */
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * In-memory inverted index. Every journal entry, unlocked dream and unlocked
+ * tip is one document; each lowercase word maps to the documents containing
+ * it. Player1 keeps the index current as entries are written and dreams and
+ * tips are unlocked, so a query only walks the postings of its own words.
+ *
+ * A query is a list of words, optionally with a day range ("day 40",
+ * "day 40..60" or "days 40-60"). Every word must match, either exactly or as
+ * the start of a longer word ("wither" finds "withered"). Results are ranked
+ * by BM25 score, exact matches above prefix matches, then newest day first.
+ * Dreams and tips have no day and are left out when a range is given.
+ *
+ * Documents that leave the index (a journal entry pushed out of the ring) are
+ * only marked dead; the postings are rebuilt once dead documents outnumber
+ * live ones.
+ */
+public class JournalSearch implements JournalRing.Listener {
+
+    public enum Kind { JOURNAL, DREAM, TIP }
+
+    /**
+     * One ranked result
+     */
+    public static final class Hit {
+        private final Kind kind;
+        private final String name;
+        private final JournalEntry entry;
+        private final int day;
+        private final double score;
+        private final String snippet;
+
+        private Hit(Doc doc, double score, String snippet) {
+            this.kind = doc.kind;
+            this.name = doc.name;
+            this.entry = doc.entry;
+            this.day = doc.day;
+            this.score = score;
+            this.snippet = snippet;
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        /**
+         * The dream or tip file name; null for journal entries
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * The journal entry; null for dreams and tips
+         */
+        public JournalEntry getEntry() {
+            return entry;
+        }
+
+        /**
+         * The game day of a journal entry; 0 for dreams and tips
+         */
+        public int getDay() {
+            return day;
+        }
+
+        public double getScore() {
+            return score;
+        }
+
+        /**
+         * The entry as shown in the journal, or the first dream or tip line
+         * that matched
+         */
+        public String getSnippet() {
+            return snippet;
+        }
+    }
+
+    private static final class Doc {
+        final Kind kind;
+        final int day;
+        final JournalEntry entry;
+        final String name;
+        final String text;
+        final String[] terms;
+        final int length;
+        boolean live = true;
+
+        Doc(Kind kind, int day, JournalEntry entry, String name, String text, String[] terms, int length) {
+            this.kind = kind;
+            this.day = day;
+            this.entry = entry;
+            this.name = name;
+            this.text = text;
+            this.terms = terms;
+            this.length = length;
+        }
+    }
+
+    /** Document ids in increasing order with the word's count in each */
+    private static final class Postings {
+        int[] docs = new int[4];
+        int[] counts = new int[4];
+        int size;
+        int live;
+
+        void add(int doc, int count) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                counts = Arrays.copyOf(counts, size * 2);
+            }
+            docs[size] = doc;
+            counts[size] = count;
+            size++;
+            live++;
+        }
+    }
+
+    // BM25 parameters
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    // How much a prefix match counts next to an exact one
+    private static final double PREFIX_WEIGHT = 0.6;
+    private static final int MIN_DEAD_TO_COMPACT = 64;
+
+    private final TreeMap<String, Postings> index = new TreeMap<>();
+    private final List<Doc> docs = new ArrayList<>();
+    private int liveDocs;
+    private long liveLength;
+
+    // Live journal documents in ring order, so the oldest can be dropped
+    private final ArrayDeque<Integer> journalDocs = new ArrayDeque<>();
+    private final Map<String, Integer> dreamDocs = new HashMap<>();
+    private final Map<String, Integer> tipDocs = new HashMap<>();
+
+    private JournalRing journal;
+    private boolean journalStale;
+
+    /**
+     * Indexes the journal and the given dreams and tips, and follows the
+     * journal from then on
+     */
+    public JournalSearch(JournalRing journal, Collection<String> dreams, Collection<String> tips) {
+        for (String dream : dreams) {
+            addDream(dream);
+        }
+        for (String tip : tips) {
+            addTip(tip);
+        }
+        setJournal(journal);
+    }
+
+    /**
+     * Switches to another journal, indexing it in place of the old one
+     */
+    public void setJournal(JournalRing journal) {
+        if (this.journal != null && this.journal != journal) {
+            this.journal.setListener(null);
+        }
+        this.journal = journal;
+        journal.setListener(this);
+        reindexJournal();
+    }
+
+    @Override
+    public void entryAdded(JournalEntry entry) {
+        if (!journalStale) {
+            journalDocs.addLast(addDoc(Kind.JOURNAL, entry.getDay(), entry, null, entry.getMessage()));
+        }
+    }
+
+    @Override
+    public void entryDropped(JournalEntry entry) {
+        if (!journalStale && !journalDocs.isEmpty()) {
+            kill(journalDocs.pollFirst());
+        }
+    }
+
+    /**
+     * The journal changed some other way; it is indexed again on the next query
+     */
+    @Override
+    public void journalChanged() {
+        journalStale = true;
+    }
+
+    public void addDream(String filename) {
+        if (!dreamDocs.containsKey(filename)) {
+            dreamDocs.put(filename, addDoc(Kind.DREAM, 0, null, filename, textOf(filename, DreamReader.readDreamFile(filename))));
+        }
+    }
+
+    public void addTip(String filename) {
+        if (!tipDocs.containsKey(filename)) {
+            tipDocs.put(filename, addDoc(Kind.TIP, 0, null, filename, textOf(filename, HintReader.readHintFile(filename))));
+        }
+    }
+
+    public void setDreams(Collection<String> dreams) {
+        for (int doc : dreamDocs.values()) {
+            kill(doc);
+        }
+        dreamDocs.clear();
+        for (String dream : dreams) {
+            addDream(dream);
+        }
+    }
+
+    public void setTips(Collection<String> tips) {
+        for (int doc : tipDocs.values()) {
+            kill(doc);
+        }
+        tipDocs.clear();
+        for (String tip : tips) {
+            addTip(tip);
+        }
+    }
+
+    /**
+     * The best `limit` matches for the query, best first; an empty query
+     * (or one with only a day range) lists the newest journal entries
+     */
+    public List<Hit> search(String query, int limit) {
+        if (journalStale) {
+            reindexJournal();
+        }
+        compactIfNeeded();
+
+        List<String> words = new ArrayList<>();
+        int fromDay = Integer.MIN_VALUE;
+        int toDay = Integer.MAX_VALUE;
+        String[] parts = query.trim().toLowerCase(Locale.ROOT).split("\\s+");
+        for (int i = 0; i < parts.length; i++) {
+            String part = parts[i];
+            if ((part.equals("day") || part.equals("days")) && i + 1 < parts.length) {
+                int[] range = parseRange(parts[i + 1]);
+                if (range != null) {
+                    fromDay = range[0];
+                    toDay = range[1];
+                    i++;
+                    continue;
+                }
+            }
+            tokenize(part, words);
+        }
+        boolean dayFilter = fromDay != Integer.MIN_VALUE;
+
+        int n = docs.size();
+        double[] scores = new double[n];
+        int[] matched = new int[n];
+        double[] best = new double[n];
+        double avgLength = liveDocs == 0 ? 1 : (double) liveLength / liveDocs;
+
+        for (int w = 0; w < words.size(); w++) {
+            String word = words.get(w);
+            Arrays.fill(best, 0);
+            // Every indexed word starting with this one, the word itself included
+            for (Map.Entry<String, Postings> term : index.subMap(word, word + Character.MAX_VALUE).entrySet()) {
+                Postings postings = term.getValue();
+                double idf = Math.log(1 + (liveDocs - postings.live + 0.5) / (postings.live + 0.5));
+                double weight = term.getKey().length() == word.length() ? idf : idf * PREFIX_WEIGHT;
+                for (int p = 0; p < postings.size; p++) {
+                    int id = postings.docs[p];
+                    // Only documents that matched every earlier word can still qualify
+                    if (matched[id] != w) {
+                        continue;
+                    }
+                    Doc doc = docs.get(id);
+                    if (!doc.live || (dayFilter && (doc.kind != Kind.JOURNAL || doc.day < fromDay || doc.day > toDay))) {
+                        continue;
+                    }
+                    int tf = postings.counts[p];
+                    double score = weight * tf * (K1 + 1) / (tf + K1 * (1 - B + B * doc.length / avgLength));
+                    best[id] = Math.max(best[id], score);
+                }
+            }
+            for (int id = 0; id < n; id++) {
+                if (best[id] > 0) {
+                    scores[id] += best[id];
+                    matched[id]++;
+                }
+            }
+        }
+
+        List<Integer> found = new ArrayList<>();
+        for (int id = 0; id < n; id++) {
+            Doc doc = docs.get(id);
+            if (!doc.live || matched[id] != words.size()) {
+                continue;
+            }
+            if (words.isEmpty() && (doc.kind != Kind.JOURNAL || (dayFilter && (doc.day < fromDay || doc.day > toDay)))) {
+                continue;
+            }
+            found.add(id);
+        }
+        // Higher score first, then newer day, then later written
+        found.sort((a, b) -> {
+            int byScore = Double.compare(scores[b], scores[a]);
+            if (byScore != 0) {
+                return byScore;
+            }
+            int byDay = Integer.compare(docs.get(b).day, docs.get(a).day);
+            return byDay != 0 ? byDay : Integer.compare(b, a);
+        });
+
+        List<Hit> hits = new ArrayList<>(Math.min(limit, found.size()));
+        for (int i = 0; i < found.size() && i < limit; i++) {
+            int id = found.get(i);
+            hits.add(new Hit(docs.get(id), scores[id], snippet(docs.get(id), words)));
+        }
+        return hits;
+    }
+
+    private void reindexJournal() {
+        for (int doc : journalDocs) {
+            kill(doc);
+        }
+        journalDocs.clear();
+        journalStale = false;
+        for (int i = 0; i < journal.size(); i++) {
+            entryAdded(journal.getEntry(i));
+        }
+    }
+
+    private int addDoc(Kind kind, int day, JournalEntry entry, String name, String text) {
+        List<String> words = new ArrayList<>();
+        tokenize(text, words);
+        Map<String, Integer> counts = new HashMap<>();
+        for (String word : words) {
+            counts.merge(word, 1, Integer::sum);
+        }
+
+        int id = docs.size();
+        docs.add(new Doc(kind, day, entry, name, text, counts.keySet().toArray(new String[0]), words.size()));
+        for (Map.Entry<String, Integer> count : counts.entrySet()) {
+            index.computeIfAbsent(count.getKey(), k -> new Postings()).add(id, count.getValue());
+        }
+        liveDocs++;
+        liveLength += words.size();
+        return id;
+    }
+
+    private void kill(int id) {
+        Doc doc = docs.get(id);
+        if (!doc.live) {
+            return;
+        }
+        doc.live = false;
+        liveDocs--;
+        liveLength -= doc.length;
+        for (String term : doc.terms) {
+            Postings postings = index.get(term);
+            if (--postings.live == 0) {
+                index.remove(term);
+            }
+        }
+    }
+
+    /**
+     * Rebuilds the postings without dead documents once they are the majority
+     */
+    private void compactIfNeeded() {
+        int dead = docs.size() - liveDocs;
+        if (dead < MIN_DEAD_TO_COMPACT || dead <= liveDocs) {
+            return;
+        }
+        List<Doc> old = new ArrayList<>(docs);
+        docs.clear();
+        index.clear();
+        liveDocs = 0;
+        liveLength = 0;
+        journalDocs.clear();
+        dreamDocs.clear();
+        tipDocs.clear();
+        for (Doc doc : old) {
+            if (!doc.live) {
+                continue;
+            }
+            int id = addDoc(doc.kind, doc.day, doc.entry, doc.name, doc.text);
+            switch (doc.kind) {
+                case JOURNAL: journalDocs.addLast(id); break;
+                case DREAM: dreamDocs.put(doc.name, id); break;
+                case TIP: tipDocs.put(doc.name, id); break;
+            }
+        }
+    }
+
+    // A missing file is still findable by its name
+    private static String textOf(String filename, String content) {
+        String title = filename.replaceFirst("\\.txt$", "").replace('_', ' ').replace('-', ' ');
+        return content == null ? title : title + "\n" + content;
+    }
+
+    /**
+     * Splits text into lowercase runs of letters and digits
+     */
+    static void tokenize(String text, List<String> words) {
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                words.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+    }
+
+    // "40", "40..60" or "40-60"; null if it is not a day range
+    private static int[] parseRange(String text) {
+        try {
+            int dots = text.indexOf("..");
+            int dash = text.indexOf('-', 1);
+            if (dots > 0) {
+                return new int[] { Integer.parseInt(text.substring(0, dots)), Integer.parseInt(text.substring(dots + 2)) };
+            }
+            if (dash > 0) {
+                return new int[] { Integer.parseInt(text.substring(0, dash)), Integer.parseInt(text.substring(dash + 1)) };
+            }
+            int day = Integer.parseInt(text);
+            return new int[] { day, day };
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String snippet(Doc doc, List<String> words) {
+        if (doc.kind == Kind.JOURNAL) {
+            return doc.entry.toString();
+        }
+        String first = null;
+        // Skip the title line the name was indexed from
+        String body = doc.text.substring(doc.text.indexOf('\n') + 1);
+        for (String line : body.split("\n")) {
+            line = line.trim();
+            if (line.isEmpty()) {
+                continue;
+            }
+            if (first == null) {
+                first = line;
+            }
+            String lower = line.toLowerCase(Locale.ROOT);
+            for (String word : words) {
+                if (lower.contains(word)) {
+                    return shorten(line);
+                }
+            }
+        }
+        return first == null ? "" : shorten(first);
+    }
+
+    private static String shorten(String line) {
+        return line.length() <= 100 ? line : line.substring(0, 97) + "...";
+    }
+}
@@ -60,7 +60,7 @@ public class MultiplierRule {
             50.0,
             bouquet -> {
                 for (Flower flower : bouquet.getFlowers()) {
-                    if (!flower.getGrowthStage().equals("Withered")) {
+                    if (flower.getStage() != GrowthStage.WITHERED) {
                         return false;
                     }
                 }
@@ -108,7 +108,7 @@ public class MultiplierRule {
             30.0,
             bouquet -> {
                 for (Flower flower : bouquet.getFlowers()) {
-                    if (!flower.getGrowthStage().equals("Mutated")) {
+                    if (flower.getStage() != GrowthStage.MUTATED) {
                         return false;
                     }
                 }
@@ -156,7 +156,7 @@ public class MultiplierRule {
             8.0,
             bouquet -> {
                 for (Flower flower : bouquet.getFlowers()) {
-                    if (!flower.getGrowthStage().equals("Matured")) {
+                    if (flower.getStage() != GrowthStage.MATURED) {
                         return false;
                     }
                 }
@@ -171,7 +171,7 @@ public class MultiplierRule {
             4.0,
             bouquet -> {
                 for (Flower flower : bouquet.getFlowers()) {
-                    if (!flower.getGrowthStage().equals("Bloomed")) {
+                    if (flower.getStage() != GrowthStage.BLOOMED) {
                         return false;
                     }
                 }
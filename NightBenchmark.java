@@ -0,0 +1,130 @@
+/* NightBenchmark.java
+ * Times whole nights (GardenEngine.advanceDay) on large gardens with
+ * greenhouses and drip irrigation, so growth, irrigation and weather all
+ * run. Weather comes from the seed, so every run sees the same nights.
+ *
+ * Each size runs sequentially and then on ForkJoinPools of the requested
+ * sizes. The fingerprint (journal + final garden) must be the same for
+ * every pool size; it differs from sequential, which uses the session random.
+ *
+ * Usage: java NightBenchmark [--nights N] [--seed S] [--sizes 10000,20000] [--threads 1,2,4]
+ */
+
+import java.util.concurrent.ForkJoinPool;
+
+public class NightBenchmark {
+    public static void main(String[] args) {
+        int nights = 40;
+        long seed = 7L;
+        int[] sizes = {10_000, 20_000, 50_000};
+        int[] threads = {1, 2, Runtime.getRuntime().availableProcessors()};
+        for (int i = 0; i < args.length; i++) {
+            if (i + 1 >= args.length) {
+                usage("Missing value for " + args[i]);
+            }
+            try {
+                switch (args[i]) {
+                    case "--nights": nights = Integer.parseInt(args[++i]); break;
+                    case "--seed": seed = Long.parseLong(args[++i]); break;
+                    case "--sizes": sizes = parseList(args[++i]); break;
+                    case "--threads": threads = parseList(args[++i]); break;
+                    default: usage("Unknown option " + args[i]);
+                }
+            } catch (NumberFormatException e) {
+                usage("Not a number for " + args[i - 1] + ": " + args[i]);
+            }
+        }
+
+        FlowerRegistry.loadFlowerData();
+        runGarden(2_000, 10, seed, null); // warm-up
+
+        System.out.println("Available processors: " + Runtime.getRuntime().availableProcessors());
+        System.out.printf("%10s %12s %8s %14s %10s %12s%n", "plots", "mode", "weather", "ms/night", "ns/plot", "fingerprint");
+        for (int size : sizes) {
+            report(size, nights, "sequential", runGarden(size, nights, seed, null));
+            for (int threadCount : threads) {
+                ForkJoinPool pool = new ForkJoinPool(threadCount);
+                try {
+                    report(size, nights, "fj-" + threadCount, runGarden(size, nights, seed, pool));
+                } finally {
+                    pool.shutdown();
+                }
+            }
+        }
+    }
+
+    private static void report(int size, int nights, String mode, long[] result) {
+        double elapsedMs = result[1] / 1e6;
+        System.out.printf("%10d %12s %8d %14.2f %10.1f %12s%n", size, mode, result[0],
+                elapsedMs / nights, elapsedMs * 1e6 / ((double) size * nights), Long.toHexString(result[2]));
+    }
+
+    /**
+     * Plants every plot, covers half the garden with greenhouses, and waters
+     * every other plot by hand each day
+     * @param pool Pool for parallel nights, or null for sequential
+     * @return {weather nights, nanoseconds inside advanceDay, state fingerprint}
+     */
+    private static long[] runGarden(int size, int nights, long seed, ForkJoinPool pool) {
+        Player1 player = new Player1("bench");
+        player.setRandom(new GameRandom(seed));
+        player.setNightPool(pool);
+        while (player.getGardenPlots().size() < size) {
+            player.addGardenPlot();
+        }
+        player.setGreenhouseCount(size / 40);
+        player.installDripIrrigationLines();
+
+        GardenEngine engine = new GardenEngine(player);
+        engine.setDreamsEnabled(false);
+        engine.setHistoryEnabled(false);
+        long weatherNights = 0;
+        long elapsed = 0;
+        long fingerprint = 17;
+        for (int night = 0; night < nights; night++) {
+            for (int i = 0; i < size; i++) {
+                gardenPlot plot = player.getGardenPlots().get(i);
+                if (!plot.isOccupied() || plot.getPlantedFlower().getStage() == GrowthStage.WITHERED) {
+                    plot.harvestFlower();
+                    plot.plantFlower(FlowerRegistry.createSeed("Marigold"));
+                }
+                if ((i + night) % 2 == 0) {
+                    plot.waterPlot();
+                }
+            }
+            long start = System.nanoTime();
+            DayReport report = engine.advanceDay();
+            elapsed += System.nanoTime() - start;
+            if (report.didWeatherOccur() && report.getWeather() != WeatherSystem.Weather.CLEAR) {
+                weatherNights++;
+            }
+            // Day and message only: the date stamp is wall-clock time
+            JournalRing journal = player.getJournalEntries();
+            for (int i = 0; i < journal.size(); i++) {
+                JournalEntry entry = journal.getEntry(i);
+                fingerprint = 31 * fingerprint + entry.getDay();
+                fingerprint = 31 * fingerprint + entry.getMessage().hashCode();
+            }
+            journal.clear();
+        }
+        for (gardenPlot plot : player.getGardenPlots()) {
+            fingerprint = 31 * fingerprint + plot.toString().hashCode();
+        }
+        return new long[] {weatherNights, elapsed, fingerprint};
+    }
+
+    private static int[] parseList(String list) {
+        String[] parts = list.split(",");
+        int[] values = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            values[i] = Integer.parseInt(parts[i].trim());
+        }
+        return values;
+    }
+
+    private static void usage(String problem) {
+        System.out.println(problem);
+        System.out.println("Usage: java NightBenchmark [--nights N] [--seed S] [--sizes 10000,20000] [--threads 1,2,4]");
+        System.exit(2);
+    }
+}
@@ -0,0 +1,350 @@
+/* NightEvent.java
+ * Typed events published while a night is simulated
+ */
+
+/**
+ * Something that happened overnight. Events are published to the night's
+ * NightEvents in the order they happen; each one knows its journal line and,
+ * if the morning summary shows it, its summary line. Nothing reads the
+ * journal text back to find out what happened.
+ */
+public abstract class NightEvent {
+
+    /**
+     * The line written to the journal for this event
+     */
+    public abstract String getJournalText();
+
+    /**
+     * The line shown under "Garden Update" in the morning, or null if the
+     * summary leaves this event out
+     */
+    public String getSummaryText() {
+        return null;
+    }
+
+    private static String plants(int count) {
+        return count == 1 ? " plant" : " plants";
+    }
+
+    private static String plotName(boolean flowerPot, int plotIndex) {
+        return flowerPot ? "flower pot" : "plot #" + (plotIndex + 1);
+    }
+
+    /**
+     * Plants that moved to a later growth stage (other than mutated or withered)
+     */
+    public static final class Grew extends NightEvent {
+        private final int count;
+
+        public Grew(int count) {
+            this.count = count;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        @Override
+        public String getJournalText() {
+            return "🌱 " + count + plants(count) + " grew overnight!";
+        }
+
+        @Override
+        public String getSummaryText() {
+            return "✓ " + count + plants(count) + " grew overnight!";
+        }
+    }
+
+    public static final class Mutated extends NightEvent {
+        private final int count;
+
+        public Mutated(int count) {
+            this.count = count;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        @Override
+        public String getJournalText() {
+            return "✨ " + count + plants(count) + " mutated into something special!";
+        }
+
+        @Override
+        public String getSummaryText() {
+            return getJournalText();
+        }
+    }
+
+    /**
+     * How many plants withered tonight; each one also has a PlotWithered event
+     */
+    public static final class Withered extends NightEvent {
+        private final int count;
+
+        public Withered(int count) {
+            this.count = count;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        @Override
+        public String getJournalText() {
+            return "🥀 " + count + plants(count) + " withered overnight.";
+        }
+
+        @Override
+        public String getSummaryText() {
+            return "⚠ " + count + plants(count) + " withered overnight.";
+        }
+    }
+
+    public static final class PlotWithered extends NightEvent {
+        private final int plotIndex;
+        private final boolean flowerPot;
+        private final String plantName;
+        private final String reason;
+
+        public PlotWithered(int plotIndex, boolean flowerPot, String plantName, String reason) {
+            this.plotIndex = plotIndex;
+            this.flowerPot = flowerPot;
+            this.plantName = plantName;
+            this.reason = reason;
+        }
+
+        public int getPlotIndex() {
+            return plotIndex;
+        }
+
+        public String getPlantName() {
+            return plantName;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+
+        @Override
+        public String getJournalText() {
+            String why = (reason == null || reason.isEmpty()) ? "an unknown reason" : reason;
+            return "🥀 " + (plantName != null ? plantName : "A plant") + " withered in "
+                    + plotName(flowerPot, plotIndex) + " because " + why + ".";
+        }
+    }
+
+    public static final class SoilUpgraded extends NightEvent {
+        private final int plotIndex;
+        private final boolean flowerPot;
+        private final SoilQuality from;
+        private final SoilQuality to;
+
+        public SoilUpgraded(int plotIndex, boolean flowerPot, SoilQuality from, SoilQuality to) {
+            this.plotIndex = plotIndex;
+            this.flowerPot = flowerPot;
+            this.from = from;
+            this.to = to;
+        }
+
+        public int getPlotIndex() {
+            return plotIndex;
+        }
+
+        public SoilQuality getFrom() {
+            return from;
+        }
+
+        public SoilQuality getTo() {
+            return to;
+        }
+
+        @Override
+        public String getJournalText() {
+            return "✨ The soil in your " + plotName(flowerPot, plotIndex) + " improved from "
+                    + from + " to " + to + "!";
+        }
+    }
+
+    /**
+     * What tonight's rain, snow, storm, earthquake or hurricane did to the garden
+     */
+    public static final class WeatherDamage extends NightEvent {
+        private final WeatherSystem.Weather weather;
+        private final int watered;
+        private final int damaged;
+        private final int protectedCount;
+
+        public WeatherDamage(WeatherSystem.Weather weather, int watered, int damaged, int protectedCount) {
+            this.weather = weather;
+            this.watered = watered;
+            this.damaged = damaged;
+            this.protectedCount = protectedCount;
+        }
+
+        public WeatherSystem.Weather getWeather() {
+            return weather;
+        }
+
+        public int getWatered() {
+            return watered;
+        }
+
+        public int getDamaged() {
+            return damaged;
+        }
+
+        public int getProtected() {
+            return protectedCount;
+        }
+
+        @Override
+        public String getJournalText() {
+            switch (weather) {
+                case RAIN:
+                    return "[Rain] Rain watered " + watered + plants(watered) +
+                            (protectedCount > 0 ? " while " + protectedCount + " greenhouse-protected plant" +
+                                    (protectedCount == 1 ? " was" : "s were") + " shielded from rain." : " overnight!");
+                case SNOW:
+                    if (damaged > 0 && protectedCount > 0) {
+                        return "[Snow] Snow damaged " + damaged + plants(damaged) + " while " + protectedCount +
+                                " greenhouse/pot protected plant" + (protectedCount == 1 ? " was" : "s were") +
+                                " safe. Weeds prevented.";
+                    } else if (damaged > 0) {
+                        return "[Snow] Snow damaged " + damaged + plants(damaged) + " and prevented weed growth.";
+                    }
+                    return "[Snow] Snow fell, but all plants were protected. Weeds prevented.";
+                case THUNDERSTORM:
+                    return "[Storm] Thunderstorm watered " + watered + plants(watered) + " and damaged " + damaged +
+                            plants(damaged) + (protectedCount > 0 ? "; greenhouse shielded " + protectedCount + "." : "!");
+                case EARTHQUAKE:
+                    return "[Earthquake] An earthquake struck! " + damaged +
+                            (damaged == 1 ? " plant was" : " plants were") + " severely damaged" +
+                            (protectedCount > 0 ? ", while greenhouse protected " + protectedCount + "." : "!");
+                case HURRICANE:
+                    return "[Hurricane] Hurricane watered " + watered + plants(watered) + " and heavily damaged " +
+                            damaged + plants(damaged) +
+                            (protectedCount > 0 ? "; greenhouse shielded " + protectedCount + "." : "!");
+                default:
+                    return "[" + weather + "]";
+            }
+        }
+
+        @Override
+        public String getSummaryText() {
+            String text = getJournalText();
+            String body = text.substring(text.indexOf(']') + 2);
+            switch (weather) {
+                case RAIN: return "💧 " + body;
+                case SNOW: return "❄️ " + body;
+                case THUNDERSTORM: return "⚡ " + body;
+                case EARTHQUAKE: return "🌋 " + body;
+                case HURRICANE: return "🌀 " + body;
+                default: return body;
+            }
+        }
+    }
+
+    /**
+     * Moles dug up one plant, or found nothing to disturb (plantName null)
+     */
+    public static final class MolesVisited extends NightEvent {
+        private final String plantName;
+        private final GrowthStage stage;
+        private final boolean harvested;
+
+        public MolesVisited(String plantName, GrowthStage stage, boolean harvested) {
+            this.plantName = plantName;
+            this.stage = stage;
+            this.harvested = harvested;
+        }
+
+        public String getPlantName() {
+            return plantName;
+        }
+
+        public boolean wasHarvested() {
+            return harvested;
+        }
+
+        @Override
+        public String getJournalText() {
+            if (plantName == null) {
+                return "[Moles] Moles visited but found no vulnerable plants to disturb.";
+            }
+            if (harvested) {
+                return "[Moles] Moles unearthed your " + plantName + " (" + stage +
+                        ") and it was harvested to your inventory!";
+            }
+            return "[Moles] Moles destroyed your " + plantName + " (" + stage + ") by digging it up!";
+        }
+
+        @Override
+        public String getSummaryText() {
+            return "🐭 " + getJournalText().substring("[Moles] ".length());
+        }
+    }
+
+    /**
+     * The fairies mutated a plant, upgraded a plot's soil, or found nothing to improve
+     */
+    public static final class FairyBlessing extends NightEvent {
+        private final String plantName;
+        private final String oldStage;
+        private final String plotType;
+        private final String oldSoil;
+        private final String newSoil;
+
+        private FairyBlessing(String plantName, String oldStage, String plotType, String oldSoil, String newSoil) {
+            this.plantName = plantName;
+            this.oldStage = oldStage;
+            this.plotType = plotType;
+            this.oldSoil = oldSoil;
+            this.newSoil = newSoil;
+        }
+
+        public static FairyBlessing mutated(String plantName, String oldStage) {
+            return new FairyBlessing(plantName, oldStage, null, null, null);
+        }
+
+        public static FairyBlessing soilUpgraded(String plotType, String oldSoil, String newSoil) {
+            return new FairyBlessing(null, null, plotType, oldSoil, newSoil);
+        }
+
+        public static FairyBlessing admired() {
+            return new FairyBlessing(null, null, null, null, null);
+        }
+
+        @Override
+        public String getJournalText() {
+            if (plantName != null) {
+                return "[Fairy] The fairies blessed your " + plantName + ", transforming it into a mutated beauty!";
+            }
+            if (plotType != null) {
+                return "[Fairy] The fairies blessed your " + plotType + ", upgrading the soil from " + oldSoil +
+                        " to " + newSoil + "!";
+            }
+            return "[Fairy] The fairies visited and admired your perfect garden!";
+        }
+
+        /**
+         * What the fairies left, for the weather description
+         */
+        public String getDetails() {
+            if (plantName != null) {
+                return "mutated " + plantName + " (" + oldStage + " -> Mutated)";
+            }
+            if (plotType != null) {
+                return "upgraded " + plotType + " soil (" + oldSoil + " -> " + newSoil + ")";
+            }
+            return "visited but all was already perfect";
+        }
+
+        @Override
+        public String getSummaryText() {
+            return "🧚 " + getJournalText().substring("[Fairy] ".length());
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/* NightEvents.java
+ * The events of one night, and who is told about them
+ */
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Per-night event buffer. Publishing keeps the event and hands it to every
+ * subscriber right away, in subscription order, so the journal gets its lines
+ * in the same order the night produced them. DayReport keeps the buffer so
+ * the morning summary can be rendered straight from the events.
+ */
+public class NightEvents {
+
+    /**
+     * Receives each event as it is published
+     */
+    public interface Listener {
+        void onEvent(NightEvent event);
+    }
+
+    private final List<NightEvent> events = new ArrayList<>();
+    private final List<Listener> listeners = new ArrayList<>(2);
+
+    /**
+     * A buffer whose events are written to the player's journal
+     */
+    public static NightEvents journaledFor(Player1 player) {
+        NightEvents night = new NightEvents();
+        night.subscribe(event -> {
+            // Paused journals (fast-forward) skip building the text at all
+            if (!player.isJournalPaused()) {
+                player.addJournalEntry(event.getJournalText());
+            }
+        });
+        return night;
+    }
+
+    public void subscribe(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void publish(NightEvent event) {
+        events.add(event);
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onEvent(event);
+        }
+    }
+
+    /**
+     * Everything published so far, in order
+     */
+    public List<NightEvent> getEvents() {
+        return Collections.unmodifiableList(events);
+    }
+
+    /**
+     * Events of one type, in order
+     */
+    public <T extends NightEvent> List<T> getEvents(Class<T> type) {
+        List<T> matching = new ArrayList<>();
+        for (NightEvent event : events) {
+            if (type.isInstance(event)) {
+                matching.add(type.cast(event));
+            }
+        }
+        return matching;
+    }
+}
@@ -0,0 +1,278 @@
+/* NightPass.java
+ * One night's work over a run of garden plots: growth, drip irrigation,
+ * greenhouse cover, garden-needs checks and tonight's weather, plot by plot.
+ * Per-plot events (soil upgrades, withering) and counters are collected here
+ * instead of being published straight away, so runs over different parts of
+ * the garden can happen on different threads and be merged back in plot order.
+ *
+ * Sequential nights use one pass over the whole garden with the session
+ * random. Parallel nights (run) split the garden into fixed chunks on a
+ * ForkJoinPool and give every plot its own random stream derived from
+ * (seed, day, plot index), so the result never depends on thread count.
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+public class NightPass {
+    /** Plots per parallel work unit (fixed so chunking never depends on thread count) */
+    static final int CHUNK_SIZE = 1024;
+
+    private final Player1 player;
+    private final boolean mulcherActive;
+    private final boolean growLight;
+    private final boolean dripIrrigation;
+    private final int protectionCapacity;
+    private final WeatherSystem.WeatherPass weatherPass;
+    // A pass runs on one thread, so its plots share one working state
+    private final PlotState scratch = new PlotState();
+
+    private int occupiedSeen;
+    private int grew = 0;
+    private int mutated = 0;
+    private int withered = 0;
+    private int soilUpgrades = 0;
+    private boolean needsWater = false;
+    private boolean needsWeeding = false;
+    private final List<NightEvent> events = new ArrayList<>();
+
+    /**
+     * @param player The player whose garden is advanced
+     * @param weather Tonight's weather, or null if none
+     * @param occupiedBefore Occupied plots before the first plot of this pass
+     */
+    public NightPass(Player1 player, WeatherSystem.Weather weather, int occupiedBefore) {
+        this.player = player;
+        this.mulcherActive = player.isMulcherActive();
+        this.growLight = player.hasGrowLight();
+        this.dripIrrigation = player.hasDripIrrigationLines();
+        this.protectionCapacity = player.getGreenhouseProtectionCapacity();
+        this.weatherPass = (weather != null && weather != WeatherSystem.Weather.CLEAR)
+                ? new WeatherSystem.WeatherPass(player, weather) : null;
+        this.occupiedSeen = occupiedBefore;
+    }
+
+    /**
+     * Advances the whole garden on the calling thread with the session random
+     */
+    public static NightPass run(Player1 player, WeatherSystem.Weather weather) {
+        NightPass pass = new NightPass(player, weather, 0);
+        List<gardenPlot> plots = player.getGardenPlots();
+        GameRandom random = player.getRandom();
+        for (int i = 0; i < plots.size(); i++) {
+            pass.advancePlot(plots.get(i), i, random);
+        }
+        return pass;
+    }
+
+    /**
+     * Advances the whole garden on a ForkJoinPool. Each plot uses
+     * GameRandom.forPlot(seed, day, index), and chunk results are merged in
+     * plot order, so any pool size gives bit-identical results.
+     * @param player The player (its day must already be tonight's)
+     * @param weather Tonight's weather, or null if none
+     * @param pool The pool to run on
+     */
+    public static NightPass run(Player1 player, WeatherSystem.Weather weather, ForkJoinPool pool) {
+        // Load species data up front; the registry's lazy load is not thread-safe
+        FlowerRegistry.loadFlowerData();
+        List<gardenPlot> plots = player.getGardenPlots();
+        int size = plots.size();
+        int chunks = (size + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        if (chunks <= 1) {
+            return runChunks(player, weather, plots, 1, new int[] {0}, null);
+        }
+
+        // Growth never empties a plot, so greenhouse cover can be decided
+        // from occupancy before the night: count per chunk, then prefix-sum
+        int[] occupiedBefore = new int[chunks];
+        pool.invoke(new ChunkRange(0, chunks, chunk -> {
+            int count = 0;
+            for (int i = chunk * CHUNK_SIZE, end = Math.min(size, i + CHUNK_SIZE); i < end; i++) {
+                if (plots.get(i).isOccupied()) {
+                    count++;
+                }
+            }
+            occupiedBefore[chunk] = count;
+        }));
+        int running = 0;
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            int count = occupiedBefore[chunk];
+            occupiedBefore[chunk] = running;
+            running += count;
+        }
+
+        return runChunks(player, weather, plots, chunks, occupiedBefore, pool);
+    }
+
+    private static NightPass runChunks(Player1 player, WeatherSystem.Weather weather, List<gardenPlot> plots,
+                                       int chunks, int[] occupiedBefore, ForkJoinPool pool) {
+        long seed = player.getRandom().getSeed();
+        int day = player.getDay();
+        NightPass[] results = new NightPass[chunks];
+        IntConsumer body = chunk -> {
+            NightPass pass = new NightPass(player, weather, occupiedBefore[chunk]);
+            for (int i = chunk * CHUNK_SIZE, end = Math.min(plots.size(), i + CHUNK_SIZE); i < end; i++) {
+                pass.advancePlot(plots.get(i), i, GameRandom.forPlot(seed, day, i));
+            }
+            results[chunk] = pass;
+        };
+        if (pool == null) {
+            body.accept(0);
+        } else {
+            pool.invoke(new ChunkRange(0, chunks, body));
+        }
+
+        NightPass merged = results[0];
+        for (int chunk = 1; chunk < chunks; chunk++) {
+            merged.merge(results[chunk]);
+        }
+        return merged;
+    }
+
+    /**
+     * Advances one plot (call in plot order within a pass)
+     * @param plot The plot
+     * @param index The plot's index in the garden (for journal text)
+     * @param random Random source for this plot's rolls
+     */
+    public void advancePlot(gardenPlot plot, int index, GameRandom random) {
+        SoilQuality previousSoil = plot.getSoil();
+        GrowthStage stageBefore = plot.isOccupied() ? plot.getPlantedFlower().getStage() : null;
+
+        plot.advanceDay(mulcherActive, growLight, random, scratch);
+
+        GrowthStage stageAfter = plot.isOccupied() ? plot.getPlantedFlower().getStage() : null;
+        SoilQuality newSoil = plot.getSoil();
+
+        if (previousSoil != newSoil) {
+            soilUpgrades++;
+            events.add(new NightEvent.SoilUpgraded(index, plot.isFlowerPot(), previousSoil, newSoil));
+        }
+
+        if (stageBefore != null && stageAfter != null && stageBefore != stageAfter) {
+            if (stageAfter == GrowthStage.MUTATED) {
+                mutated++;
+            } else if (stageAfter == GrowthStage.WITHERED) {
+                withered++;
+                events.add(new NightEvent.PlotWithered(index, plot.isFlowerPot(),
+                        plot.getPlantedFlower().getName(), plot.getLastWitherReason()));
+            } else {
+                grew++;
+            }
+        }
+
+        // Greenhouses cover the first N occupied plots
+        boolean greenhouseCovered = false;
+        if (plot.isOccupied()) {
+            occupiedSeen++;
+            greenhouseCovered = occupiedSeen <= protectionCapacity;
+        }
+        if (greenhouseCovered && dripIrrigation) {
+            plot.setWatered(true);
+            plot.setConsecutiveDaysWithoutWater(0);
+        }
+
+        // Garden needs are judged after irrigation but before the weather
+        if (plot.isOccupied() && !plot.isWatered()) {
+            needsWater = true;
+        }
+        if (!plot.isFlowerPot() && !plot.isWeeded()) {
+            needsWeeding = true;
+        }
+
+        if (weatherPass != null) {
+            weatherPass.applyToPlot(plot, greenhouseCovered);
+        }
+    }
+
+    /**
+     * Appends a pass over the plots that directly follow this one
+     */
+    public void merge(NightPass later) {
+        occupiedSeen = later.occupiedSeen;
+        grew += later.grew;
+        mutated += later.mutated;
+        withered += later.withered;
+        soilUpgrades += later.soilUpgrades;
+        needsWater |= later.needsWater;
+        needsWeeding |= later.needsWeeding;
+        events.addAll(later.events);
+        if (weatherPass != null) {
+            weatherPass.merge(later.weatherPass);
+        }
+    }
+
+    /**
+     * Publishes tonight's weather event and resolves moles/fairies.
+     * Call once, after the whole garden has been passed over.
+     */
+    public void finishWeather(NightEvents night) {
+        if (weatherPass != null) {
+            weatherPass.finish(night);
+        }
+    }
+
+    /**
+     * @return Per-plot events (soil upgrades, withering) in plot order
+     */
+    public List<NightEvent> getEvents() {
+        return events;
+    }
+
+    public int getGrew() {
+        return grew;
+    }
+
+    public int getMutated() {
+        return mutated;
+    }
+
+    public int getWithered() {
+        return withered;
+    }
+
+    public int getSoilUpgrades() {
+        return soilUpgrades;
+    }
+
+    public boolean needsWater() {
+        return needsWater;
+    }
+
+    public boolean needsWeeding() {
+        return needsWeeding;
+    }
+
+    /**
+     * Runs a consumer over chunk indexes [from, to) by binary splitting
+     */
+    private static class ChunkRange extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final IntConsumer body;
+
+        ChunkRange(int from, int to, IntConsumer body) {
+            this.from = from;
+            this.to = to;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                for (int chunk = from; chunk < to; chunk++) {
+                    body.accept(chunk);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ChunkRange(from, mid, body), new ChunkRange(mid, to, body));
+        }
+    }
+}
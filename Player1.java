@@ -4,11 +4,14 @@
  */
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.concurrent.ForkJoinPool;
 
 public class Player1 {
 
@@ -18,11 +21,22 @@ public class Player1 {
 	private int day;
 
 	private ArrayList<Object> inventory;
-	private List<String> journalEntries;
+	private JournalRing journalEntries;
+	// Dated entries pushed out of the ring and not archived yet (see Journal.saveGame)
+	private List<JournalEntry> journalSpill;
+	// Entries handed to the journal archive so far
+	private int archivedEntries;
+	// Entries added while the saved journal is still unparsed; they go into
+	// the ring once it is built
+	private List<JournalEntry> journalAppends;
 	private List<gardenPlot> gardenPlots;
 
 	private int flowerPotsCrafted;
 	private static final int MAX_FLOWER_POTS = 10;
+	// Spilled journal entries kept between saves before the oldest are dropped
+	private static final int MAX_JOURNAL_SPILL = 20 * JournalArchive.SEGMENT_ENTRIES;
+	// Appends queued behind an unparsed journal before it is built after all
+	private static final int MAX_JOURNAL_APPENDS = JournalArchive.SEGMENT_ENTRIES;
 
 	private boolean hasBuiltExtraPlot;
 	private Set<String> unlockedDreams;
@@ -54,13 +68,51 @@ public class Player1 {
 	private boolean hasCraftedMantle;
 	private Mantle placedMantle;
 
+	// Session random source (seedable for reproducible runs)
+	private GameRandom random;
+	// Pool for parallel nights (null = advance plots sequentially)
+	private ForkJoinPool nightPool;
+	// While paused, journal entries are dropped (fast-forward)
+	private boolean journalPaused;
+
+	/**
+	 * Save sections a loaded player can leave unparsed until first use
+	 */
+	public enum LazySection { JOURNAL, DREAMS, HINTS, BOUQUETS, MANTLE, AUCTION }
+
+	/**
+	 * Builds one deferred section into the player (see SaveParser)
+	 */
+	public interface SectionLoader {
+		void load(Player1 player, LazySection section);
+
+		/**
+		 * The section's saved lines, header included, as they were read
+		 */
+		char[] getText(LazySection section);
+	}
+
+	// Per-day undo history for this session (not saved)
+	private DayHistory dayHistory;
+
+	// Full-text index over the journal, dreams and tips; built on the first search
+	private JournalSearch journalSearch;
+
+	// Plot lines of the last rendered save, reused while a plot is unchanged (not saved)
+	private SaveChunks.PlotText[] renderedPlots;
+
+	// Sections still waiting for their first access; null once all are built
+	private EnumSet<LazySection> pendingSections;
+	private SectionLoader sectionLoader;
+
 	public Player1(String name) {
 		this.name = name;
 		this.nrg = 10;
 		this.credits = 100;
 		this.day = 1;
 		this.inventory = new ArrayList<>();
-		this.journalEntries = new ArrayList<>();
+		this.journalEntries = new JournalRing(Journal.MAX_ENTRIES);
+		this.journalSpill = new ArrayList<>();
 		this.flowerPotsCrafted = 0;
 		this.hasBuiltExtraPlot = false;
 		this.unlockedDreams = new HashSet<>();
@@ -88,6 +140,64 @@ public class Player1 {
 	    this.hasBuzzsaw = false;
 	    this.hasCraftedMantle = false;
 	    this.placedMantle = null;
+	    this.random = new GameRandom();
+	}
+
+	/**
+	 * Leaves the given sections to be built by the loader on first access
+	 */
+	public void deferSections(SectionLoader loader, Set<LazySection> sections) {
+		if (sections.isEmpty()) {
+			return;
+		}
+		this.sectionLoader = loader;
+		this.pendingSections = EnumSet.copyOf(sections);
+	}
+
+	/**
+	 * Whether a section is still waiting to be built from the save
+	 */
+	public boolean isSectionPending(LazySection section) {
+		return pendingSections != null && pendingSections.contains(section);
+	}
+
+	/**
+	 * The saved text of a section still waiting to be built, header line
+	 * included, so a save can copy it through unparsed
+	 * @return The text, or null once the section is built
+	 */
+	public char[] getPendingSectionText(LazySection section) {
+		return isSectionPending(section) ? sectionLoader.getText(section) : null;
+	}
+
+	private void loadSection(LazySection section) {
+		if (pendingSections == null || !pendingSections.remove(section)) {
+			return;
+		}
+		SectionLoader loader = sectionLoader;
+		if (pendingSections.isEmpty()) {
+			pendingSections = null;
+			sectionLoader = null;
+		}
+		List<JournalEntry> appends = null;
+		if (section == LazySection.JOURNAL) {
+			appends = journalAppends;
+			journalAppends = null;
+		}
+		loader.load(this, section);
+		if (appends != null) {
+			for (JournalEntry entry : appends) {
+				appendJournal(entry);
+			}
+		}
+	}
+
+	// For setters that replace a whole section: the saved copy is not needed
+	private void dropSection(LazySection section) {
+		if (pendingSections != null && pendingSections.remove(section) && pendingSections.isEmpty()) {
+			pendingSections = null;
+			sectionLoader = null;
+		}
 	}
 
 	public void addToInventory(Object item) {
@@ -178,34 +288,49 @@ public class Player1 {
 	}
 
 	public void unlockDream(String dreamFilename) {
-		unlockedDreams.add(dreamFilename);
+		loadSection(LazySection.DREAMS);
+		if (unlockedDreams.add(dreamFilename) && journalSearch != null) {
+			journalSearch.addDream(dreamFilename);
+		}
 	}
 
 	public boolean hasDreamUnlocked(String dreamFilename) {
+		loadSection(LazySection.DREAMS);
 		return unlockedDreams.contains(dreamFilename);
 	}
 
 	public Set<String> getUnlockedDreams() {
+		loadSection(LazySection.DREAMS);
 		return new HashSet<>(unlockedDreams);
 	}
 	
 	public void unlockHint(String hintFilename) {
-	    unlockedHints.add(hintFilename);
+	    loadSection(LazySection.HINTS);
+	    if (unlockedHints.add(hintFilename) && journalSearch != null) {
+	        journalSearch.addTip(hintFilename);
+	    }
 	}
 
 	public boolean hasHintUnlocked(String hintFilename) {
+	    loadSection(LazySection.HINTS);
 	    return unlockedHints.contains(hintFilename);
 	}
 
 	public Set<String> getUnlockedHints() {
+	    loadSection(LazySection.HINTS);
 	    return new HashSet<>(unlockedHints);
 	}
 
 	public void setUnlockedHints(Set<String> hints) {
+	    dropSection(LazySection.HINTS);
 	    this.unlockedHints = new HashSet<>(hints);
+	    if (journalSearch != null) {
+	        journalSearch.setTips(unlockedHints);
+	    }
 	}
 
 	public int getUnlockedHintCount() {
+	    loadSection(LazySection.HINTS);
 	    return unlockedHints.size();
 	}
 
@@ -230,23 +355,145 @@ public class Player1 {
 	}
 
 	public void setUnlockedDreams(Set<String> dreams) {
+		dropSection(LazySection.DREAMS);
 		this.unlockedDreams = new HashSet<>(dreams);
+		if (journalSearch != null) {
+			journalSearch.setDreams(unlockedDreams);
+		}
 	}
 
 	public int getUnlockedDreamCount() {
+		loadSection(LazySection.DREAMS);
 		return unlockedDreams.size();
 	}
 
 	public void addJournalEntry(String entry) {
-		journalEntries.add(entry);
+		if (journalPaused) {
+			return;
+		}
+		appendJournal(JournalEntry.undated(day, entry));
+	}
+
+	/**
+	 * Adds a dated entry; see Journal.addJournalEntry
+	 */
+	public void addJournalEntry(JournalEntry entry) {
+		if (journalPaused) {
+			return;
+		}
+		appendJournal(entry);
+	}
+
+	// Dated entries pushed out of the ring are kept for the archive; undated
+	// ones were never saved and just go. Until the saved journal is needed,
+	// new entries queue up behind it instead of building it.
+	private void appendJournal(JournalEntry entry) {
+		if (isSectionPending(LazySection.JOURNAL)
+				&& (journalAppends == null || journalAppends.size() < MAX_JOURNAL_APPENDS)) {
+			if (journalAppends == null) {
+				journalAppends = new ArrayList<>();
+			}
+			journalAppends.add(entry);
+			return;
+		}
+		loadSection(LazySection.JOURNAL);
+		if (journalEntries.size() == journalEntries.getCapacity()) {
+			JournalEntry oldest = journalEntries.getEntry(0);
+			if (oldest.isDated()) {
+				journalSpill.add(oldest);
+				// A player that is never saved keeps a bounded backlog
+				if (journalSpill.size() > MAX_JOURNAL_SPILL) {
+					journalSpill.remove(0);
+				}
+			}
+		}
+		journalEntries.addEntry(entry);
+	}
+
+	/**
+	 * Entries added since loading while the saved journal is still unparsed,
+	 * oldest first; empty once the journal is built
+	 */
+	public List<JournalEntry> getJournalAppends() {
+		return journalAppends != null ? journalAppends : Collections.emptyList();
+	}
+
+	/**
+	 * How many of the newest journal entries in a row contain this phrase.
+	 * Only builds the saved journal when every new entry matches.
+	 */
+	public int countTrailingJournal(String phrase) {
+		if (journalAppends != null && isSectionPending(LazySection.JOURNAL)) {
+			for (int i = journalAppends.size() - 1; i >= 0; i--) {
+				if (!journalAppends.get(i).getMessage().contains(phrase)) {
+					return journalAppends.size() - 1 - i;
+				}
+			}
+		}
+		return getJournalEntries().countTrailing(phrase);
 	}
 
-	public List<String> getJournalEntries() {
+	/**
+	 * Whether new journal entries are currently being dropped
+	 */
+	public boolean isJournalPaused() {
+		return journalPaused;
+	}
+
+	/**
+	 * Pauses or resumes the journal. Used to keep batch runs from flooding it.
+	 */
+	public void setJournalPaused(boolean journalPaused) {
+		this.journalPaused = journalPaused;
+	}
+
+	/**
+	 * The journal, oldest first, holding at most Journal.MAX_ENTRIES entries
+	 */
+	public JournalRing getJournalEntries() {
+		loadSection(LazySection.JOURNAL);
 		return journalEntries;
 	}
 
+	/**
+	 * Replaces the journal; only the newest Journal.MAX_ENTRIES entries are kept
+	 */
 	public void setJournalEntries(List<String> entries) {
-		this.journalEntries = entries;
+		setJournal(new JournalRing(Journal.MAX_ENTRIES, entries));
+	}
+
+	/**
+	 * Saved entries older than the journal ring that are waiting to be
+	 * archived, oldest first. Journal.saveGame moves them to the archive a
+	 * segment at a time.
+	 */
+	public List<JournalEntry> getJournalSpill() {
+		loadSection(LazySection.JOURNAL);
+		return journalSpill;
+	}
+
+	public void setJournalSpill(List<JournalEntry> spill) {
+		this.journalSpill = new ArrayList<>(spill);
+	}
+
+	/**
+	 * How many entries older than the spill are in the journal archive
+	 */
+	public int getArchivedEntryCount() {
+		return archivedEntries;
+	}
+
+	public void setArchivedEntryCount(int archivedEntries) {
+		this.archivedEntries = Math.max(0, archivedEntries);
+	}
+
+	public void setJournal(JournalRing journal) {
+		dropSection(LazySection.JOURNAL);
+		journalAppends = null;
+		this.journalEntries = journal;
+		if (journalSearch != null) {
+			journalSearch.setJournal(journal);
+		}
 	}
 
 	public void printInventory() {
@@ -269,7 +516,7 @@ public class Player1 {
 
 		if (hasPlacedMantle()) {
 			System.out.println();
-			System.out.println(placedMantle.getDisplaySummary());
+			System.out.println(getPlacedMantle().getDisplaySummary());
 		}
 	}
 
@@ -277,6 +524,62 @@ public class Player1 {
 		return name;
 	}
 
+	/**
+	 * Gets the session random source used by every simulation roll
+	 */
+	public GameRandom getRandom() {
+		return random;
+	}
+
+	/**
+	 * Replaces the session random source (e.g. with a seeded one for replays)
+	 */
+	public void setRandom(GameRandom random) {
+		this.random = random;
+	}
+
+	/**
+	 * Advances the garden on a ForkJoinPool each night (null turns it off).
+	 * Parallel nights give every plot its own random stream, so they differ
+	 * from sequential nights but are identical for any pool size.
+	 */
+	public void setNightPool(ForkJoinPool nightPool) {
+		this.nightPool = nightPool;
+	}
+
+	public ForkJoinPool getNightPool() {
+		return nightPool;
+	}
+
+	/**
+	 * Days recorded this session that the player can rewind to
+	 */
+	public DayHistory getDayHistory() {
+		if (dayHistory == null) {
+			dayHistory = new DayHistory();
+		}
+		return dayHistory;
+	}
+
+	/**
+	 * Search over the journal and unlocked dreams and tips. The journal ring
+	 * reports its own appends to the index; unlocking a dream or tip adds it.
+	 */
+	public JournalSearch getJournalSearch() {
+		if (journalSearch == null) {
+			journalSearch = new JournalSearch(getJournalEntries(), getUnlockedDreams(), getUnlockedHints());
+		}
+		return journalSearch;
+	}
+
+	SaveChunks.PlotText[] getRenderedPlots() {
+		return renderedPlots;
+	}
+
+	void setRenderedPlots(SaveChunks.PlotText[] renderedPlots) {
+		this.renderedPlots = renderedPlots;
+	}
+
 	public int getNRG() {
 		return nrg;
 	}
@@ -302,34 +605,44 @@ public class Player1 {
 	}
 
 	public AuctionHouse getAuctionHouse() {
+	    loadSection(LazySection.AUCTION);
 	    return auctionHouse;
 	}
 
 	public void setAuctionHouse(AuctionHouse auctionHouse) {
+	    dropSection(LazySection.AUCTION);
 	    this.auctionHouse = auctionHouse;
 	}
 
 	public void addKnownBouquetComposition(String signature, String customName) {
+	    loadSection(LazySection.BOUQUETS);
 	    knownBouquetCompositions.put(signature, customName);
 	}
 
 	public boolean hasKnownBouquetComposition(String signature) {
+	    loadSection(LazySection.BOUQUETS);
 	    return knownBouquetCompositions.containsKey(signature);
 	}
 
 	public String getKnownBouquetName(String signature) {
+	    loadSection(LazySection.BOUQUETS);
 	    return knownBouquetCompositions.get(signature);
 	}
 
 	public Map<String, String> getKnownBouquetCompositions() {
+	    loadSection(LazySection.BOUQUETS);
 	    return new HashMap<>(knownBouquetCompositions);
 	}
 
+	// Compositions and high scores are one saved section, so replacing one
+	// still builds the other
 	public void setKnownBouquetCompositions(Map<String, String> compositions) {
+	    loadSection(LazySection.BOUQUETS);
 	    this.knownBouquetCompositions = new HashMap<>(compositions);
 	}
 
 	public void recordBouquetSale(String signature, String customName, int salePrice) {
+	    loadSection(LazySection.BOUQUETS);
 	    if (customName != null && !customName.isEmpty()) {
 	        Integer currentHigh = bouquetHighScores.get(signature);
 	        if (currentHigh == null || salePrice > currentHigh) {
@@ -343,14 +656,17 @@ public class Player1 {
 	}
 
 	public Integer getBouquetHighScore(String signature) {
+	    loadSection(LazySection.BOUQUETS);
 	    return bouquetHighScores.get(signature);
 	}
 
 	public Map<String, Integer> getBouquetHighScores() {
+	    loadSection(LazySection.BOUQUETS);
 	    return new HashMap<>(bouquetHighScores);
 	}
 
 	public void setBouquetHighScores(Map<String, Integer> highScores) {
+	    loadSection(LazySection.BOUQUETS);
 	    this.bouquetHighScores = new HashMap<>(highScores);
 	}
 	
@@ -527,10 +843,12 @@ public class Player1 {
 	}
 
 	public Mantle getPlacedMantle() {
+		loadSection(LazySection.MANTLE);
 		return placedMantle;
 	}
 
 	public void setPlacedMantle(Mantle placedMantle) {
+		dropSection(LazySection.MANTLE);
 		this.placedMantle = placedMantle;
 	}
 
@@ -554,132 +872,78 @@ public class Player1 {
 	}
 
 	public void advanceDay() {
+		advanceDay(null);
+	}
+
+	/**
+	 * Advances the garden by one night without weather
+	 * @param report Optional report that receives the night's counters (may be null)
+	 */
+	public void advanceDay(DayReport report) {
+		advanceDay(report, null);
+	}
+
+	/**
+	 * Advances the garden by one night in a single pass over the plots.
+	 * Each plot grows, then drip irrigation and greenhouse cover are applied
+	 * from a running count of occupied plots, then tonight's weather.
+	 * Journal entries keep their usual order: growth, auction, garden needs, weather.
+	 * Growth and weather are published as NightEvents, which the journal and
+	 * the report subscribe to.
+	 * @param report Optional report that receives the night's counters and events (may be null)
+	 * @param weather Tonight's weather, or null if none
+	 */
+	public void advanceDay(DayReport report, WeatherSystem.Weather weather) {
 		this.day++;
 		this.nrg = 10;
 		
 		decrementMulcherDays();
 
-		int totalGrew = 0;
-		int totalMutated = 0;
-		int totalWithered = 0;
-		int soilUpgrades = 0;
-
-		for (int i = 0; i < gardenPlots.size(); i++) {
-			gardenPlot plot = gardenPlots.get(i);
-			String previousSoil = plot.getSoilQuality();
-
-			String stageBefore = plot.isOccupied() ? plot.getPlantedFlower().getGrowthStage() : null;
-
-			plot.advanceDay(this);
-
-			String stageAfter = plot.isOccupied() ? plot.getPlantedFlower().getGrowthStage() : null;
-
-			String newSoil = plot.getSoilQuality();
-
-			if (!previousSoil.equals(newSoil)) {
-				soilUpgrades++;
-				String plotType = plot.isFlowerPot() ? "flower pot" : "plot #" + (i + 1);
-				addJournalEntry("✨ The soil in your " + plotType + " improved from " + 
-						previousSoil + " to " + newSoil + "!");
-			}
-
-			if (stageBefore != null && stageAfter != null && !stageBefore.equals(stageAfter)) {
-				if (stageAfter.equals("Mutated")) {
-					totalMutated++;
-				} else if (stageAfter.equals("Withered")) {
-					totalWithered++;
-					String witherReason = plot.getLastWitherReason();
-					String plotType = plot.isFlowerPot() ? "flower pot" : "plot #" + (i + 1);
-					String plantName = plot.getPlantedFlower() != null ? plot.getPlantedFlower().getName() : "A plant";
-					if (witherReason == null || witherReason.isEmpty()) {
-						witherReason = "an unknown reason";
-					}
-					addJournalEntry("🥀 " + plantName + " withered in " + plotType + " because " + witherReason + ".");
-				} else {
-					totalGrew++;
-				}
-			}
+		NightPass night = (nightPool != null)
+				? NightPass.run(this, weather, nightPool)
+				: NightPass.run(this, weather);
+		NightEvents events = NightEvents.journaledFor(this);
+		if (report != null) {
+			report.setEvents(events);
+		}
+		for (NightEvent event : night.getEvents()) {
+			events.publish(event);
 		}
 
+		int totalGrew = night.getGrew();
+		int totalMutated = night.getMutated();
+		int totalWithered = night.getWithered();
+		boolean needsWater = night.needsWater();
+		boolean needsWeeding = night.needsWeeding();
+
 		if (totalGrew > 0) {
-			if (totalGrew == 1) {
-				addJournalEntry("🌱 1 plant grew overnight!");
-			} else {
-				addJournalEntry("🌱 " + totalGrew + " plants grew overnight!");
-			}
+			events.publish(new NightEvent.Grew(totalGrew));
 		}
-
 		if (totalMutated > 0) {
-			if (totalMutated == 1) {
-				addJournalEntry("✨ 1 plant mutated into something special!");
-			} else {
-				addJournalEntry("✨ " + totalMutated + " plants mutated into something special!");
-			}
+			events.publish(new NightEvent.Mutated(totalMutated));
 		}
-
 		if (totalWithered > 0) {
-			if (totalWithered == 1) {
-				addJournalEntry("🥀 1 plant withered overnight.");
-			} else {
-				addJournalEntry("🥀 " + totalWithered + " plants withered overnight.");
-			}
+			events.publish(new NightEvent.Withered(totalWithered));
 		}
 
-		if (auctionHouse.hasActiveAuction()) {
+		if (getAuctionHouse().hasActiveAuction()) {
 		    String bidResult = auctionHouse.processDailyBid(this.day, this);
 		    if (bidResult != null) {
 		        addJournalEntry(bidResult);
 		    }
 		}
 
-		boolean needsWater = false;
-		boolean needsWeeding = false;
-
-		for (gardenPlot plot : gardenPlots) {
-			if (plot.isOccupied() && !plot.isWatered()) {
-				needsWater = true;
-			}
-			if (!plot.isFlowerPot() && !plot.isWeeded()) {
-				needsWeeding = true;
-			}
-		}
-
-		if (hasDripIrrigationLines) {
-			autoWaterGreenhouseCoveredPlants();
-			needsWater = false;
-			for (gardenPlot plot : gardenPlots) {
-				if (plot.isOccupied() && !plot.isWatered()) {
-					needsWater = true;
-					break;
-				}
-			}
-		}
-
 		if (needsWater) {
 			addJournalEntry("💧 Your plants need watering!");
 		}
 		if (needsWeeding) {
 			addJournalEntry("🌿 Some weeds appeared in the garden.");
 		}
-	}
-
-	private void autoWaterGreenhouseCoveredPlants() {
-		int protectionCapacity = getGreenhouseProtectionCapacity();
-		if (protectionCapacity <= 0) {
-			return;
-		}
 
-		int occupiedCount = 0;
-		for (gardenPlot plot : gardenPlots) {
-			if (!plot.isOccupied()) {
-				continue;
-			}
+		night.finishWeather(events);
 
-			occupiedCount++;
-			if (occupiedCount <= protectionCapacity) {
-				plot.setWatered(true);
-				plot.setConsecutiveDaysWithoutWater(0);
-			}
+		if (report != null) {
+			report.setGardenNeeds(needsWater, needsWeeding);
 		}
 	}
 
@@ -0,0 +1,218 @@
+/* PlotRules.java
+ * The nightly growth rules for a single plot, on primitive state.
+ * gardenPlot.advanceDay delegates here, so batch tools that simulate
+ * millions of plots run exactly the same rules as the game. ArrayGarden
+ * runs the same steps over its columns; change both together (GardenChecks
+ * fails when they drift apart).
+ *
+ * RULES (per night, in this order - random draws must stay in this order):
+ * - Watering: 7 dry days = instant wither, days 4-6 escalate the penalty
+ * - Weeds: unweeded regular plots lose 0.3 durability
+ * - Growth: chance by care state, stage thresholds by species (GrowthCurve)
+ * - Matured plants roll for mutation (species chance x soil) then for withering
+ * - Daily reset: weeds regrow (mulcher = 0.25x), fertilizer fades, soil may upgrade
+ */
+
+public class PlotRules {
+    // Growth stages (index into STAGE_NAMES)
+    public static final int STAGE_SEED = 0;
+    public static final int STAGE_SEEDLING = 1;
+    public static final int STAGE_BLOOMED = 2;
+    public static final int STAGE_MATURED = 3;
+    public static final int STAGE_WITHERED = 4;
+    public static final int STAGE_MUTATED = 5;
+    public static final int STAGE_UNKNOWN = -1;
+    public static final String[] STAGE_NAMES = new String[GrowthStage.values().length];
+
+    // Soil qualities (index into SOIL_NAMES)
+    public static final int SOIL_BAD = 0;
+    public static final int SOIL_AVERAGE = 1;
+    public static final int SOIL_GOOD = 2;
+    public static final int SOIL_GREAT = 3;
+    public static final int SOIL_MAGIC = 4;
+    public static final String[] SOIL_NAMES = new String[SoilQuality.values().length];
+
+    static {
+        for (GrowthStage stage : GrowthStage.values()) {
+            STAGE_NAMES[stage.getCode()] = stage.getDisplayName();
+        }
+        for (SoilQuality soil : SoilQuality.values()) {
+            SOIL_NAMES[soil.getCode()] = soil.getDisplayName();
+        }
+    }
+
+    // Why a plant withered during the last night
+    public static final int WITHER_NONE = 0;
+    public static final int WITHER_DROUGHT = 1;
+    public static final int WITHER_NEGLECT = 2;
+    public static final int WITHER_NATURAL = 3;
+    private static final String[] WITHER_REASONS = {
+        null,
+        "it went 7 consecutive days without water",
+        "its durability reached 0 from neglect",
+        "it naturally withered at mature stage (soil quality affects this chance)"
+    };
+
+    private static final double BASE_WEED_CHANCE = 0.3;
+
+    /**
+     * Converts a growth stage name to its code
+     * @return The stage code, or STAGE_UNKNOWN
+     */
+    public static int stageCode(String stage) {
+        GrowthStage parsed = GrowthStage.fromName(stage);
+        return parsed != null ? parsed.getCode() : STAGE_UNKNOWN;
+    }
+
+    /**
+     * Converts a soil quality name to its code (unknown names count as Average)
+     */
+    public static int soilCode(String soil) {
+        return SoilQuality.fromName(soil).getCode();
+    }
+
+    /**
+     * Checks whether soil is good enough for a flower of the given difficulty
+     * (difficulty 5 needs Great+, 4 needs Good+, 3 anything but Bad)
+     */
+    public static boolean isSoilSufficient(int difficulty, int soil) {
+        switch (difficulty) {
+            case 5: return soil >= SOIL_GREAT;
+            case 4: return soil >= SOIL_GOOD;
+            case 3: return soil != SOIL_BAD;
+            default: return true;
+        }
+    }
+
+    public static String witherReasonText(int witherReason) {
+        return WITHER_REASONS[witherReason];
+    }
+
+    /**
+     * Nightly chance that weeds come back on a regular plot
+     */
+    public static double weedChance(boolean mulcherActive) {
+        return mulcherActive ? BASE_WEED_CHANCE * 0.25 : BASE_WEED_CHANCE;
+    }
+
+    /**
+     * Advances one plot by one night
+     * @param s Plot state, updated in place
+     * @param mulcherActive Whether the mulcher slows weed growth
+     * @param growLight Whether the grow light doubles effective days planted
+     * @param random Random source
+     * @return true if the plant changed stage (or is withered)
+     */
+    public static boolean advance(PlotState s, boolean mulcherActive, boolean growLight, GameRandom random) {
+        double weedChance = weedChance(mulcherActive);
+
+        if (!s.occupied) {
+            s.watered = false;
+            if (!s.flowerPot) {
+                s.weeded = random.nextDouble() > weedChance;
+            }
+            return false;
+        }
+
+        s.witherReason = WITHER_NONE;
+        s.daysPlanted++;
+
+        // Watering penalty (escalates from day 4, instant wither on day 7)
+        if (s.watered) {
+            s.dryDays = 0;
+        } else {
+            s.dryDays++;
+            if (s.dryDays >= 7) {
+                setDurability(s, 0);
+                s.witherReason = WITHER_DROUGHT;
+                s.dryDays = 0;
+            } else {
+                double waterPenalty = s.dryDays >= 4 ? s.dryDays - 2 : 1.0;
+                double baseDamage = s.flowerPot ? 2.0 : 1.0;
+                setDurability(s, s.durability - baseDamage * waterPenalty);
+            }
+        }
+
+        // Weeding penalty (regular plots only)
+        if (!s.flowerPot && !s.weeded) {
+            setDurability(s, s.durability - 0.3);
+        }
+
+        // Withered plants skip growth but still get the daily reset
+        if (s.stage == STAGE_WITHERED) {
+            s.watered = false;
+            if (!s.flowerPot) {
+                s.weeded = random.nextDouble() > weedChance;
+            } else {
+                s.weeded = true;
+            }
+            if (s.fertilized && random.nextDouble() > 0.5) {
+                s.fertilized = false;
+            }
+            if (s.fertilized && random.nextDouble() < 0.0075) {
+                upgradeSoil(s);
+            }
+            if (s.witherReason == WITHER_NONE) {
+                s.witherReason = WITHER_NEGLECT;
+            }
+            setDurability(s, 0);
+            return true;
+        }
+
+        // Growth roll, then stage thresholds and end-of-life odds from the species curve
+        GrowthCurve curve = s.curve;
+        double growthChance = curve.getGrowthChance(
+            GrowthCurve.careState(s.watered, s.weeded, s.fertilized, s.flowerPot));
+
+        boolean shouldGrow = random.nextDouble() < growthChance;
+        int effectiveDaysPlanted = growLight ? s.daysPlanted * 2 : s.daysPlanted;
+        boolean didGrow = false;
+
+        if (shouldGrow && effectiveDaysPlanted >= curve.getDaysToAdvance(s.stage)) {
+            if (s.stage != STAGE_MATURED) {
+                s.stage++;
+                didGrow = true;
+            } else if (random.nextDouble() < curve.getMutationChance(s.fertilized, s.soil)) {
+                s.stage = STAGE_MUTATED;
+                didGrow = true;
+            } else if (random.nextDouble() < curve.getWitherChance(s.soil)) {
+                s.stage = STAGE_WITHERED;
+                setDurability(s, 0);
+                s.witherReason = WITHER_NATURAL;
+                didGrow = true;
+            }
+        }
+
+        // Reset daily states
+        s.watered = false;
+        if (!s.flowerPot) {
+            s.weeded = random.nextDouble() > weedChance;
+        } else {
+            s.weeded = true;
+        }
+        if (s.fertilized && random.nextDouble() > 0.5) {
+            s.fertilized = false;
+        }
+        if (s.fertilized && random.nextDouble() < 0.0075) {
+            upgradeSoil(s);
+        }
+
+        return didGrow;
+    }
+
+    /**
+     * Mirrors Flower.setDurability: reaching 0 withers anything but seeds
+     */
+    private static void setDurability(PlotState s, double durability) {
+        s.durability = durability;
+        if (durability <= 0 && s.stage != STAGE_WITHERED && s.stage != STAGE_SEED) {
+            s.stage = STAGE_WITHERED;
+        }
+    }
+
+    private static void upgradeSoil(PlotState s) {
+        if (s.soil < SOIL_MAGIC) {
+            s.soil++;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+/* PlotState.java
+ * Primitive snapshot of one garden plot, used by PlotRules.
+ * gardenPlot copies its fields in and out; batch tools (BalanceLab) keep
+ * one instance per thread and never touch Flower or Player1 objects.
+ */
+
+public class PlotState {
+    // Plot
+    public boolean watered;
+    public boolean weeded = true;
+    public boolean fertilized;
+    public boolean flowerPot;
+    public int soil = PlotRules.SOIL_AVERAGE;
+    public int dryDays;
+
+    // Planted flower (ignored when not occupied)
+    public boolean occupied;
+    public int stage = PlotRules.STAGE_SEED;
+    public int daysPlanted;
+    public double durability;
+    public GrowthCurve curve = GrowthCurve.DEFAULT;
+
+    // Output of the last night
+    public int witherReason = PlotRules.WITHER_NONE;
+
+    /**
+     * Puts a fresh seed into this plot (same effect as gardenPlot.plantFlower)
+     */
+    public void plant(GrowthCurve curve, double durability) {
+        this.occupied = true;
+        this.stage = PlotRules.STAGE_SEED;
+        this.daysPlanted = 1;
+        this.durability = durability;
+        this.curve = curve;
+        this.dryDays = 0;
+        this.witherReason = PlotRules.WITHER_NONE;
+    }
+
+    /**
+     * Empties the plot (same effect as gardenPlot.harvestFlower)
+     */
+    public void clear() {
+        this.occupied = false;
+        this.watered = false;
+        this.dryDays = 0;
+        this.witherReason = PlotRules.WITHER_NONE;
+    }
+}
@@ -0,0 +1,163 @@
+/* SaveBackend.java
+ * Where saves live: one file per player, or a single embedded store
+ */
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Storage behind Journal.saveGame / loadGame / saveExists / resetGame.
+ * Picked once per run with -Dsunflower.save.backend=files|store; the store
+ * file defaults to saves/saves.db and can be moved with -Dsunflower.save.store.
+ * Either way a player's JournalArchive stays in the save directory as
+ * saves/<name>.jarc, so it has to travel with the store file.
+ */
+public interface SaveBackend {
+    String BACKEND_PROPERTY = "sunflower.save.backend";
+    String STORE_PROPERTY = "sunflower.save.store";
+
+    /**
+     * Persists a rendered save. Called from the SaveService writer thread.
+     */
+    void write(String name, String saveText) throws IOException;
+
+    /**
+     * Persists a save rendered in chunks; backends that only store whole texts
+     * get it rendered
+     */
+    default void write(String name, SaveChunks save) throws IOException {
+        write(name, save.render());
+    }
+
+    /**
+     * @return The saved player, or null if there is no save under this name
+     */
+    Player1 read(String name) throws IOException;
+
+    boolean exists(String name);
+
+    /**
+     * The save as text in whatever format it was written, for tools that check
+     * the raw lines
+     * @return A reader over the save, or null if there is no save under this name
+     */
+    Reader openText(String name) throws IOException;
+
+    /**
+     * Lets go of anything cached for this save since it was last written.
+     * Bulk tools call this so memory does not grow with the number of saves.
+     */
+    default void release(String name) {
+    }
+
+    void delete(String name) throws IOException;
+
+    /**
+     * Names of every saved player, sorted
+     */
+    List<String> list() throws IOException;
+
+    /**
+     * Saved journal entries, oldest first. Streams the [JOURNAL_ENTRIES] lines
+     * of the save text instead of loading the whole player.
+     */
+    default List<String> readJournal(String name) throws IOException {
+        List<String> entries = new ArrayList<>();
+        try (Reader reader = openText(name)) {
+            if (reader == null) {
+                return entries;
+            }
+            BufferedReader lines = new BufferedReader(reader);
+            String line;
+            boolean inJournal = false;
+            while ((line = lines.readLine()) != null) {
+                line = line.trim();
+                if (line.startsWith("[")) {
+                    inJournal = line.equals("[JOURNAL_ENTRIES]");
+                } else if (inJournal && line.startsWith("Entry=")) {
+                    // Entry=day,date,message; malformed lines are skipped as the loader does
+                    String[] parts = line.substring("Entry=".length()).split(",", 3);
+                    if (parts.length == 3) {
+                        try {
+                            entries.add(JournalEntry.fromSave(Integer.parseInt(parts[0]), parts[1], parts[2]).toString());
+                        } catch (NumberFormatException e) {
+                            // Not a journal day
+                        }
+                    }
+                }
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * One page of the saved journal, newest first; entries already moved to
+     * the JournalArchive are not part of it
+     */
+    default List<String> readJournalPage(String name, int page) throws IOException {
+        List<String> saved = readJournal(name);
+        List<String> entries = new ArrayList<>();
+        int end = saved.size() - page * Journal.ENTRIES_PER_PAGE;
+        for (int i = end - 1; page >= 0 && i >= Math.max(0, end - Journal.ENTRIES_PER_PAGE); i--) {
+            entries.add(saved.get(i));
+        }
+        return entries;
+    }
+
+    default int getJournalEntryCount(String name) throws IOException {
+        return readJournal(name).size();
+    }
+
+    /**
+     * How many journal entries the save has handed to the JournalArchive (its
+     * ArchivedEntries line). The archive file can hold more: a segment is
+     * written before the save that stops holding it, and if that save never
+     * landed the entries are still in the save as well.
+     * @return The count, or 0 for a save without one (or no save)
+     */
+    default int getArchivedEntryCount(String name) throws IOException {
+        try (Reader reader = openText(name)) {
+            if (reader == null) {
+                return 0;
+            }
+            // The count sits in [PLAYER], the first section
+            BufferedReader lines = new BufferedReader(reader);
+            String line;
+            boolean inPlayer = false;
+            while ((line = lines.readLine()) != null) {
+                line = line.trim();
+                if (line.startsWith("[")) {
+                    if (inPlayer) {
+                        break;
+                    }
+                    inPlayer = line.equals("[PLAYER]");
+                } else if (inPlayer && line.startsWith("ArchivedEntries=")) {
+                    try {
+                        return Math.max(0, Integer.parseInt(line.substring("ArchivedEntries=".length())));
+                    } catch (NumberFormatException e) {
+                        return 0;
+                    }
+                }
+            }
+        }
+        return 0;
+    }
+
+    static SaveBackend fromProperties(File saveDirectory) {
+        if ("store".equalsIgnoreCase(System.getProperty(BACKEND_PROPERTY, "files"))) {
+            File storeFile = new File(System.getProperty(STORE_PROPERTY,
+                    new File(saveDirectory, "saves.db").getPath()));
+            try {
+                return SaveStore.open(storeFile);
+            } catch (IOException e) {
+                System.out.println("[X] Could not open save store " + storeFile + ": " + e.getMessage());
+                System.out.println("    Falling back to one save file per player.");
+            }
+        }
+        return new FileSaveBackend(saveDirectory);
+    }
+}
@@ -0,0 +1,102 @@
+/* SaveBenchmark.java
+ * Compares Journal.loadGame on the text save against the memory-mapped binary
+ * save for the same large garden. Both loads must produce the same garden;
+ * the fingerprint column checks that. MB/s is file bytes over the best time.
+ *
+ * Usage: java SaveBenchmark [--plots 100000] [--runs 5] [--seed S]
+ */
+
+import java.io.File;
+import java.util.Random;
+
+public class SaveBenchmark {
+    private static final String TEXT_NAME = "save-benchmark-text";
+    private static final String BINARY_NAME = "save-benchmark-binary";
+
+    public static void main(String[] args) throws Exception {
+        int plots = 100_000;
+        int runs = 5;
+        long seed = 7L;
+        for (int i = 0; i < args.length - 1; i++) {
+            switch (args[i]) {
+                case "--plots": plots = Integer.parseInt(args[++i]); break;
+                case "--runs": runs = Integer.parseInt(args[++i]); break;
+                case "--seed": seed = Long.parseLong(args[++i]); break;
+                default: break;
+            }
+        }
+
+        FlowerRegistry.loadFlowerData();
+        File directory = new File("saves/");
+        try {
+            // Same seed, so both saves hold the same garden
+            System.setProperty(BinarySave.FORMAT_PROPERTY, "text");
+            Journal.resetGame(buildPlayer(TEXT_NAME, plots, seed));
+            Journal.flushSaves();
+            System.setProperty(BinarySave.FORMAT_PROPERTY, "binary");
+            Journal.resetGame(buildPlayer(BINARY_NAME, plots, seed));
+            Journal.flushSaves();
+
+            File textFile = new File(directory, TEXT_NAME + SaveLog.SNAPSHOT_SUFFIX);
+            File binaryFile = new File(directory, BINARY_NAME + BinarySave.SUFFIX);
+            System.out.printf("%,d plots: text %,d bytes, binary %,d bytes%n",
+                    plots, textFile.length(), binaryFile.length());
+
+            // Warm both paths before timing
+            Journal.loadGame(TEXT_NAME);
+            Journal.loadGame(BINARY_NAME);
+
+            System.out.printf("%8s %12s %12s %10s %12s%n", "format", "best ms", "mean ms", "MB/s", "fingerprint");
+            report("text", TEXT_NAME, textFile.length(), runs);
+            report("binary", BINARY_NAME, binaryFile.length(), runs);
+        } finally {
+            SaveLog.discard(directory, TEXT_NAME);
+            SaveLog.discard(directory, BINARY_NAME);
+        }
+    }
+
+    private static void report(String label, String name, long bytes, int runs) {
+        long best = Long.MAX_VALUE;
+        long total = 0;
+        Player1 loaded = null;
+        for (int run = 0; run < runs; run++) {
+            long start = System.nanoTime();
+            loaded = Journal.loadGame(name);
+            long elapsed = System.nanoTime() - start;
+            best = Math.min(best, elapsed);
+            total += elapsed;
+        }
+        System.out.printf("%8s %12.1f %12.1f %10.1f %12d%n", label, best / 1e6, total / 1e6 / runs,
+                bytes / 1e6 / (best / 1e9), fingerprint(loaded));
+    }
+
+    static Player1 buildPlayer(String name, int plots, long seed) {
+        Random random = new Random(seed);
+        String[] names = {"Marigold", "Mammoth Sunflower", "Cosmos", "Lavender", "Sweet Pea"};
+        String[] soils = {"Bad", "Average", "Good", "Great", "Magic"};
+        Player1 player = new Player1(name);
+        for (int i = player.getGardenPlots().size(); i < plots; i++) {
+            player.addGardenPlot();
+        }
+        for (gardenPlot plot : player.getGardenPlots()) {
+            plot.setSoilQuality(soils[random.nextInt(soils.length)]);
+            if (random.nextInt(10) < 8) {
+                Flower seedling = FlowerRegistry.createSeed(names[random.nextInt(names.length)]);
+                if (seedling != null) {
+                    plot.forcePlantFlower(seedling);
+                }
+            }
+            if (random.nextBoolean()) plot.waterPlot();
+            if (random.nextBoolean()) plot.fertilizePlot();
+        }
+        return player;
+    }
+
+    private static int fingerprint(Player1 player) {
+        StringBuilder state = new StringBuilder();
+        for (gardenPlot plot : player.getGardenPlots()) {
+            state.append(plot).append('\n');
+        }
+        return state.toString().hashCode();
+    }
+}
@@ -0,0 +1,320 @@
+/* SaveChecks.java
+ * Checks for the save pipeline: the background writer's ordering of
+ * archive tasks and save text; saves written through the log and its
+ * compactions reading back as they were rendered; and the migrator
+ * rewriting saves into another format without changing them.
+ *
+ * Usage: java SaveChecks
+ * Exits with status 1 if any check fails.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class SaveChecks {
+
+    public static void main(String[] args) throws Exception {
+        FlowerRegistry.loadFlowerData();
+        int failed = 0;
+        failed += report("failed archive task runs before the save queued behind it", checkFailedTaskOrder());
+        File directory = Files.createTempDirectory("savechecks").toFile();
+        try {
+            failed += report("saves read back through the log and its compactions", checkLogRoundTrip(directory));
+            failed += report("migrated saves keep their contents in every format", checkMigratorRoundTrip(directory));
+        } finally {
+            deleteTree(directory);
+        }
+        if (failed > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * An archive task fails while a newer save of the same file is already
+     * queued. The newer save must not land until the task has run again.
+     */
+    public static String checkFailedTaskOrder() throws Exception {
+        SaveService service = SaveService.getInstance();
+        service.flush();
+        MemoryBackend backend = new MemoryBackend();
+        CountDownLatch taskStarted = new CountDownLatch(1);
+        CountDownLatch newerQueued = new CountDownLatch(1);
+        int[] attempts = {0};
+        SaveService.Task archive = () -> {
+            if (attempts[0]++ == 0) {
+                taskStarted.countDown();
+                try {
+                    newerQueued.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new IOException("disk full");
+            }
+            backend.events.add("archive");
+        };
+
+        service.submit(backend, "p", "first", Collections.singletonList(archive));
+        if (!taskStarted.await(5, TimeUnit.SECONDS)) {
+            return "archive task never ran";
+        }
+        service.submit(backend, "p", "second");
+        newerQueued.countDown();
+
+        boolean clean = service.flush();
+        List<String> expected = new ArrayList<>();
+        expected.add("archive");
+        expected.add("write second");
+        if (!backend.events.equals(expected)) {
+            return "expected " + expected + ", got " + backend.events;
+        }
+        if (clean) {
+            return "flush did not report the failed write";
+        }
+        if (service.takeError() != null) {
+            return "the error was reported twice";
+        }
+        return null;
+    }
+
+    /**
+     * Saves a garden through FileSaveBackend every night, long enough for the
+     * log to be compacted several times. After each save the snapshot plus
+     * log must read back as the garden rendered without the plot text cache, and must load as the
+     * same player that text loads as. Every so often the cached log
+     * state is dropped, so the next save starts from a fresh snapshot.
+     */
+    public static String checkLogRoundTrip(File directory) throws IOException {
+        FileSaveBackend backend = new FileSaveBackend(directory);
+        String name = "logcheck";
+        Player1 player = EngineChecks.newGarden(name, 21L, 60);
+        GardenEngine engine = new GardenEngine(player);
+        engine.setDreamsEnabled(false);
+        engine.setHistoryEnabled(false);
+        GameRandom care = new GameRandom(21L ^ 0x5EEDL);
+
+        SaveLog log = SaveLog.forSave(directory, name);
+        long lastLogBytes = 0;
+        int compactions = 0;
+        for (int night = 0; night < 500; night++) {
+            // A save after the morning's care, when most plots reuse their text,
+            // and one after the night
+            for (int save = 0; save < 2; save++) {
+                if (save == 0) {
+                    EngineChecks.tend(player, care, night);
+                } else {
+                    engine.advanceDay();
+                }
+                backend.write(name, Journal.renderChunks(player));
+                if (log.getLogBytes() < lastLogBytes) {
+                    compactions++;
+                }
+                lastLogBytes = log.getLogBytes();
+
+                String failure = compareSave(backend, name, renderUncached(player));
+                if (failure != null) {
+                    return "night " + (night + 1) + (save == 0 ? " (morning)" : "") + ": " + failure;
+                }
+            }
+            if (night % 125 == 124) {
+                backend.release(name);
+                log = SaveLog.forSave(directory, name);
+                lastLogBytes = 0;
+            }
+        }
+        backend.delete(name);
+        return compactions < 3 ? "the log was compacted only " + compactions + " times" : null;
+    }
+
+    /**
+     * Writes text saves, checks they validate cleanly, then has the migrator
+     * rewrite them as binary snapshots and again as deflated text; each
+     * rewrite must hold the same save
+     */
+    public static String checkMigratorRoundTrip(File directory) throws Exception {
+        FileSaveBackend backend = new FileSaveBackend(directory);
+        Map<String, String> expected = new HashMap<>();
+        for (int i = 0; i < 6; i++) {
+            String name = "migrate" + i;
+            Player1 player = EngineChecks.newGarden(name, 31L + i, 10 + 15 * i);
+            GardenEngine engine = new GardenEngine(player);
+            engine.setDreamsEnabled(false);
+            engine.setHistoryEnabled(false);
+            GameRandom care = new GameRandom(31L + i);
+            for (int night = 0; night < 40 + 10 * i; night++) {
+                EngineChecks.tend(player, care, night);
+                engine.advanceDay();
+            }
+            String text = Journal.renderSave(player);
+            backend.write(name, text);
+            backend.release(name);
+            expected.put(name, text);
+
+            List<String> problems = new ArrayList<>();
+            SaveParser.validate(text.toCharArray(), text.length(), problems);
+            if (!problems.isEmpty()) {
+                return name + " does not validate: " + problems;
+            }
+        }
+
+        String[][] formats = {{"binary", "none", BinarySave.SUFFIX}, {"text", "deflate", SaveLog.SNAPSHOT_SUFFIX}};
+        String format = System.getProperty(BinarySave.FORMAT_PROPERTY);
+        String compression = System.getProperty(SaveCompression.COMPRESSION_PROPERTY);
+        try {
+            for (String[] target : formats) {
+                System.setProperty(BinarySave.FORMAT_PROPERTY, target[0]);
+                System.setProperty(SaveCompression.COMPRESSION_PROPERTY, target[1]);
+                new SaveMigrator(backend, backend.list(), true, false, false).run(3);
+                for (Map.Entry<String, String> save : expected.entrySet()) {
+                    if (!new File(directory, save.getKey() + target[2]).exists()) {
+                        return save.getKey() + " was not rewritten as " + target[0];
+                    }
+                    String failure = compareSave(backend, save.getKey(), save.getValue());
+                    if (failure != null) {
+                        return save.getKey() + " as " + target[0] + "/" + target[1] + ": " + failure;
+                    }
+                }
+            }
+        } finally {
+            restoreProperty(BinarySave.FORMAT_PROPERTY, format);
+            restoreProperty(SaveCompression.COMPRESSION_PROPERTY, compression);
+        }
+        for (String name : expected.keySet()) {
+            backend.delete(name);
+        }
+        return null;
+    }
+
+    // Renders every plot afresh, leaving the player's plot text cache as it was
+    private static String renderUncached(Player1 player) throws IOException {
+        SaveChunks.PlotText[] cached = player.getRenderedPlots();
+        player.setRenderedPlots(null);
+        try {
+            return Journal.renderSave(player);
+        } finally {
+            player.setRenderedPlots(cached);
+        }
+    }
+
+    // The backend must hold this save as text and as a loaded player.
+    // SaveDate is left out since every render stamps a new one, and so is
+    // the [SAVE_LOG] generation a snapshot starts with.
+    private static String compareSave(SaveBackend backend, String name, String rendered) throws IOException {
+        String expected = comparable(rendered);
+        StringWriter text = new StringWriter();
+        try (Reader reader = backend.openText(name)) {
+            if (reader == null) {
+                return "save is missing";
+            }
+            reader.transferTo(text);
+        }
+        String failure = firstDifference("text", expected, comparable(text.toString()));
+        if (failure != null) {
+            return failure;
+        }
+        // Loading can itself change a save (a plant at or below zero durability
+        // loads as withered), so the loaded player is held to the one the
+        // rendered text loads as
+        String loadedDirectly = Journal.renderSave(SaveParser.parse(new StringReader(rendered), null));
+        Player1 loaded = backend.read(name);
+        return firstDifference("loaded player", comparable(loadedDirectly), comparable(Journal.renderSave(loaded)));
+    }
+
+    private static String comparable(String save) {
+        StringBuilder out = new StringBuilder(save.length());
+        for (String line : save.split("\n")) {
+            if (!line.startsWith("SaveDate=") && !line.equals("[SAVE_LOG]") && !line.startsWith("Generation=")) {
+                out.append(line).append('\n');
+            }
+        }
+        return out.toString();
+    }
+
+    private static String firstDifference(String what, String expected, String actual) {
+        if (expected.equals(actual)) {
+            return null;
+        }
+        String[] want = expected.split("\n");
+        String[] got = actual.split("\n");
+        for (int i = 0; i < Math.min(want.length, got.length); i++) {
+            if (!want[i].equals(got[i])) {
+                return what + " line " + (i + 1) + ": expected " + want[i] + ", got " + got[i];
+            }
+        }
+        return what + ": " + want.length + " lines expected, got " + got.length;
+    }
+
+    private static void restoreProperty(String key, String value) {
+        if (value == null) {
+            System.clearProperty(key);
+        } else {
+            System.setProperty(key, value);
+        }
+    }
+
+    private static void deleteTree(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteTree(child);
+            }
+        }
+        file.delete();
+    }
+
+    static int report(String name, String failure) {
+        System.out.println((failure == null ? "[ok] " : "[X] ") + name + (failure == null ? "" : ": " + failure));
+        return failure == null ? 0 : 1;
+    }
+
+    /**
+     * Keeps saves in memory and logs every write, in order
+     */
+    static class MemoryBackend implements SaveBackend {
+        final Map<String, String> saves = new HashMap<>();
+        final List<String> events = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public void write(String name, String saveText) {
+            saves.put(name, saveText);
+            events.add("write " + saveText);
+        }
+
+        @Override
+        public Player1 read(String name) throws IOException {
+            Reader text = openText(name);
+            return text == null ? null : SaveParser.parse(text, null);
+        }
+
+        @Override
+        public boolean exists(String name) {
+            return saves.containsKey(name);
+        }
+
+        @Override
+        public Reader openText(String name) {
+            String text = saves.get(name);
+            return text == null ? null : new StringReader(text);
+        }
+
+        @Override
+        public void delete(String name) {
+            saves.remove(name);
+        }
+
+        @Override
+        public List<String> list() {
+            return new ArrayList<>(saves.keySet());
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/* SaveChunks.java
+ * A rendered save split the way SaveLog stores it, so a commit only has to
+ * look at the plots that were rendered again
+ */
+
+/**
+ * The text of one save in three parts: everything before the plot lines
+ * (up to and including PlotCount=), one chunk per garden plot, and everything
+ * after. Plot chunks come from the player's PlotText cache, so an unchanged
+ * plot hands over the same String as the previous save and SaveLog can skip
+ * it with a reference check.
+ */
+public final class SaveChunks {
+    private static final String[] NO_PLOTS = new String[0];
+
+    final String head;
+    final String[] plots;
+    final String tail;
+
+    SaveChunks(String head, String[] plots, String tail) {
+        this.head = head;
+        this.plots = plots;
+        this.tail = tail;
+    }
+
+    /**
+     * Wraps a save that was rendered as plain text; its plot lines stay in the head
+     */
+    public static SaveChunks ofText(String saveText) {
+        return new SaveChunks(saveText, NO_PLOTS, "");
+    }
+
+    /**
+     * The full save text, exactly as Journal.renderSave writes it
+     */
+    public String render() {
+        int length = head.length() + tail.length();
+        for (String plot : plots) {
+            length += plot.length();
+        }
+        StringBuilder out = new StringBuilder(length);
+        out.append(head);
+        for (String plot : plots) {
+            out.append(plot);
+        }
+        return out.append(tail).toString();
+    }
+
+    /**
+     * The Plot= and PlotFlower= lines last rendered for one plot, with the
+     * values they were rendered from
+     */
+    static final class PlotText {
+        private final gardenPlot plot;
+        private final boolean watered;
+        private final boolean weeded;
+        private final boolean fertilized;
+        private final boolean flowerPot;
+        private final SoilQuality soil;
+        private final int dryDays;
+        private final Flower flower;
+        private final String flowerName;
+        private final GrowthStage stage;
+        private final int daysPlanted;
+        private final long durabilityBits;
+        private final long costBits;
+        private final int nrgRestored;
+        final String text;
+
+        private PlotText(gardenPlot plot, String text) {
+            this.plot = plot;
+            this.watered = plot.isWatered();
+            this.weeded = plot.isWeeded();
+            this.fertilized = plot.isFertilized();
+            this.flowerPot = plot.isFlowerPot();
+            this.soil = plot.getSoil();
+            this.dryDays = plot.getConsecutiveDaysWithoutWater();
+            this.flower = plot.getPlantedFlower();
+            this.flowerName = flower == null ? null : flower.getName();
+            this.stage = flower == null ? null : flower.getStage();
+            this.daysPlanted = flower == null ? 0 : flower.getDaysPlanted();
+            this.durabilityBits = flower == null ? 0 : Double.doubleToLongBits(flower.getDurability());
+            this.costBits = flower == null ? 0 : Double.doubleToLongBits(flower.getCost());
+            this.nrgRestored = flower instanceof FlowerInstance ? ((FlowerInstance) flower).getNRGRestored() : 0;
+            this.text = text;
+        }
+
+        /**
+         * Reuses the cached text while the plot at this index renders the same
+         * @param cached The text rendered last time, or null
+         */
+        static PlotText of(gardenPlot plot, int index, PlotText cached) {
+            if (cached != null && cached.matches(plot)) {
+                return cached;
+            }
+            return new PlotText(plot, render(plot, index));
+        }
+
+        private boolean matches(gardenPlot current) {
+            if (current != plot || current.isWatered() != watered || current.isWeeded() != weeded
+                    || current.isFertilized() != fertilized || current.isFlowerPot() != flowerPot
+                    || current.getSoil() != soil
+                    || current.getConsecutiveDaysWithoutWater() != dryDays
+                    || current.getPlantedFlower() != flower) {
+                return false;
+            }
+            return flower == null
+                    || (flower.getName().equals(flowerName) && flower.getStage() == stage
+                    && flower.getDaysPlanted() == daysPlanted
+                    && Double.doubleToLongBits(flower.getDurability()) == durabilityBits
+                    && Double.doubleToLongBits(flower.getCost()) == costBits
+                    && (!(flower instanceof FlowerInstance)
+                            || ((FlowerInstance) flower).getNRGRestored() == nrgRestored));
+        }
+
+        private static String render(gardenPlot plot, int i) {
+            StringBuilder out = new StringBuilder(96);
+            out.append("Plot=").append(i).append(',')
+                    .append(plot.isWatered()).append(',')
+                    .append(plot.isWeeded()).append(',')
+                    .append(plot.isFertilized()).append(',')
+                    .append(plot.getSoilQuality()).append(',')
+                    .append(plot.isFlowerPot()).append(',')
+                    .append(plot.getConsecutiveDaysWithoutWater()).append('\n');
+
+            if (plot.isOccupied()) {
+                Flower flower = plot.getPlantedFlower();
+                out.append("PlotFlower=").append(i).append(',')
+                        .append(flower.getName()).append(',')
+                        .append(flower.getGrowthStage()).append(',')
+                        .append(flower.getDaysPlanted()).append(',')
+                        .append(flower.getDurability()).append(',')
+                        .append(flower.getCost());
+
+                if (flower instanceof FlowerInstance) {
+                    out.append(',').append(((FlowerInstance) flower).getNRGRestored());
+                }
+
+                out.append('\n');
+            }
+            return out.toString();
+        }
+    }
+}
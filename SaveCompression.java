@@ -0,0 +1,242 @@
+/* SaveCompression.java
+ * Optional Deflate compression for text saves, primed with the words every save repeats
+ */
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.zip.*;
+
+/**
+ * Compresses text snapshots when -Dsunflower.save.compression=deflate is set.
+ * The level comes from -Dsunflower.save.compression.level (0-9, default 6).
+ * Unless -Dsunflower.save.compression.dictionary=false is set, the stream is
+ * primed with a preset dictionary: the section headers, keys, growth stages,
+ * soils and flower names. Even a small save then compresses well from its
+ * first line.
+ *
+ * The dictionaries are frozen constants, never derived from flowers.csv or
+ * the enums, since a save can only be inflated with the exact dictionary it
+ * was deflated with. A save names its dictionary by Adler-32, and every
+ * version ever shipped stays in DICTIONARIES so older saves keep loading.
+ * New flowers or keys go into a new version appended to the list; existing
+ * versions are never edited.
+ *
+ * Layout: magic "SFZ", u8 version, u8 flags (1 = dictionary), i32 Adler-32 of
+ * the dictionary, i32 uncompressed length, raw Deflate data. Readers tell
+ * compressed saves from plain ones by the magic, so both load regardless of
+ * the current setting. Binary snapshots are left as they are so they can
+ * still be memory-mapped.
+ */
+public class SaveCompression {
+    public static final String COMPRESSION_PROPERTY = "sunflower.save.compression";
+    public static final String LEVEL_PROPERTY = "sunflower.save.compression.level";
+    public static final String DICTIONARY_PROPERTY = "sunflower.save.compression.dictionary";
+
+    private static final byte[] MAGIC = {'S', 'F', 'Z'};
+    private static final byte VERSION = 1;
+    private static final int FLAG_DICTIONARY = 1;
+    private static final int HEADER_BYTES = 3 + 1 + 1 + 4 + 4;
+
+    // Large enough that a whole typical save deflates in one or two calls
+    static final int BUFFER_BYTES = 64 * 1024;
+
+    /**
+     * Version 1: headers and keys as of the first compressed saves, then the
+     * 57 flowers of flowers.csv at the time, sorted. Deflate matches against
+     * the end most cheaply, so the words found on every plot line come last.
+     */
+    private static final String DICTIONARY_V1 =
+            "[PLAYER]\n"
+            + "[UNLOCKED_DREAMS]\n"
+            + "[UNLOCKED_HINTS]\n"
+            + "[INVENTORY]\n"
+            + "[AUCTION_HOUSE]\n"
+            + "[KNOWN_BOUQUETS]\n"
+            + "[MANTLE_DISPLAY]\n"
+            + "[JOURNAL_ENTRIES]\n"
+            + "[GARDEN_PLOTS]\n"
+            + "Name=NRG=Credits=Day=FlowerPotsCrafted=HasBuiltExtraPlot=HasCompostBin="
+            + "CompostWitheredCount=HasMulcher=MulcherDaysRemaining=HasSprinklerSystem=GreenhouseCount="
+            + "HasDripIrrigationLines=HasGrowLight=HasSeedStartingTray=HasHeatLamp=HasBuzzsaw="
+            + "HasCraftedMantle=HasPlacedMantle=Dream=Hint=FlowerPot=ActiveAuction=AuctionStartDay="
+            + "CurrentBid=BouquetName=BouquetDayCreated=BouquetFlower=AppliedMultiplier="
+            + "UncollectedEarnings=HasCollectedEarnings=RecognitionBonusApplied=Composition="
+            + "MantleBouquet=MantleFlower=PlotCount=Entry=Flower=false\n"
+            + "true\n"
+            + "Allium,Alyssum Carpet Snow,Alyssum Sweet,Autumn Beauty Sunflower,Begonia,"
+            + "Bird of Paradise,Blackberry Bush,Blue Bonnet Lupine,Blueberry Bush,"
+            + "Blueberry Cheesecake Zinnia,Boston Fern,Bougainvillea,Cactus Zinnia,Caladium,"
+            + "Candy Cane Zinnia,Candytuft,Chinese Lantern,Coleus,Cosmos,Delphinium,Dianthus Spooky,"
+            + "Easter Lily,Four O'Clock,Foxglove,Ghost Orchid,Gladiolus,Heuchera,Hollyhock,Hydrangea,"
+            + "Italian White Sunflower,Lantana Trailing White,Lavender,Lemonade Cosmos,"
+            + "Lime Green Marigold,Lotus,Mammoth Sunflower,Marigold,Midnight Nigella,Moon Vine,"
+            + "Morning Glory,Mr. Lincoln Rose Bush,Nasturtium,Orchid,Pansy,Peace Rose Bush,Petunia,"
+            + "Purple Prince Zinnia,Raspberry Bush,Rosemary Bush,Snapdragon,Spider Lily,Sweet Pea,"
+            + "Tiger Lily,Tiger's Eye Sunflower,Tulip,Velvet Queen Sunflower,Viola,,Bad,false,,Average,"
+            + "false,,Good,false,,Great,false,,Magic,false,,Seed,,Seedling,,Bloomed,,Matured,,Withered,"
+            + ",Mutated,\n"
+            + "Plot=,true,true,false,\n"
+            + "PlotFlower=";
+
+    // Every shipped dictionary, oldest first; new saves use the last one
+    private static final String[] DICTIONARIES = {DICTIONARY_V1};
+
+    private static final Map<Integer, byte[]> DICTIONARIES_BY_ID = new HashMap<>();
+    private static final byte[] dictionary;
+    private static final int dictionaryId;
+
+    static {
+        byte[] bytes = null;
+        int id = 0;
+        for (String text : DICTIONARIES) {
+            bytes = text.getBytes(StandardCharsets.UTF_8);
+            Adler32 adler = new Adler32();
+            adler.update(bytes);
+            id = (int) adler.getValue();
+            DICTIONARIES_BY_ID.put(id, bytes);
+        }
+        dictionary = bytes;
+        dictionaryId = id;
+    }
+
+    /**
+     * Whether new text snapshots should be compressed
+     */
+    public static boolean isSelected() {
+        return "deflate".equalsIgnoreCase(System.getProperty(COMPRESSION_PROPERTY, "none"));
+    }
+
+    public static int getLevel() {
+        try {
+            int level = Integer.parseInt(System.getProperty(LEVEL_PROPERTY, "6"));
+            return Math.max(Deflater.NO_COMPRESSION, Math.min(Deflater.BEST_COMPRESSION, level));
+        } catch (NumberFormatException e) {
+            return Deflater.DEFAULT_COMPRESSION;
+        }
+    }
+
+    public static boolean usesDictionary() {
+        return !"false".equalsIgnoreCase(System.getProperty(DICTIONARY_PROPERTY, "true"));
+    }
+
+    /**
+     * Compresses with the level and dictionary chosen by the system properties
+     */
+    public static byte[] compress(byte[] data) {
+        return compress(data, getLevel(), usesDictionary());
+    }
+
+    public static byte[] compress(byte[] data, int level, boolean withDictionary) {
+        Deflater deflater = new Deflater(level, true);
+        try {
+            if (withDictionary) {
+                deflater.setDictionary(getDictionary());
+            }
+            deflater.setInput(data);
+            deflater.finish();
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+            out.write(MAGIC, 0, MAGIC.length);
+            out.write(VERSION);
+            out.write(withDictionary ? FLAG_DICTIONARY : 0);
+            writeInt(out, withDictionary ? dictionaryId : 0);
+            writeInt(out, data.length);
+            byte[] buffer = new byte[BUFFER_BYTES];
+            while (!deflater.finished()) {
+                int count = deflater.deflate(buffer);
+                out.write(buffer, 0, count);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Checks for the magic at the start of an in-memory save
+     */
+    public static boolean isCompressed(byte[] bytes) {
+        return bytes.length >= HEADER_BYTES
+                && bytes[0] == MAGIC[0] && bytes[1] == MAGIC[1] && bytes[2] == MAGIC[2];
+    }
+
+    public static byte[] decompress(byte[] bytes) throws IOException {
+        if (!isCompressed(bytes)) {
+            return bytes;
+        }
+        byte[] data = new byte[readInt(bytes, 9)];
+        try (InputStream in = open(new ByteArrayInputStream(bytes))) {
+            if (in.readNBytes(data, 0, data.length) != data.length) {
+                throw new EOFException("Compressed save is truncated");
+            }
+        }
+        return data;
+    }
+
+    /**
+     * Opens a save file, decompressing it if it was written compressed
+     */
+    public static InputStream open(File file) throws IOException {
+        return open(new FileInputStream(file));
+    }
+
+    /**
+     * Wraps a stream so that compressed and plain saves read the same way
+     */
+    public static InputStream open(InputStream raw) throws IOException {
+        PushbackInputStream in = new PushbackInputStream(new BufferedInputStream(raw, BUFFER_BYTES), HEADER_BYTES);
+        byte[] header = new byte[HEADER_BYTES];
+        int read = in.readNBytes(header, 0, HEADER_BYTES);
+        if (read < HEADER_BYTES || !isCompressed(header)) {
+            in.unread(header, 0, read);
+            return in;
+        }
+        if (header[3] != VERSION) {
+            in.close();
+            throw new IOException("Unsupported compressed save version " + header[3]);
+        }
+        Inflater inflater = new Inflater(true);
+        if ((header[4] & FLAG_DICTIONARY) != 0) {
+            int id = readInt(header, 5);
+            byte[] preset = DICTIONARIES_BY_ID.get(id);
+            if (preset == null) {
+                inflater.end();
+                in.close();
+                throw new IOException("Save was compressed with an unknown dictionary " + Integer.toHexString(id));
+            }
+            inflater.setDictionary(preset);
+        }
+        return new InflaterInputStream(in, inflater, BUFFER_BYTES) {
+            private boolean closed;
+
+            @Override
+            public void close() throws IOException {
+                if (!closed) {
+                    closed = true;
+                    inflater.end();
+                    super.close();
+                }
+            }
+        };
+    }
+
+    /**
+     * The dictionary new saves are compressed with
+     */
+    static byte[] getDictionary() {
+        return dictionary;
+    }
+
+    private static void writeInt(ByteArrayOutputStream out, int value) {
+        out.write(value >>> 24);
+        out.write(value >>> 16);
+        out.write(value >>> 8);
+        out.write(value);
+    }
+
+    private static int readInt(byte[] bytes, int at) {
+        return ((bytes[at] & 0xFF) << 24) | ((bytes[at + 1] & 0xFF) << 16)
+                | ((bytes[at + 2] & 0xFF) << 8) | (bytes[at + 3] & 0xFF);
+    }
+}
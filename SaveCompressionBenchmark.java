@@ -0,0 +1,93 @@
+/* SaveCompressionBenchmark.java
+ * Save size against save and load time for each compression setting, so a
+ * deployment can pick a level. "save ms" deflates the rendered text and
+ * writes it to disk; "load ms" reads it back through the same path as
+ * Journal.loadGame (inflate + SaveParser). Times are the best of --runs.
+ *
+ * Usage: java SaveCompressionBenchmark [--plots 50,5000] [--runs 7] [--seed S]
+ */
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+public class SaveCompressionBenchmark {
+    private static final String NAME = "save-compression-benchmark";
+    private static final int[] LEVELS = {1, 3, 6, 9};
+
+    public static void main(String[] args) throws Exception {
+        String plotCounts = "50,5000";
+        int runs = 7;
+        long seed = 7L;
+        for (int i = 0; i < args.length - 1; i++) {
+            switch (args[i]) {
+                case "--plots": plotCounts = args[++i]; break;
+                case "--runs": runs = Integer.parseInt(args[++i]); break;
+                case "--seed": seed = Long.parseLong(args[++i]); break;
+                default: break;
+            }
+        }
+
+        FlowerRegistry.loadFlowerData();
+        File directory = new File("saves/");
+        File output = new File(directory, NAME + ".bench");
+        try {
+            for (String count : plotCounts.split(",")) {
+                int plots = Integer.parseInt(count.trim());
+                byte[] text = renderSave(directory, plots, seed);
+                System.out.printf("%n%,d plots, %,d bytes of save text%n", plots, text.length);
+                System.out.printf("%-18s %12s %8s %10s %10s%n", "mode", "bytes", "ratio", "save ms", "load ms");
+                report("none", text, -1, false, output, runs);
+                for (int level : LEVELS) {
+                    report("deflate " + level, text, level, false, output, runs);
+                    report("deflate " + level + " +dict", text, level, true, output, runs);
+                }
+            }
+        } finally {
+            output.delete();
+            SaveLog.discard(directory, NAME);
+        }
+    }
+
+    // The exact text Journal.saveGame writes, taken from an uncompressed snapshot
+    private static byte[] renderSave(File directory, int plots, long seed) throws IOException {
+        System.setProperty(BinarySave.FORMAT_PROPERTY, "text");
+        System.setProperty(SaveCompression.COMPRESSION_PROPERTY, "none");
+        Player1 player = SaveBenchmark.buildPlayer(NAME, plots, seed);
+        for (int i = 0; i < Journal.MAX_ENTRIES; i++) {
+            Journal.addJournalEntry(player, "Benchmark note " + i);
+        }
+        Journal.resetGame(player);
+        Journal.flushSaves();
+        return Files.readAllBytes(new File(directory, NAME + SaveLog.SNAPSHOT_SUFFIX).toPath());
+    }
+
+    // level < 0 stores the text as it is
+    private static void report(String label, byte[] text, int level, boolean dictionary, File output, int runs)
+            throws IOException {
+        byte[] stored = text;
+        long bestSave = Long.MAX_VALUE;
+        long bestLoad = Long.MAX_VALUE;
+        for (int run = 0; run < runs; run++) {
+            long start = System.nanoTime();
+            if (level >= 0) {
+                stored = SaveCompression.compress(text, level, dictionary);
+            }
+            try (FileOutputStream out = new FileOutputStream(output)) {
+                out.write(stored);
+            }
+            bestSave = Math.min(bestSave, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            Player1 loaded;
+            try (Reader reader = new InputStreamReader(SaveCompression.open(output), StandardCharsets.UTF_8)) {
+                loaded = SaveParser.parse(reader, null);
+            }
+            // Touch the lazily parsed journal so both sides do the same work
+            loaded.getJournalEntries();
+            bestLoad = Math.min(bestLoad, System.nanoTime() - start);
+        }
+        System.out.printf("%-18s %,12d %8.2f %10.2f %10.2f%n", label, stored.length,
+                (double) text.length / stored.length, bestSave / 1e6, bestLoad / 1e6);
+    }
+}
@@ -0,0 +1,599 @@
+/* SaveLog.java
+ * Append-only save log: each save appends only the chunks that changed since the
+ * last one, and the log is periodically folded back into a full snapshot
+ */
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Write-ahead log sitting next to a text save. The save text is split into
+ * chunks (one per section, one per garden plot, and the journal entries as a
+ * list). Saves from Journal arrive as SaveChunks with the plots already split
+ * and unchanged plots sharing last commit's String, so only the sections
+ * outside the garden are parsed. A commit diffs the new chunks against the
+ * last persisted ones and
+ * appends a small record group to {@code <name>.wal}; once the log outgrows the
+ * snapshot it is compacted into {@code <name>.txt} (or {@code <name>.sav} when
+ * the binary format is selected) via a temp file and an atomic rename. Text
+ * snapshots are deflated when SaveCompression is selected.
+ * Loading replays the snapshot plus any committed log tail.
+ *
+ * Log format (UTF-8 lines):
+ * <pre>
+ * &#64;base &lt;generation&gt;         snapshot generation this log applies to
+ * &#64;chunk &lt;key&gt; &lt;lines&gt;      replace a chunk, followed by its lines
+ * &#64;remove &lt;key&gt;               drop a chunk
+ * &#64;journal &lt;drop&gt; &lt;append&gt;   drop oldest entries, append new ones
+ * &#64;commit                      end of one save; partial groups are ignored
+ * </pre>
+ */
+public class SaveLog {
+    public static final String SNAPSHOT_SUFFIX = ".txt";
+    public static final String LOG_SUFFIX = ".wal";
+
+    private static final String META_SECTION = "SAVE_LOG";
+    private static final String JOURNAL_SECTION = "JOURNAL_ENTRIES";
+    private static final String PLOT_SECTION = "GARDEN_PLOTS";
+    private static final String PLOT_KEY = "plot:";
+    // Rewritten by every render; logged only when the section changes otherwise
+    private static final String SAVE_DATE_KEY = "SaveDate=";
+
+    // Compact once the log is larger than the snapshot (replay would cost more
+    // than re-reading a fresh snapshot), but never below this floor
+    private static final long MIN_COMPACT_BYTES = 64 * 1024;
+    // Upper bound on commits between snapshots so replay stays short
+    private static final int MAX_COMMITS = 500;
+
+    private static final Map<String, SaveLog> OPEN_LOGS = new HashMap<>();
+
+    private final File directory;
+    private final String name;
+    private final File logFile;
+
+    private SaveState persisted;
+    private long logBytes;
+    private long snapshotBytes;
+    private int commitsSinceSnapshot;
+    private long lastCommitBytes;
+
+    private SaveLog(File directory, String name) {
+        this.directory = directory;
+        this.name = name;
+        this.logFile = new File(directory, name + LOG_SUFFIX);
+    }
+
+    /**
+     * Returns the shared log for a save, creating it on first use
+     */
+    public static synchronized SaveLog forSave(File directory, String name) {
+        String key = new File(directory, name).getPath();
+        SaveLog log = OPEN_LOGS.get(key);
+        if (log == null) {
+            log = new SaveLog(directory, name);
+            OPEN_LOGS.put(key, log);
+        }
+        return log;
+    }
+
+    /**
+     * Deletes a save's snapshot and log and forgets any cached state
+     */
+    public static synchronized void discard(File directory, String name) {
+        OPEN_LOGS.remove(new File(directory, name).getPath());
+        new File(directory, name + SNAPSHOT_SUFFIX).delete();
+        new File(directory, name + BinarySave.SUFFIX).delete();
+        new File(directory, name + LOG_SUFFIX).delete();
+    }
+
+    /**
+     * Forgets the cached state of a save, leaving its files alone; the next
+     * commit starts from a fresh snapshot
+     */
+    public static synchronized void release(File directory, String name) {
+        OPEN_LOGS.remove(new File(directory, name).getPath());
+    }
+
+    /**
+     * Whether a snapshot exists in either format
+     */
+    public static boolean snapshotExists(File directory, String name) {
+        return new File(directory, name + SNAPSHOT_SUFFIX).exists()
+                || new File(directory, name + BinarySave.SUFFIX).exists();
+    }
+
+    // The text or binary snapshot; if a crash left both behind, the newer one
+    private static File snapshotFile(File directory, String name) {
+        File text = new File(directory, name + SNAPSHOT_SUFFIX);
+        File binary = new File(directory, name + BinarySave.SUFFIX);
+        if (!binary.exists()) {
+            return text;
+        }
+        if (!text.exists() || binary.lastModified() >= text.lastModified()) {
+            return binary;
+        }
+        return text;
+    }
+
+    /**
+     * Decodes a binary snapshot directly when no log records are waiting to be
+     * replayed on top of it
+     * @return The decoded snapshot, or null if the text path has to be used
+     */
+    public static BinarySave.Decoded readBinary(File directory, String name) throws IOException {
+        File snapshot = snapshotFile(directory, name);
+        if (!BinarySave.isBinary(snapshot) || hasRecords(new File(directory, name + LOG_SUFFIX))) {
+            return null;
+        }
+        return BinarySave.load(snapshot);
+    }
+
+    // True if the log holds anything past its @base header
+    private static boolean hasRecords(File log) throws IOException {
+        if (!log.exists()) {
+            return false;
+        }
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new FileInputStream(log), StandardCharsets.UTF_8))) {
+            reader.readLine();
+            return reader.readLine() != null;
+        }
+    }
+
+    /**
+     * Opens a reader over the current save contents: the snapshot directly when
+     * there is no log, otherwise the snapshot with the log replayed on top
+     */
+    public static Reader openReader(File directory, String name) throws IOException {
+        File snapshot = snapshotFile(directory, name);
+        File log = new File(directory, name + LOG_SUFFIX);
+        if (!hasRecords(log)) {
+            return snapshotReader(snapshot);
+        }
+        SaveState state = SaveState.read(snapshot);
+        replay(state, log);
+        return new StringReader(state.render());
+    }
+
+    /**
+     * Persists a full save text, appending only what changed since the last commit
+     */
+    public void commit(String saveText) throws IOException {
+        commit(SaveChunks.ofText(saveText));
+    }
+
+    /**
+     * Persists a rendered save, appending only what changed since the last commit
+     */
+    public synchronized void commit(SaveChunks save) throws IOException {
+        SaveState next = SaveState.of(save);
+
+        // First save of the session: we do not know what the log on disk holds,
+        // so start from a fresh snapshot rather than replaying it
+        if (persisted == null) {
+            compact(next);
+            return;
+        }
+
+        StringBuilder record = new StringBuilder();
+        next.generation = persisted.generation;
+        appendDiff(persisted, next, record);
+        if (record.length() == 0) {
+            lastCommitBytes = 0;
+            return;
+        }
+        record.append("@commit\n");
+
+        byte[] bytes = record.toString().getBytes(StandardCharsets.UTF_8);
+        try (OutputStream out = new FileOutputStream(logFile, true)) {
+            out.write(bytes);
+        }
+        persisted = next;
+        logBytes += bytes.length;
+        commitsSinceSnapshot++;
+        lastCommitBytes = bytes.length;
+
+        if (logBytes > Math.max(MIN_COMPACT_BYTES, snapshotBytes)
+                || commitsSinceSnapshot >= MAX_COMMITS) {
+            compact(next);
+        }
+    }
+
+    /**
+     * Bytes written to disk by the most recent commit
+     */
+    public synchronized long getLastCommitBytes() {
+        return lastCommitBytes;
+    }
+
+    public synchronized long getLogBytes() {
+        return logBytes;
+    }
+
+    // Writes a new snapshot generation, then starts an empty log against it.
+    // A crash between the rename and the log reset leaves a log whose @base no
+    // longer matches the snapshot, so replay ignores it.
+    private void compact(SaveState state) throws IOException {
+        if (!directory.exists()) {
+            directory.mkdirs();
+        }
+
+        state.generation = persisted == null ? readGeneration() + 1 : persisted.generation + 1;
+        boolean binary = BinarySave.isSelected();
+        String text = state.render();
+        byte[] snapshot = binary ? BinarySave.encode(text) : text.getBytes(StandardCharsets.UTF_8);
+        if (!binary && SaveCompression.isSelected()) {
+            snapshot = SaveCompression.compress(snapshot);
+        }
+        File target = new File(directory, name + (binary ? BinarySave.SUFFIX : SNAPSHOT_SUFFIX));
+        File temp = new File(target.getPath() + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(temp)) {
+            out.write(snapshot);
+            out.getChannel().force(true);
+        }
+        moveAtomically(temp, target);
+        // Drop the snapshot in the other format so it cannot shadow this one
+        new File(directory, name + (binary ? SNAPSHOT_SUFFIX : BinarySave.SUFFIX)).delete();
+
+        byte[] header = ("@base " + state.generation + "\n").getBytes(StandardCharsets.UTF_8);
+        try (OutputStream out = new FileOutputStream(logFile, false)) {
+            out.write(header);
+        }
+
+        persisted = state;
+        snapshotBytes = snapshot.length;
+        logBytes = header.length;
+        commitsSinceSnapshot = 0;
+        lastCommitBytes = snapshot.length + header.length;
+    }
+
+    private long readGeneration() {
+        File snapshot = snapshotFile(directory, name);
+        if (!snapshot.exists()) {
+            return 0;
+        }
+        try {
+            return SaveState.read(snapshot).generation;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static Reader snapshotReader(File snapshot) throws IOException {
+        if (BinarySave.isBinary(snapshot)) {
+            return new StringReader(BinarySave.toText(snapshot));
+        }
+        return new InputStreamReader(SaveCompression.open(snapshot), StandardCharsets.UTF_8);
+    }
+
+    private static void moveAtomically(File from, File to) throws IOException {
+        try {
+            Files.move(from.toPath(), to.toPath(),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(from.toPath(), to.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    // A section that differs only in its SaveDate is not logged; the log can
+    // hold an older SaveDate than the persisted state until the next snapshot.
+    // Plots are compared by reference first, which settles every plot whose
+    // text came from the PlotText cache.
+    private static void appendDiff(SaveState before, SaveState after, StringBuilder out) {
+        for (Map.Entry<String, String> section : after.sections.entrySet()) {
+            String old = before.sections.get(section.getKey());
+            if (section.getValue().equals(old)
+                    || (old != null && sameExceptSaveDate(old, section.getValue()))) {
+                continue;
+            }
+            appendChunk(out, section.getKey(), section.getValue());
+        }
+        for (String key : before.sections.keySet()) {
+            if (!after.sections.containsKey(key)) {
+                out.append("@remove ").append(key).append('\n');
+            }
+        }
+        int plotSlots = Math.max(before.plots.size(), after.plots.size());
+        for (int index = 0; index < plotSlots; index++) {
+            String old = before.plot(index);
+            String plot = after.plot(index);
+            if (plot == old) {
+                continue;
+            }
+            if (plot == null) {
+                out.append("@remove ").append(PLOT_KEY).append(index).append('\n');
+            } else if (!plot.equals(old)) {
+                appendChunk(out, PLOT_KEY + index, plot);
+            }
+        }
+
+        // The journal only ever loses its oldest entries and gains new ones, so
+        // find where the old list's tail lines up with the head of the new one
+        List<String> oldEntries = before.journal;
+        List<String> newEntries = after.journal;
+        int drop = oldEntries.size();
+        for (int k = 0; k < oldEntries.size(); k++) {
+            int overlap = oldEntries.size() - k;
+            if (overlap <= newEntries.size()
+                    && oldEntries.subList(k, oldEntries.size()).equals(newEntries.subList(0, overlap))) {
+                drop = k;
+                break;
+            }
+        }
+        int kept = oldEntries.size() - drop;
+        int append = newEntries.size() - kept;
+        if (drop > 0 || append > 0) {
+            out.append("@journal ").append(drop).append(' ').append(append).append('\n');
+            for (int i = kept; i < newEntries.size(); i++) {
+                out.append(newEntries.get(i)).append('\n');
+            }
+        }
+    }
+
+    private static boolean sameExceptSaveDate(String a, String b) {
+        int da = a.indexOf('\n' + SAVE_DATE_KEY);
+        int db = b.indexOf('\n' + SAVE_DATE_KEY);
+        if (da < 0 || da != db || !a.regionMatches(0, b, 0, da)) {
+            return false;
+        }
+        int ea = a.indexOf('\n', da + 1);
+        int eb = b.indexOf('\n', db + 1);
+        if (ea < 0 || eb < 0) {
+            return ea == eb;
+        }
+        return a.length() - ea == b.length() - eb && a.regionMatches(ea, b, eb, a.length() - ea);
+    }
+
+    private static void appendChunk(StringBuilder out, String key, String text) {
+        int lines = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '\n') {
+                lines++;
+            }
+        }
+        out.append("@chunk ").append(key).append(' ').append(lines).append('\n').append(text);
+    }
+
+    // Applies every complete record group in the log; a torn tail is ignored
+    private static void replay(SaveState state, File log) throws IOException {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new FileInputStream(log), StandardCharsets.UTF_8))) {
+            String line = reader.readLine();
+            if (line == null || !line.startsWith("@base ")) {
+                return;
+            }
+            long base;
+            try {
+                base = Long.parseLong(line.substring(6).trim());
+            } catch (NumberFormatException e) {
+                return;
+            }
+            if (base != state.generation) {
+                return;
+            }
+
+            List<String[]> pending = new ArrayList<>();
+            List<List<String>> pendingLines = new ArrayList<>();
+            while ((line = reader.readLine()) != null) {
+                if (line.equals("@commit")) {
+                    for (int i = 0; i < pending.size(); i++) {
+                        state.apply(pending.get(i), pendingLines.get(i));
+                    }
+                    pending.clear();
+                    pendingLines.clear();
+                    continue;
+                }
+
+                String[] op = line.split(" ");
+                int count = 0;
+                try {
+                    if (op[0].equals("@chunk") && op.length == 3) {
+                        count = Integer.parseInt(op[2]);
+                    } else if (op[0].equals("@journal") && op.length == 3) {
+                        Integer.parseInt(op[1]);
+                        count = Integer.parseInt(op[2]);
+                    } else if (!op[0].equals("@remove") || op.length != 2) {
+                        return;
+                    }
+                } catch (NumberFormatException e) {
+                    return;
+                }
+
+                List<String> body = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    String bodyLine = reader.readLine();
+                    if (bodyLine == null) {
+                        return;
+                    }
+                    body.add(bodyLine);
+                }
+                pending.add(op);
+                pendingLines.add(body);
+            }
+        }
+    }
+
+    /**
+     * A save split into chunks: sections in file order, plots by index (null
+     * where a save has no such plot), and the journal entry lines
+     */
+    private static class SaveState {
+        long generation;
+        final LinkedHashMap<String, String> sections = new LinkedHashMap<>();
+        final ArrayList<String> plots = new ArrayList<>();
+        final List<String> journal = new ArrayList<>();
+
+        // Only the text around the plots is parsed; the plot chunks are taken as they are
+        static SaveState of(SaveChunks save) throws IOException {
+            SaveState state = parse(new BufferedReader(new StringReader(save.head + save.tail)));
+            state.plots.ensureCapacity(save.plots.length);
+            for (int i = 0; i < save.plots.length; i++) {
+                state.putPlot(i, save.plots[i]);
+            }
+            return state;
+        }
+
+        String plot(int index) {
+            return index < plots.size() ? plots.get(index) : null;
+        }
+
+        void putPlot(int index, String text) {
+            while (plots.size() <= index) {
+                plots.add(null);
+            }
+            plots.set(index, text);
+        }
+
+        void removePlot(int index) {
+            if (index < plots.size()) {
+                plots.set(index, null);
+            }
+            while (!plots.isEmpty() && plots.get(plots.size() - 1) == null) {
+                plots.remove(plots.size() - 1);
+            }
+        }
+
+        static SaveState read(File snapshot) throws IOException {
+            try (BufferedReader reader = new BufferedReader(snapshotReader(snapshot))) {
+                return parse(reader);
+            }
+        }
+
+        static SaveState parse(BufferedReader reader) throws IOException {
+            SaveState state = new SaveState();
+            String section = "";
+            StringBuilder current = null;
+            Integer currentPlot = null;
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                String trimmed = line.trim();
+                if (trimmed.startsWith("[") && trimmed.endsWith("]")) {
+                    state.flush(section, currentPlot, current);
+                    section = trimmed.substring(1, trimmed.length() - 1);
+                    currentPlot = null;
+                    current = new StringBuilder();
+                    if (!section.equals(META_SECTION) && !section.equals(JOURNAL_SECTION)) {
+                        current.append(line).append('\n');
+                    }
+                    continue;
+                }
+
+                if (section.equals(META_SECTION)) {
+                    if (trimmed.startsWith("Generation=")) {
+                        try {
+                            state.generation = Long.parseLong(trimmed.substring(11));
+                        } catch (NumberFormatException e) {
+                            state.generation = 0;
+                        }
+                    }
+                    continue;
+                }
+                if (section.equals(JOURNAL_SECTION)) {
+                    if (!trimmed.isEmpty()) {
+                        state.journal.add(line);
+                    }
+                    continue;
+                }
+                if (current == null) {
+                    continue;
+                }
+
+                if (section.equals(PLOT_SECTION)) {
+                    Integer index = plotIndex(trimmed);
+                    if (index != null && !index.equals(currentPlot)) {
+                        state.flush(section, currentPlot, current);
+                        currentPlot = index;
+                        String earlier = state.plot(index);
+                        current = new StringBuilder(earlier == null ? "" : earlier);
+                    }
+                }
+                current.append(line).append('\n');
+            }
+            state.flush(section, currentPlot, current);
+            return state;
+        }
+
+        private static Integer plotIndex(String line) {
+            int start;
+            if (line.startsWith("Plot=")) {
+                start = 5;
+            } else if (line.startsWith("PlotFlower=")) {
+                start = 11;
+            } else {
+                return null;
+            }
+            int end = line.indexOf(',', start);
+            try {
+                int index = Integer.parseInt(end < 0 ? line.substring(start) : line.substring(start, end));
+                return index < 0 ? null : index;
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        private void flush(String section, Integer plot, StringBuilder text) {
+            if (text == null || section.equals(META_SECTION) || section.equals(JOURNAL_SECTION)) {
+                return;
+            }
+            if (plot != null) {
+                putPlot(plot, text.toString());
+            } else if (!sections.containsKey(section)) {
+                sections.put(section, text.toString());
+            }
+        }
+
+        void apply(String[] op, List<String> body) {
+            StringBuilder text = new StringBuilder();
+            for (String bodyLine : body) {
+                text.append(bodyLine).append('\n');
+            }
+            switch (op[0]) {
+                case "@chunk":
+                    if (op[1].startsWith(PLOT_KEY)) {
+                        putPlot(Integer.parseInt(op[1].substring(PLOT_KEY.length())), text.toString());
+                    } else {
+                        sections.put(op[1], text.toString());
+                    }
+                    break;
+                case "@remove":
+                    if (op[1].startsWith(PLOT_KEY)) {
+                        removePlot(Integer.parseInt(op[1].substring(PLOT_KEY.length())));
+                    } else {
+                        sections.remove(op[1]);
+                    }
+                    break;
+                case "@journal":
+                    int drop = Math.min(Integer.parseInt(op[1]), journal.size());
+                    journal.subList(0, drop).clear();
+                    journal.addAll(body);
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        String render() {
+            StringBuilder out = new StringBuilder();
+            out.append('[').append(META_SECTION).append("]\n");
+            out.append("Generation=").append(generation).append('\n');
+            for (Map.Entry<String, String> section : sections.entrySet()) {
+                out.append(section.getValue());
+                if (section.getKey().equals(PLOT_SECTION)) {
+                    for (String plot : plots) {
+                        if (plot != null) {
+                            out.append(plot);
+                        }
+                    }
+                }
+            }
+            out.append('[').append(JOURNAL_SECTION).append("]\n");
+            for (String entry : journal) {
+                out.append(entry).append('\n');
+            }
+            return out.toString();
+        }
+    }
+}
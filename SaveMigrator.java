@@ -0,0 +1,153 @@
+/* SaveMigrator.java
+ * Checks every save in parallel and can rewrite each one in the current format.
+ * Each worker thread takes the next save name, reads and validates it, then
+ * drops it before taking another, so no more saves than threads are ever in
+ * memory at once.
+ *
+ * Uses the backend, format and compression selected by the usual -Dsunflower.*
+ * properties; a rewritten save is written the way the game would write it now.
+ * Saves with problems are only rewritten with --force, since the rewrite keeps
+ * what parsed and drops the rest.
+ *
+ * Usage: java SaveMigrator [--rewrite] [--force] [--threads N] [--verbose]
+ */
+
+import java.io.CharArrayWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SaveMigrator {
+    private final SaveBackend backend;
+    private final List<String> names;
+    private final boolean rewrite;
+    private final boolean force;
+    private final boolean verbose;
+
+    private final AtomicInteger next = new AtomicInteger();
+    private final AtomicInteger clean = new AtomicInteger();
+    private final AtomicInteger withProblems = new AtomicInteger();
+    private final AtomicInteger unreadable = new AtomicInteger();
+    private final AtomicInteger rewritten = new AtomicInteger();
+
+    public SaveMigrator(SaveBackend backend, List<String> names, boolean rewrite, boolean force, boolean verbose) {
+        this.backend = backend;
+        this.names = names;
+        this.rewrite = rewrite;
+        this.force = force;
+        this.verbose = verbose;
+    }
+
+    /**
+     * Runs the workers and waits for every save to be handled
+     */
+    public void run(int threads) throws InterruptedException {
+        Thread[] workers = new Thread[Math.max(1, Math.min(threads, names.size()))];
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = new Thread(this::work, "save-migrator-" + i);
+            workers[i].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+    }
+
+    private void work() {
+        int index;
+        while ((index = next.getAndIncrement()) < names.size()) {
+            String name = names.get(index);
+            try {
+                check(name);
+            } catch (IOException | RuntimeException e) {
+                unreadable.incrementAndGet();
+                report(name, "[X] unreadable: " + e.getMessage(), null);
+            } finally {
+                backend.release(name);
+            }
+        }
+    }
+
+    private void check(String name) throws IOException {
+        char[] text;
+        try (Reader reader = backend.openText(name)) {
+            if (reader == null) {
+                throw new IOException("save disappeared");
+            }
+            CharArrayWriter chars = new CharArrayWriter(16 * 1024);
+            reader.transferTo(chars);
+            text = chars.toCharArray();
+        }
+
+        List<String> problems = new ArrayList<>();
+        Player1 player = SaveParser.validate(text, text.length, problems);
+        if (player != null && !player.getName().equals(name)) {
+            problems.add("Name=" + player.getName() + " does not match the save name");
+        }
+        // Only the parsed player is needed from here on
+        text = null;
+
+        String status;
+        if (problems.isEmpty()) {
+            clean.incrementAndGet();
+            status = "ok";
+        } else {
+            withProblems.incrementAndGet();
+            status = "[!] " + problems.size() + (problems.size() == 1 ? " problem" : " problems");
+        }
+
+        if (rewrite && player != null && (problems.isEmpty() || force)) {
+            backend.write(name, Journal.renderSave(player));
+            rewritten.incrementAndGet();
+            status += ", rewritten";
+        }
+        if (verbose || !problems.isEmpty()) {
+            report(name, status, problems);
+        }
+    }
+
+    private synchronized void report(String name, String status, List<String> problems) {
+        System.out.println(name + ": " + status);
+        if (problems != null) {
+            for (String problem : problems) {
+                System.out.println("    " + problem);
+            }
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        boolean rewrite = false;
+        boolean force = false;
+        boolean verbose = false;
+        int threads = Runtime.getRuntime().availableProcessors();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--rewrite": rewrite = true; break;
+                case "--force": force = true; break;
+                case "--verbose": verbose = true; break;
+                case "--threads":
+                    if (i + 1 < args.length) threads = Integer.parseInt(args[++i]);
+                    break;
+                default:
+                    System.out.println("Usage: java SaveMigrator [--rewrite] [--force] [--threads N] [--verbose]");
+                    return;
+            }
+        }
+
+        FlowerRegistry.loadFlowerData();
+        SaveBackend backend = Journal.getBackend();
+        List<String> names = backend.list();
+
+        long start = System.nanoTime();
+        SaveMigrator migrator = new SaveMigrator(backend, names, rewrite, force, verbose);
+        migrator.run(threads);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.println("Checked " + names.size() + " saves in " + elapsedMs + " ms on "
+                + Math.max(1, Math.min(threads, names.size())) + " threads: "
+                + migrator.clean.get() + " ok, " + migrator.withProblems.get() + " with problems, "
+                + migrator.unreadable.get() + " unreadable"
+                + (rewrite ? ", " + migrator.rewritten.get() + " rewritten" : ""));
+    }
+}
@@ -0,0 +1,1035 @@
+/* SaveParser.java
+ * Single-pass, table-driven parser for the text save format
+ */
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.*;
+
+/**
+ * Reads a whole save into a char buffer and walks it once. Section headers
+ * and keys are looked up in small hash tables straight from the buffer,
+ * numbers are parsed in place, and flower names, stages and soils resolve to
+ * shared strings and enums, so a plot line allocates only the objects the
+ * game keeps. Every structure (plots, mantle bouquets, auction house) is built
+ * exactly once, as soon as its lines have been read.
+ *
+ * Sections the game may never touch in a session (journal, dreams, hints,
+ * known bouquets, mantle bouquets, auction house) are not parsed up front:
+ * their lines are copied aside and handed to the player as a
+ * {@link Player1.SectionLoader}, which parses each one on first access.
+ * Until then Journal.renderSave copies a section's lines back out as they
+ * were read.
+ *
+ * Accepts the same input as the old line-by-line loader, with three fixes:
+ * HasCraftedMantle, HasCollectedEarnings and RecognitionBonusApplied are
+ * read from after their '=' (the old offsets were one short and always read
+ * false), MantleFlower lines no longer fail the whole load, and mantle
+ * bouquets are added once instead of up to three times.
+ */
+public class SaveParser {
+    public static final int MAX_PROBLEMS = 100;
+    private static final int MAX_FIELDS = 16;
+
+    // Sections
+    private static final int S_NONE = 0;
+    private static final int S_PLAYER = 1;
+    private static final int S_DREAMS = 2;
+    private static final int S_HINTS = 3;
+    private static final int S_INVENTORY = 4;
+    private static final int S_AUCTION = 5;
+    private static final int S_KNOWN_BOUQUETS = 6;
+    private static final int S_MANTLE = 7;
+    private static final int S_PLOTS = 8;
+    private static final int S_JOURNAL = 9;
+
+    // Keys
+    private static final int K_NAME = 1;
+    private static final int K_NRG = 2;
+    private static final int K_CREDITS = 3;
+    private static final int K_DAY = 4;
+    private static final int K_FLOWER_POTS_CRAFTED = 5;
+    private static final int K_HAS_BUILT_EXTRA_PLOT = 6;
+    private static final int K_HAS_COMPOST_BIN = 7;
+    private static final int K_COMPOST_WITHERED_COUNT = 8;
+    private static final int K_HAS_MULCHER = 9;
+    private static final int K_MULCHER_DAYS_REMAINING = 10;
+    private static final int K_HAS_SPRINKLER_SYSTEM = 11;
+    private static final int K_GREENHOUSE_COUNT = 12;
+    private static final int K_HAS_DRIP_IRRIGATION_LINES = 13;
+    private static final int K_HAS_GROW_LIGHT = 14;
+    private static final int K_HAS_SEED_STARTING_TRAY = 15;
+    private static final int K_HAS_HEAT_LAMP = 16;
+    private static final int K_HAS_BUZZSAW = 17;
+    private static final int K_HAS_CRAFTED_MANTLE = 18;
+    private static final int K_HAS_PLACED_MANTLE = 19;
+    private static final int K_DREAM = 20;
+    private static final int K_HINT = 21;
+    private static final int K_FLOWER = 22;
+    private static final int K_FLOWER_POT = 23;
+    private static final int K_ACTIVE_AUCTION = 24;
+    private static final int K_AUCTION_START_DAY = 25;
+    private static final int K_CURRENT_BID = 26;
+    private static final int K_BOUQUET_NAME = 27;
+    private static final int K_BOUQUET_DAY_CREATED = 28;
+    private static final int K_BOUQUET_FLOWER = 29;
+    private static final int K_APPLIED_MULTIPLIER = 30;
+    private static final int K_UNCOLLECTED_EARNINGS = 31;
+    private static final int K_HAS_COLLECTED_EARNINGS = 32;
+    private static final int K_RECOGNITION_BONUS_APPLIED = 33;
+    private static final int K_COMPOSITION = 34;
+    private static final int K_MANTLE_BOUQUET = 35;
+    private static final int K_MANTLE_FLOWER = 36;
+    private static final int K_PLOT_COUNT = 37;
+    private static final int K_PLOT = 38;
+    private static final int K_PLOT_FLOWER = 39;
+    private static final int K_ENTRY = 40;
+    // Written for reference only; known so validate() does not flag them
+    private static final int K_SAVE_DATE = 41;
+    private static final int K_DISPLAYED_COUNT = 42;
+    private static final int K_ARCHIVED_ENTRIES = 43;
+
+    private static final KeyTable SECTIONS = new KeyTable()
+            .add("PLAYER", S_PLAYER)
+            .add("UNLOCKED_DREAMS", S_DREAMS)
+            .add("UNLOCKED_HINTS", S_HINTS)
+            .add("INVENTORY", S_INVENTORY)
+            .add("AUCTION_HOUSE", S_AUCTION)
+            .add("KNOWN_BOUQUETS", S_KNOWN_BOUQUETS)
+            .add("MANTLE_DISPLAY", S_MANTLE)
+            .add("GARDEN_PLOTS", S_PLOTS)
+            .add("JOURNAL_ENTRIES", S_JOURNAL)
+            // SaveLog's generation header; nothing in it is part of the player
+            .add("SAVE_LOG", S_NONE);
+
+    // Indexed by section id
+    private static final KeyTable[] KEYS = {
+        new KeyTable(),
+        new KeyTable()
+            .add("Name", K_NAME)
+            .add("NRG", K_NRG)
+            .add("Credits", K_CREDITS)
+            .add("Day", K_DAY)
+            .add("FlowerPotsCrafted", K_FLOWER_POTS_CRAFTED)
+            .add("HasBuiltExtraPlot", K_HAS_BUILT_EXTRA_PLOT)
+            .add("HasCompostBin", K_HAS_COMPOST_BIN)
+            .add("CompostWitheredCount", K_COMPOST_WITHERED_COUNT)
+            .add("HasMulcher", K_HAS_MULCHER)
+            .add("MulcherDaysRemaining", K_MULCHER_DAYS_REMAINING)
+            .add("HasSprinklerSystem", K_HAS_SPRINKLER_SYSTEM)
+            .add("GreenhouseCount", K_GREENHOUSE_COUNT)
+            .add("HasDripIrrigationLines", K_HAS_DRIP_IRRIGATION_LINES)
+            .add("HasGrowLight", K_HAS_GROW_LIGHT)
+            .add("HasSeedStartingTray", K_HAS_SEED_STARTING_TRAY)
+            .add("HasHeatLamp", K_HAS_HEAT_LAMP)
+            .add("HasBuzzsaw", K_HAS_BUZZSAW)
+            .add("HasCraftedMantle", K_HAS_CRAFTED_MANTLE)
+            .add("HasPlacedMantle", K_HAS_PLACED_MANTLE)
+            .add("SaveDate", K_SAVE_DATE)
+            .add("ArchivedEntries", K_ARCHIVED_ENTRIES),
+        new KeyTable().add("Dream", K_DREAM),
+        new KeyTable().add("Hint", K_HINT),
+        new KeyTable()
+            .add("Flower", K_FLOWER)
+            .add("FlowerPot", K_FLOWER_POT),
+        new KeyTable()
+            .add("ActiveAuction", K_ACTIVE_AUCTION)
+            .add("AuctionStartDay", K_AUCTION_START_DAY)
+            .add("CurrentBid", K_CURRENT_BID)
+            .add("BouquetName", K_BOUQUET_NAME)
+            .add("BouquetDayCreated", K_BOUQUET_DAY_CREATED)
+            .add("BouquetFlower", K_BOUQUET_FLOWER)
+            .add("AppliedMultiplier", K_APPLIED_MULTIPLIER)
+            .add("UncollectedEarnings", K_UNCOLLECTED_EARNINGS)
+            .add("HasCollectedEarnings", K_HAS_COLLECTED_EARNINGS)
+            .add("RecognitionBonusApplied", K_RECOGNITION_BONUS_APPLIED),
+        new KeyTable().add("Composition", K_COMPOSITION),
+        new KeyTable()
+            .add("MantleBouquet", K_MANTLE_BOUQUET)
+            .add("MantleFlower", K_MANTLE_FLOWER)
+            .add("DisplayedCount", K_DISPLAYED_COUNT),
+        new KeyTable()
+            .add("PlotCount", K_PLOT_COUNT)
+            .add("Plot", K_PLOT)
+            .add("PlotFlower", K_PLOT_FLOWER),
+        new KeyTable().add("Entry", K_ENTRY),
+    };
+
+    private static final KeyTable STAGES = new KeyTable();
+    private static final KeyTable SOILS = new KeyTable();
+    static {
+        for (GrowthStage stage : GrowthStage.values()) {
+            STAGES.add(stage.getDisplayName(), stage.getCode());
+        }
+        for (SoilQuality soil : SoilQuality.values()) {
+            SOILS.add(soil.getDisplayName(), soil.getCode());
+        }
+    }
+
+    private static final double[] POW10 = new double[23];
+    static {
+        POW10[0] = 1;
+        for (int i = 1; i < POW10.length; i++) {
+            POW10[i] = POW10[i - 1] * 10;
+        }
+    }
+
+    // Lazy section for each section id, or null for sections parsed right away
+    private static final Player1.LazySection[] LAZY = new Player1.LazySection[S_JOURNAL + 1];
+    static {
+        LAZY[S_DREAMS] = Player1.LazySection.DREAMS;
+        LAZY[S_HINTS] = Player1.LazySection.HINTS;
+        LAZY[S_AUCTION] = Player1.LazySection.AUCTION;
+        LAZY[S_KNOWN_BOUQUETS] = Player1.LazySection.BOUQUETS;
+        LAZY[S_MANTLE] = Player1.LazySection.MANTLE;
+        LAZY[S_JOURNAL] = Player1.LazySection.JOURNAL;
+    }
+
+    private final char[] buf;
+    private final int length;
+    // Lines of lazy sections, kept aside instead of parsed; null when parsing everything
+    private final StringBuilder[] deferred;
+    // Default creation day for mantle bouquets: the saved day, not the current one
+    private int mantleDay;
+    private final int[] fieldFrom = new int[MAX_FIELDS];
+    private final int[] fieldTo = new int[MAX_FIELDS];
+    private final StringPool names = new StringPool();
+    // Problems found by validate(); null when loading normally
+    private List<String> problems;
+    private int problemCount;
+    private int lineNumber;
+    private int plotLines;
+
+    // Everything below is filled in as lines arrive
+    private Player1 player;
+    private gardenPlot[] plots;
+    private boolean sawPlot;
+    private final JournalRing journalEntries = new JournalRing(Journal.MAX_ENTRIES);
+    // Saved entries older than the ring, still to be archived
+    private final List<JournalEntry> journalSpill = new ArrayList<>();
+    private final Set<String> unlockedDreams = new HashSet<>();
+    private final Set<String> unlockedHints = new HashSet<>();
+    private final Map<String, String> knownBouquetCompositions = new HashMap<>();
+    private final Map<String, Integer> bouquetHighScores = new HashMap<>();
+    private final List<MantleSlot> mantleSlots = new ArrayList<>();
+
+    private boolean hasActiveAuction = false;
+    private int auctionStartDay = -1;
+    private double currentBid = 0;
+    private double uncollectedEarnings = 0;
+    private boolean hasCollectedEarnings = true;
+    private boolean recognitionBonusApplied = false;
+    private String auctionBouquetName = null;
+    private int auctionBouquetDayCreated = -1;
+    private final List<Flower> auctionBouquetFlowers = new ArrayList<>();
+    private final List<String> auctionAppliedMultipliers = new ArrayList<>();
+
+    private static class MantleSlot {
+        List<Flower> flowers = new ArrayList<>();
+        String customName;
+        Integer dayCreated;
+    }
+
+    private SaveParser(char[] buf, int length, boolean lazy) {
+        this.buf = buf;
+        this.length = length;
+        this.deferred = lazy ? new StringBuilder[LAZY.length] : null;
+    }
+
+    /**
+     * Parses a text save
+     * @param decodedPlots Plots already built by the binary loader, or null
+     * @return The player, or null if the save has no Name line
+     * @throws NumberFormatException on a malformed number, like the old loader
+     */
+    public static Player1 parse(Reader reader, List<gardenPlot> decodedPlots) throws IOException {
+        char[] buf = new char[64 * 1024];
+        int length = 0;
+        int read;
+        while ((read = reader.read(buf, length, buf.length - length)) > 0) {
+            length += read;
+            if (length == buf.length) {
+                buf = Arrays.copyOf(buf, buf.length * 2);
+            }
+        }
+        return new SaveParser(buf, length, true).run(decodedPlots);
+    }
+
+    /**
+     * Parses a save already held in memory
+     */
+    public static Player1 parse(char[] buf, int length, List<gardenPlot> decodedPlots) {
+        return new SaveParser(buf, length, true).run(decodedPlots);
+    }
+
+    /**
+     * Parses a save eagerly and reports what a normal load would silently
+     * skip or fail on: malformed and unknown lines, bad numbers, plot count
+     * mismatches and flower names missing from FlowerRegistry
+     * @param problems Receives one line per problem, at most MAX_PROBLEMS
+     * @return The player as the game would load it, or null if it has no Name line
+     */
+    public static Player1 validate(char[] buf, int length, List<String> problems) {
+        SaveParser parser = new SaveParser(buf, length, false);
+        parser.problems = problems;
+        Player1 player = parser.run(null);
+        parser.lineNumber = 0;
+        if (player == null) {
+            parser.problem("no Name line in [PLAYER]");
+        }
+        if (parser.plots != null && parser.plotLines != parser.plots.length) {
+            parser.problem("PlotCount=" + parser.plots.length + " but " + parser.plotLines + " Plot lines");
+        } else if (parser.plots == null && parser.sawPlot) {
+            parser.problem("Plot lines without a PlotCount line");
+        }
+        if (parser.problemCount > MAX_PROBLEMS) {
+            problems.add("... and " + (parser.problemCount - MAX_PROBLEMS) + " more");
+        }
+        return player;
+    }
+
+    private void problem(String message) {
+        if (problems != null && ++problemCount <= MAX_PROBLEMS) {
+            problems.add(lineNumber > 0 ? "line " + lineNumber + ": " + message : message);
+        }
+    }
+
+    private void malformed(int from, int to, String why) {
+        if (problems != null) {
+            problem(why + ": " + new String(buf, from, to - from));
+        }
+    }
+
+    private Player1 run(List<gardenPlot> decodedPlots) {
+        scan();
+        return finish(decodedPlots);
+    }
+
+    private void scan() {
+        int section = S_NONE;
+        int pos = 0;
+        while (pos < length) {
+            int lineEnd = pos;
+            while (lineEnd < length && buf[lineEnd] != '\n') {
+                lineEnd++;
+            }
+            int from = pos;
+            int to = lineEnd;
+            pos = lineEnd + 1;
+            lineNumber++;
+
+            // Same trimming as String.trim()
+            while (from < to && buf[from] <= ' ') from++;
+            while (to > from && buf[to - 1] <= ' ') to--;
+            if (from == to) {
+                continue;
+            }
+
+            if (buf[from] == '[' && buf[to - 1] == ']') {
+                section = SECTIONS.lookup(buf, from + 1, to - 1);
+                if (section < 0) {
+                    malformed(from, to, "unknown section");
+                    section = S_NONE;
+                }
+                continue;
+            }
+            if (section == S_NONE) {
+                continue;
+            }
+            if (deferred != null && LAZY[section] != null) {
+                defer(section, from, to);
+                continue;
+            }
+
+            int eq = from;
+            while (eq < to && buf[eq] != '=') {
+                eq++;
+            }
+            if (eq == to) {
+                malformed(from, to, "no '='");
+                continue;
+            }
+            int key = KEYS[section].lookup(buf, from, eq);
+            if (key <= 0) {
+                malformed(from, to, "unknown key");
+            } else if (problems == null) {
+                handle(key, eq + 1, to);
+            } else {
+                try {
+                    handle(key, eq + 1, to);
+                } catch (NumberFormatException e) {
+                    malformed(from, to, "bad number (" + e.getMessage() + ")");
+                }
+            }
+        }
+    }
+
+    private void defer(int section, int from, int to) {
+        // Journal and mantle lines before the Name line are ignored when parsed
+        // eagerly, so they are not kept either
+        if (player == null && (section == S_JOURNAL || section == S_MANTLE)) {
+            return;
+        }
+        if (deferred[section] == null) {
+            deferred[section] = new StringBuilder()
+                    .append('[').append(SECTIONS.nameOf(section)).append("]\n");
+        }
+        deferred[section].append(buf, from, to - from).append('\n');
+    }
+
+    private void handle(int key, int v, int end) {
+        if (key == K_NAME) {
+            player = new Player1(new String(buf, v, end - v));
+            return;
+        }
+
+        switch (key) {
+            // Player-scoped lines are ignored until the Name line creates the player
+            case K_NRG: if (player != null) player.setNRG(parseInt(v, end)); break;
+            case K_CREDITS: if (player != null) player.setCredits(parseInt(v, end)); break;
+            case K_DAY: if (player != null) player.setDay(parseInt(v, end)); break;
+            case K_FLOWER_POTS_CRAFTED: if (player != null) player.setFlowerPotsCrafted(parseInt(v, end)); break;
+            case K_HAS_BUILT_EXTRA_PLOT: if (player != null) player.setHasBuiltExtraPlot(parseBoolean(v, end)); break;
+            case K_HAS_COMPOST_BIN: if (player != null) player.setHasCompostBin(parseBoolean(v, end)); break;
+            case K_COMPOST_WITHERED_COUNT: if (player != null) player.setCompostWitheredCount(parseInt(v, end)); break;
+            case K_HAS_MULCHER: if (player != null) player.setHasMulcher(parseBoolean(v, end)); break;
+            case K_MULCHER_DAYS_REMAINING: if (player != null) player.setMulcherDaysRemaining(parseInt(v, end)); break;
+            case K_HAS_SPRINKLER_SYSTEM: if (player != null) player.setHasSprinklerSystem(parseBoolean(v, end)); break;
+            case K_GREENHOUSE_COUNT: if (player != null) player.setGreenhouseCount(parseInt(v, end)); break;
+            case K_HAS_DRIP_IRRIGATION_LINES: if (player != null) player.setHasDripIrrigationLines(parseBoolean(v, end)); break;
+            case K_HAS_GROW_LIGHT: if (player != null) player.setHasGrowLight(parseBoolean(v, end)); break;
+            case K_HAS_SEED_STARTING_TRAY: if (player != null) player.setHasSeedStartingTray(parseBoolean(v, end)); break;
+            case K_HAS_HEAT_LAMP: if (player != null) player.setHasHeatLamp(parseBoolean(v, end)); break;
+            case K_HAS_BUZZSAW: if (player != null) player.setHasBuzzsaw(parseBoolean(v, end)); break;
+            case K_HAS_CRAFTED_MANTLE: if (player != null) player.setHasCraftedMantle(parseBoolean(v, end)); break;
+            case K_ARCHIVED_ENTRIES: if (player != null) player.setArchivedEntryCount(parseInt(v, end)); break;
+            case K_HAS_PLACED_MANTLE:
+                if (player != null && parseBoolean(v, end)) {
+                    player.setPlacedMantle(new Mantle());
+                }
+                break;
+
+            case K_DREAM: unlockedDreams.add(new String(buf, v, end - v)); break;
+            case K_HINT: unlockedHints.add(new String(buf, v, end - v)); break;
+
+            case K_FLOWER:
+                if (player != null && fields(v, end, 5)) {
+                    player.addToInventory(flower(0));
+                }
+                break;
+            case K_FLOWER_POT:
+                if (player != null && startsWith(v, end, "empty")) {
+                    player.addToInventory(new gardenPlot(true));
+                }
+                break;
+
+            case K_ACTIVE_AUCTION: hasActiveAuction = parseBoolean(v, end); break;
+            case K_AUCTION_START_DAY: auctionStartDay = parseInt(v, end); break;
+            case K_CURRENT_BID: currentBid = parseDouble(v, end); break;
+            case K_BOUQUET_NAME: auctionBouquetName = new String(buf, v, end - v); break;
+            case K_BOUQUET_DAY_CREATED: auctionBouquetDayCreated = parseInt(v, end); break;
+            case K_BOUQUET_FLOWER:
+                if (fields(v, end, 6)) {
+                    auctionBouquetFlowers.add(flower(1));
+                }
+                break;
+            case K_APPLIED_MULTIPLIER: auctionAppliedMultipliers.add(new String(buf, v, end - v)); break;
+            case K_UNCOLLECTED_EARNINGS:
+                uncollectedEarnings = parseDouble(v, end);
+                hasCollectedEarnings = false;
+                break;
+            case K_HAS_COLLECTED_EARNINGS: hasCollectedEarnings = parseBoolean(v, end); break;
+            case K_RECOGNITION_BONUS_APPLIED: recognitionBonusApplied = parseBoolean(v, end); break;
+
+            case K_COMPOSITION: composition(v, end); break;
+
+            case K_MANTLE_BOUQUET:
+                if (player != null && fields(v, end, 3)) {
+                    MantleSlot slot = mantleSlot(fieldInt(0));
+                    slot.dayCreated = fieldInt(2);
+                    if (fieldCount >= 4 && fieldTo[3] > fieldFrom[3]) {
+                        slot.customName = field(3);
+                    }
+                }
+                break;
+            case K_MANTLE_FLOWER:
+                if (player != null && fields(v, end, 7)) {
+                    mantleSlot(fieldInt(0)).flowers.add(flower(2));
+                }
+                break;
+
+            case K_PLOT_COUNT:
+                plots = new gardenPlot[Math.max(0, parseInt(v, end))];
+                break;
+            case K_PLOT:
+                if (fields(v, end, 5)) {
+                    plot();
+                }
+                break;
+            case K_PLOT_FLOWER:
+                if (fields(v, end, 6)) {
+                    int index = fieldInt(0);
+                    if (plots != null && index >= 0 && index < plots.length && plots[index] != null) {
+                        plots[index].forcePlantFlower(flower(1));
+                    } else {
+                        malformed(v, end, "PlotFlower for a missing plot");
+                    }
+                }
+                break;
+
+            case K_ENTRY:
+                if (player != null) {
+                    entry(v, end);
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    // Splits the value and checks it has at least `required` fields
+    private boolean fields(int v, int end, int required) {
+        if (split(v, end, MAX_FIELDS) >= required) {
+            return true;
+        }
+        malformed(v, end, "expected " + required + " fields");
+        return false;
+    }
+
+    private void plot() {
+        int index = fieldInt(0);
+        sawPlot = true;
+        gardenPlot plot = new gardenPlot(fieldCount >= 6 && fieldBoolean(5));
+        int soil = SOILS.lookup(buf, fieldFrom[4], fieldTo[4]);
+        plot.setSoil(soil >= 0 ? SoilQuality.fromCode(soil) : SoilQuality.AVERAGE);
+        plot.setWatered(fieldBoolean(1));
+        plot.setWeeded(fieldBoolean(2));
+        plot.setFertilized(fieldBoolean(3));
+        plot.setConsecutiveDaysWithoutWater(fieldCount >= 7 ? fieldInt(6) : 0);
+        if (plots != null && index >= 0 && index < plots.length) {
+            plots[index] = plot;
+        } else {
+            problem("plot index " + index + " outside PlotCount");
+        }
+        if (problems != null) {
+            plotLines++;
+            if (soil < 0) {
+                problem("unknown soil " + field(4));
+            }
+        }
+    }
+
+    // name, stage, days planted, durability, cost[, NRG] starting at field `first`
+    private FlowerInstance flower(int first) {
+        String name = names.get(buf, fieldFrom[first], fieldTo[first]);
+        int stage = STAGES.lookup(buf, fieldFrom[first + 1], fieldTo[first + 1]);
+        int daysPlanted = fieldInt(first + 2);
+        double durability = fieldDouble(first + 3);
+        double cost = fieldDouble(first + 4);
+        int nrgRestored = fieldCount >= first + 6 ? fieldInt(first + 5) : 1;
+        if (problems != null) {
+            if (!FlowerRegistry.flowerExists(name)) {
+                problem("unknown flower " + name);
+            }
+            if (stage < 0) {
+                problem("unknown growth stage " + field(first + 1) + " (read as Seed)");
+            }
+        }
+        // Flower only accepts known stages; an unknown one starts over as a seed
+        GrowthStage growthStage = stage >= 0 ? GrowthStage.fromCode(stage) : GrowthStage.SEED;
+        return new FlowerInstance(name, growthStage.getDisplayName(), daysPlanted, durability, nrgRestored, cost);
+    }
+
+    // Entry=day,date,message
+    private void entry(int v, int end) {
+        int c1 = indexOf(',', v, end);
+        int c2 = c1 < 0 ? -1 : indexOf(',', c1 + 1, end);
+        if (c2 < 0) {
+            malformed(v, end, "expected day,date,message");
+            return;
+        }
+        if (!isInteger(v, c1)) {
+            malformed(v, end, "bad journal day");
+            return;
+        }
+        if (journalEntries.size() == journalEntries.getCapacity()) {
+            journalSpill.add(journalEntries.getEntry(0));
+        }
+        journalEntries.addEntry(JournalEntry.fromSave(parseInt(v, c1),
+                new String(buf, c1 + 1, c2 - c1 - 1), new String(buf, c2 + 1, end - c2 - 1)));
+    }
+
+    // Composition=signature,name[,highScore]; the signature may itself contain commas
+    private void composition(int v, int end) {
+        int to = end;
+        Integer highScore = null;
+        int lastComma = lastIndexOf(',', v, to);
+        if (lastComma > v && isInteger(lastComma + 1, to)) {
+            highScore = parseInt(lastComma + 1, to);
+            to = lastComma;
+        }
+        int separator = lastIndexOf(',', v, to);
+        if (separator > v) {
+            String signature = new String(buf, v, separator - v);
+            knownBouquetCompositions.put(signature, new String(buf, separator + 1, to - separator - 1));
+            if (highScore != null) {
+                bouquetHighScores.put(signature, highScore);
+            }
+        }
+    }
+
+    private MantleSlot mantleSlot(int index) {
+        if (index < 0) {
+            throw new NumberFormatException("Negative mantle bouquet index " + index);
+        }
+        while (mantleSlots.size() <= index) {
+            mantleSlots.add(null);
+        }
+        MantleSlot slot = mantleSlots.get(index);
+        if (slot == null) {
+            slot = new MantleSlot();
+            mantleSlots.set(index, slot);
+        }
+        return slot;
+    }
+
+    private Player1 finish(List<gardenPlot> decodedPlots) {
+        if (player == null) {
+            return null;
+        }
+
+        List<gardenPlot> playerPlots = player.getGardenPlots();
+        if (decodedPlots != null && !decodedPlots.isEmpty()) {
+            playerPlots.clear();
+            playerPlots.addAll(decodedPlots);
+        } else if (sawPlot) {
+            playerPlots.clear();
+            if (plots != null) {
+                for (gardenPlot plot : plots) {
+                    playerPlots.add(plot != null ? plot : new gardenPlot());
+                }
+            }
+        }
+
+        mantleDay = player.getDay();
+        Set<Player1.LazySection> lazy = EnumSet.noneOf(Player1.LazySection.class);
+        char[][] texts = new char[LAZY.length][];
+        for (int section = 0; section < LAZY.length; section++) {
+            // Without a placed mantle the mantle lines are never used
+            if (deferred != null && deferred[section] != null
+                    && (section != S_MANTLE || player.hasPlacedMantle())) {
+                lazy.add(LAZY[section]);
+                texts[section] = deferred[section].toString().toCharArray();
+            } else if (LAZY[section] != null) {
+                apply(section);
+            }
+        }
+        player.deferSections(new DeferredSections(texts, mantleDay), lazy);
+
+        return player;
+    }
+
+    /**
+     * Moves what was read for one section into the player
+     */
+    private void apply(int section) {
+        switch (section) {
+            case S_JOURNAL:
+                // The newest Journal.MAX_ENTRIES fill the ring; older ones wait for the archive
+                if (!journalEntries.isEmpty()) {
+                    player.setJournal(journalEntries);
+                }
+                if (!journalSpill.isEmpty()) {
+                    player.setJournalSpill(journalSpill);
+                }
+                break;
+            case S_DREAMS:
+                if (!unlockedDreams.isEmpty()) {
+                    player.setUnlockedDreams(unlockedDreams);
+                }
+                break;
+            case S_HINTS:
+                if (!unlockedHints.isEmpty()) {
+                    player.setUnlockedHints(unlockedHints);
+                }
+                break;
+            case S_MANTLE:
+                if (player.hasPlacedMantle()) {
+                    Mantle mantle = player.getPlacedMantle();
+                    for (MantleSlot slot : mantleSlots) {
+                        if (slot != null && !slot.flowers.isEmpty()) {
+                            int day = slot.dayCreated != null ? slot.dayCreated : mantleDay;
+                            mantle.addBouquet(new Bouquet(slot.flowers, slot.customName, day));
+                        }
+                    }
+                }
+                break;
+            case S_KNOWN_BOUQUETS:
+                if (!knownBouquetCompositions.isEmpty()) {
+                    player.setKnownBouquetCompositions(knownBouquetCompositions);
+                }
+                if (!bouquetHighScores.isEmpty()) {
+                    player.setBouquetHighScores(bouquetHighScores);
+                }
+                break;
+            case S_AUCTION:
+                AuctionHouse auctionHouse = new AuctionHouse();
+                auctionHouse.setHasCollectedEarnings(hasCollectedEarnings);
+                auctionHouse.setRecognitionBonusApplied(recognitionBonusApplied);
+                if (uncollectedEarnings > 0) {
+                    auctionHouse.setEarningsWaiting(uncollectedEarnings);
+                    auctionHouse.setHasCollectedEarnings(false);
+                }
+                if (hasActiveAuction && !auctionBouquetFlowers.isEmpty()) {
+                    int dayCreated = (auctionBouquetDayCreated > 0) ? auctionBouquetDayCreated : auctionStartDay;
+                    Bouquet currentBouquet = new Bouquet(auctionBouquetFlowers, auctionBouquetName, dayCreated);
+                    auctionHouse.setCurrentBouquet(currentBouquet);
+                    auctionHouse.setAuctionStartDay(auctionStartDay);
+                    auctionHouse.setCurrentBid(currentBid);
+                    auctionHouse.setAppliedMultipliers(auctionAppliedMultipliers);
+                }
+                player.setAuctionHouse(auctionHouse);
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * The lines of each deferred section, parsed into the player on first access
+     */
+    private static final class DeferredSections implements Player1.SectionLoader {
+        private final char[][] texts;
+        private final int mantleDay;
+
+        DeferredSections(char[][] texts, int mantleDay) {
+            this.texts = texts;
+            this.mantleDay = mantleDay;
+        }
+
+        @Override
+        public void load(Player1 player, Player1.LazySection lazySection) {
+            int section = sectionOf(lazySection);
+            char[] text = texts[section];
+            texts[section] = null;
+            SaveParser parser = new SaveParser(text, text.length, false);
+            parser.player = player;
+            parser.mantleDay = mantleDay;
+            try {
+                parser.scan();
+            } catch (NumberFormatException e) {
+                // The rest of the save already loaded; keep what parsed cleanly
+                System.out.println("[X] Error loading saved " + lazySection.name().toLowerCase()
+                        + ": " + e.getMessage());
+            }
+            parser.apply(section);
+        }
+
+        @Override
+        public char[] getText(Player1.LazySection lazySection) {
+            return texts[sectionOf(lazySection)];
+        }
+
+        private static int sectionOf(Player1.LazySection lazySection) {
+            for (int section = 0; section < LAZY.length; section++) {
+                if (LAZY[section] == lazySection) {
+                    return section;
+                }
+            }
+            throw new IllegalArgumentException(lazySection.name());
+        }
+    }
+
+    // ---------------------------------------------------------------- fields
+
+    private int fieldCount;
+
+    /**
+     * Splits [from, to) on commas into the field arrays. Like String.split,
+     * trailing empty fields are dropped.
+     */
+    private int split(int from, int to, int limit) {
+        int count = 0;
+        int start = from;
+        for (int i = from; i < to && count < limit - 1; i++) {
+            if (buf[i] == ',') {
+                fieldFrom[count] = start;
+                fieldTo[count] = i;
+                count++;
+                start = i + 1;
+            }
+        }
+        fieldFrom[count] = start;
+        fieldTo[count] = to;
+        count++;
+        while (count > 0 && fieldFrom[count - 1] == fieldTo[count - 1]) {
+            count--;
+        }
+        fieldCount = count;
+        return count;
+    }
+
+    private String field(int i) {
+        return new String(buf, fieldFrom[i], fieldTo[i] - fieldFrom[i]);
+    }
+
+    private int fieldInt(int i) {
+        return parseInt(fieldFrom[i], fieldTo[i]);
+    }
+
+    private double fieldDouble(int i) {
+        return parseDouble(fieldFrom[i], fieldTo[i]);
+    }
+
+    private boolean fieldBoolean(int i) {
+        return parseBoolean(fieldFrom[i], fieldTo[i]);
+    }
+
+    // ---------------------------------------------------------------- scalars
+
+    private int parseInt(int from, int to) {
+        int i = from;
+        boolean negative = false;
+        if (i < to && (buf[i] == '-' || buf[i] == '+')) {
+            negative = buf[i] == '-';
+            i++;
+        }
+        if (i == to) {
+            throw badNumber(from, to);
+        }
+        long value = 0;
+        for (; i < to; i++) {
+            int digit = buf[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw badNumber(from, to);
+            }
+            value = value * 10 + digit;
+            if (value > (long) Integer.MAX_VALUE + 1) {
+                throw badNumber(from, to);
+            }
+        }
+        value = negative ? -value : value;
+        if (value > Integer.MAX_VALUE) {
+            throw badNumber(from, to);
+        }
+        return (int) value;
+    }
+
+    /**
+     * Plain decimals with at most 15 significant digits are exact as a long and
+     * a power of ten, so one division gives the correctly rounded result, the
+     * same as Double.parseDouble. Anything else (exponents, NaN, long digit
+     * strings) goes through Double.parseDouble.
+     */
+    private double parseDouble(int from, int to) {
+        int i = from;
+        boolean negative = false;
+        if (i < to && (buf[i] == '-' || buf[i] == '+')) {
+            negative = buf[i] == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = 0;
+        boolean dot = false;
+        for (; i < to; i++) {
+            char c = buf[i];
+            if (c >= '0' && c <= '9') {
+                mantissa = mantissa * 10 + (c - '0');
+                digits++;
+                if (dot) {
+                    fractionDigits++;
+                }
+                if (mantissa > 999_999_999_999_999L) {
+                    return slowDouble(from, to);
+                }
+            } else if (c == '.' && !dot) {
+                dot = true;
+            } else {
+                return slowDouble(from, to);
+            }
+        }
+        if (digits == 0 || fractionDigits >= POW10.length) {
+            return slowDouble(from, to);
+        }
+        double value = fractionDigits == 0 ? mantissa : mantissa / POW10[fractionDigits];
+        return negative ? -value : value;
+    }
+
+    private double slowDouble(int from, int to) {
+        return Double.parseDouble(new String(buf, from, to - from));
+    }
+
+    // Boolean.parseBoolean: true only for "true", ignoring case
+    private boolean parseBoolean(int from, int to) {
+        return to - from == 4
+                && (buf[from] | 0x20) == 't'
+                && (buf[from + 1] | 0x20) == 'r'
+                && (buf[from + 2] | 0x20) == 'u'
+                && (buf[from + 3] | 0x20) == 'e';
+    }
+
+    private boolean isInteger(int from, int to) {
+        int i = from < to && buf[from] == '-' ? from + 1 : from;
+        if (i == to) {
+            return false;
+        }
+        for (; i < to; i++) {
+            if (buf[i] < '0' || buf[i] > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean startsWith(int from, int to, String prefix) {
+        if (to - from < prefix.length()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (buf[from + i] != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int indexOf(char c, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (buf[i] == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int lastIndexOf(char c, int from, int to) {
+        for (int i = to - 1; i >= from; i--) {
+            if (buf[i] == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private NumberFormatException badNumber(int from, int to) {
+        return new NumberFormatException("For input string: \"" + new String(buf, from, to - from) + "\"");
+    }
+
+    // ---------------------------------------------------------------- tables
+
+    /**
+     * Open-addressing table from a char range to an int, so lookups need no String
+     */
+    private static final class KeyTable {
+        private String[] keys = new String[16];
+        private int[] values = new int[16];
+        private int size;
+
+        KeyTable add(String key, int value) {
+            if ((size + 1) * 2 > keys.length) {
+                String[] oldKeys = keys;
+                int[] oldValues = values;
+                keys = new String[oldKeys.length * 2];
+                values = new int[oldKeys.length * 2];
+                size = 0;
+                for (int i = 0; i < oldKeys.length; i++) {
+                    if (oldKeys[i] != null) {
+                        add(oldKeys[i], oldValues[i]);
+                    }
+                }
+            }
+            int slot = spread(key.hashCode()) & (keys.length - 1);
+            while (keys[slot] != null) {
+                slot = (slot + 1) & (keys.length - 1);
+            }
+            keys[slot] = key;
+            values[slot] = value;
+            size++;
+            return this;
+        }
+
+        /**
+         * @return The value for buf[from, to), or -1
+         */
+        int lookup(char[] buf, int from, int to) {
+            int hash = 0;
+            for (int i = from; i < to; i++) {
+                hash = 31 * hash + buf[i];
+            }
+            int slot = spread(hash) & (keys.length - 1);
+            String key;
+            while ((key = keys[slot]) != null) {
+                if (matches(key, buf, from, to)) {
+                    return values[slot];
+                }
+                slot = (slot + 1) & (keys.length - 1);
+            }
+            return -1;
+        }
+
+        String nameOf(int value) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != null && values[i] == value) {
+                    return keys[i];
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Hands out one String per distinct flower name instead of one per line
+     */
+    private static final class StringPool {
+        private String[] strings = new String[64];
+        private int size;
+
+        String get(char[] buf, int from, int to) {
+            int hash = 0;
+            for (int i = from; i < to; i++) {
+                hash = 31 * hash + buf[i];
+            }
+            int slot = spread(hash) & (strings.length - 1);
+            String existing;
+            while ((existing = strings[slot]) != null) {
+                if (matches(existing, buf, from, to)) {
+                    return existing;
+                }
+                slot = (slot + 1) & (strings.length - 1);
+            }
+            String created = new String(buf, from, to - from);
+            strings[slot] = created;
+            if (++size * 2 > strings.length) {
+                String[] old = strings;
+                strings = new String[old.length * 2];
+                for (String s : old) {
+                    if (s != null) {
+                        int at = spread(s.hashCode()) & (strings.length - 1);
+                        while (strings[at] != null) {
+                            at = (at + 1) & (strings.length - 1);
+                        }
+                        strings[at] = s;
+                    }
+                }
+            }
+            return created;
+        }
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static boolean matches(String key, char[] buf, int from, int to) {
+        if (key.length() != to - from) {
+            return false;
+        }
+        for (int i = 0; i < key.length(); i++) {
+            if (key.charAt(i) != buf[from + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,247 @@
+/* SaveService.java
+ * Background writer that coalesces save requests and keeps disk I/O off the menu thread
+ */
+
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Single background thread that persists rendered saves. The caller renders the
+ * player state on its own thread (so the snapshot is consistent) and hands the
+ * text over; requests for the same save that arrive within the coalescing
+ * window collapse into one write of the newest text. Writes go to the
+ * {@link SaveBackend} the save was submitted for.
+ *
+ * A save can carry tasks that must reach disk before it (archiving journal
+ * entries the save no longer holds). Tasks are never coalesced away: they run
+ * in order ahead of whichever text ends up written, and if one fails the save
+ * is not written and the tasks go back in front of the next save of that file,
+ * including one already queued while they ran.
+ *
+ * A failed write is not printed from the worker; the error is kept for
+ * flush() and takeError(), so the menu thread reports it.
+ */
+public class SaveService {
+    private static final long COALESCE_MILLIS = 50;
+
+    private static SaveService instance;
+
+    private final Map<PendingKey, PendingSave> pending = new LinkedHashMap<>();
+    // Tasks whose save was not written and that no queued save has taken yet
+    private final Map<PendingKey, List<Task>> failedTasks = new HashMap<>();
+    private boolean writing = false;
+    private int flushWaiters = 0;
+    private Throwable lastError = null;
+    private int requested = 0;
+    private int written = 0;
+
+    /**
+     * Disk work queued to run before a save is written
+     */
+    public interface Task {
+        void run() throws IOException;
+    }
+
+    private static class PendingKey {
+        final SaveBackend backend;
+        final String name;
+
+        PendingKey(SaveBackend backend, String name) {
+            this.backend = backend;
+            this.name = name;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof PendingKey)) {
+                return false;
+            }
+            PendingKey key = (PendingKey) other;
+            return backend == key.backend && name.equals(key.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(backend) * 31 + name.hashCode();
+        }
+    }
+
+    private static class PendingSave {
+        final SaveBackend backend;
+        final String name;
+        SaveChunks chunks;
+        final List<Task> tasks = new ArrayList<>(0);
+
+        PendingSave(SaveBackend backend, String name, SaveChunks chunks) {
+            this.backend = backend;
+            this.name = name;
+            this.chunks = chunks;
+        }
+    }
+
+    private SaveService() {
+        Thread worker = new Thread(this::runWorker, "save-writer");
+        worker.setDaemon(true);
+        worker.start();
+        // Last line of defence for exit paths that skip Journal.flushSaves()
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            if (!flush()) {
+                System.out.println("[X] The last save could not be written.");
+            }
+        }, "save-flush"));
+    }
+
+    public static synchronized SaveService getInstance() {
+        if (instance == null) {
+            instance = new SaveService();
+        }
+        return instance;
+    }
+
+    /**
+     * Queues a rendered save; replaces any not-yet-written save for the same file
+     */
+    public synchronized void submit(SaveBackend backend, String name, String text) {
+        submit(backend, name, SaveChunks.ofText(text), Collections.emptyList());
+    }
+
+    /**
+     * Queues a rendered save along with tasks that must run before it
+     */
+    public synchronized void submit(SaveBackend backend, String name, String text, List<Task> tasks) {
+        submit(backend, name, SaveChunks.ofText(text), tasks);
+    }
+
+    /**
+     * Queues a save rendered by Journal.renderChunks along with tasks that must run before it
+     */
+    public synchronized void submit(SaveBackend backend, String name, SaveChunks chunks, List<Task> tasks) {
+        PendingKey key = new PendingKey(backend, name);
+        PendingSave save = pending.get(key);
+        if (save != null) {
+            save.chunks = chunks;
+        } else {
+            save = new PendingSave(backend, name, chunks);
+            List<Task> failed = failedTasks.remove(key);
+            if (failed != null) {
+                save.tasks.addAll(failed);
+            }
+            pending.put(key, save);
+        }
+        save.tasks.addAll(tasks);
+        requested++;
+        notifyAll();
+    }
+
+    /**
+     * Blocks until every queued save has been written
+     * @return false if any write failed since the last flush
+     */
+    public synchronized boolean flush() {
+        flushWaiters++;
+        notifyAll();
+        try {
+            while (!pending.isEmpty() || writing) {
+                wait();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            flushWaiters--;
+        }
+        boolean ok = lastError == null;
+        lastError = null;
+        return ok;
+    }
+
+    /**
+     * Returns and clears the error from a failed background write, so it is
+     * reported once
+     * @return The error, or null if every write since the last check succeeded
+     */
+    public synchronized Throwable takeError() {
+        Throwable error = lastError;
+        lastError = null;
+        return error;
+    }
+
+    public synchronized int getRequestedCount() {
+        return requested;
+    }
+
+    public synchronized int getWrittenCount() {
+        return written;
+    }
+
+    private void runWorker() {
+        while (true) {
+            List<PendingSave> batch;
+            try {
+                synchronized (this) {
+                    while (pending.isEmpty()) {
+                        wait();
+                    }
+                    writing = true;
+                    // Let a burst of saves settle so only the newest one is
+                    // written, unless someone is already waiting on a flush
+                    long deadline = System.currentTimeMillis() + COALESCE_MILLIS;
+                    long remaining = COALESCE_MILLIS;
+                    while (flushWaiters == 0 && remaining > 0) {
+                        wait(remaining);
+                        remaining = deadline - System.currentTimeMillis();
+                    }
+                    batch = new ArrayList<>(pending.values());
+                    pending.clear();
+                }
+            } catch (InterruptedException e) {
+                synchronized (this) {
+                    writing = false;
+                    notifyAll();
+                }
+                return;
+            }
+
+            Throwable error = null;
+            try {
+                for (PendingSave save : batch) {
+                    int done = 0;
+                    try {
+                        for (; done < save.tasks.size(); done++) {
+                            save.tasks.get(done).run();
+                        }
+                        save.backend.write(save.name, save.chunks);
+                    } catch (Throwable e) {
+                        // Errors too: a dead writer would leave flush() and the shutdown hook waiting forever
+                        error = e;
+                        if (done < save.tasks.size()) {
+                            requeue(save, save.tasks.subList(done, save.tasks.size()));
+                        }
+                    }
+                }
+            } finally {
+                synchronized (this) {
+                    written += batch.size();
+                    if (error != null) {
+                        lastError = error;
+                    }
+                    writing = false;
+                    notifyAll();
+                }
+            }
+        }
+    }
+
+    // A save queued while these tasks ran already counts on them (its text
+    // advances ArchivedEntries), so they go in front of it; with nothing
+    // queued they wait for the next submit
+    private synchronized void requeue(PendingSave failed, List<Task> remaining) {
+        PendingKey key = new PendingKey(failed.backend, failed.name);
+        PendingSave next = pending.get(key);
+        if (next != null) {
+            next.tasks.addAll(0, remaining);
+        } else {
+            failedTasks.computeIfAbsent(key, k -> new ArrayList<>()).addAll(0, remaining);
+        }
+    }
+}
@@ -0,0 +1,511 @@
+/* SaveStore.java
+ * Every player's save in one file, found through an in-memory index
+ */
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.zip.CRC32;
+
+/**
+ * Single-file save store keyed by player name. The file is a header followed
+ * by append-only records:
+ * <pre>
+ * header   magic "SFDB", i32 version, i64 file id
+ * record   u8 type (PUT/DELETE), u16 key length, i32 value length,
+ *          key (UTF-8), value, i32 CRC32 of everything before it
+ * </pre>
+ * A PUT value is the save text (deflated if SaveCompression is selected), or
+ * BinarySave bytes when the binary format is selected. The newest record for a name wins; the name-to-offset index lives
+ * in memory and is rebuilt on open by scanning the records, starting from the
+ * hint file written at the last compaction when it matches the file id.
+ *
+ * A write appends one record and forces it to disk before the index points at
+ * it, so a crash can only leave a torn tail, which the CRC check on open
+ * detects and truncates. Once superseded records outweigh the live ones the
+ * live records are copied to a fresh file that atomically replaces the old.
+ *
+ * Reads go through a small LRU cache of fixed-size pages. The store assumes it
+ * is the only process with the file open.
+ */
+public class SaveStore implements SaveBackend {
+    public static final String HINT_SUFFIX = ".hint";
+
+    private static final byte[] MAGIC = {'S', 'F', 'D', 'B'};
+    private static final byte[] HINT_MAGIC = {'S', 'F', 'D', 'H'};
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 4 + 4 + 8;
+
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    // type, key length, value length
+    private static final int RECORD_HEADER_BYTES = 1 + 2 + 4;
+    private static final int CRC_BYTES = 4;
+
+    private static final int PAGE_SIZE = 4096;
+    private static final int CACHE_PAGES = 1024;
+
+    // Compact when dead records outweigh live ones, but not for tiny files
+    private static final long MIN_COMPACT_BYTES = 1024 * 1024;
+
+    private static final Map<String, SaveStore> OPEN_STORES = new HashMap<>();
+
+    private final File file;
+    private final File hintFile;
+    private FileChannel channel;
+    private long fileId;
+    private long fileLength;
+
+    private final Map<String, Location> index = new HashMap<>();
+    private long liveBytes;
+
+    private final LinkedHashMap<Long, byte[]> pages = new LinkedHashMap<Long, byte[]>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, byte[]> eldest) {
+            return size() > CACHE_PAGES;
+        }
+    };
+    private long cacheHits;
+    private long cacheMisses;
+
+    /**
+     * Where a live record sits in the file
+     */
+    private static class Location {
+        final long offset;
+        final int keyLength;
+        final int valueLength;
+
+        Location(long offset, int keyLength, int valueLength) {
+            this.offset = offset;
+            this.keyLength = keyLength;
+            this.valueLength = valueLength;
+        }
+
+        int recordBytes() {
+            return RECORD_HEADER_BYTES + keyLength + valueLength + CRC_BYTES;
+        }
+    }
+
+    private SaveStore(File file) {
+        this.file = file;
+        this.hintFile = new File(file.getPath() + HINT_SUFFIX);
+    }
+
+    /**
+     * Opens (creating if needed) the store at this path; one instance per file
+     */
+    public static synchronized SaveStore open(File file) throws IOException {
+        String key = file.getAbsolutePath();
+        SaveStore store = OPEN_STORES.get(key);
+        if (store == null) {
+            store = new SaveStore(file);
+            store.load();
+            OPEN_STORES.put(key, store);
+        }
+        return store;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    // ---------------------------------------------------------------- SaveBackend
+
+    @Override
+    public void write(String name, String saveText) throws IOException {
+        byte[] value;
+        if (BinarySave.isSelected()) {
+            value = BinarySave.encode(saveText);
+        } else if (SaveCompression.isSelected()) {
+            value = SaveCompression.compress(saveText.getBytes(StandardCharsets.UTF_8));
+        } else {
+            value = saveText.getBytes(StandardCharsets.UTF_8);
+        }
+        put(name, value);
+    }
+
+    @Override
+    public Player1 read(String name) throws IOException {
+        byte[] value = get(name);
+        if (value == null) {
+            return null;
+        }
+        if (BinarySave.isBinary(value)) {
+            BinarySave.Decoded decoded = BinarySave.load(ByteBuffer.wrap(value));
+            return SaveParser.parse(new StringReader(decoded.getText()), decoded.getPlots());
+        }
+        CharBuffer text = StandardCharsets.UTF_8.decode(ByteBuffer.wrap(SaveCompression.decompress(value)));
+        return SaveParser.parse(Arrays.copyOf(text.array(), text.limit()), text.limit(), null);
+    }
+
+    @Override
+    public Reader openText(String name) throws IOException {
+        byte[] value = get(name);
+        if (value == null) {
+            return null;
+        }
+        if (BinarySave.isBinary(value)) {
+            return new StringReader(BinarySave.toText(ByteBuffer.wrap(value)));
+        }
+        return new InputStreamReader(new ByteArrayInputStream(SaveCompression.decompress(value)),
+                StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public synchronized boolean exists(String name) {
+        return index.containsKey(name);
+    }
+
+    @Override
+    public synchronized void delete(String name) throws IOException {
+        if (index.containsKey(name)) {
+            append(DELETE, name, new byte[0]);
+        }
+    }
+
+    @Override
+    public synchronized List<String> list() {
+        List<String> names = new ArrayList<>(index.keySet());
+        Collections.sort(names);
+        return names;
+    }
+
+    // ---------------------------------------------------------------- key/value
+
+    /**
+     * Stores a value under a name, durable once this returns
+     */
+    public synchronized void put(String name, byte[] value) throws IOException {
+        append(PUT, name, value);
+        if (fileLength - HEADER_BYTES - liveBytes > Math.max(liveBytes, MIN_COMPACT_BYTES)) {
+            compact();
+        }
+    }
+
+    /**
+     * @return The newest value stored under this name, or null
+     */
+    public synchronized byte[] get(String name) throws IOException {
+        Location location = index.get(name);
+        if (location == null) {
+            return null;
+        }
+        byte[] record = readCached(location.offset, location.recordBytes());
+        CRC32 crc = new CRC32();
+        crc.update(record, 0, record.length - CRC_BYTES);
+        if ((int) crc.getValue() != ByteBuffer.wrap(record, record.length - CRC_BYTES, CRC_BYTES).getInt()) {
+            throw new IOException("Save store record for " + name + " is corrupt");
+        }
+        return Arrays.copyOfRange(record, RECORD_HEADER_BYTES + location.keyLength,
+                RECORD_HEADER_BYTES + location.keyLength + location.valueLength);
+    }
+
+    public synchronized long getCacheHits() {
+        return cacheHits;
+    }
+
+    public synchronized long getCacheMisses() {
+        return cacheMisses;
+    }
+
+    private void append(byte type, String name, byte[] value) throws IOException {
+        byte[] key = name.getBytes(StandardCharsets.UTF_8);
+        if (key.length > 0xFFFF) {
+            throw new IOException("Player name too long for the save store");
+        }
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_BYTES + key.length + value.length + CRC_BYTES);
+        record.put(type).putShort((short) key.length).putInt(value.length).put(key).put(value);
+        CRC32 crc = new CRC32();
+        crc.update(record.array(), 0, record.position());
+        record.putInt((int) crc.getValue());
+        record.flip();
+
+        long offset = fileLength;
+        while (record.hasRemaining()) {
+            channel.write(record, offset + record.position());
+        }
+        channel.force(false);
+        fileLength += record.limit();
+        // The page holding the old end of file may be cached short
+        pages.remove(offset / PAGE_SIZE);
+
+        apply(type, name, new Location(offset, key.length, value.length));
+    }
+
+    private void apply(byte type, String name, Location location) {
+        Location previous = type == PUT ? index.put(name, location) : index.remove(name);
+        if (previous != null) {
+            liveBytes -= previous.recordBytes();
+        }
+        if (type == PUT) {
+            liveBytes += location.recordBytes();
+        }
+    }
+
+    private byte[] readCached(long offset, int length) throws IOException {
+        byte[] out = new byte[length];
+        int copied = 0;
+        while (copied < length) {
+            long position = offset + copied;
+            long pageNumber = position / PAGE_SIZE;
+            byte[] page = pages.get(pageNumber);
+            if (page == null) {
+                cacheMisses++;
+                page = readPage(pageNumber);
+                pages.put(pageNumber, page);
+            } else {
+                cacheHits++;
+            }
+            int inPage = (int) (position - pageNumber * PAGE_SIZE);
+            int count = Math.min(length - copied, page.length - inPage);
+            if (count <= 0) {
+                throw new IOException("Save store record runs past the end of the file");
+            }
+            System.arraycopy(page, inPage, out, copied, count);
+            copied += count;
+        }
+        return out;
+    }
+
+    private byte[] readPage(long pageNumber) throws IOException {
+        long start = pageNumber * PAGE_SIZE;
+        int length = (int) Math.min(PAGE_SIZE, fileLength - start);
+        ByteBuffer page = ByteBuffer.allocate(Math.max(0, length));
+        while (page.hasRemaining()) {
+            if (channel.read(page, start + page.position()) < 0) {
+                break;
+            }
+        }
+        return Arrays.copyOf(page.array(), page.position());
+    }
+
+    // ---------------------------------------------------------------- open / recovery
+
+    private void load() throws IOException {
+        File directory = file.getAbsoluteFile().getParentFile();
+        if (directory != null && !directory.exists()) {
+            directory.mkdirs();
+        }
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (channel.size() < HEADER_BYTES) {
+            // New file, or one torn before its header was complete
+            fileId = newFileId();
+            channel.truncate(0);
+            channel.write(header(fileId), 0);
+            channel.force(true);
+            fileLength = HEADER_BYTES;
+            return;
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        channel.read(header, 0);
+        header.flip();
+        byte[] magic = new byte[MAGIC.length];
+        header.get(magic);
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new IOException("Not a save store: " + file);
+        }
+        int version = header.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported save store version " + version);
+        }
+        fileId = header.getLong();
+        fileLength = channel.size();
+
+        long scanFrom = readHint();
+        if (scanFrom < 0) {
+            index.clear();
+            liveBytes = 0;
+            scanFrom = HEADER_BYTES;
+        }
+        scan(scanFrom);
+    }
+
+    /**
+     * Replays records from the given offset; stops at the first torn or
+     * corrupt record and cuts the file there
+     */
+    private void scan(long from) throws IOException {
+        long position = from;
+        channel.position(from);
+        // Not closed: closing the stream would close the channel with it
+        DataInputStream in = new DataInputStream(new BufferedInputStream(
+                Channels.newInputStream(channel), 64 * 1024));
+        byte[] recordHeader = new byte[RECORD_HEADER_BYTES];
+        CRC32 crc = new CRC32();
+        while (position + RECORD_HEADER_BYTES + CRC_BYTES <= fileLength) {
+            in.readFully(recordHeader);
+            ByteBuffer fields = ByteBuffer.wrap(recordHeader);
+            byte type = fields.get();
+            int keyLength = fields.getShort() & 0xFFFF;
+            int valueLength = fields.getInt();
+            long end = position + RECORD_HEADER_BYTES + (long) keyLength + valueLength + CRC_BYTES;
+            if ((type != PUT && type != DELETE) || valueLength < 0 || end > fileLength) {
+                break;
+            }
+            byte[] body = new byte[keyLength + valueLength];
+            in.readFully(body);
+            int stored = in.readInt();
+            crc.reset();
+            crc.update(recordHeader);
+            crc.update(body);
+            if ((int) crc.getValue() != stored) {
+                break;
+            }
+            String name = new String(body, 0, keyLength, StandardCharsets.UTF_8);
+            apply(type, name, new Location(position, keyLength, valueLength));
+            position = end;
+        }
+        if (position < fileLength) {
+            System.out.println("[!] Save store " + file.getName() + ": dropped "
+                    + (fileLength - position) + " bytes of incomplete writes");
+            channel.truncate(position);
+            channel.force(true);
+            fileLength = position;
+        }
+    }
+
+    /**
+     * Loads the index saved at the last compaction
+     * @return Offset to resume scanning from, or -1 if there is no usable hint
+     */
+    private long readHint() {
+        if (!hintFile.exists()) {
+            return -1;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(hintFile)))) {
+            byte[] body = new byte[(int) hintFile.length() - CRC_BYTES];
+            in.readFully(body);
+            int stored = in.readInt();
+            CRC32 crc = new CRC32();
+            crc.update(body);
+            if ((int) crc.getValue() != stored) {
+                return -1;
+            }
+            ByteBuffer hint = ByteBuffer.wrap(body);
+            byte[] magic = new byte[HINT_MAGIC.length];
+            hint.get(magic);
+            if (!Arrays.equals(magic, HINT_MAGIC) || hint.getLong() != fileId) {
+                return -1;
+            }
+            long covered = hint.getLong();
+            if (covered > fileLength) {
+                return -1;
+            }
+            int count = hint.getInt();
+            for (int i = 0; i < count; i++) {
+                byte[] key = new byte[hint.getShort() & 0xFFFF];
+                hint.get(key);
+                long offset = hint.getLong();
+                int valueLength = hint.getInt();
+                apply(PUT, new String(key, StandardCharsets.UTF_8),
+                        new Location(offset, key.length, valueLength));
+            }
+            return covered;
+        } catch (IOException | RuntimeException e) {
+            index.clear();
+            liveBytes = 0;
+            return -1;
+        }
+    }
+
+    private static void writeHint(File target, long id, long covered, Map<String, Location> entries)
+            throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.write(HINT_MAGIC);
+        out.writeLong(id);
+        out.writeLong(covered);
+        out.writeInt(entries.size());
+        for (Map.Entry<String, Location> entry : entries.entrySet()) {
+            byte[] key = entry.getKey().getBytes(StandardCharsets.UTF_8);
+            out.writeShort(key.length);
+            out.write(key);
+            out.writeLong(entry.getValue().offset);
+            out.writeInt(entry.getValue().valueLength);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray());
+        out.writeInt((int) crc.getValue());
+        try (FileOutputStream file = new FileOutputStream(target)) {
+            file.write(bytes.toByteArray());
+            file.getFD().sync();
+        }
+    }
+
+    // Tells the hint file which store file it was written for. It only has to
+    // differ between files, never be replayed, so it does not come from the
+    // seeded GameRandom and cannot shift a seeded session's draws.
+    private static long newFileId() {
+        return ThreadLocalRandom.current().nextLong();
+    }
+
+    // ---------------------------------------------------------------- compaction
+
+    /**
+     * Copies the live records into a new file and swaps it in
+     */
+    public synchronized void compact() throws IOException {
+        File temp = new File(file.getPath() + ".tmp");
+        long newId = newFileId();
+        Map<String, Location> moved = new HashMap<>();
+        long length = HEADER_BYTES;
+        try (FileChannel out = FileChannel.open(temp.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            out.write(header(newId), 0);
+            // Copy in file order so the old file is read sequentially
+            List<Map.Entry<String, Location>> live = new ArrayList<>(index.entrySet());
+            live.sort((a, b) -> Long.compare(a.getValue().offset, b.getValue().offset));
+            for (Map.Entry<String, Location> entry : live) {
+                Location location = entry.getValue();
+                long copied = 0;
+                while (copied < location.recordBytes()) {
+                    copied += channel.transferTo(location.offset + copied,
+                            location.recordBytes() - copied, out.position(length + copied));
+                }
+                moved.put(entry.getKey(), new Location(length, location.keyLength, location.valueLength));
+                length += location.recordBytes();
+            }
+            out.force(true);
+        }
+
+        // The hint names the new file id, so a crash between the two renames
+        // leaves a hint that no longer matches and is ignored
+        File tempHint = new File(hintFile.getPath() + ".tmp");
+        writeHint(tempHint, newId, length, moved);
+        channel.close();
+        moveAtomically(temp, file);
+        moveAtomically(tempHint, hintFile);
+
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+        fileId = newId;
+        fileLength = length;
+        index.clear();
+        index.putAll(moved);
+        pages.clear();
+    }
+
+    private static ByteBuffer header(long id) {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        header.put(MAGIC).putInt(VERSION).putLong(id);
+        header.flip();
+        return header;
+    }
+
+    private static void moveAtomically(File from, File to) throws IOException {
+        try {
+            Files.move(from.toPath(), to.toPath(),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(from.toPath(), to.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -5,13 +5,10 @@
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
 import java.util.Scanner;
 
 public class ShopActions {
 
-	private static final Random random = new Random();
-    
     private static List<String> currentSeedSelection = new ArrayList<>();
     private static boolean isInventoryStale = true;
 
@@ -72,8 +69,9 @@ public class ShopActions {
             return;
         }
         
+        GameRandom random = player.getRandom();
         int numSeeds = 4 + random.nextInt(2);
-        currentSeedSelection = FlowerRegistry.getRandomShopSelection(numSeeds, 5);
+        currentSeedSelection = FlowerRegistry.getRandomShopSelection(numSeeds, 5, random);
         isInventoryStale = false;
     }
 
@@ -385,25 +383,10 @@ public class ShopActions {
 		
 		if (item instanceof Flower) {
 			Flower flower = (Flower) item;
-			String emoji = getFlowerEmoji(flower.getGrowthStage());
+			String emoji = flower.getStage().getEmoji();
 			return emoji + " " + flower.getName() + " (" + flower.getGrowthStage() + ")";
 		}
 		
 		return item.toString();
 	}
-	
-	/**
-	 * Gets an appropriate emoji for a flower's growth stage
-	 */
-	private static String getFlowerEmoji(String stage) {
-		switch (stage) {
-			case "Seed": return "🌱";
-			case "Seedling": return "🌿";
-			case "Bloomed": return "🌸";
-			case "Matured": return "🌻";
-			case "Withered": return "🥀";
-			case "Mutated": return "✨";
-			default: return "🌼";
-		}
-	}
 }
\ No newline at end of file
@@ -0,0 +1,94 @@
+/* SoilQuality.java
+ * Soil quality of a garden plot, from Bad to Magic.
+ * Each quality carries its precomputed mutation multiplier and natural
+ * wither chance so the nightly rules never switch on strings.
+ * Codes match the PlotRules soil constants.
+ */
+
+public enum SoilQuality {
+    BAD("Bad", "💀", 0.5, 0.80),
+    AVERAGE("Average", "🌱", 1.0, 0.60),
+    GOOD("Good", "🌿", 1.3, 0.40),
+    GREAT("Great", "✨", 1.6, 0.25),
+    MAGIC("Magic", "🔮", 2.0, 0.15);
+
+    private static final SoilQuality[] BY_CODE = values();
+
+    private final String displayName;
+    private final String emoji;
+    private final double mutationMultiplier;
+    private final double witherProbability;
+
+    SoilQuality(String displayName, String emoji, double mutationMultiplier, double witherProbability) {
+        this.displayName = displayName;
+        this.emoji = emoji;
+        this.mutationMultiplier = mutationMultiplier;
+        this.witherProbability = witherProbability;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public String getEmoji() {
+        return emoji;
+    }
+
+    /**
+     * Multiplier applied to a matured plant's mutation chance (Bad: 0.5x, Magic: 2x)
+     */
+    public double getMutationMultiplier() {
+        return mutationMultiplier;
+    }
+
+    /**
+     * Chance that a matured plant which did not mutate withers that night
+     */
+    public double getWitherProbability() {
+        return witherProbability;
+    }
+
+    /**
+     * @return The PlotRules soil code for this quality
+     */
+    public int getCode() {
+        return ordinal();
+    }
+
+    /**
+     * @return The next quality up (Magic stays Magic)
+     */
+    public SoilQuality next() {
+        return this == MAGIC ? MAGIC : BY_CODE[ordinal() + 1];
+    }
+
+    /**
+     * Whether a flower of the given difficulty can be planted in this soil
+     * (difficulty 5 needs Great+, 4 needs Good+, 3 anything but Bad)
+     */
+    public boolean supports(int difficulty) {
+        return PlotRules.isSoilSufficient(difficulty, ordinal());
+    }
+
+    public static SoilQuality fromCode(int code) {
+        return BY_CODE[code];
+    }
+
+    /**
+     * Parses a display name as written in save files (unknown names count as Average)
+     */
+    public static SoilQuality fromName(String name) {
+        switch (name) {
+            case "Bad": return BAD;
+            case "Good": return GOOD;
+            case "Great": return GREAT;
+            case "Magic": return MAGIC;
+            default: return AVERAGE;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
@@ -18,13 +18,11 @@
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Random;
 import java.util.Scanner;
 import java.util.Set;
 
 public class TrimmingActions {
     
-    private static final Random random = new Random();
     
     // Track which plots have been trimmed today (plot index as key)
     private static Set<Integer> trimmedPlotsToday = new HashSet<>();
@@ -330,7 +328,7 @@ public class TrimmingActions {
      */
     private static void trimMutatedPlant(Player1 player, Flower plant, String plantName) {
         // Mutated plants yield 5-8 bloomed flowers but NO durability increase
-        int flowerCount = 5 + random.nextInt(4); // 5-8 flowers
+        int flowerCount = 5 + player.getRandom().nextInt(4); // 5-8 flowers
         double bloomedValue = FlowerRegistry.getFlowerValue(plantName, "Bloomed");
         
         // Add multiple bloomed flowers to inventory
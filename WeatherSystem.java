@@ -1,6 +1,7 @@
 /* WeatherSystem.java
  * Manages weather events and their effects on the garden
  * Updated: November 26, 2025 - Added greenhouse weather shielding support
+ * Weather is applied plot by plot (WeatherPass) so it shares the garden's nightly pass
  * 
  * WEATHER MECHANICS:
  * - Triggers 25% of nights (independent of dreams/hints)
@@ -19,7 +20,6 @@
  * - Items in backpack (not affected by weather)
  */
 
-import java.util.Random;
 import java.util.List;
 import java.util.ArrayList;
 
@@ -37,33 +37,22 @@ public class WeatherSystem {
         FAIRY_VISIT     // 0.5% - Beneficial event
     }
     
-    private static final Random random = new Random();
-    private static Weather currentWeather = Weather.CLEAR;
-    private static boolean weatherOccurredTonight = false;
-    
-    // Track fairy visit details for display
-    private static String fairyVisitDetails = "";
-    
     /**
-     * Determines if weather should occur
-     * Weather has a 25% chance each night, independent of dreams/hints
+     * Rolls tonight's weather. Weather has a 25% chance each night, independent
+     * of dreams/hints. Nothing is kept here: the caller owns the result, so
+     * sessions running side by side never see each other's nights.
      * 
-     * @return true if weather should occur tonight
+     * @param random Session random source
+     * @return Tonight's weather, or null if no weather occurs
      */
-    public static boolean shouldWeatherOccur() {
-        weatherOccurredTonight = false;
-        currentWeather = Weather.CLEAR;
-        fairyVisitDetails = "";
-        
+    public static Weather rollWeather(GameRandom random) {
         // 25% chance of weather check
-        if (Math.random() >= 0.25) {
-            return false;
+        if (random.nextDouble() >= 0.25) {
+            return null;
         }
         
         // We're in the 25% - select weather type
-        weatherOccurredTonight = true;
-        selectWeatherType();
-        return true;
+        return selectWeatherType(random);
     }
     
     /**
@@ -78,294 +67,255 @@ public class WeatherSystem {
      * - Mole Infestation: 0.5%
      * - Fairy Visit: 0.5%
      */
-    private static void selectWeatherType() {
-        double roll = Math.random() * 100;
+    private static Weather selectWeatherType(GameRandom random) {
+        double roll = random.nextDouble() * 100;
         
         if (roll < 40) {
-            currentWeather = Weather.RAIN;
+            return Weather.RAIN;
         } else if (roll < 75) {
-            currentWeather = Weather.CLEAR;
+            return Weather.CLEAR;
         } else if (roll < 85) {
-            currentWeather = Weather.SNOW;
+            return Weather.SNOW;
         } else if (roll < 95) {
-            currentWeather = Weather.THUNDERSTORM;
+            return Weather.THUNDERSTORM;
         } else if (roll < 97) {
-            currentWeather = Weather.EARTHQUAKE;
+            return Weather.EARTHQUAKE;
         } else if (roll < 99) {
-            currentWeather = Weather.HURRICANE;
+            return Weather.HURRICANE;
         } else if (roll < 99.5) {
-            currentWeather = Weather.MOLE_INFESTATION;
+            return Weather.MOLE_INFESTATION;
         } else {
-            currentWeather = Weather.FAIRY_VISIT;
+            return Weather.FAIRY_VISIT;
         }
     }
     
-    /**
-     * Gets the current weather
-     */
-    public static Weather getCurrentWeather() {
-        return currentWeather;
-    }
-    
-    /**
-     * Checks if weather occurred tonight
-     */
-    public static boolean didWeatherOccur() {
-        return weatherOccurredTonight;
-    }
-    
     /**
      * Applies weather effects to all garden plots
-     * Called during advanceDay AFTER plants have grown
+     * Called during advanceDay AFTER plants have grown. Player1.advanceDay
+     * normally applies tonight's weather inside its own garden pass instead.
      * 
      * @param player The player whose garden is affected
+     * @param weather Tonight's weather from rollWeather (null or CLEAR does nothing)
      */
-    public static void applyWeatherEffects(Player1 player) {
-        if (!weatherOccurredTonight || currentWeather == Weather.CLEAR) {
+    public static void applyWeatherEffects(Player1 player, Weather weather) {
+        if (weather == null || weather == Weather.CLEAR) {
             return;
         }
         
-        switch (currentWeather) {
-            case RAIN:
-                applyRainEffects(player);
-                break;
-            case SNOW:
-                applySnowEffects(player);
-                break;
-            case THUNDERSTORM:
-                applyThunderstormEffects(player);
-                break;
-            case EARTHQUAKE:
-                applyEarthquakeEffects(player);
-                break;
-            case HURRICANE:
-                applyHurricaneEffects(player);
-                break;
-            case MOLE_INFESTATION:
-                applyMoleInfestationEffects(player);
-                break;
-            case FAIRY_VISIT:
-                applyFairyVisitEffects(player);
-                break;
-            default:
-                break;
-        }
-    }
-    
-    /**
-     * Rain: All garden plants start watered (0 NRG cost)
-     */
-    private static void applyRainEffects(Player1 player) {
-        int wateredCount = 0;
-        int blockedByGreenhouse = 0;
-
-        for (int i = 0; i < player.getGardenPlots().size(); i++) {
-            gardenPlot plot = player.getGardenPlots().get(i);
-            if (plot.isOccupied() && !plot.isWatered()) {
-                if (isPlantProtectedByGreenhouse(player, i)) {
-                    blockedByGreenhouse++;
-                    continue;
-                }
-
-                plot.setWatered(true);
-                plot.setConsecutiveDaysWithoutWater(0);
-                wateredCount++;
-            }
-        }
-
-        if (wateredCount > 0 || blockedByGreenhouse > 0) {
-            player.addJournalEntry("[Rain] Rain watered " + wateredCount + (wateredCount == 1 ? " plant" : " plants") +
-                    (blockedByGreenhouse > 0 ? " while " + blockedByGreenhouse + " greenhouse-protected plant" +
-                            (blockedByGreenhouse == 1 ? " was" : "s were") + " shielded from rain." : " overnight!"));
-        }
-    }
-
-    /**
-     * Snow: Prevents weed growth, -50% durability to unprotected plants
-     * Protected: Flower pots and greenhouse-covered plants
-     */
-    private static void applySnowEffects(Player1 player) {
-        int affectedPlants = 0;
-        int protectedPlants = 0;
-
-        for (int i = 0; i < player.getGardenPlots().size(); i++) {
-            gardenPlot plot = player.getGardenPlots().get(i);
+        WeatherPass pass = new WeatherPass(player, weather);
+        int protectionCapacity = player.getGreenhouseProtectionCapacity();
+        int occupiedSeen = 0;
+        for (gardenPlot plot : player.getGardenPlots()) {
+            boolean greenhouseProtected = false;
             if (plot.isOccupied()) {
-                Flower plant = plot.getPlantedFlower();
-
-                if (isPlotProtected(plot) || isPlantProtectedByGreenhouse(player, i)) {
-                    protectedPlants++;
-                } else {
-                    double currentDurability = plant.getDurability();
-                    double durabilityLoss = currentDurability * 0.5;
-                    plant.setDurability(currentDurability - durabilityLoss);
-                    affectedPlants++;
-                }
+                occupiedSeen++;
+                greenhouseProtected = occupiedSeen <= protectionCapacity;
             }
-
-            if (!plot.isFlowerPot()) {
-                plot.setWeeded(true);
-            }
-        }
-
-        if (affectedPlants > 0 && protectedPlants > 0) {
-            player.addJournalEntry("[Snow] Snow damaged " + affectedPlants +
-                    (affectedPlants == 1 ? " plant" : " plants") + " while " + protectedPlants +
-                    " greenhouse/pot protected plant" + (protectedPlants == 1 ? " was" : "s were") + " safe. Weeds prevented.");
-        } else if (affectedPlants > 0) {
-            player.addJournalEntry("[Snow] Snow damaged " + affectedPlants +
-                    (affectedPlants == 1 ? " plant" : " plants") + " and prevented weed growth.");
-        } else if (protectedPlants > 0) {
-            player.addJournalEntry("[Snow] Snow fell, but all plants were protected. Weeds prevented.");
+            pass.applyToPlot(plot, greenhouseProtected);
         }
+        pass.finish(NightEvents.journaledFor(player));
     }
-
+    
     /**
-     * Thunderstorm: All plants watered, -10 durability to all plants
+     * Applies one night's weather plot by plot, so it can ride along with the
+     * garden's nightly pass. Per-plot effects happen in applyToPlot; journal
+     * entries and the single-target events (moles, fairies) happen in finish.
+     * 
+     * Greenhouses protect the first N occupied plots (N = capacity), so the
+     * caller passes that flag from its running count of occupied plots.
      */
-    private static void applyThunderstormEffects(Player1 player) {
-        int wateredCount = 0;
-        int damagedCount = 0;
-        int protectedCount = 0;
-
-        for (int i = 0; i < player.getGardenPlots().size(); i++) {
-            gardenPlot plot = player.getGardenPlots().get(i);
-            if (plot.isOccupied()) {
-                if (isPlantProtectedByGreenhouse(player, i)) {
-                    protectedCount++;
-                    continue;
-                }
-
-                Flower plant = plot.getPlantedFlower();
-
-                if (!plot.isWatered()) {
-                    plot.setWatered(true);
-                    plot.setConsecutiveDaysWithoutWater(0);
-                    wateredCount++;
-                }
-
-                double currentDurability = plant.getDurability();
-                plant.setDurability(currentDurability - 10);
-                damagedCount++;
+    public static class WeatherPass {
+        private final Player1 player;
+        private final Weather weather;
+        
+        private int wateredCount = 0;
+        private int damagedCount = 0;
+        private int protectedCount = 0;
+        // Moles: unprotected regular plots. Fairies: plants that can still mutate
+        private final List<gardenPlot> targetPlots = new ArrayList<>();
+        // Fairies: plots whose soil can still improve
+        private final List<gardenPlot> upgradeablePlots = new ArrayList<>();
+        
+        /**
+         * @param player The player whose garden is affected
+         * @param weather Tonight's weather (CLEAR does nothing)
+         */
+        public WeatherPass(Player1 player, Weather weather) {
+            this.player = player;
+            this.weather = weather;
+        }
+        
+        /**
+         * Applies tonight's weather to one plot (call in plot order)
+         * @param plot The plot
+         * @param greenhouseProtected Whether a greenhouse covers this plot's plant
+         */
+        public void applyToPlot(gardenPlot plot, boolean greenhouseProtected) {
+            switch (weather) {
+                case RAIN:
+                    // Rain: All garden plants start watered (0 NRG cost)
+                    if (plot.isOccupied() && !plot.isWatered()) {
+                        if (greenhouseProtected) {
+                            protectedCount++;
+                        } else {
+                            waterPlot(plot);
+                        }
+                    }
+                    break;
+                case SNOW:
+                    // Snow: Prevents weed growth, -50% durability to unprotected plants
+                    if (plot.isOccupied()) {
+                        if (isPlotProtected(plot) || greenhouseProtected) {
+                            protectedCount++;
+                        } else {
+                            damagePlant(plot, plot.getPlantedFlower().getDurability() * 0.5);
+                        }
+                    }
+                    if (!plot.isFlowerPot()) {
+                        plot.setWeeded(true);
+                    }
+                    break;
+                case THUNDERSTORM:
+                    // Thunderstorm: All plants watered, -10 durability to all plants
+                    if (plot.isOccupied()) {
+                        if (greenhouseProtected) {
+                            protectedCount++;
+                        } else {
+                            if (!plot.isWatered()) {
+                                waterPlot(plot);
+                            }
+                            damagePlant(plot, 10);
+                        }
+                    }
+                    break;
+                case EARTHQUAKE:
+                    // Earthquake: All plants lose 90% durability
+                    if (plot.isOccupied()) {
+                        if (greenhouseProtected) {
+                            protectedCount++;
+                        } else {
+                            damagePlant(plot, plot.getPlantedFlower().getDurability() * 0.9);
+                        }
+                    }
+                    break;
+                case HURRICANE:
+                    // Hurricane: All plants watered, -50 durability to all plants
+                    if (plot.isOccupied()) {
+                        if (greenhouseProtected) {
+                            protectedCount++;
+                        } else {
+                            if (!plot.isWatered()) {
+                                waterPlot(plot);
+                            }
+                            damagePlant(plot, 50);
+                        }
+                    }
+                    break;
+                case MOLE_INFESTATION:
+                    if (plot.isOccupied() && !plot.isFlowerPot() && !greenhouseProtected) {
+                        targetPlots.add(plot);
+                    }
+                    break;
+                case FAIRY_VISIT:
+                    if (plot.isOccupied()) {
+                        GrowthStage stage = plot.getPlantedFlower().getStage();
+                        // Can mutate anything except already mutated or withered
+                        if (stage != GrowthStage.MUTATED && stage != GrowthStage.WITHERED) {
+                            targetPlots.add(plot);
+                        }
+                    }
+                    // Can upgrade any plot that's not already Magic soil
+                    if (plot.getSoil() != SoilQuality.MAGIC) {
+                        upgradeablePlots.add(plot);
+                    }
+                    break;
+                default:
+                    break;
             }
         }
-
-        if (damagedCount > 0 || protectedCount > 0) {
-            player.addJournalEntry("[Storm] Thunderstorm watered " + wateredCount +
-                    (wateredCount == 1 ? " plant" : " plants") + " and damaged " + damagedCount +
-                    (damagedCount == 1 ? " plant" : " plants") +
-                    (protectedCount > 0 ? "; greenhouse shielded " + protectedCount + "." : "!"));
+        
+        /**
+         * Adds the tallies of a pass over the plots that directly follow this one
+         */
+        public void merge(WeatherPass later) {
+            wateredCount += later.wateredCount;
+            damagedCount += later.damagedCount;
+            protectedCount += later.protectedCount;
+            targetPlots.addAll(later.targetPlots);
+            upgradeablePlots.addAll(later.upgradeablePlots);
         }
-    }
-
-    /**
-     * Earthquake: All plants lose 90% durability
-     */
-    private static void applyEarthquakeEffects(Player1 player) {
-        int affectedPlants = 0;
-        int protectedPlants = 0;
-
-        for (int i = 0; i < player.getGardenPlots().size(); i++) {
-            gardenPlot plot = player.getGardenPlots().get(i);
-            if (plot.isOccupied()) {
-                if (isPlantProtectedByGreenhouse(player, i)) {
-                    protectedPlants++;
-                    continue;
-                }
-
-                Flower plant = plot.getPlantedFlower();
-                double currentDurability = plant.getDurability();
-                double durabilityLoss = currentDurability * 0.9;
-                plant.setDurability(currentDurability - durabilityLoss);
-                affectedPlants++;
-            }
+        
+        private void waterPlot(gardenPlot plot) {
+            plot.setWatered(true);
+            plot.setConsecutiveDaysWithoutWater(0);
+            wateredCount++;
         }
-
-        if (affectedPlants > 0 || protectedPlants > 0) {
-            player.addJournalEntry("[Earthquake] An earthquake struck! " + affectedPlants +
-                    (affectedPlants == 1 ? " plant was" : " plants were") + " severely damaged" +
-                    (protectedPlants > 0 ? ", while greenhouse protected " + protectedPlants + "." : "!"));
+        
+        private void damagePlant(gardenPlot plot, double durabilityLoss) {
+            Flower plant = plot.getPlantedFlower();
+            plant.setDurability(plant.getDurability() - durabilityLoss);
+            damagedCount++;
         }
-    }
-
-    /**
-     * Hurricane: All plants watered, -50 durability to all plants
-     */
-    private static void applyHurricaneEffects(Player1 player) {
-        int wateredCount = 0;
-        int damagedCount = 0;
-        int protectedCount = 0;
-
-        for (int i = 0; i < player.getGardenPlots().size(); i++) {
-            gardenPlot plot = player.getGardenPlots().get(i);
-            if (plot.isOccupied()) {
-                if (isPlantProtectedByGreenhouse(player, i)) {
-                    protectedCount++;
-                    continue;
-                }
-
-                Flower plant = plot.getPlantedFlower();
-
-                if (!plot.isWatered()) {
-                    plot.setWatered(true);
-                    plot.setConsecutiveDaysWithoutWater(0);
-                    wateredCount++;
-                }
-
-                double currentDurability = plant.getDurability();
-                plant.setDurability(currentDurability - 50);
-                damagedCount++;
+        
+        /**
+         * Publishes tonight's weather event and resolves moles/fairies
+         */
+        public void finish(NightEvents night) {
+            switch (weather) {
+                case RAIN:
+                    if (wateredCount > 0 || protectedCount > 0) {
+                        night.publish(new NightEvent.WeatherDamage(weather, wateredCount, damagedCount, protectedCount));
+                    }
+                    break;
+                case SNOW:
+                case THUNDERSTORM:
+                case EARTHQUAKE:
+                case HURRICANE:
+                    if (damagedCount > 0 || protectedCount > 0) {
+                        night.publish(new NightEvent.WeatherDamage(weather, wateredCount, damagedCount, protectedCount));
+                    }
+                    break;
+                case MOLE_INFESTATION:
+                    unearthPlant(player, targetPlots, night);
+                    break;
+                case FAIRY_VISIT:
+                    grantFairyGift(player, targetPlots, upgradeablePlots, night);
+                    break;
+                default:
+                    break;
             }
         }
-
-        if (damagedCount > 0 || protectedCount > 0) {
-            player.addJournalEntry("[Hurricane] Hurricane watered " + wateredCount +
-                    (wateredCount == 1 ? " plant" : " plants") + " and heavily damaged " + damagedCount +
-                    (damagedCount == 1 ? " plant" : " plants") +
-                    (protectedCount > 0 ? "; greenhouse shielded " + protectedCount + "." : "!"));
-        }
     }
-
+    
     /**
      * Mole Infestation: One random unprotected plant is unearthed
      * - If in flower pot: Protected, moles can't reach
      * - If matured/mutated: Harvested to inventory
      * - If seed/seedling/bloomed: Destroyed (plot emptied)
      */
-    private static void applyMoleInfestationEffects(Player1 player) {
-        List<gardenPlot> vulnerablePlots = new ArrayList<>();
-        
-        // Find all occupied regular plots (not flower pots)
-        for (int i = 0; i < player.getGardenPlots().size(); i++) {
-            gardenPlot plot = player.getGardenPlots().get(i);
-            if (plot.isOccupied() && !plot.isFlowerPot() && !isPlantProtectedByGreenhouse(player, i)) {
-                vulnerablePlots.add(plot);
-            }
-        }
-        
+    private static void unearthPlant(Player1 player, List<gardenPlot> vulnerablePlots, NightEvents night) {
         if (vulnerablePlots.isEmpty()) {
-            player.addJournalEntry("[Moles] Moles visited but found no vulnerable plants to disturb.");
+            night.publish(new NightEvent.MolesVisited(null, null, false));
             return;
         }
         
         // Select random plot
+        GameRandom random = player.getRandom();
         gardenPlot targetPlot = vulnerablePlots.get(random.nextInt(vulnerablePlots.size()));
         Flower targetPlant = targetPlot.getPlantedFlower();
         String plantName = targetPlant.getName();
-        String stage = targetPlant.getGrowthStage();
+        GrowthStage stage = targetPlant.getStage();
         
         // Determine outcome based on stage
-        if (stage.equals("Matured") || stage.equals("Mutated")) {
+        if (stage == GrowthStage.MATURED || stage == GrowthStage.MUTATED) {
             // Harvest to inventory
             Flower harvestedPlant = targetPlot.harvestFlower();
             player.addToInventory(harvestedPlant);
-            player.addJournalEntry("[Moles] Moles unearthed your " + plantName + " (" + stage + 
-                    ") and it was harvested to your inventory!");
+            night.publish(new NightEvent.MolesVisited(plantName, stage, true));
         } else {
             // Destroy the plant
             targetPlot.harvestFlower(); // Remove from plot
-            player.addJournalEntry("[Moles] Moles destroyed your " + plantName + " (" + stage + 
-                    ") by digging it up!");
+            night.publish(new NightEvent.MolesVisited(plantName, stage, false));
         }
     }
     
@@ -374,98 +324,58 @@ public class WeatherSystem {
      * - 50% chance: One random plant advanced to Mutated
      * - 50% chance: One random plot's soil upgraded
      */
-    private static void applyFairyVisitEffects(Player1 player) {
+    private static void grantFairyGift(Player1 player, List<gardenPlot> mutablePlots, List<gardenPlot> upgradeablePlots,
+                                       NightEvents night) {
+        GameRandom random = player.getRandom();
         boolean giftPlantMutation = random.nextBoolean();
         
-        if (giftPlantMutation) {
-            // Try to mutate a plant
-            List<gardenPlot> mutablePlots = new ArrayList<>();
+        if (giftPlantMutation && !mutablePlots.isEmpty()) {
+            gardenPlot targetPlot = mutablePlots.get(random.nextInt(mutablePlots.size()));
+            Flower targetPlant = targetPlot.getPlantedFlower();
+            String plantName = targetPlant.getName();
+            String oldStage = targetPlant.getGrowthStage();
             
-            for (gardenPlot plot : player.getGardenPlots()) {
-                if (plot.isOccupied()) {
-                    String stage = plot.getPlantedFlower().getGrowthStage();
-                    // Can mutate anything except already mutated or withered
-                    if (!stage.equals("Mutated") && !stage.equals("Withered")) {
-                        mutablePlots.add(plot);
-                    }
-                }
-            }
+            targetPlant.setStage(GrowthStage.MUTATED);
             
-            if (!mutablePlots.isEmpty()) {
-                gardenPlot targetPlot = mutablePlots.get(random.nextInt(mutablePlots.size()));
-                Flower targetPlant = targetPlot.getPlantedFlower();
-                String plantName = targetPlant.getName();
-                String oldStage = targetPlant.getGrowthStage();
-                
-                targetPlant.setGrowthStage("Mutated");
-                
-                fairyVisitDetails = "mutated " + plantName + " (" + oldStage + " -> Mutated)";
-                player.addJournalEntry("[Fairy] The fairies blessed your " + plantName + 
-                        ", transforming it into a mutated beauty!");
-            } else {
-                // No plants to mutate, upgrade soil instead
-                upgradeSoilInstead(player);
-            }
+            night.publish(NightEvent.FairyBlessing.mutated(plantName, oldStage));
         } else {
-            // Upgrade soil
-            upgradeSoilInstead(player);
+            // Upgrade soil (also used when there are no plants to mutate)
+            upgradeSoilInstead(player, upgradeablePlots, night);
         }
     }
     
     /**
      * Helper method to upgrade soil quality
      */
-    private static void upgradeSoilInstead(Player1 player) {
-        List<gardenPlot> upgradeablePlots = new ArrayList<>();
-        
-        for (gardenPlot plot : player.getGardenPlots()) {
-            // Can upgrade any plot that's not already Magic soil
-            if (!plot.getSoilQuality().equals("Magic")) {
-                upgradeablePlots.add(plot);
-            }
-        }
-        
+    private static void upgradeSoilInstead(Player1 player, List<gardenPlot> upgradeablePlots, NightEvents night) {
         if (!upgradeablePlots.isEmpty()) {
+            GameRandom random = player.getRandom();
             gardenPlot targetPlot = upgradeablePlots.get(random.nextInt(upgradeablePlots.size()));
             String oldSoil = targetPlot.getSoilQuality();
             
             // Upgrade soil by one tier
-            switch (oldSoil) {
-                case "Bad":
-                    targetPlot.setSoilQuality("Average");
-                    break;
-                case "Average":
-                    targetPlot.setSoilQuality("Good");
-                    break;
-                case "Good":
-                    targetPlot.setSoilQuality("Great");
-                    break;
-                case "Great":
-                    targetPlot.setSoilQuality("Magic");
-                    break;
-            }
+            targetPlot.setSoil(targetPlot.getSoil().next());
             
             String newSoil = targetPlot.getSoilQuality();
             String plotType = targetPlot.isFlowerPot() ? "flower pot" : "garden plot";
             
-            fairyVisitDetails = "upgraded " + plotType + " soil (" + oldSoil + " -> " + newSoil + ")";
-            player.addJournalEntry("[Fairy] The fairies blessed your " + plotType + 
-                    ", upgrading the soil from " + oldSoil + " to " + newSoil + "!");
+            night.publish(NightEvent.FairyBlessing.soilUpgraded(plotType, oldSoil, newSoil));
         } else {
-            fairyVisitDetails = "visited but all was already perfect";
-            player.addJournalEntry("[Fairy] The fairies visited and admired your perfect garden!");
+            night.publish(NightEvent.FairyBlessing.admired());
         }
     }
     
     /**
      * Gets a description of the weather event for display
+     * @param weather Tonight's weather, or null if none
+     * @param fairyVisitDetails What the fairies did (FairyBlessing.getDetails), for FAIRY_VISIT
      */
-    public static String getWeatherDescription() {
-        if (!weatherOccurredTonight) {
+    public static String getWeatherDescription(Weather weather, String fairyVisitDetails) {
+        if (weather == null) {
             return null;
         }
         
-        switch (currentWeather) {
+        switch (weather) {
             case CLEAR:
                 return null; // No message for clear weather
                 
@@ -511,12 +421,12 @@ public class WeatherSystem {
     /**
      * Gets a short weather status for garden summary
      */
-    public static String getWeatherSummary() {
-        if (!weatherOccurredTonight || currentWeather == Weather.CLEAR) {
+    public static String getWeatherSummary(Weather weather) {
+        if (weather == null || weather == Weather.CLEAR) {
             return null;
         }
         
-        switch (currentWeather) {
+        switch (weather) {
             case RAIN:
                 return "[Rain] Rain watered your garden";
             case SNOW:
@@ -543,35 +453,4 @@ public class WeatherSystem {
     public static boolean isPlotProtected(gardenPlot plot) {
         return plot.isFlowerPot();
     }
-    
-
-    private static boolean isPlantProtectedByGreenhouse(Player1 player, int plotIndex) {
-        if (player.getGreenhouseCount() <= 0 || plotIndex < 0 || plotIndex >= player.getGardenPlots().size()) {
-            return false;
-        }
-
-        int protectionCapacity = player.getGreenhouseProtectionCapacity();
-        if (protectionCapacity <= 0) {
-            return false;
-        }
-
-        int occupiedPlantsSeen = 0;
-        for (int i = 0; i <= plotIndex; i++) {
-            gardenPlot indexedPlot = player.getGardenPlots().get(i);
-            if (indexedPlot.isOccupied()) {
-                occupiedPlantsSeen++;
-            }
-        }
-
-        return player.getGardenPlots().get(plotIndex).isOccupied() && occupiedPlantsSeen <= protectionCapacity;
-    }
-
-    /**
-     * Resets weather state (for save/load compatibility)
-     */
-    public static void reset() {
-        currentWeather = Weather.CLEAR;
-        weatherOccurredTonight = false;
-        fairyVisitDetails = "";
-    }
 }
\ No newline at end of file
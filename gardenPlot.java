@@ -9,17 +9,23 @@
  * - Soil quality now affects mutation probability (Bad: 0.5x, Magic: 2x)
  * - Soil quality now affects withering probability (Magic soil extends lifecycle)
  * - UPDATED: Mulcher effect reduces weed growth to 0.25x speed
+ * - Soil quality is stored as a SoilQuality; the String accessors remain for display and saves
+ * - Growth follows the planted species' GrowthCurve (species id cached at plant time)
  */
 
 public class gardenPlot {
+    // advanceDay's working state, one per thread so nights allocate nothing per plot
+    private static final ThreadLocal<PlotState> SCRATCH = ThreadLocal.withInitial(PlotState::new);
+    
     // Current plant in this garden plot
     private Flower plantedFlower;
+    private int speciesId = -1;
     
     // Garden plot state
     private boolean isWatered;
     private boolean isWeeded;
     private boolean isFertilized;
-    private String soilQuality; // "Bad", "Average", "Good", "Great", "Magic"
+    private SoilQuality soil;
     
     // Flower pot functionality
     private boolean isFlowerPot;
@@ -36,7 +42,7 @@ public class gardenPlot {
         this.isWatered = false;
         this.isWeeded = true;
         this.isFertilized = false;
-        this.soilQuality = "Average";
+        this.soil = SoilQuality.AVERAGE;
         this.isFlowerPot = false;
         this.consecutiveDaysWithoutWater = 0;
         this.lastWitherReason = null;
@@ -51,7 +57,7 @@ public class gardenPlot {
         this.isFlowerPot = isFlowerPot;
         if (isFlowerPot) {
             this.isWeeded = true;
-            this.soilQuality = "Good";
+            this.soil = SoilQuality.GOOD;
         }
     }
     
@@ -95,18 +101,7 @@ public class gardenPlot {
      */
     public boolean hasSufficientSoilQuality(Flower flower) {
         int difficulty = FlowerRegistry.getFlowerDifficulty(flower.getName());
-        
-        switch (difficulty) {
-            case 5:
-                return soilQuality.equals("Great") || soilQuality.equals("Magic");
-            case 4:
-                return soilQuality.equals("Good") || soilQuality.equals("Great") || 
-                       soilQuality.equals("Magic");
-            case 3:
-                return !soilQuality.equals("Bad");
-            default:
-                return true;
-        }
+        return soil.supports(difficulty);
     }
     
     /**
@@ -140,7 +135,7 @@ public class gardenPlot {
             return false;
         }
         
-        if (!flower.getGrowthStage().equals("Seed")) {
+        if (flower.getStage() != GrowthStage.SEED) {
             return false;
         }
         
@@ -154,6 +149,7 @@ public class gardenPlot {
         
         flower.setDaysPlanted(1);
         this.plantedFlower = flower;
+        this.speciesId = FlowerRegistry.getSpeciesId(flower.getName());
         this.consecutiveDaysWithoutWater = 0; // Reset counter for new plant
         this.lastWitherReason = null;
         return true;
@@ -161,6 +157,7 @@ public class gardenPlot {
     
     public void forcePlantFlower(Flower flower) {
         this.plantedFlower = flower;
+        this.speciesId = (flower != null) ? FlowerRegistry.getSpeciesId(flower.getName()) : -1;
     }
     
     public Flower harvestFlower() {
@@ -170,6 +167,7 @@ public class gardenPlot {
         
         Flower harvestedFlower = this.plantedFlower;
         this.plantedFlower = null;
+        this.speciesId = -1;
         this.isWatered = false;
         this.consecutiveDaysWithoutWater = 0; // Reset counter
         this.lastWitherReason = null;
@@ -224,261 +222,86 @@ public class gardenPlot {
     }
     
     /**
-     * Gets the soil quality multiplier for mutation chance
-     * @return Multiplier (0.5 for Bad, 2.0 for Magic)
+     * Advances the day for this garden plot, grows the plant if conditions are met
+     * ENHANCED: Soil quality affects mutation/withering, escalating water penalties
+     * UPDATED: Mulcher reduces weed growth to 0.25x speed
+     * @param player Reference to player (for mulcher check)
      */
-    private double getSoilMutationMultiplier() {
-        switch (soilQuality) {
-            case "Bad": return 0.5;
-            case "Average": return 1.0;
-            case "Good": return 1.3;
-            case "Great": return 1.6;
-            case "Magic": return 2.0;
-            default: return 1.0;
-        }
+    public boolean advanceDay(Player1 player) {
+        return advanceDay(player, player != null ? player.getRandom() : GameRandom.current());
     }
     
     /**
-     * Gets the probability of withering (instead of staying matured)
-     * Better soil = lower wither chance = longer lifecycle
-     * @return Probability 0.0-1.0
+     * Advances the day for this garden plot using an explicit random source.
+     * The rules themselves live in PlotRules so batch simulations share them.
+     * @param player Reference to player (for mulcher check, may be null)
+     * @param random Random source for growth, weed and soil rolls
      */
-    private double getSoilWitherProbability() {
-        switch (soilQuality) {
-            case "Bad": return 0.80;      // 80% chance to wither
-            case "Average": return 0.60;  // 60% chance
-            case "Good": return 0.40;     // 40% chance
-            case "Great": return 0.25;    // 25% chance
-            case "Magic": return 0.15;    // 15% chance (nearly double lifecycle)
-            default: return 0.60;
-        }
+    public boolean advanceDay(Player1 player, GameRandom random) {
+        boolean mulcherActive = player != null && player.isMulcherActive();
+        boolean growLight = player != null && player.hasGrowLight();
+        return advanceDay(mulcherActive, growLight, random);
     }
     
     /**
-     * Advances the day for this garden plot, grows the plant if conditions are met
-     * ENHANCED: Soil quality affects mutation/withering, escalating water penalties
-     * UPDATED: Mulcher reduces weed growth to 0.25x speed
-     * @param player Reference to player (for mulcher check)
+     * Advances the day for this garden plot with the player's flags already read,
+     * so plots can be advanced on worker threads without touching Player1.
+     * @param mulcherActive Whether the mulcher slows weed growth
+     * @param growLight Whether the grow light is installed
+     * @param random Random source for growth, weed and soil rolls
      */
-    public boolean advanceDay(Player1 player) {
-        if (!isOccupied()) {
-            this.isWatered = false;
-            if (!isFlowerPot) {
-                // MODIFIED: Apply mulcher effect to weed growth
-                double weedChance = 0.3; // Base 30% chance of weeds (inverse of 70% clean)
-                
-                if (player != null && player.isMulcherActive()) {
-                    weedChance *= 0.25; // Reduce to 7.5% chance with mulcher
-                }
-                
-                this.isWeeded = Math.random() > weedChance;
-            }
-            return false;
-        }
-        
-        // Clear previous wither reason for this day
-        lastWitherReason = null;
-
-        // Increment days planted
-        plantedFlower.setDaysPlanted(plantedFlower.getDaysPlanted() + 1);
-        
-        // Get flower difficulty
-        int difficulty = FlowerRegistry.getFlowerDifficulty(plantedFlower.getName());
-        if (difficulty == -1) {
-            difficulty = 3;
-        }
-        
-        // ENHANCED WATERING PENALTY SYSTEM
-        if (isWatered) {
-            consecutiveDaysWithoutWater = 0; // Reset counter
-        } else {
-            consecutiveDaysWithoutWater++; // Increment counter
-            
-            // Day 7 without water: Instant wither
-            if (consecutiveDaysWithoutWater >= 7) {
-                plantedFlower.setDurability(0); // Triggers auto-wither in Flower.java
-                lastWitherReason = "it went 7 consecutive days without water";
-                // Plant is now withered, reset counter
-                consecutiveDaysWithoutWater = 0;
-            } else {
-                // Escalating durability penalties for consecutive days without water
-                // Day 1-3: Standard penalty
-                // Day 4: 2x penalty
-                // Day 5: 3x penalty  
-                // Day 6: 4x penalty
-                double waterPenalty = 1.0;
-                if (consecutiveDaysWithoutWater >= 4) {
-                    waterPenalty = consecutiveDaysWithoutWater - 2; // Day 4 = 2x, Day 5 = 3x, etc.
-                }
-                
-                // Base damage for not watering
-                double baseDamage = 1.0;
-                if (isFlowerPot) {
-                    baseDamage = 2.0; // Flower pots get double base penalty
-                }
-                
-                double totalDamage = baseDamage * waterPenalty;
-                plantedFlower.setDurability(plantedFlower.getDurability() - totalDamage);
-            }
-        }
-        
-        // ENHANCED WEEDING PENALTY SYSTEM (only for regular plots)
-        if (!isFlowerPot && !isWeeded) {
-            // Not weeding causes durability damage (less severe than not watering)
-            plantedFlower.setDurability(plantedFlower.getDurability() - 0.3);
-        }
-        
-        // Check if plant withered from neglect before trying growth
-        if (plantedFlower.getGrowthStage().equals("Withered")) {
-            this.isWatered = false;
-            if (!isFlowerPot) {
-                // MODIFIED: Apply mulcher effect to weed growth
-                double weedChance = 0.3;
-                if (player != null && player.isMulcherActive()) {
-                    weedChance *= 0.25;
-                }
-                this.isWeeded = Math.random() > weedChance;
-            } else {
-                this.isWeeded = true;
-            }
-            if (this.isFertilized && Math.random() > 0.5) {
-                this.isFertilized = false;
-            }
-            if (this.isFertilized && Math.random() < 0.0075) {
-                upgradeSoilQuality();
-            }
-            if (lastWitherReason == null) {
-                lastWitherReason = "its durability reached 0 from neglect";
-            }
-            plantedFlower.setDurability(0);
-            return true; // State changed (withered)
-        }
-        
-        // Calculate growth chance
-        double baseGrowthChance = 0.95 - (difficulty * 0.10);
-        double growthChance = baseGrowthChance;
+    public boolean advanceDay(boolean mulcherActive, boolean growLight, GameRandom random) {
+        return advanceDay(mulcherActive, growLight, random, SCRATCH.get());
+    }
+    
+    /**
+     * Advances the day using a caller-owned scratch state, so a night over many
+     * plots allocates nothing per plot. The scratch must not be shared across threads.
+     * @param scratch Overwritten with this plot's state; its old contents are ignored
+     */
+    public boolean advanceDay(boolean mulcherActive, boolean growLight, GameRandom random, PlotState scratch) {
+        PlotState state = scratch;
+        state.watered = isWatered;
+        state.weeded = isWeeded;
+        state.fertilized = isFertilized;
+        state.flowerPot = isFlowerPot;
+        state.dryDays = consecutiveDaysWithoutWater;
+        int soilBefore = soil.getCode();
+        state.soil = soilBefore;
         
-        // Water is REQUIRED for growth
-        if (isWatered) {
-            growthChance += 0.30;
-        } else {
-            growthChance = 0; // NO GROWTH without water
-        }
+        state.occupied = isOccupied();
         
-        // Weeding bonus (only for regular plots)
-        if (!isFlowerPot) {
-            if (isWeeded) {
-                growthChance += 0.15;
-            } else {
-                growthChance -= 0.10;
-            }
+        int stageBefore = PlotRules.STAGE_UNKNOWN;
+        if (state.occupied) {
+            stageBefore = plantedFlower.getStage().getCode();
+            state.stage = stageBefore;
+            state.daysPlanted = plantedFlower.getDaysPlanted();
+            state.durability = plantedFlower.getDurability();
+            state.curve = FlowerRegistry.getGrowthCurve(speciesId);
         }
         
-        if (isFertilized) {
-            growthChance += 0.20;
-        }
-        
-        // Clamp between 0% and 99%
-        growthChance = Math.max(0.0, Math.min(0.99, growthChance));
-        
-        // Roll for growth
-        boolean shouldGrow = Math.random() < growthChance;
+        boolean changed = PlotRules.advance(state, mulcherActive, growLight, random);
         
-        // Growth logic
-        String currentStage = plantedFlower.getGrowthStage();
-        int daysPlanted = plantedFlower.getDaysPlanted();
-        int effectiveDaysPlanted = daysPlanted;
-        if (player != null && player.hasGrowLight()) {
-            effectiveDaysPlanted = daysPlanted * 2;
+        this.isWatered = state.watered;
+        this.isWeeded = state.weeded;
+        this.isFertilized = state.fertilized;
+        this.consecutiveDaysWithoutWater = state.dryDays;
+        if (state.soil != soilBefore) {
+            this.soil = SoilQuality.fromCode(state.soil);
         }
-        boolean didGrow = false;
         
-        if (shouldGrow) {
-            if (currentStage.equals("Seed") && effectiveDaysPlanted >= 3) {
-                plantedFlower.setGrowthStage("Seedling");
-                didGrow = true;
-            } else if (currentStage.equals("Seedling") && effectiveDaysPlanted >= 7) {
-                plantedFlower.setGrowthStage("Bloomed");
-                didGrow = true;
-            } else if (currentStage.equals("Bloomed") && effectiveDaysPlanted >= 12) {
-                plantedFlower.setGrowthStage("Matured");
-                didGrow = true;
-            } else if (currentStage.equals("Matured") && effectiveDaysPlanted >= 20) {
-                // ENHANCED: Soil quality affects both mutation and withering
-                
-                // Get base mutation chance from CSV
-                double baseMutationChance = 0.05 + (difficulty * 0.02);
-                if (isFertilized) {
-                    baseMutationChance *= 2;
-                }
-                
-                // Apply soil quality multiplier
-                double soilMultiplier = getSoilMutationMultiplier();
-                double finalMutationChance = baseMutationChance * soilMultiplier;
-                
-                if (Math.random() < finalMutationChance) {
-                    plantedFlower.setGrowthStage("Mutated");
-                    didGrow = true;
-                } else {
-                    // ENHANCED: Probability-based withering instead of automatic
-                    double witherProbability = getSoilWitherProbability();
-                    
-                    if (Math.random() < witherProbability) {
-                        plantedFlower.setGrowthStage("Withered");
-                        plantedFlower.setDurability(0);
-                        lastWitherReason = "it naturally withered at mature stage (soil quality affects this chance)";
-                        didGrow = true;
-                    }
-                    // If doesn't wither, stays Matured for another day
-                }
+        if (isOccupied()) {
+            lastWitherReason = PlotRules.witherReasonText(state.witherReason);
+            plantedFlower.setDaysPlanted(state.daysPlanted);
+            // Durability first: Flower.setDurability only withers non-seed stages,
+            // so writing it before the new stage reproduces the in-rule order
+            plantedFlower.setDurability(state.durability);
+            if (state.stage != stageBefore) {
+                plantedFlower.setStage(GrowthStage.fromCode(state.stage));
             }
         }
         
-        // Reset daily states
-        this.isWatered = false;
-        if (!isFlowerPot) {
-            // MODIFIED: Apply mulcher effect to weed growth
-            double weedChance = 0.3; // Base 30% chance of weeds
-            
-            if (player != null && player.isMulcherActive()) {
-                weedChance *= 0.25; // Reduce to 7.5% chance with mulcher
-            }
-            
-            this.isWeeded = Math.random() > weedChance;
-        } else {
-            this.isWeeded = true;
-        }
-        
-        // Fertilizer fade
-        if (this.isFertilized && Math.random() > 0.5) {
-            this.isFertilized = false;
-        }
-        
-        // Soil quality upgrade
-        if (this.isFertilized && Math.random() < 0.0075) {
-            upgradeSoilQuality();
-        }
-        
-        return didGrow;
-    }
-    
-    private void upgradeSoilQuality() {
-        switch (soilQuality) {
-            case "Bad":
-                soilQuality = "Average";
-                break;
-            case "Average":
-                soilQuality = "Good";
-                break;
-            case "Good":
-                soilQuality = "Great";
-                break;
-            case "Great":
-                soilQuality = "Magic";
-                break;
-            case "Magic":
-                return;
-        }
+        return changed;
     }
     
     public boolean isOccupied() {
@@ -501,12 +324,26 @@ public class gardenPlot {
         return isFertilized;
     }
     
+    /**
+     * @return The soil quality's display name, e.g. "Good"
+     */
     public String getSoilQuality() {
-        return soilQuality;
+        return soil.getDisplayName();
     }
     
+    public SoilQuality getSoil() {
+        return soil;
+    }
+    
+    public void setSoil(SoilQuality soil) {
+        this.soil = soil;
+    }
+    
+    /**
+     * Sets the soil quality from its display name (unknown names count as Average)
+     */
     public void setSoilQuality(String soilQuality) {
-        this.soilQuality = soilQuality;
+        this.soil = SoilQuality.fromName(soilQuality);
     }
     
     @Override
@@ -514,9 +351,9 @@ public class gardenPlot {
         StringBuilder sb = new StringBuilder();
         
         if (isFlowerPot) {
-            sb.append("🪴 Flower Pot [Soil: ").append(getSoilQualityEmoji()).append(" ").append(soilQuality).append("]").append("\n");
+            sb.append("🪴 Flower Pot [Soil: ").append(soil.getEmoji()).append(" ").append(soil.getDisplayName()).append("]").append("\n");
         } else {
-            sb.append("📦 Garden Plot [Soil: ").append(getSoilQualityEmoji()).append(" ").append(soilQuality).append("]").append("\n");
+            sb.append("📦 Garden Plot [Soil: ").append(soil.getEmoji()).append(" ").append(soil.getDisplayName()).append("]").append("\n");
         }
         
         if (isOccupied()) {
@@ -540,15 +377,4 @@ public class gardenPlot {
         
         return sb.toString();
     }
-    
-    private String getSoilQualityEmoji() {
-        switch (soilQuality) {
-            case "Bad": return "💀";
-            case "Average": return "🌱";
-            case "Good": return "🌿";
-            case "Great": return "✨";
-            case "Magic": return "🔮";
-            default: return "❓";
-        }
-    }
 }
\ No newline at end of file
@@ -8,14 +8,10 @@
 import java.util.Scanner;
 import java.util.List;
 import java.util.ArrayList;
-import java.util.Map;
-import java.util.HashMap;
-import java.io.File;
-import java.io.FileReader;
-import java.io.BufferedReader;
-import java.io.IOException;
 
 public class sunflowerSimulator {
+	// Longest batch the bedtime fast-forward option accepts
+	private static final int MAX_FAST_FORWARD_DAYS = 1000;
 
 	public static void main(String[] args) {
 		System.out.println("🌻 Welcome to Sunflower Simulator! 🌻");
@@ -51,15 +47,28 @@ public class sunflowerSimulator {
 			Journal.addJournalEntry(player, "Started my gardening adventure!");
 		} else {
 			player = Journal.loadGame(playerName);
+			if (player == null) {
+				// Leave the save as it is rather than start over on top of it
+				System.out.println("Your save could not be loaded and has not been changed.");
+				return;
+			}
 			System.out.println("\nWelcome back, " + player.getName() + "!");
 			System.out.println("Your game has been loaded from day " + player.getDay() + ".");
 			System.out.println("You have " + player.getNRG() + " NRG and " + player.getCredits() + " credits.");
 			Journal.addJournalEntry(player, "Resumed my gardening adventure.");
 		}
 
+		// Optional "--seed <n>" makes the whole session reproducible
+		Long seed = parseSeed(args);
+		if (seed != null) {
+			player.setRandom(new GameRandom(seed));
+		}
+
 		boolean gameContinues = true;
 
 		do {
+			// A background save that failed is reported before the next choice
+			Journal.reportSaveErrors();
 			System.out.println("\n=== Day " + player.getDay() + " ===");
 			System.out.println("NRG: " + player.getNRG() + " | Credits: " + player.getCredits());
 			System.out.println("\nWhat would you like to do?");
@@ -128,7 +137,7 @@ public class sunflowerSimulator {
 			case "X":
 				System.out.println("Saving game and exiting...");
 				Journal.addJournalEntry(player, "Ended gardening session on day " + player.getDay() + ".");
-				if (Journal.saveGame(player)) {
+				if (Journal.saveGame(player) && Journal.flushSaves()) {
 					System.out.println("Game saved successfully. Thanks for playing!");
 				} else {
 					System.out.println("Warning: There was an issue saving the game.");
@@ -151,10 +160,24 @@ public class sunflowerSimulator {
 		scanner.close();
 	}
 
+	private static Long parseSeed(String[] args) {
+		for (int i = 0; i < args.length - 1; i++) {
+			if (args[i].equals("--seed")) {
+				try {
+					return Long.parseLong(args[i + 1]);
+				} catch (NumberFormatException e) {
+					System.out.println("Ignoring invalid seed: " + args[i + 1]);
+				}
+			}
+		}
+		return null;
+	}
+
 	private static void handleBedtimeMenu(Player1 player, Scanner scanner) {
 		System.out.println("What would you like to do?");
 		System.out.println("1: Go to bed (save & continue)");
 		System.out.println("2: Save & exit game");
+		System.out.println("3: Fast-forward several days");
 
 		System.out.print("\nEnter your choice: ");
 		String bedChoice = scanner.next();
@@ -167,277 +190,135 @@ public class sunflowerSimulator {
 
 		case "2":
 			System.out.println("Saving game and exiting...");
-			Journal.saveGame(player);
 			Journal.addJournalEntry(player, "Ended gardening session on day " + player.getDay() + ".");
-			System.out.println("Game saved successfully. Thanks for playing!");
+			if (Journal.saveGame(player) && Journal.flushSaves()) {
+				System.out.println("Game saved successfully. Thanks for playing!");
+			} else {
+				System.out.println("Warning: There was an issue saving the game.");
+				System.out.println("Exiting anyway. Thanks for playing!");
+			}
 			System.exit(0);
 			break;
 
+		case "3":
+			fastForward(player, scanner);
+			break;
+
 		default:
-			System.out.println("Invalid choice. Please select 1 or 2.");
+			System.out.println("Invalid choice. Please select 1, 2 or 3.");
 		}
 	}
 
-	private static void advanceDay(Player1 player) {
-		Journal.saveGame(player);
-
-		System.out.println("\n💤 You drift off to sleep...");
-
-		String dreamContent = null;
-		String dreamFilename = null;
-		boolean showedHint = false;
-		boolean weatherOccurred = false;
-
-		// WEATHER SYSTEM CHECK - Independent 25% chance
-		weatherOccurred = WeatherSystem.shouldWeatherOccur();
-
-		// Special hint for day 30+ if player hasn't built extra plot
-		if (!weatherOccurred && player.getDay() >= 30 && !player.hasBuiltExtraPlot() && HintReader.hasHints()) {
-			if (Math.random() < 0.5) {
-				dreamContent = HintReader.getSpecificHint("build_expansion.txt");
-				if (dreamContent == null) {
-					String[] hintData = HintReader.getRandomHintWithFilename(); 
-					if (hintData != null) {
-						dreamContent = hintData[1];
-					}
-				}
-				showedHint = true;
-			}
-		}
-
-		// Get all available dream files
-		List<String> allDreamFiles = new ArrayList<>();
+	/**
+	 * Sleeps through several days at once under a care policy.
+	 * Prints one summary and saves once at the end instead of every night.
+	 */
+	private static void fastForward(Player1 player, Scanner scanner) {
+		System.out.print("How many days? (1-" + MAX_FAST_FORWARD_DAYS + ", or 0 to cancel): ");
+		int days;
 		try {
-			File dreamDir = new File("dream.txt/");
-			if (dreamDir.exists() && dreamDir.isDirectory()) {
-				File[] files = dreamDir.listFiles((dir, name) -> name.endsWith(".txt"));
-				if (files != null) {
-					for (File file : files) {
-						allDreamFiles.add(file.getName());
-					}
-				}
-			}
-		} catch (Exception e) {
-			// Silent fail
+			days = Integer.parseInt(scanner.nextLine().trim());
+		} catch (NumberFormatException e) {
+			System.out.println("Invalid input. Please enter a number.");
+			return;
 		}
-		
-		// Filter out already-unlocked dreams
-		List<String> unviewedDreams = new ArrayList<>();
-		for (String dreamFile : allDreamFiles) {
-			if (!player.hasDreamUnlocked(dreamFile)) {
-				unviewedDreams.add(dreamFile);
-			}
+		if (days == 0) {
+			System.out.println("Fast-forward cancelled.");
+			return;
 		}
-		
-		// Get all available hint files
-		List<String> allHintFiles = new ArrayList<>();
+		if (days < 0 || days > MAX_FAST_FORWARD_DAYS) {
+			System.out.println("Please choose between 1 and " + MAX_FAST_FORWARD_DAYS + " days.");
+			return;
+		}
+
+		CarePolicy[] policies = CarePolicy.values();
+		System.out.println("How should the garden be tended each day?");
+		for (int i = 0; i < policies.length; i++) {
+			System.out.println((i + 1) + ": " + policies[i].getDisplayName());
+		}
+		System.out.print("\nEnter your choice: ");
+		int policyChoice;
 		try {
-			File hintDir = new File("hints.txt/");
-			if (hintDir.exists() && hintDir.isDirectory()) {
-				File[] files = hintDir.listFiles((dir, name) -> name.endsWith(".txt"));
-				if (files != null) {
-					for (File file : files) {
-						allHintFiles.add(file.getName());
-					}
-				}
-			}
-		} catch (Exception e) {
-			// Silent fail
+			policyChoice = Integer.parseInt(scanner.nextLine().trim());
+		} catch (NumberFormatException e) {
+			System.out.println("Invalid input. Please enter a number.");
+			return;
 		}
-		
-		// Filter out already-unlocked hints
-		List<String> unviewedHints = new ArrayList<>();
-		for (String hintFile : allHintFiles) {
-			if (!player.hasHintUnlocked(hintFile)) {
-				unviewedHints.add(hintFile);
-			}
+		if (policyChoice < 1 || policyChoice > policies.length) {
+			System.out.println("Invalid choice.");
+			return;
 		}
-		
-		// Dreams/hints can still occur even if weather happens
-		if (dreamContent == null) {
-			// 25% chance of dream/hint if any are available
-			if ((!unviewedDreams.isEmpty() || !unviewedHints.isEmpty()) && Math.random() < 0.25) {
-				boolean tryHint = false;
-				
-				// Day 20+: 50/50 between hints and dreams
-				if (player.getDay() >= 20 && !unviewedHints.isEmpty() && !unviewedDreams.isEmpty()) {
-					tryHint = Math.random() < 0.5;
-				} else if (player.getDay() >= 20 && !unviewedHints.isEmpty() && unviewedDreams.isEmpty()) {
-					tryHint = true; // Only hints left
-				} else if (unviewedDreams.isEmpty() && !unviewedHints.isEmpty()) {
-					tryHint = true; // Only hints left
-				}
-				// else: Only dreams available or before day 20
-				
-				if (tryHint && !unviewedHints.isEmpty()) {
-					// Show a random unviewed hint
-					String selectedHintFile = unviewedHints.get((int)(Math.random() * unviewedHints.size()));
-					dreamContent = HintReader.readHintFile(selectedHintFile);
-					if (dreamContent != null) {
-						player.unlockHint(selectedHintFile);
-						showedHint = true;
-					}
-				} else if (!unviewedDreams.isEmpty()) {
-					// Show a random unviewed dream
-					dreamFilename = unviewedDreams.get((int)(Math.random() * unviewedDreams.size()));
-					try (BufferedReader reader = new BufferedReader(
-							new FileReader("dream.txt/" + dreamFilename, java.nio.charset.StandardCharsets.UTF_8))) {
-						StringBuilder dream = new StringBuilder();
-						String line;
-						while ((line = reader.readLine()) != null) {
-							dream.append(line).append("\n");
-						}
-						dreamContent = dream.toString().trim();
-					} catch (IOException e) {
-						// Silent fail
-					}
-				}
-			}
+
+		System.out.println("\n⏩ Fast-forwarding " + days + (days == 1 ? " day..." : " days..."));
+		FastForwardReport summary = new GardenEngine(player).fastForward(days, policies[policyChoice - 1]);
+		ShopActions.resetShopInventory();
+
+		System.out.println("\n🌅 Day " + summary.getEndDay() + " begins.");
+		System.out.println("🌱 " + summary.getSummary());
+		System.out.println("(Tending cost " + summary.getNrgSpent() + " NRG over the batch.)");
+
+		if (!(Journal.saveGame(player) && Journal.flushSaves())) {
+			System.out.println("Warning: There was an issue saving the game.");
 		}
+	}
+
+	private static void advanceDay(Player1 player) {
+		Journal.saveGame(player);
+
+		System.out.println("\n💤 You drift off to sleep...");
+
+		DayReport report = new GardenEngine(player).advanceDay();
+		ShopActions.resetShopInventory();
 
 		// Display weather FIRST if it occurred
-		if (weatherOccurred) {
-			String weatherDesc = WeatherSystem.getWeatherDescription();
-			if (weatherDesc != null) {
-				System.out.println("\n" + weatherDesc);
-			}
+		if (report.didWeatherOccur() && report.getWeatherDescription() != null) {
+			System.out.println("\n" + report.getWeatherDescription());
 		}
-		
+
 		// Then display dream/hint if applicable
-		if (dreamContent != null) {
+		if (report.hadDream()) {
 			System.out.println("\n✨ You had a strange dream...\n");
 			System.out.println("╔═══════════════════════════════════════╗");
-			System.out.println(dreamContent);
+			System.out.println(report.getDreamContent());
 			System.out.println("╚═══════════════════════════════════════╝");
 
-			if (showedHint) {
+			if (report.showedHint()) {
 				System.out.println("\nYou wake up feeling thoughtful about your garden's potential.");
-				Journal.addJournalEntry(player, "Had a dream with helpful advice.");
 			} else {
 				System.out.println("\nYou wake up feeling refreshed!");
-
-				if (dreamFilename != null) {
-					player.unlockDream(dreamFilename);
-					Journal.addJournalEntry(player, "Had a vivid dream tonight.");
-				}
 			}
-		} else if (!weatherOccurred) {
+		} else if (!report.didWeatherOccur()) {
 			// Only show this if no weather AND no dream
 			System.out.println("\nYou slept soundly through the night. It's a new day! :D");
-			Journal.addJournalEntry(player, "Slept soundly through the night.");
 		}
 
-		// Advance day (plants grow, daily state resets)
-		player.advanceDay();
-		
-		// Apply weather effects AFTER plants have grown
-		if (weatherOccurred) {
-			WeatherSystem.applyWeatherEffects(player);
-		}
-		
-		ShopActions.resetShopInventory(); 
-
-		System.out.println("\n🌅 Day " + player.getDay() + " begins.");
+		System.out.println("\n🌅 Day " + report.getDay() + " begins.");
 		System.out.println("You feel refreshed! (NRG restored to " + player.getNRG() + ")");
 
-		displayGardenSummary(player, weatherOccurred);
+		displayGardenSummary(report);
 	}
 
-	private static void displayGardenSummary(Player1 player, boolean weatherOccurred) {
-		final String[] SUMMARY_KEYWORDS = {
-				"grew overnight!", 
-				"mutated into something special!", 
-				"withered overnight.",
-				"watered", // Weather-related
-				"damaged", // Weather-related
-				"prevented", // Weather-related
-				"earthquake", // Weather-related
-				"hurricane", // Weather-related
-				"Moles", // Weather-related
-				"fairies" // Weather-related
-		};
-
-		final Map<String, String> CONSOLE_EMOJI_MAP = new HashMap<>();
-		CONSOLE_EMOJI_MAP.put("grew overnight!", "✓");
-		CONSOLE_EMOJI_MAP.put("mutated into something special!", "✨");
-		CONSOLE_EMOJI_MAP.put("withered overnight.", "⚠");
-		CONSOLE_EMOJI_MAP.put("watered", "💧");
-		CONSOLE_EMOJI_MAP.put("damaged", "⚡");
-		CONSOLE_EMOJI_MAP.put("prevented", "❄️");
-		CONSOLE_EMOJI_MAP.put("earthquake", "🌋");
-		CONSOLE_EMOJI_MAP.put("hurricane", "🌀");
-		CONSOLE_EMOJI_MAP.put("Moles", "🐭");
-		CONSOLE_EMOJI_MAP.put("fairies", "🧚");
-
+	private static void displayGardenSummary(DayReport report) {
+		// Rendered straight from tonight's events, in the order they happened
 		List<String> summaryMessages = new ArrayList<>();
-		List<String> allEntries = player.getJournalEntries();
-
-		int totalEntries = allEntries.size();
-		int checkStart = Math.max(0, totalEntries - 15); 
-
-		for (int i = totalEntries - 1; i >= checkStart; i--) {
-			String entry = allEntries.get(i);
-
-			String matchingKeyword = null;
-			for (String keyword : SUMMARY_KEYWORDS) {
-				if (entry.contains(keyword)) {
-					matchingKeyword = keyword;
-					break;
-				}
-			}
-
-			if (matchingKeyword != null) {
-				int contentStart = entry.lastIndexOf(':') + 2;
-				if (contentStart < entry.length()) {
-					String message = entry.substring(contentStart).trim();
-
-					int firstDigitIndex = -1;
-					for (int k = 0; k < message.length(); k++) {
-						if (Character.isDigit(message.charAt(k))) {
-							firstDigitIndex = k;
-							break;
-						}
-					}
-
-					String consoleEmoji = CONSOLE_EMOJI_MAP.get(matchingKeyword);
-					String bodyMessage = "";
-
-					if (firstDigitIndex != -1) {
-						bodyMessage = message.substring(firstDigitIndex);
-					} else {
-						bodyMessage = message;
-					}
-
-					// Only add emoji if we have one
-					if (consoleEmoji != null) {
-						message = consoleEmoji + " " + bodyMessage;
-					} else {
-						message = bodyMessage;
-					}
-
-					summaryMessages.add(message);
-				}
-			} else {
-				if (entry.contains("Slept soundly") || entry.contains("vivid dream")) {
-					break;
-				}
+		for (NightEvent event : report.getEvents()) {
+			String line = event.getSummaryText();
+			if (line != null) {
+				summaryMessages.add(line);
 			}
 		}
 
 		if (!summaryMessages.isEmpty()) {
 			System.out.println("\n🌱 Garden Update:");
 
-			for (int i = summaryMessages.size() - 1; i >= 0; i--) {
-				System.out.println("  " + summaryMessages.get(i));
+			for (String message : summaryMessages) {
+				System.out.println("  " + message);
 			}
 		}
 		
 		// Show weather summary if applicable
-		if (weatherOccurred) {
-			String weatherSummary = WeatherSystem.getWeatherSummary();
-			if (weatherSummary != null) {
-				System.out.println("\n🌤️ Weather: " + weatherSummary);
-			}
+		if (report.didWeatherOccur() && report.getWeatherSummary() != null) {
+			System.out.println("\n🌤️ Weather: " + report.getWeatherSummary());
 		}
 	}
 }
\ No newline at end of file